@@ -51,4 +51,6 @@ public class PermissionConstants {
     public static final String QUERY_TASK = "system:event:task:query";
 
     public static final String ASSIGN_TASK = "system:event:task:assign";
+
+    public static final String CHECK_IN_ATTENDEE = "system:event:attendee:checkin";
 }
@@ -0,0 +1,42 @@
+package nus.edu.u.common.core.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+
+/**
+ * The return results of keyset (cursor) page query
+ *
+ * <p>Unlike {@link PageResult} there is no total, the next page is fetched by passing {@link
+ * #nextCursor} back, which stays cheap however deep the client pages.
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-27
+ */
+@Schema(description = "Cursor page result")
+@Data
+public final class CursorPageResult<T> implements Serializable {
+
+    @Schema(description = "Data", requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<T> list;
+
+    @Schema(description = "Cursor of the next page, null on the last page")
+    private Long nextCursor;
+
+    @Schema(description = "Whether more data follows", requiredMode = Schema.RequiredMode.REQUIRED)
+    private Boolean hasMore;
+
+    public CursorPageResult() {}
+
+    public CursorPageResult(List<T> list, Long nextCursor) {
+        this.list = list;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+    }
+
+    public static <T> CursorPageResult<T> empty() {
+        return new CursorPageResult<>(new ArrayList<>(), null);
+    }
+}
@@ -0,0 +1,23 @@
+package nus.edu.u.framework.checkin;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Offline check-in manifest configuration
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-23
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "checkin.manifest")
+public class CheckInManifestPropertiesConfig {
+
+    /**
+     * Base64 PKCS#8 Ed25519 private key manifests are signed with. Staff devices are provisioned
+     * with the matching public key when they are enrolled, never through the manifest download.
+     */
+    private String privateKey;
+}
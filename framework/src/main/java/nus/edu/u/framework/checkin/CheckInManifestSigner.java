@@ -0,0 +1,78 @@
+package nus.edu.u.framework.checkin;
+
+import cn.hutool.core.util.StrUtil;
+import jakarta.annotation.PostConstruct;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.util.Base64;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Signs offline check-in manifests with Ed25519
+ *
+ * <p>Devices only ever hold the public key, so a device, or anyone who reads a manifest, can verify
+ * it but cannot produce a manifest of their own.
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-23
+ */
+@Component
+@RequiredArgsConstructor
+public class CheckInManifestSigner {
+
+    public static final String ALGORITHM = "Ed25519";
+
+    public static final int SIGNATURE_LENGTH = 64;
+
+    private final CheckInManifestPropertiesConfig props;
+
+    private PrivateKey key;
+
+    @PostConstruct
+    public void init() {
+        if (StrUtil.isBlank(props.getPrivateKey())) {
+            return;
+        }
+        try {
+            key =
+                    KeyFactory.getInstance(ALGORITHM)
+                            .generatePrivate(
+                                    new PKCS8EncodedKeySpec(
+                                            Base64.getDecoder().decode(props.getPrivateKey())));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException(
+                    "checkin.manifest.private-key must be a base64 PKCS#8 Ed25519 key", e);
+        }
+    }
+
+    /** Whether a signing key is configured, offline check-in is unavailable without one */
+    public boolean isConfigured() {
+        return key != null;
+    }
+
+    /**
+     * Sign a range of bytes
+     *
+     * @param data buffer holding the data
+     * @param offset start of the data
+     * @param length length of the data
+     * @return 64 byte signature
+     */
+    public byte[] sign(byte[] data, int offset, int length) {
+        if (key == null) {
+            throw new IllegalStateException("checkin.manifest.private-key is not configured");
+        }
+        try {
+            Signature signature = Signature.getInstance(ALGORITHM);
+            signature.initSign(key);
+            signature.update(data, offset, length);
+            return signature.sign();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to sign check-in manifest", e);
+        }
+    }
+}
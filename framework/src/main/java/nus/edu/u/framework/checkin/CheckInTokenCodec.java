@@ -0,0 +1,160 @@
+package nus.edu.u.framework.checkin;
+
+import cn.hutool.core.util.StrUtil;
+import jakarta.annotation.PostConstruct;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Encodes and verifies stateless, HMAC-signed check-in tokens
+ *
+ * <p>Format: {@code v1.<payload>.<mac>}, both parts base64url without padding. The payload is event
+ * id (8 bytes), attendee id (8 bytes) and expiry in epoch seconds (4 bytes, unsigned), the mac is
+ * HMAC-SHA256 over {@code v1.<payload>} truncated to 12 bytes. A token is 47 characters long.
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-22
+ */
+@Component
+@RequiredArgsConstructor
+public class CheckInTokenCodec {
+
+    public static final String PREFIX = "v1.";
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private static final int PAYLOAD_LENGTH = Long.BYTES * 2 + Integer.BYTES;
+
+    private static final int MAC_LENGTH = 12;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final CheckInTokenPropertiesConfig props;
+
+    private SecretKeySpec key;
+
+    @PostConstruct
+    public void init() {
+        if (StrUtil.isNotBlank(props.getSecret())) {
+            key = new SecretKeySpec(props.getSecret().getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        } else if (props.isSigned()) {
+            throw new IllegalStateException(
+                    "checkin.token.secret must be set when signed check-in tokens are enabled");
+        }
+    }
+
+    /** Whether new tokens should be issued in the signed format */
+    public boolean isSigningEnabled() {
+        return props.isSigned() && key != null;
+    }
+
+    /** Whether a token looks like a signed token, i.e. should not be looked up as a UUID */
+    public static boolean isSigned(String token) {
+        return token != null && token.startsWith(PREFIX);
+    }
+
+    /**
+     * Issue a signed token
+     *
+     * @param eventId event id
+     * @param attendeeId attendee id
+     * @param expiresAt expiry in epoch seconds
+     * @return signed token
+     */
+    public String sign(long eventId, long attendeeId, long expiresAt) {
+        byte[] payload =
+                ByteBuffer.allocate(PAYLOAD_LENGTH)
+                        .putLong(eventId)
+                        .putLong(attendeeId)
+                        .putInt((int) expiresAt)
+                        .array();
+        String body = PREFIX + ENCODER.encodeToString(payload);
+        byte[] mac = Arrays.copyOf(hmac(body.getBytes(StandardCharsets.US_ASCII)), MAC_LENGTH);
+        return body + "." + ENCODER.encodeToString(mac);
+    }
+
+    /**
+     * Verify and decode a signed token without touching the database
+     *
+     * @param token token to verify
+     * @return decoded claims, or null if the token is malformed or the signature does not match
+     */
+    public SignedToken parse(String token) {
+        if (!isSigned(token) || key == null) {
+            return null;
+        }
+        int dot = token.lastIndexOf('.');
+        if (dot <= PREFIX.length()) {
+            return null;
+        }
+        byte[] payload;
+        byte[] mac;
+        try {
+            payload = DECODER.decode(token.substring(PREFIX.length(), dot));
+            mac = DECODER.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (payload.length != PAYLOAD_LENGTH || mac.length != MAC_LENGTH) {
+            return null;
+        }
+        byte[] expected =
+                Arrays.copyOf(
+                        hmac(token.substring(0, dot).getBytes(StandardCharsets.US_ASCII)),
+                        MAC_LENGTH);
+        if (!MessageDigest.isEqual(expected, mac)) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        return new SignedToken(
+                buffer.getLong(), buffer.getLong(), Integer.toUnsignedLong(buffer.getInt()));
+    }
+
+    /**
+     * HMAC-SHA256 of arbitrary data with the check-in secret
+     *
+     * @param data data to sign
+     * @return full 32 byte mac
+     */
+    public byte[] hmac(byte[] data) {
+        if (key == null) {
+            throw new IllegalStateException("checkin.token.secret is not configured");
+        }
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(data);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to compute check-in token mac", e);
+        }
+    }
+
+    /** Claims carried by a signed token */
+    @Getter
+    @AllArgsConstructor
+    public static class SignedToken {
+
+        private final long eventId;
+
+        private final long attendeeId;
+
+        /** Expiry in epoch seconds */
+        private final long expiresAt;
+
+        public boolean isExpired(long nowEpochSecond) {
+            return nowEpochSecond > expiresAt;
+        }
+    }
+}
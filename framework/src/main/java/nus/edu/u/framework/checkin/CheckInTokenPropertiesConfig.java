@@ -0,0 +1,23 @@
+package nus.edu.u.framework.checkin;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Check-in token configuration
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-22
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "checkin.token")
+public class CheckInTokenPropertiesConfig {
+
+    /** Issue HMAC-signed tokens instead of random UUIDs, existing UUID tokens keep working */
+    private boolean signed;
+
+    /** HMAC-SHA256 secret, required when {@link #signed} is enabled */
+    private String secret;
+}
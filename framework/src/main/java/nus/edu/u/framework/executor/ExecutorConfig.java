@@ -0,0 +1,67 @@
+package nus.edu.u.framework.executor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Bounded executors for work that should not run on request threads
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-24
+ */
+@Configuration
+public class ExecutorConfig {
+
+    public static final String QR_RENDER_EXECUTOR = "qrRenderExecutor";
+
+    public static final String NOTIFICATION_EXECUTOR = "notificationExecutor";
+
+    public static final String CHECK_IN_STATS_EXECUTOR = "checkInStatsExecutor";
+
+    /** CPU bound, a full queue makes the caller render, which throttles large imports */
+    @Bean(QR_RENDER_EXECUTOR)
+    public ThreadPoolTaskExecutor qrRenderExecutor(ExecutorPropertiesConfig props) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(props.getQrRenderThreads());
+        executor.setMaxPoolSize(props.getQrRenderThreads());
+        executor.setQueueCapacity(props.getQrRenderQueueCapacity());
+        executor.setThreadNamePrefix("qr-render-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    /**
+     * IO bound, a full queue rejects so a slow provider never blocks request threads. Only the
+     * email outbox submits here, and it leaves rejected messages in the outbox for the next drain,
+     * so a rejection delays an email but never drops it.
+     */
+    @Bean(NOTIFICATION_EXECUTOR)
+    public ThreadPoolTaskExecutor notificationExecutor(ExecutorPropertiesConfig props) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(props.getNotificationThreads());
+        executor.setMaxPoolSize(props.getNotificationThreads());
+        executor.setQueueCapacity(props.getNotificationQueueCapacity());
+        executor.setThreadNamePrefix("notification-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * One thread for the live check-in stats push, so slow dashboards never hold up the shared
+     * scheduler. A tick arriving while another is still queued is dropped, the next one catches up.
+     */
+    @Bean(CHECK_IN_STATS_EXECUTOR)
+    public ThreadPoolTaskExecutor checkInStatsExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("checkin-stats-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        return executor;
+    }
+}
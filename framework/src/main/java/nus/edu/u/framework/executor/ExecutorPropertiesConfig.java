@@ -0,0 +1,29 @@
+package nus.edu.u.framework.executor;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sizing of the shared background executors
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-24
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "executor")
+public class ExecutorPropertiesConfig {
+
+    /** Threads rendering QR codes, defaults to the number of processors */
+    private int qrRenderThreads = Runtime.getRuntime().availableProcessors();
+
+    /** Pending QR renders before the submitting thread renders itself */
+    private int qrRenderQueueCapacity = 1_000;
+
+    /** Threads sending notifications */
+    private int notificationThreads = 4;
+
+    /** Pending notifications before new ones are rejected */
+    private int notificationQueueCapacity = 10_000;
+}
@@ -49,7 +49,8 @@ public class MybatisPlusConfig {
                                 return "sys_dict_data".equals(tableName)
                                         || "sys_dict_type".equals(tableName)
                                         || "sys_tenant".equals(tableName)
-                                        || "sys_permission".equals(tableName);
+                                        || "sys_permission".equals(tableName)
+                                        || "email_outbox".equals(tableName);
                             }
                         }));
 
@@ -63,6 +64,10 @@ public class MybatisPlusConfig {
     }
 
     public static Long getCurrentTenantId() {
+        Long boundTenantId = TenantContextHolder.getTenantId();
+        if (ObjectUtil.isNotNull(boundTenantId)) {
+            return boundTenantId;
+        }
         try {
             Object tenantIdObject = StpUtil.getSession().get(SESSION_TENANT_ID);
             Long tenantId = Long.parseLong(tenantIdObject.toString());
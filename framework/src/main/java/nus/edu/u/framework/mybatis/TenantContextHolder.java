@@ -0,0 +1,43 @@
+package nus.edu.u.framework.mybatis;
+
+/**
+ * Tenant of work done outside of a logged in request
+ *
+ * <p>Scheduled jobs have no Sa-Token session to read the tenant from. They wrap their queries in
+ * {@link #runAs(Long, Runnable)}, and {@link MybatisPlusConfig#getCurrentTenantId()} returns that
+ * tenant for the duration of the call.
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-28
+ */
+public final class TenantContextHolder {
+
+    private static final ThreadLocal<Long> TENANT_ID = new ThreadLocal<>();
+
+    private TenantContextHolder() {}
+
+    /** Tenant bound to the current thread, or null inside a normal request */
+    public static Long getTenantId() {
+        return TENANT_ID.get();
+    }
+
+    /**
+     * Run an action on behalf of a tenant
+     *
+     * @param tenantId tenant the action belongs to
+     * @param action action to run on the current thread
+     */
+    public static void runAs(Long tenantId, Runnable action) {
+        Long previous = TENANT_ID.get();
+        TENANT_ID.set(tenantId);
+        try {
+            action.run();
+        } finally {
+            if (previous == null) {
+                TENANT_ID.remove();
+            } else {
+                TENANT_ID.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package nus.edu.u.framework.mybatis.loader;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Request-scoped batching loader of entities by primary key
+ *
+ * <p>Ids are queued with {@link Batch#prime} and sent to the database together the next time a
+ * value is demanded, as one {@code selectBatchIds} per entity type. Loaded rows, and ids that
+ * matched no row, are memoized until the request ends, so repeated lookups of the same user or
+ * event during one request cost nothing. Only use it for reads: a row updated in the same request
+ * must be {@link Batch#evict evicted} before it is loaded again.
+ *
+ * <p>Not thread-safe, a request is served by one thread. Outside of a web request {@link
+ * #current()} hands out a fresh loader that is not shared between calls.
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-28
+ */
+@Slf4j
+public class EntityLoader {
+
+    private static final String ATTRIBUTE = EntityLoader.class.getName();
+
+    private final Map<Class<?>, Batch<?>> batches = new HashMap<>();
+
+    private long hits;
+
+    private long misses;
+
+    private long queries;
+
+    /** Per-request counters, a hit is a lookup answered without a query of its own */
+    public record Stats(long hits, long misses, long queries) {}
+
+    /** Loader bound to the current request, created on first use */
+    public static EntityLoader current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return new EntityLoader();
+        }
+        EntityLoader loader =
+                (EntityLoader) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (loader == null) {
+            loader = new EntityLoader();
+            attributes.setAttribute(ATTRIBUTE, loader, RequestAttributes.SCOPE_REQUEST);
+            attributes.registerDestructionCallback(
+                    ATTRIBUTE, loader::logStats, RequestAttributes.SCOPE_REQUEST);
+        }
+        return loader;
+    }
+
+    /**
+     * Batch of one entity type, the first mapper registered for a type is kept
+     *
+     * @param type entity class
+     * @param mapper mapper of the entity
+     * @param idGetter primary key of a loaded row
+     * @return batch shared by every caller in this request
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Batch<T> of(Class<T> type, BaseMapper<T> mapper, Function<T, Long> idGetter) {
+        return (Batch<T>) batches.computeIfAbsent(type, key -> new Batch<>(mapper, idGetter));
+    }
+
+    public Stats stats() {
+        return new Stats(hits, misses, queries);
+    }
+
+    private void logStats() {
+        if (queries > 0) {
+            log.debug("Entity loader: {} hits, {} misses, {} queries", hits, misses, queries);
+        }
+    }
+
+    public final class Batch<T> {
+
+        private final BaseMapper<T> mapper;
+
+        private final Function<T, Long> idGetter;
+
+        /** Loaded rows, an id mapped to null matched no row */
+        private final Map<Long, T> loaded = new HashMap<>();
+
+        private final Set<Long> pending = new LinkedHashSet<>();
+
+        private Batch(BaseMapper<T> mapper, Function<T, Long> idGetter) {
+            this.mapper = mapper;
+            this.idGetter = idGetter;
+        }
+
+        /** Queue ids for the next dispatch without loading them yet */
+        public Batch<T> prime(Collection<Long> ids) {
+            for (Long id : ids) {
+                if (id != null && !loaded.containsKey(id)) {
+                    pending.add(id);
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Load one entity, dispatching it together with every queued id
+         *
+         * @param id primary key, may be null
+         * @return entity, or null when the id is null or matched no row
+         */
+        public T load(Long id) {
+            if (id == null) {
+                return null;
+            }
+            if (loaded.containsKey(id)) {
+                hits++;
+                return loaded.get(id);
+            }
+            misses++;
+            pending.add(id);
+            dispatch();
+            return loaded.get(id);
+        }
+
+        /**
+         * Load many entities with at most one query
+         *
+         * @param ids primary keys, nulls are skipped
+         * @return entities by id, ids without a row are left out
+         */
+        public Map<Long, T> loadMany(Collection<Long> ids) {
+            for (Long id : ids) {
+                if (id == null) {
+                    continue;
+                }
+                if (loaded.containsKey(id)) {
+                    hits++;
+                } else {
+                    misses++;
+                    pending.add(id);
+                }
+            }
+            dispatch();
+            Map<Long, T> result = new LinkedHashMap<>();
+            for (Long id : ids) {
+                T entity = id != null ? loaded.get(id) : null;
+                if (entity != null) {
+                    result.put(id, entity);
+                }
+            }
+            return result;
+        }
+
+        /** Forget a memoized row, e.g. after updating it */
+        public void evict(Long id) {
+            loaded.remove(id);
+        }
+
+        private void dispatch() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<Long> ids = new ArrayList<>(pending);
+            pending.clear();
+            queries++;
+            for (Long id : ids) {
+                loaded.put(id, null);
+            }
+            if (ids.size() == 1) {
+                // A lone id goes through the primary key lookup
+                T entity = mapper.selectById(ids.get(0));
+                if (entity != null) {
+                    loaded.put(ids.get(0), entity);
+                }
+                return;
+            }
+            for (T entity : mapper.selectBatchIds(ids)) {
+                if (entity != null) {
+                    loaded.put(idGetter.apply(entity), entity);
+                }
+            }
+        }
+    }
+}
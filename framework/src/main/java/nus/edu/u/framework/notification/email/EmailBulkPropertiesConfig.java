@@ -0,0 +1,29 @@
+package nus.edu.u.framework.notification.email;
+
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bulk sending of templated emails, where one provider call sends a template to many recipients
+ *
+ * <p>Bulk emails cannot carry inline images, so their images are hosted links instead.
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-29
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "notification.email.bulk")
+public class EmailBulkPropertiesConfig {
+
+    /** Send the templates below in bulk */
+    private boolean enabled;
+
+    /** Templates sent in bulk, they must not need inline images */
+    private List<String> templates = List.of("attendee-qr-invite");
+
+    /** Hosted logo shown in bulk emails, which are not sent in bulk while this is blank */
+    private String logoUrl;
+}
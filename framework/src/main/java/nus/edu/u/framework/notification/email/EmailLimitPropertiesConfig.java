@@ -9,8 +9,20 @@ import org.springframework.stereotype.Component;
 @Component
 @ConfigurationProperties(prefix = "notification.email")
 public class EmailLimitPropertiesConfig {
+    /** Emails per window and provider, across all tenants */
     private int rateLimit;
+
+    /** Emails per window, provider and tenant, 0 for no per-tenant limit */
+    private int tenantRateLimit;
+
     private Duration rateWindow;
+
+    /** How long a sent email is remembered, so the same email is not sent again */
     private Duration idempotencyTtl;
+
+    /** How long an email being sent stays claimed if its sender dies */
+    private Duration idempotencyClaimTtl = Duration.ofMinutes(2);
+
+    /** Prefix of the rate limit buckets */
     private String rateKey;
 }
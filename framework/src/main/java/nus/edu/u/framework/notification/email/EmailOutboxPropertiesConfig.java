@@ -0,0 +1,37 @@
+package nus.edu.u.framework.notification.email;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Email outbox delivery configuration, the worker threads are sized by {@code
+ * executor.notification-threads}
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-29
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "notification.email.outbox")
+public class EmailOutboxPropertiesConfig {
+
+    /** Messages claimed per query */
+    private int batchSize = 50;
+
+    /** Claimed messages a node holds at once, sending or waiting for a worker */
+    private int maxInFlight = 32;
+
+    /** Attempts before a message is dead lettered */
+    private int maxAttempts = 8;
+
+    /** Wait before the first retry, doubled for every further attempt */
+    private Duration initialBackoff = Duration.ofSeconds(30);
+
+    /** Longest wait between two attempts */
+    private Duration maxBackoff = Duration.ofHours(1);
+
+    /** Time a claimed message is held before another worker may take it over */
+    private Duration lease = Duration.ofMinutes(5);
+}
@@ -1,5 +1,6 @@
 package nus.edu.u.framework.notification.email;
 
+import java.net.URI;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.Bean;
@@ -18,14 +19,19 @@ public class SesConfig {
     public SesV2Client sesV2Client(
             @Value("${aws.region}") String region,
             @Value("${aws.credentials.access-key}") String accessKey,
-            @Value("${aws.credentials.secret-key}") String secretKey) {
+            @Value("${aws.credentials.secret-key}") String secretKey,
+            @Value("${aws.ses.endpoint:}") String endpoint) {
 
         var credentials = AwsBasicCredentials.create(accessKey, secretKey);
-        var client =
+        var builder =
                 SesV2Client.builder()
                         .region(Region.of(region))
-                        .credentialsProvider(StaticCredentialsProvider.create(credentials))
-                        .build();
+                        .credentialsProvider(StaticCredentialsProvider.create(credentials));
+        // A local SES stand-in such as LocalStack, for integration tests
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+        var client = builder.build();
 
         SesClientHolder.init(client);
         return client;
@@ -1,7 +1,13 @@
 package nus.edu.u.framework.notification.idempotency;
 
+import com.google.common.hash.Hasher;
 import com.google.common.hash.Hashing;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -11,8 +17,44 @@ public class IdempotencyKeyUtil {
 
     private final IdempotencyPropertiesConfig props;
 
-    public String buildEmailKey(String to, String subject, String content) {
-        return props.getEmailPrefix() + to + ":" + subject + ":" + sha256(content);
+    /**
+     * Key of a templated email, from what it is rendered from rather than the rendered body
+     *
+     * <p>The variables are hashed in key order, so the same variables always give the same key
+     * however their map is ordered. Attachments are part of the key, so a re-issued QR code is not
+     * taken for a duplicate of the email that carried the old one.
+     *
+     * @param attachments what identifies each attachment, such as its bytes or the location they
+     *     are loaded from, empty when there are none
+     */
+    public String buildEmailKey(
+            String to,
+            String templateId,
+            Map<String, ?> variables,
+            Locale locale,
+            List<?> attachments) {
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        putCanonical(hasher, variables);
+        putCanonical(hasher, locale);
+        if (!attachments.isEmpty()) {
+            putCanonical(hasher, attachments);
+        }
+        return props.getEmailPrefix() + templateId + ":" + to + ":" + hasher.hash();
+    }
+
+    /**
+     * Key of an email by its content
+     *
+     * @param attachments what identifies each attachment, empty when there are none
+     */
+    public String buildEmailKey(String to, String subject, String content, List<?> attachments) {
+        String key = props.getEmailPrefix() + to + ":" + subject + ":" + sha256(content);
+        if (attachments.isEmpty()) {
+            return key;
+        }
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        putCanonical(hasher, attachments);
+        return key + ":" + hasher.hash();
     }
 
     public String buildPushKey(String userId, String payload) {
@@ -22,4 +64,33 @@ public class IdempotencyKeyUtil {
     private static String sha256(String input) {
         return Hashing.sha256().hashString(input, StandardCharsets.UTF_8).toString();
     }
+
+    /** Hash a value with maps in key order, every part tagged so no two values hash alike */
+    private static void putCanonical(Hasher hasher, Object value) {
+        if (value == null) {
+            hasher.putByte((byte) 0);
+        } else if (value instanceof Map<?, ?> map) {
+            hasher.putByte((byte) 1).putInt(map.size());
+            map.entrySet().stream()
+                    .sorted(Comparator.comparing(entry -> String.valueOf(entry.getKey())))
+                    .forEachOrdered(
+                            entry -> {
+                                putCanonical(hasher, String.valueOf(entry.getKey()));
+                                putCanonical(hasher, entry.getValue());
+                            });
+        } else if (value instanceof Iterable<?> items) {
+            hasher.putByte((byte) 2);
+            for (Object item : items) {
+                putCanonical(hasher, item);
+            }
+            hasher.putByte((byte) 3);
+        } else if (value instanceof Object[] items) {
+            putCanonical(hasher, Arrays.asList(items));
+        } else if (value instanceof byte[] bytes) {
+            hasher.putByte((byte) 5).putInt(bytes.length).putBytes(bytes);
+        } else {
+            String text = value.toString();
+            hasher.putByte((byte) 4).putInt(text.length()).putString(text, StandardCharsets.UTF_8);
+        }
+    }
 }
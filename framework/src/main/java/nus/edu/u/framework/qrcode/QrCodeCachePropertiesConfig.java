@@ -0,0 +1,27 @@
+package nus.edu.u.framework.qrcode;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rendered QR image cache configuration
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-25
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "qrcode.cache")
+public class QrCodeCachePropertiesConfig {
+
+    /** Upper bound of the on-heap tier, in bytes of image data */
+    private long maxBytes = 64L * 1024 * 1024;
+
+    /** Share rendered images between nodes through Redis */
+    private boolean redisEnabled;
+
+    /** Lifetime of an image in the Redis tier */
+    private Duration redisTtl = Duration.ofDays(1);
+}
@@ -0,0 +1,33 @@
+package nus.edu.u.framework.task;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Task log write-behind configuration
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-29
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "task.log")
+public class TaskLogPropertiesConfig {
+
+    /** Write logs that nobody waits for after the task action commits, in batches */
+    private boolean writeBehind;
+
+    /** Logs waiting in memory before new ones are left to recovery */
+    private int queueCapacity = 10_000;
+
+    /** Logs per multi-row insert, a full batch is flushed right away */
+    private int batchSize = 200;
+
+    /** Longest time a log waits in memory for its batch to fill */
+    private Duration flushInterval = Duration.ofMillis(500);
+
+    /** Age after which a spooled log that was not flushed is written by the recovery job */
+    private Duration recoverAfter = Duration.ofMinutes(1);
+}
@@ -0,0 +1,94 @@
+package nus.edu.u.perf
+
+import io.gatling.core.Predef._
+import io.gatling.http.Predef._
+
+import scala.concurrent.duration._
+
+/**
+ * Gatling simulation for the staff check-in path during an event entry storm.
+ *
+ * Every virtual user logs in as staff and scans a ticket. Tokens are fed from a CSV file with a
+ * `token` header; when several users scan the same token exactly one of them should succeed and
+ * the rest should be rejected with "Already checked in".
+ *
+ * Run with `-Dgatling.simulationClass=nus.edu.u.perf.AttendeeCheckInSimulation`.
+ *
+ * Environment variables / system properties:
+ * - base URL: `checkIn.baseUrl` / `SYSTEM_PERF_BASE_URL`
+ * - login path: `checkIn.loginPath` / `SYSTEM_PERF_LOGIN_PATH`
+ * - username/password: `checkIn.username` / `SYSTEM_PERF_USERNAME`, `checkIn.password` / `SYSTEM_PERF_PASSWORD`
+ * - tokens: `checkIn.tokensFile` / `SYSTEM_PERF_CHECKIN_TOKENS_FILE`, falling back to `checkIn.token` / `SYSTEM_PERF_CHECKIN_TOKEN`
+ */
+class AttendeeCheckInSimulation extends Simulation {
+
+  private def resolve(key: String, envKeys: Seq[String]): Option[String] =
+    sys.props.get(key).orElse(envKeys.view.flatMap(sys.env.get).headOption)
+
+  private def resolveInt(key: String, envKeys: Seq[String], default: Int): Int =
+    resolve(key, envKeys).flatMap(v => scala.util.Try(v.toInt).toOption).getOrElse(default)
+
+  private val baseUrl = resolve("checkIn.baseUrl", Seq("SYSTEM_PERF_BASE_URL"))
+    .getOrElse("http://localhost:8080")
+
+  private val loginPath = resolve("checkIn.loginPath", Seq("SYSTEM_PERF_LOGIN_PATH"))
+    .getOrElse("/system/auth/login")
+
+  private val username = resolve("checkIn.username", Seq("SYSTEM_PERF_USERNAME"))
+    .getOrElse("admin")
+
+  private val password = resolve("checkIn.password", Seq("SYSTEM_PERF_PASSWORD"))
+    .getOrElse("admin")
+
+  private val tokens =
+    resolve("checkIn.tokensFile", Seq("SYSTEM_PERF_CHECKIN_TOKENS_FILE")) match {
+      case Some(file) => csv(file).circular
+      case None =>
+        val token = resolve("checkIn.token", Seq("SYSTEM_PERF_CHECKIN_TOKEN")).getOrElse("token")
+        Array(Map("token" -> token)).circular
+    }
+
+  private val httpProtocol = http
+    .baseUrl(baseUrl)
+    .acceptHeader("application/json")
+    .contentTypeHeader("application/json")
+
+  private val login =
+    exec(
+      http("login")
+        .post(loginPath)
+        .body(StringBody(s"""{"username":"$username","password":"$password"}"""))
+        .asJson
+        .check(status.is(200))
+    ).exitHereIfFailed
+
+  private val scenarioBuilder =
+    scenario("Staff Check-in Storm")
+      .exec(login)
+      .feed(tokens)
+      .exec(
+        http("staff-scan")
+          .post("/system/attendee/staff-scan")
+          .body(StringBody("""{"token":"${token}"}"""))
+          .asJson
+          .check(status.is(200))
+      )
+
+  private val rampUsersCount = resolveInt("system.perf.rampUsers", Seq("SYSTEM_PERF_RAMP_USERS"), 100)
+  private val rampSeconds = resolveInt("system.perf.rampSeconds", Seq("SYSTEM_PERF_RAMP_SECONDS"), 10)
+  private val constantUsersRate = resolveInt("system.perf.constantUsers", Seq("SYSTEM_PERF_CONSTANT_USERS"), 300)
+  private val constantSeconds = resolveInt("system.perf.constantSeconds", Seq("SYSTEM_PERF_CONSTANT_SECONDS"), 60)
+  private val p95Ms = resolveInt("system.perf.p95Ms", Seq("SYSTEM_PERF_P95_MS"), 500)
+  private val maxFailurePercent = resolveInt("system.perf.failurePercent", Seq("SYSTEM_PERF_FAILURE_PERCENT"), 1)
+
+  setUp(
+    scenarioBuilder.inject(
+      rampUsers(rampUsersCount).during(rampSeconds.seconds),
+      constantUsersPerSec(constantUsersRate).during(constantSeconds.seconds)
+    )
+  ).protocols(httpProtocol)
+    .assertions(
+      details("staff-scan").responseTime.percentile3.lte(p95Ms),
+      forAll.failedRequests.percent.lte(maxFailurePercent)
+    )
+}
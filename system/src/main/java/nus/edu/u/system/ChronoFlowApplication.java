@@ -12,6 +12,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Start application
@@ -23,6 +24,7 @@ import org.springframework.data.redis.connection.RedisConnectionFactory;
 @SpringBootApplication(
         scanBasePackages = {"nus.edu.u.framework", "nus.edu.u.common", "nus.edu.u.system"})
 @EnableAspectJAutoProxy(exposeProxy = true)
+@EnableScheduling
 @Slf4j
 public class ChronoFlowApplication {
     public static void main(String[] args) {
@@ -79,6 +79,16 @@ public class TaskController {
         return result;
     }
 
+    @PatchMapping(value = "/{eventId}/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public CommonResult<TaskBulkActionRespVO> bulkAction(
+            @PathVariable("eventId") @NotNull Long eventId,
+            @Valid @RequestBody TaskBulkActionReqVO reqVO) {
+        TaskBulkActionRespVO resp = taskService.bulkAction(eventId, reqVO);
+        CommonResult<TaskBulkActionRespVO> result = CommonResult.success(resp);
+        result.setMsg("bulk task action finished");
+        return result;
+    }
+
     @SaCheckPermission(DELETE_TASK)
     @DeleteMapping("/{eventId}/{taskId}")
     public CommonResult<Void> deleteTask(
@@ -1,30 +1,47 @@
 package nus.edu.u.system.controller.user;
 
+import static nus.edu.u.common.constant.PermissionConstants.CHECK_IN_ATTENDEE;
 import static nus.edu.u.common.constant.PermissionConstants.CREATE_MEMBER;
+import static nus.edu.u.common.constant.PermissionConstants.UPDATE_EVENT;
 import static nus.edu.u.common.core.domain.CommonResult.success;
 import static nus.edu.u.common.exception.enums.GlobalErrorCodeConstants.BAD_REQUEST;
 import static nus.edu.u.common.utils.exception.ServiceExceptionUtil.exception;
 
 import cn.dev33.satoken.annotation.SaCheckPermission;
 import cn.dev33.satoken.annotation.SaIgnore;
+import cn.dev33.satoken.annotation.SaMode;
 import jakarta.annotation.Resource;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import nus.edu.u.common.core.domain.CommonResult;
+import nus.edu.u.common.core.domain.CursorPageResult;
+import nus.edu.u.system.domain.dto.CheckInManifestDTO;
+import nus.edu.u.system.domain.dto.QrImageDTO;
 import nus.edu.u.system.domain.vo.attendee.AttendeeInfoRespVO;
+import nus.edu.u.system.domain.vo.attendee.AttendeePageReqVO;
 import nus.edu.u.system.domain.vo.attendee.AttendeeQrCodeRespVO;
 import nus.edu.u.system.domain.vo.attendee.AttendeeReqVO;
 import nus.edu.u.system.domain.vo.checkin.CheckInReqVO;
 import nus.edu.u.system.domain.vo.checkin.CheckInRespVO;
 import nus.edu.u.system.domain.vo.checkin.GenerateQrCodesReqVO;
 import nus.edu.u.system.domain.vo.checkin.GenerateQrCodesRespVO;
+import nus.edu.u.system.domain.vo.checkin.OfflineCheckInReqVO;
+import nus.edu.u.system.domain.vo.checkin.OfflineCheckInRespVO;
 import nus.edu.u.system.service.attendee.AttendeeService;
+import nus.edu.u.system.service.attendee.OfflineCheckInService;
+import nus.edu.u.system.service.attendee.stats.CheckInStatsBroadcaster;
 import nus.edu.u.system.service.excel.ExcelService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/system/attendee")
@@ -32,8 +49,14 @@ import org.springframework.web.multipart.MultipartFile;
 @Slf4j
 public class AttendeeController {
 
+    private static final Duration QR_IMAGE_MAX_AGE = Duration.ofDays(1);
+
     @Resource private AttendeeService attendeeService;
 
+    @Resource private OfflineCheckInService offlineCheckInService;
+
+    @Resource private CheckInStatsBroadcaster checkInStatsBroadcaster;
+
     @Resource private ExcelService excelService;
 
     @GetMapping("list/{eventId}")
@@ -42,6 +65,13 @@ public class AttendeeController {
         return success(attendeeService.list(eventId));
     }
 
+    /** Keyset paged attendee list, pass the returned cursor back for the next page */
+    @GetMapping("page/{eventId}")
+    public CommonResult<CursorPageResult<AttendeeQrCodeRespVO>> page(
+            @PathVariable("eventId") @NotNull Long eventId, @Valid AttendeePageReqVO reqVO) {
+        return success(attendeeService.page(eventId, reqVO));
+    }
+
     @GetMapping("/{attendeeId}")
     public CommonResult<AttendeeQrCodeRespVO> get(
             @PathVariable("attendeeId") @NotNull Long attendeeId) {
@@ -102,12 +132,63 @@ public class AttendeeController {
         return success(info);
     }
 
+    /** Rendered check-in QR image, revalidated with its strong ETag */
+    @SaIgnore
+    @GetMapping("/qr")
+    public ResponseEntity<byte[]> qrImage(@RequestParam("token") String token, WebRequest request) {
+        QrImageDTO image = attendeeService.getCheckInQrImage(token);
+        if (request.checkNotModified(image.getEtag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(image.getContentType()))
+                .eTag(image.getEtag())
+                .cacheControl(CacheControl.maxAge(QR_IMAGE_MAX_AGE).cachePrivate())
+                .body(image.getBytes());
+    }
+
     @PostMapping("/staff-scan")
     public CommonResult<CheckInRespVO> checkIn(@RequestBody @Valid CheckInReqVO reqVO) {
         log.info(
                 "Check-in request with token: {}",
                 reqVO.getToken().substring(0, Math.min(8, reqVO.getToken().length())) + "...");
-        CheckInRespVO response = attendeeService.checkIn(reqVO.getToken());
+        CheckInRespVO response =
+                reqVO.getEventId() == null
+                        ? attendeeService.checkIn(reqVO.getToken())
+                        : attendeeService.checkIn(reqVO.getToken(), reqVO.getEventId());
         return success(response);
     }
+
+    /** Live check-in counts of an event, pushed once per second */
+    @GetMapping(value = "/checkin-stats/{eventId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter checkInStats(@PathVariable("eventId") @NotNull Long eventId) {
+        return checkInStatsBroadcaster.subscribe(eventId);
+    }
+
+    /** Download the signed attendee manifest for scanning without connectivity */
+    @SaCheckPermission(
+            value = {CHECK_IN_ATTENDEE, UPDATE_EVENT},
+            mode = SaMode.OR)
+    @GetMapping("/manifest/{eventId}")
+    public ResponseEntity<byte[]> manifest(@PathVariable("eventId") @NotNull Long eventId) {
+        CheckInManifestDTO manifest = offlineCheckInService.buildManifest(eventId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(manifest.getContent());
+    }
+
+    /** Upload check-ins recorded while offline */
+    @SaCheckPermission(
+            value = {CHECK_IN_ATTENDEE, UPDATE_EVENT},
+            mode = SaMode.OR)
+    @PostMapping("/offline-sync/{eventId}")
+    public CommonResult<OfflineCheckInRespVO> offlineSync(
+            @PathVariable("eventId") @NotNull Long eventId,
+            @RequestBody @Valid OfflineCheckInReqVO reqVO) {
+        log.info(
+                "Offline check-in sync for event {} with {} scans",
+                eventId,
+                reqVO.getCheckIns().size());
+        return success(offlineCheckInService.sync(eventId, reqVO));
+    }
 }
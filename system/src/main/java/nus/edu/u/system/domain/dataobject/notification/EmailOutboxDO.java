@@ -0,0 +1,59 @@
+package nus.edu.u.system.domain.dataobject.notification;
+
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import lombok.*;
+import nus.edu.u.common.core.domain.base.BaseDO;
+import nus.edu.u.system.domain.dto.NotificationRequestDTO;
+import nus.edu.u.system.enums.email.EmailStatus;
+
+/**
+ * Email outbox data object for table email_outbox
+ *
+ * <p>Not tenant scoped, the outbox is drained for all tenants at once. The tenant of a message is
+ * only kept to send it as that tenant.
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-29
+ */
+@TableName(value = "email_outbox")
+@Data
+@EqualsAndHashCode(callSuper = true)
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmailOutboxDO extends BaseDO implements Serializable {
+
+    @Serial private static final long serialVersionUID = 1L;
+
+    @TableId private Long id;
+
+    /** Tenant that sent the message, null when sent before anyone logged in */
+    private Long tenantId;
+
+    private String toAddress;
+
+    private String templateId;
+
+    /** {@link NotificationRequestDTO} as JSON, rendered when the message is sent */
+    private String payload;
+
+    /** Related to {@link EmailStatus} */
+    private String status;
+
+    /** Failed attempts so far */
+    private Integer attempts;
+
+    /** When the message is due, either for its next attempt or because its lease ran out */
+    private LocalDateTime nextAttemptTime;
+
+    /** Token of the claim a worker holds, null when unclaimed */
+    private String claimToken;
+
+    private String lastError;
+
+    private LocalDateTime sentTime;
+}
@@ -0,0 +1,11 @@
+package nus.edu.u.system.domain.dto;
+
+import java.util.Map;
+
+/**
+ * One recipient of a bulk email, with the values filled into the template for them
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-29
+ */
+public record BulkEmailEntryDTO(String to, Map<String, Object> variables) {}
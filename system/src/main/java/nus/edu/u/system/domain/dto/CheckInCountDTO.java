@@ -0,0 +1,23 @@
+package nus.edu.u.system.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Attendee and check-in counts of one event
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-27
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckInCountDTO {
+
+    private Long total;
+
+    private Long checkedIn;
+}
@@ -0,0 +1,24 @@
+package nus.edu.u.system.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Signed offline check-in manifest of one event
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-23
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CheckInManifestDTO {
+
+    /** Binary manifest, see OfflineCheckInServiceImpl for the layout */
+    private byte[] content;
+
+    private Integer attendeeCount;
+}
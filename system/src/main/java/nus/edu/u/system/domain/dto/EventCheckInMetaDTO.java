@@ -0,0 +1,38 @@
+package nus.edu.u.system.domain.dto;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Event fields needed by the check-in path, cached per event
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-21
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventCheckInMetaDTO {
+
+    private Long eventId;
+
+    private Long tenantId;
+
+    private String name;
+
+    private Integer status;
+
+    private LocalDateTime startTime;
+
+    private LocalDateTime endTime;
+
+    /** Earliest time an attendee may check in */
+    private LocalDateTime checkInStartTime;
+
+    /** Latest time an attendee may check in */
+    private LocalDateTime checkInEndTime;
+}
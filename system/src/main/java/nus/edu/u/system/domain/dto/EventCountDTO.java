@@ -0,0 +1,26 @@
+package nus.edu.u.system.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of rows of an event, optionally per status, from a GROUP BY query
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-29
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventCountDTO {
+
+    private Long eventId;
+
+    /** Null when the rows are not grouped by status */
+    private Integer status;
+
+    private Long total;
+}
@@ -0,0 +1,26 @@
+package nus.edu.u.system.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Rendered QR image
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-25
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QrImageDTO {
+
+    private byte[] bytes;
+
+    private String contentType;
+
+    /** Strong entity tag derived from the image bytes, quoted */
+    private String etag;
+}
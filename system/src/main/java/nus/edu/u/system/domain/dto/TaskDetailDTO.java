@@ -0,0 +1,36 @@
+package nus.edu.u.system.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import nus.edu.u.system.domain.dataobject.task.EventDO;
+import nus.edu.u.system.domain.dataobject.task.TaskDO;
+import nus.edu.u.system.domain.dataobject.user.UserDO;
+
+/**
+ * A task joined with its event, assignee and assigner, one row of a task listing
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-28
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskDetailDTO {
+
+    /** Same as the task id, keys the joined row */
+    private Long taskId;
+
+    private TaskDO task;
+
+    /** Null when the event was deleted */
+    private EventDO event;
+
+    /** Null when the task is unassigned */
+    private UserDO assignee;
+
+    /** Organizer of the event */
+    private UserDO assigner;
+}
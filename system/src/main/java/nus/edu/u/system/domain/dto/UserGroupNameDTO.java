@@ -0,0 +1,27 @@
+package nus.edu.u.system.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Group a user belongs to within an event
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-28
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserGroupNameDTO {
+
+    private Long userId;
+
+    private Long eventId;
+
+    private Long deptId;
+
+    private String deptName;
+}
@@ -19,6 +19,9 @@ public class AttendeeInviteReqVO {
     private byte[] qrCodeBytes;
     private String qrCodeContentType;
 
+    /** Hosted QR image, linked instead of attached when invites are sent in bulk */
+    private String qrImageUrl;
+
     private Long eventId;
 
     private String eventName;
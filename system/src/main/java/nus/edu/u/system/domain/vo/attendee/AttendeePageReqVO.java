@@ -0,0 +1,33 @@
+package nus.edu.u.system.domain.vo.attendee;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+/**
+ * Keyset page query of an event's attendees
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-27
+ */
+@Data
+public class AttendeePageReqVO {
+
+    /** Id of the last attendee of the previous page, empty for the first page */
+    @Min(value = 0, message = "Cursor can't be negative")
+    private Long cursor;
+
+    @Min(value = 1, message = "Minimum number of entries per page is 1")
+    @Max(value = 200, message = "Maximum number of entries per page is 200")
+    private Integer limit = 50;
+
+    /** 0 not checked in, 1 checked in, empty for both */
+    @Min(value = 0, message = "Unknown check-in status")
+    @Max(value = 1, message = "Unknown check-in status")
+    private Integer checkInStatus;
+
+    /** Prefix of the attendee email or name */
+    @Size(max = 100, message = "Keyword can't exceed 100 characters")
+    private String keyword;
+}
@@ -26,5 +26,8 @@ public class AttendeeQrCodeRespVO {
 
     private String qrCodeUrl;
 
+    /** Cacheable URL of the QR image, preferred over {@link #qrCodeBase64} */
+    private String qrImageUrl;
+
     private Integer checkInStatus;
 }
@@ -7,4 +7,7 @@ import lombok.Data;
 public class CheckInReqVO {
     @NotBlank(message = "Check-in token cannot be empty")
     private String token;
+
+    /** Event the scanning device checks in for, tokens of other events are rejected */
+    private Long eventId;
 }
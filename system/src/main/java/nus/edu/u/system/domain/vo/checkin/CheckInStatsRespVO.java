@@ -0,0 +1,32 @@
+package nus.edu.u.system.domain.vo.checkin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Live check-in counts of an event, pushed to dashboards
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-27
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckInStatsRespVO {
+
+    private Long eventId;
+
+    /** Registered attendees */
+    private Long total;
+
+    private Long checkedIn;
+
+    /** Check-ins during the last 60 seconds */
+    private Long lastMinute;
+
+    /** Epoch millis the counts were taken at */
+    private Long timestamp;
+}
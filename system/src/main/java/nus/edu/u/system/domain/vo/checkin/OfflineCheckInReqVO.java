@@ -0,0 +1,34 @@
+package nus.edu.u.system.domain.vo.checkin;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.Data;
+
+/**
+ * Batch of check-ins recorded by a staff device while offline
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-23
+ */
+@Data
+public class OfflineCheckInReqVO {
+
+    @NotEmpty(message = "Check-in list cannot be empty")
+    @Size(max = 1000, message = "At most 1000 check-ins can be synced at once")
+    @Valid
+    private List<Item> checkIns;
+
+    @Data
+    public static class Item {
+        @NotBlank(message = "Check-in token cannot be empty")
+        private String token;
+
+        @NotNull(message = "Scan time cannot be null")
+        private LocalDateTime scannedAt;
+    }
+}
@@ -0,0 +1,34 @@
+package nus.edu.u.system.domain.vo.checkin;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of an offline check-in sync
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-23
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OfflineCheckInRespVO {
+
+    private Long eventId;
+
+    /** Distinct tokens received */
+    private Integer received;
+
+    /** Attendees whose check-in was recorded or moved to an earlier scan */
+    private Integer applied;
+
+    /** Tokens that do not belong to an attendee of this event */
+    private List<String> unknownTokens;
+
+    /** Tokens scanned outside the check-in window */
+    private List<String> rejectedTokens;
+}
@@ -0,0 +1,23 @@
+package nus.edu.u.system.domain.vo.task;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.Data;
+import nus.edu.u.common.annotation.InEnum;
+import nus.edu.u.system.enums.task.TaskActionEnum;
+
+@Data
+public class TaskBulkActionReqVO {
+
+    @NotEmpty(message = "Task ids are required")
+    @Size(max = 200, message = "At most 200 tasks per request")
+    private List<@NotNull Long> taskIds;
+
+    @NotNull(message = "Action type is required")
+    @InEnum(value = TaskActionEnum.class, message = "Wrong action type")
+    private Integer type;
+
+    private String remark;
+}
@@ -0,0 +1,36 @@
+package nus.edu.u.system.domain.vo.task;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Outcome of a bulk task action, one result per requested task in request order */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBulkActionRespVO {
+
+    private Integer succeeded;
+
+    private Integer failed;
+
+    private List<Result> results;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Result {
+        private Long taskId;
+
+        private Boolean success;
+
+        /** Error code when the task was not moved */
+        private Integer code;
+
+        private String msg;
+    }
+}
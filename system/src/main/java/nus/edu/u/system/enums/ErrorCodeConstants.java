@@ -122,6 +122,8 @@ public interface ErrorCodeConstants {
     ErrorCode CHECKIN_NOT_STARTED = new ErrorCode(10_03_004, "Check-in has not started yet");
     ErrorCode CHECKIN_ENDED = new ErrorCode(10_03_005, "Check-in has ended");
     ErrorCode EVENT_NOT_ACTIVE = new ErrorCode(10_03_006, "Event is not active");
+    ErrorCode CHECKIN_MANIFEST_UNAVAILABLE =
+            new ErrorCode(10_03_007, "Offline check-in is not configured");
     ErrorCode ATTENDEE_CREATION_FAILED =
             new ErrorCode(
                     1_002_010_002,
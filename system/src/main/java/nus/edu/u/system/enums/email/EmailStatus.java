@@ -2,6 +2,11 @@ package nus.edu.u.system.enums.email;
 
 public enum EmailStatus {
     PENDING,
+    /** Claimed by a worker, taken again once its lease runs out */
+    SENDING,
     SENT,
-    FAILED
+    /** Last attempt failed, retried once its backoff has passed */
+    FAILED,
+    /** Gave up after the last allowed attempt */
+    DEAD
 }
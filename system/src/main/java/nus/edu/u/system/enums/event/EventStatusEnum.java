@@ -1,5 +1,6 @@
 package nus.edu.u.system.enums.event;
 
+import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import nus.edu.u.common.core.ArrayValuable;
@@ -32,4 +33,23 @@ public enum EventStatusEnum implements ArrayValuable<Integer> {
         }
         throw new IllegalArgumentException("Unknow event status code: " + code);
     }
+
+    /**
+     * Status an event should have at a point in time
+     *
+     * @param startTime event start
+     * @param endTime event end
+     * @param now point in time
+     * @return NOT_STARTED before the start, COMPLETED after the end, ACTIVE in between
+     */
+    public static EventStatusEnum at(
+            LocalDateTime startTime, LocalDateTime endTime, LocalDateTime now) {
+        if (now.isBefore(startTime)) {
+            return NOT_STARTED;
+        }
+        if (now.isAfter(endTime)) {
+            return COMPLETED;
+        }
+        return ACTIVE;
+    }
 }
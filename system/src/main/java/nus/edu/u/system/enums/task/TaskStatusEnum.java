@@ -1,6 +1,7 @@
 package nus.edu.u.system.enums.task;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -28,6 +29,10 @@ public enum TaskStatusEnum implements ArrayValuable<Integer> {
     public static final Integer[] ARRAYS =
             Arrays.stream(values()).map(TaskStatusEnum::getStatus).toArray(Integer[]::new);
 
+    /** Statuses of tasks still being worked on, which become DELAYED once their end time passes */
+    public static final List<Integer> OPEN_STATUSES =
+            List.of(PENDING.status, PROGRESS.status, BLOCKED.status);
+
     private final Integer status;
 
     private final String name;
@@ -1,10 +1,18 @@
 package nus.edu.u.system.mapper.attendee;
 
+import com.baomidou.mybatisplus.annotation.InterceptorIgnore;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import nus.edu.u.system.domain.dataobject.attendee.EventAttendeeDO;
+import nus.edu.u.system.domain.dto.CheckInCountDTO;
+import nus.edu.u.system.domain.vo.checkin.OfflineCheckInReqVO;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
 
 /**
  * Event Attendee Mapper
@@ -24,6 +32,29 @@ public interface EventAttendeeMapper extends BaseMapper<EventAttendeeDO> {
                         .last("LIMIT 1"));
     }
 
+    /**
+     * Whether a check-in token was issued, across tenants since tokens are globally unique and
+     * attendees fetching their QR image are not logged in
+     */
+    @InterceptorIgnore(tenantLine = "true")
+    @Select(
+            "SELECT EXISTS(SELECT 1 FROM event_attendee "
+                    + "WHERE check_in_token = #{token} AND deleted = 0)")
+    boolean existsByToken(@Param("token") String token);
+
+    /**
+     * Attendee count of an event and its check-ins before a point in time, ignoring the tenant line
+     * since it seeds live counters off the request thread; callers check the event belongs to the
+     * tenant
+     */
+    @InterceptorIgnore(tenantLine = "true")
+    @Select(
+            "SELECT COUNT(*) AS total, COALESCE(SUM(check_in_status = 1 "
+                    + "AND (check_in_time IS NULL OR check_in_time < #{before})), 0) AS checked_in "
+                    + "FROM event_attendee WHERE event_id = #{eventId} AND deleted = 0")
+    CheckInCountDTO countCheckIns(
+            @Param("eventId") Long eventId, @Param("before") LocalDateTime before);
+
     /** 通过 eventId 和 email 查询 */
     default EventAttendeeDO selectByEventAndEmail(Long eventId, String email) {
         return this.selectOne(
@@ -39,4 +70,153 @@ public interface EventAttendeeMapper extends BaseMapper<EventAttendeeDO> {
         return this.selectList(
                 Wrappers.<EventAttendeeDO>lambdaQuery().eq(EventAttendeeDO::getEventId, eventId));
     }
+
+    /**
+     * One keyset page of an event's attendees in id order
+     *
+     * <p>Seeks past {@code cursor} instead of using an offset, so every page costs the same. The id
+     * order is served by the {@code (event_id, id)} index, or by {@code (event_id,
+     * check_in_status)} with a status filter since InnoDB suffixes it with the primary key. The
+     * email or name prefix is an OR across columns, so it is filtered while walking that order.
+     *
+     * @param eventId event id
+     * @param cursor id of the last row of the previous page, null for the first page
+     * @param checkInStatus check-in status to filter on, null for any
+     * @param keyword prefix of the email or name, null for any
+     * @param limit number of rows to return
+     * @return at most {@code limit} attendees after {@code cursor} in id order, with only the
+     *     selected columns populated
+     */
+    default List<EventAttendeeDO> selectPageByCursor(
+            Long eventId, Long cursor, Integer checkInStatus, String keyword, int limit) {
+        String prefix = escapeLike(keyword);
+        return this.selectList(
+                Wrappers.<EventAttendeeDO>lambdaQuery()
+                        .select(
+                                EventAttendeeDO::getId,
+                                EventAttendeeDO::getAttendeeEmail,
+                                EventAttendeeDO::getAttendeeName,
+                                EventAttendeeDO::getAttendeeMobile,
+                                EventAttendeeDO::getCheckInToken,
+                                EventAttendeeDO::getCheckInStatus,
+                                EventAttendeeDO::getCheckInTime)
+                        .eq(EventAttendeeDO::getEventId, eventId)
+                        .eq(EventAttendeeDO::getDeleted, false)
+                        .gt(cursor != null, EventAttendeeDO::getId, cursor)
+                        .eq(checkInStatus != null, EventAttendeeDO::getCheckInStatus, checkInStatus)
+                        .and(
+                                prefix != null,
+                                w ->
+                                        w.likeRight(EventAttendeeDO::getAttendeeEmail, prefix)
+                                                .or()
+                                                .likeRight(
+                                                        EventAttendeeDO::getAttendeeName, prefix))
+                        .orderByAsc(EventAttendeeDO::getId)
+                        .last("LIMIT " + limit));
+    }
+
+    /** Escape LIKE wildcards so a keyword only ever matches as a literal prefix */
+    private static String escapeLike(String keyword) {
+        if (keyword == null || keyword.isBlank()) {
+            return null;
+        }
+        return keyword.trim().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /** Tokens and check-in status of all attendees of an event, for the offline manifest */
+    default List<EventAttendeeDO> selectManifestByEventId(Long eventId) {
+        return this.selectList(
+                Wrappers.<EventAttendeeDO>lambdaQuery()
+                        .select(
+                                EventAttendeeDO::getId,
+                                EventAttendeeDO::getCheckInToken,
+                                EventAttendeeDO::getCheckInStatus)
+                        .eq(EventAttendeeDO::getEventId, eventId)
+                        .isNotNull(EventAttendeeDO::getCheckInToken)
+                        .eq(EventAttendeeDO::getDeleted, false));
+    }
+
+    /** Tokens among {@code tokens} that belong to attendees of an event */
+    default List<String> selectExistingTokens(Long eventId, Collection<String> tokens) {
+        return this.selectObjs(
+                Wrappers.<EventAttendeeDO>lambdaQuery()
+                        .select(EventAttendeeDO::getCheckInToken)
+                        .eq(EventAttendeeDO::getEventId, eventId)
+                        .in(EventAttendeeDO::getCheckInToken, tokens)
+                        .eq(EventAttendeeDO::getDeleted, false));
+    }
+
+    /**
+     * Emails among {@code emails} already registered for an event
+     *
+     * @param eventId event id
+     * @param emails emails to look up
+     * @return registered emails
+     */
+    List<String> selectExistingEmails(
+            @Param("eventId") Long eventId, @Param("emails") Collection<String> emails);
+
+    /**
+     * Insert attendees with one multi-row statement, generated ids are written back
+     *
+     * @param list attendees, keep chunks to a few hundred rows
+     * @return number of inserted rows
+     */
+    int insertBatch(@Param("list") List<EventAttendeeDO> list);
+
+    /**
+     * Replace the check-in tokens of several attendees in one statement
+     *
+     * @param list attendees carrying id and new token
+     * @return number of updated rows
+     */
+    int updateCheckInTokens(@Param("list") List<EventAttendeeDO> list);
+
+    /**
+     * Apply a batch of offline check-ins in one statement, the earliest scan of a ticket wins
+     *
+     * <p>Attendees not yet checked in are checked in at their scan time, attendees already checked
+     * in at a later time have their check-in time moved back to the scan.
+     *
+     * @param eventId event the check-ins belong to
+     * @param items check-ins, at most one per token
+     * @return number of attendees updated
+     */
+    int applyOfflineCheckIns(
+            @Param("eventId") Long eventId, @Param("list") List<OfflineCheckInReqVO.Item> items);
+
+    /**
+     * Atomically mark the attendee owning {@code token} as checked in.
+     *
+     * <p>The {@code check_in_status = 0} guard makes this the single authoritative step of a
+     * check-in: when two scanners race on the same ticket only one of them gets an affected row.
+     *
+     * @return number of affected rows, 0 if the token is unknown or already checked in
+     */
+    @Update(
+            "UPDATE event_attendee "
+                    + "SET check_in_status = 1, check_in_time = #{checkInTime}, update_time = NOW() "
+                    + "WHERE check_in_token = #{token} AND check_in_status = 0 AND deleted = 0")
+    int checkInByToken(
+            @Param("token") String token, @Param("checkInTime") LocalDateTime checkInTime);
+
+    /**
+     * Atomically mark an attendee as checked in by primary key, used for signed tokens whose
+     * attendee id is already known
+     *
+     * <p>The token is matched as well, so a token reissued after it was validated no longer checks
+     * the attendee in.
+     *
+     * @return number of affected rows, 0 if the attendee is unknown, already checked in or holds
+     *     another token
+     */
+    @Update(
+            "UPDATE event_attendee "
+                    + "SET check_in_status = 1, check_in_time = #{checkInTime}, update_time = NOW() "
+                    + "WHERE id = #{id} AND check_in_token = #{token} "
+                    + "AND check_in_status = 0 AND deleted = 0")
+    int checkInById(
+            @Param("id") Long id,
+            @Param("token") String token,
+            @Param("checkInTime") LocalDateTime checkInTime);
 }
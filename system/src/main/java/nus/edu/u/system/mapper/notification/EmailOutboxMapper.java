@@ -0,0 +1,39 @@
+package nus.edu.u.system.mapper.notification;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import java.time.LocalDateTime;
+import java.util.List;
+import nus.edu.u.system.domain.dataobject.notification.EmailOutboxDO;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * @author Fan Yazhuoting
+ * @date 2025-10-29
+ */
+@Mapper
+public interface EmailOutboxMapper extends BaseMapper<EmailOutboxDO> {
+
+    /**
+     * Insert messages as one multi-row statement, ids must already be set
+     *
+     * @param list messages
+     * @return inserted rows
+     */
+    int insertBatch(@Param("list") List<EmailOutboxDO> list);
+
+    /**
+     * Claim due messages, oldest first, with one UPDATE so concurrent workers never share one
+     *
+     * @param token claim token of this round
+     * @param now messages due by then are claimed
+     * @param leaseUntil when the claim runs out
+     * @param limit maximum number of messages
+     * @return claimed rows
+     */
+    int claimDue(
+            @Param("token") String token,
+            @Param("now") LocalDateTime now,
+            @Param("leaseUntil") LocalDateTime leaseUntil,
+            @Param("limit") int limit);
+}
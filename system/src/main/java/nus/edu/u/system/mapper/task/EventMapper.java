@@ -1,6 +1,10 @@
 package nus.edu.u.system.mapper.task;
 
+import com.baomidou.mybatisplus.annotation.InterceptorIgnore;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import nus.edu.u.system.domain.dataobject.task.EventDO;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
@@ -17,8 +21,31 @@ public interface EventMapper extends BaseMapper<EventDO> {
     EventDO selectRawById(@Param("id") Long id);
 
     @Update(
-            "UPDATE event"
-                    + "SET deleted = 0, update_time = NOW()"
+            "UPDATE event "
+                    + "SET deleted = 0, update_time = NOW() "
                     + "WHERE id = #{id} AND deleted = 1")
     int restoreById(@Param("id") Long id);
+
+    /**
+     * Events of every tenant whose stored status no longer matches their time range
+     *
+     * <p>One range per stored status, backed by the {@code (status, start_time)} and {@code
+     * (status, end_time)} indexes. Events stored without a status are included.
+     *
+     * @param now point in time the status is checked against
+     * @param limit maximum number of events
+     * @return id, tenant, status, start and end time of each event
+     */
+    @InterceptorIgnore(tenantLine = "true")
+    List<EventDO> selectStatusOutdated(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Move events of any tenant to a status
+     *
+     * @param ids event ids
+     * @param status new status
+     * @return number of events that changed
+     */
+    @InterceptorIgnore(tenantLine = "true")
+    int updateStatusByIds(@Param("ids") Collection<Long> ids, @Param("status") Integer status);
 }
@@ -1,12 +1,23 @@
 package nus.edu.u.system.mapper.task;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import java.util.List;
 import nus.edu.u.system.domain.dataobject.task.TaskLogDO;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 
 /**
  * @author Lu Shuwen
  * @date 2025-08-31
  */
 @Mapper
-public interface TaskLogMapper extends BaseMapper<TaskLogDO> {}
+public interface TaskLogMapper extends BaseMapper<TaskLogDO> {
+
+    /**
+     * Insert logs as one multi-row statement, ids and audit fields must already be set
+     *
+     * @param list task logs
+     * @return inserted rows
+     */
+    int insertBatch(@Param("list") List<TaskLogDO> list);
+}
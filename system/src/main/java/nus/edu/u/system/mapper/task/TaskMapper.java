@@ -1,12 +1,110 @@
 package nus.edu.u.system.mapper.task;
 
+import com.baomidou.mybatisplus.annotation.InterceptorIgnore;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import nus.edu.u.system.domain.dataobject.task.TaskDO;
+import nus.edu.u.system.domain.dto.EventCountDTO;
+import nus.edu.u.system.domain.dto.TaskDetailDTO;
+import nus.edu.u.system.domain.dto.UserGroupNameDTO;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 
 /**
  * @author Lu Shuwen
  * @date 2025-08-31
  */
 @Mapper
-public interface TaskMapper extends BaseMapper<TaskDO> {}
+public interface TaskMapper extends BaseMapper<TaskDO> {
+
+    /**
+     * Tasks of an event with event, assignee and assigner joined in
+     *
+     * @param eventId event id
+     * @return task details in id order
+     */
+    List<TaskDetailDTO> selectDetailsByEventId(@Param("eventId") Long eventId);
+
+    /**
+     * Tasks assigned to a user with event, assignee and assigner joined in
+     *
+     * @param userId assignee id
+     * @return task details in id order
+     */
+    List<TaskDetailDTO> selectDetailsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Groups of several users across several events, in one query
+     *
+     * @param eventIds events to look in
+     * @param userIds users to look up
+     * @return one row per user, event and group
+     */
+    List<UserGroupNameDTO> selectGroupNames(
+            @Param("eventIds") Collection<Long> eventIds,
+            @Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Number of tasks of each event per status, counted in the database
+     *
+     * @param eventIds event ids
+     * @return one row per event and status that has tasks
+     */
+    List<EventCountDTO> selectStatusCountsByEventIds(@Param("eventIds") Collection<Long> eventIds);
+
+    /**
+     * Tenants that have tasks past their end time in one of the given statuses
+     *
+     * @param now point in time the end times are checked against
+     * @param statuses statuses of tasks still open
+     * @return tenant ids
+     */
+    @InterceptorIgnore(tenantLine = "true")
+    List<Long> selectOverdueTenantIds(
+            @Param("now") LocalDateTime now, @Param("statuses") Collection<Integer> statuses);
+
+    /**
+     * Write the non-null columns of {@code change} to one task, provided it is still in one of the
+     * expected statuses
+     *
+     * <p>Runs as {@code UPDATE task SET ... WHERE id = ? AND status IN (...)}: when two actions
+     * race on the same task only one of them gets an affected row.
+     *
+     * @param change columns to write
+     * @param id task id
+     * @param statuses statuses the task may be in
+     * @return number of affected rows, 0 if the task is gone or has moved on
+     */
+    default int updateByIdAndStatus(TaskDO change, Long id, Collection<Integer> statuses) {
+        return update(
+                change,
+                Wrappers.<TaskDO>lambdaUpdate()
+                        .eq(TaskDO::getId, id)
+                        .in(TaskDO::getStatus, statuses));
+    }
+
+    /**
+     * Like {@link #updateByIdAndStatus(TaskDO, Long, Collection)}, provided the task is also still
+     * assigned to {@code userId}. Guards changes that can leave the status as it was, such as a
+     * reassignment, so of two racing ones only the first gets an affected row.
+     *
+     * @param change columns to write
+     * @param id task id
+     * @param statuses statuses the task may be in
+     * @param userId assignee the task was read with, null if it had none
+     * @return number of affected rows, 0 if the task is gone, has moved on or was reassigned
+     */
+    default int updateByIdAndStatus(
+            TaskDO change, Long id, Collection<Integer> statuses, Long userId) {
+        return update(
+                change,
+                Wrappers.<TaskDO>lambdaUpdate()
+                        .eq(TaskDO::getId, id)
+                        .in(TaskDO::getStatus, statuses)
+                        .eq(userId != null, TaskDO::getUserId, userId)
+                        .isNull(userId == null, TaskDO::getUserId));
+    }
+}
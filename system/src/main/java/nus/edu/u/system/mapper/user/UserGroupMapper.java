@@ -1,7 +1,10 @@
 package nus.edu.u.system.mapper.user;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import java.util.Collection;
+import java.util.List;
 import nus.edu.u.system.domain.dataobject.user.UserGroupDO;
+import nus.edu.u.system.domain.dto.EventCountDTO;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Update;
@@ -21,4 +24,12 @@ public interface UserGroupMapper extends BaseMapper<UserGroupDO> {
                     + "SET deleted = 0, update_time = NOW() "
                     + "WHERE event_id = #{eventId} AND deleted = 1")
     int restoreByEventId(@Param("eventId") Long eventId);
+
+    /**
+     * Number of user-group relations of each event, counted in the database
+     *
+     * @param eventIds event ids
+     * @return one row per event that has relations, status is not set
+     */
+    List<EventCountDTO> selectCountsByEventIds(@Param("eventIds") Collection<Long> eventIds);
 }
@@ -0,0 +1,32 @@
+package nus.edu.u.system.provider.email;
+
+import java.util.List;
+import nus.edu.u.system.domain.dto.BulkEmailEntryDTO;
+
+/**
+ * Email provider that sends one stored template to many recipients per call
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-29
+ */
+public interface BulkEmailClient {
+
+    /**
+     * Store a template with the provider, once per content
+     *
+     * @param templateId id of the template, its older versions may be deleted
+     * @param subject subject with {@code {{variable}}} placeholders
+     * @param html body with {@code {{variable}}} placeholders
+     * @return name of the stored template
+     */
+    String registerTemplate(String templateId, String subject, String html);
+
+    /**
+     * Send a stored template to every entry
+     *
+     * @param templateName name returned by {@link #registerTemplate(String, String, String)}
+     * @param entries recipients with their template values
+     * @return one entry per recipient in order, null if the email was accepted, else the reason
+     */
+    List<String> sendBulkEmail(String templateName, List<BulkEmailEntryDTO> entries);
+}
@@ -25,4 +25,11 @@ public final class EmailClientFactory {
                                     throw new IllegalArgumentException("Unsupported: " + provider);
                         });
     }
+
+    public BulkEmailClient getBulkClient(EmailProvider p) {
+        if (getClient(p) instanceof BulkEmailClient bulk) {
+            return bulk;
+        }
+        throw new IllegalArgumentException("No bulk sending: " + p);
+    }
 }
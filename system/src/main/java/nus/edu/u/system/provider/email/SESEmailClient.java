@@ -1,7 +1,10 @@
 package nus.edu.u.system.provider.email;
 
+import com.google.common.collect.Lists;
+import com.google.common.hash.Hashing;
 import jakarta.activation.DataHandler;
 import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
 import jakarta.mail.Session;
 import jakarta.mail.internet.InternetAddress;
 import jakarta.mail.internet.MimeBodyPart;
@@ -9,25 +12,77 @@ import jakarta.mail.internet.MimeMessage;
 import jakarta.mail.internet.MimeMultipart;
 import jakarta.mail.util.ByteArrayDataSource;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import nus.edu.u.common.utils.json.JsonUtils;
 import nus.edu.u.framework.notification.email.EmailProviderPropertiesConfig;
 import nus.edu.u.framework.notification.email.SesClientHolder;
 import nus.edu.u.system.domain.dto.AttachmentDTO;
+import nus.edu.u.system.domain.dto.BulkEmailEntryDTO;
 import nus.edu.u.system.domain.dto.EmailRequestDTO;
 import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.services.sesv2.SesV2Client;
+import software.amazon.awssdk.services.sesv2.model.AlreadyExistsException;
+import software.amazon.awssdk.services.sesv2.model.BulkEmailContent;
+import software.amazon.awssdk.services.sesv2.model.BulkEmailEntry;
+import software.amazon.awssdk.services.sesv2.model.BulkEmailEntryResult;
+import software.amazon.awssdk.services.sesv2.model.BulkEmailStatus;
+import software.amazon.awssdk.services.sesv2.model.CreateEmailTemplateRequest;
+import software.amazon.awssdk.services.sesv2.model.DeleteEmailTemplateRequest;
 import software.amazon.awssdk.services.sesv2.model.EmailContent;
+import software.amazon.awssdk.services.sesv2.model.EmailTemplateContent;
+import software.amazon.awssdk.services.sesv2.model.EmailTemplateMetadata;
+import software.amazon.awssdk.services.sesv2.model.ListEmailTemplatesRequest;
+import software.amazon.awssdk.services.sesv2.model.ListEmailTemplatesResponse;
+import software.amazon.awssdk.services.sesv2.model.NotFoundException;
 import software.amazon.awssdk.services.sesv2.model.RawMessage;
+import software.amazon.awssdk.services.sesv2.model.SendBulkEmailRequest;
 import software.amazon.awssdk.services.sesv2.model.SendEmailRequest;
 import software.amazon.awssdk.services.sesv2.model.SendEmailResponse;
+import software.amazon.awssdk.services.sesv2.model.Template;
 
-public class SESEmailClient implements EmailClient {
+@Slf4j
+public class SESEmailClient implements EmailClient, BulkEmailClient {
+
+    /** Most destinations SES takes in one SendBulkEmail call */
+    static final int MAX_BULK_DESTINATIONS = 50;
+
+    /** Headers of the message and its multipart containers */
+    private static final int HEADER_ALLOWANCE = 4 * 1024;
+
+    /** Headers and boundary of one attachment */
+    private static final int PART_ALLOWANCE = 512;
+
+    /** Largest buffer sized up front, SES takes raw messages of up to 40 MB */
+    private static final int MAX_BUFFER = 40 * 1024 * 1024;
+
+    /** Hex digits of the content hash in a template name */
+    private static final int TEMPLATE_HASH_LENGTH = 20;
+
+    /** Longest template id kept in a name, leaving room for the prefix and the hash */
+    private static final int MAX_TEMPLATE_ID_LENGTH = 32;
+
+    /** Versions of a template kept, enough for the nodes of a rolling deploy */
+    static final int KEPT_TEMPLATE_VERSIONS = 3;
+
+    /** Mail session shared by every message, it only holds the empty properties */
+    private static final Session SESSION = Session.getInstance(new Properties());
 
     private final SesV2Client ses;
     private final EmailProviderPropertiesConfig props;
 
-    private SESEmailClient(SesV2Client ses, EmailProviderPropertiesConfig props) {
+    /** Templates stored by this node, their names are derived from their id and content */
+    private final Set<String> registeredTemplates = ConcurrentHashMap.newKeySet();
+
+    SESEmailClient(SesV2Client ses, EmailProviderPropertiesConfig props) {
         this.ses = ses;
         this.props = props;
     }
@@ -39,92 +94,298 @@ public class SESEmailClient implements EmailClient {
     @Override
     public void sendEmail(EmailRequestDTO dto) {
         try {
+            RawMessage raw = RawMessage.builder().data(toMime(dto, props.getFrom())).build();
 
-            var subject = dto.getSubject();
-            var html = dto.getHtml();
-            var to = dto.getTo();
-            var attachments = dto.getAttachments();
-
-            // 1) Mail session & message shell
-            Session session = Session.getInstance(new Properties());
-            MimeMessage mime = new MimeMessage(session);
-            mime.setFrom(new InternetAddress(props.getFrom()));
-            mime.setRecipient(Message.RecipientType.TO, new InternetAddress(to));
-            mime.setSubject(subject, StandardCharsets.UTF_8.name());
-
-            MimeMultipart mixed = new MimeMultipart("mixed");
-
-            // 2a) related (html + inlines)
-            MimeBodyPart relatedContainer = new MimeBodyPart();
-            MimeMultipart related = new MimeMultipart("related");
-
-            // HTML body
-            MimeBodyPart htmlPart = new MimeBodyPart();
-            htmlPart.setText(html, StandardCharsets.UTF_8.name(), "html");
-            related.addBodyPart(htmlPart);
-
-            // Inline parts (inline == true)
-            if (attachments != null) {
-                for (AttachmentDTO a : attachments) {
-                    if (Boolean.TRUE.equals(a.inline())) {
-                        MimeBodyPart inlinePart = new MimeBodyPart();
-                        // Data
-                        var contentType = safeContentType(a.contentType());
-                        inlinePart.setDataHandler(
-                                new DataHandler(new ByteArrayDataSource(a.bytes(), contentType)));
-                        String cid =
-                                a.contentId() != null ? a.contentId() : deriveCidFrom(a.filename());
-                        inlinePart.setHeader("Content-ID", "<" + cid + ">");
-                        inlinePart.setHeader("Content-Transfer-Encoding", "base64");
-                        inlinePart.setDisposition("inline");
-                        if (a.filename() != null) inlinePart.setFileName(a.filename());
-
-                        related.addBodyPart(inlinePart);
-                    }
+            SendEmailRequest req =
+                    SendEmailRequest.builder()
+                            .fromEmailAddress(props.getFrom())
+                            .destination(b -> b.toAddresses(dto.getTo()))
+                            .content(EmailContent.builder().raw(raw).build())
+                            .build();
+
+            SendEmailResponse resp = ses.sendEmail(req);
+
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to send email with attachments", e);
+        }
+    }
+
+    /**
+     * Serialize an email to MIME
+     *
+     * <p>The message is written into a buffer sized for it up front, so the buffer never grows. The
+     * size is an upper bound, so the bytes are copied once into an array of the message's length,
+     * which the SDK then takes without copying again.
+     */
+    public static SdkBytes toMime(EmailRequestDTO dto, String from)
+            throws MessagingException, IOException {
+        var subject = dto.getSubject();
+        var html = dto.getHtml();
+        var to = dto.getTo();
+        var attachments = dto.getAttachments();
+
+        // 1) Message shell
+        MimeMessage mime = new MimeMessage(SESSION);
+        mime.setFrom(new InternetAddress(from));
+        mime.setRecipient(Message.RecipientType.TO, new InternetAddress(to));
+        mime.setSubject(subject, StandardCharsets.UTF_8.name());
+
+        MimeMultipart mixed = new MimeMultipart("mixed");
+
+        // 2a) related (html + inlines)
+        MimeBodyPart relatedContainer = new MimeBodyPart();
+        MimeMultipart related = new MimeMultipart("related");
+
+        // HTML body
+        MimeBodyPart htmlPart = new MimeBodyPart();
+        htmlPart.setText(html, StandardCharsets.UTF_8.name(), "html");
+        related.addBodyPart(htmlPart);
+
+        // Inline parts (inline == true)
+        if (attachments != null) {
+            for (AttachmentDTO a : attachments) {
+                if (Boolean.TRUE.equals(a.inline())) {
+                    MimeBodyPart inlinePart = new MimeBodyPart();
+                    // Data
+                    var contentType = safeContentType(a.contentType());
+                    inlinePart.setDataHandler(
+                            new DataHandler(new ByteArrayDataSource(a.bytes(), contentType)));
+                    String cid =
+                            a.contentId() != null ? a.contentId() : deriveCidFrom(a.filename());
+                    inlinePart.setHeader("Content-ID", "<" + cid + ">");
+                    inlinePart.setHeader("Content-Transfer-Encoding", "base64");
+                    inlinePart.setDisposition("inline");
+                    if (a.filename() != null) inlinePart.setFileName(a.filename());
+
+                    related.addBodyPart(inlinePart);
                 }
             }
+        }
 
-            relatedContainer.setContent(related);
-            mixed.addBodyPart(relatedContainer);
-
-            // regular attachments (inline == false)
-            if (attachments != null) {
-                for (AttachmentDTO a : attachments) {
-                    if (!Boolean.TRUE.equals(a.inline())) {
-                        MimeBodyPart attachPart = new MimeBodyPart();
-                        var contentType = safeContentType(a.contentType());
-                        attachPart.setDataHandler(
-                                new DataHandler(new ByteArrayDataSource(a.bytes(), contentType)));
-                        attachPart.setFileName(a.filename() != null ? a.filename() : "attachment");
-                        attachPart.setDisposition("attachment");
-                        attachPart.setHeader("Content-Transfer-Encoding", "base64");
-                        mixed.addBodyPart(attachPart);
-                    }
+        relatedContainer.setContent(related);
+        mixed.addBodyPart(relatedContainer);
+
+        // regular attachments (inline == false)
+        if (attachments != null) {
+            for (AttachmentDTO a : attachments) {
+                if (!Boolean.TRUE.equals(a.inline())) {
+                    MimeBodyPart attachPart = new MimeBodyPart();
+                    var contentType = safeContentType(a.contentType());
+                    attachPart.setDataHandler(
+                            new DataHandler(new ByteArrayDataSource(a.bytes(), contentType)));
+                    attachPart.setFileName(a.filename() != null ? a.filename() : "attachment");
+                    attachPart.setDisposition("attachment");
+                    attachPart.setHeader("Content-Transfer-Encoding", "base64");
+                    mixed.addBodyPart(attachPart);
                 }
             }
+        }
 
-            // 3) Set content and convert to RawMessage
-            mime.setContent(mixed);
-            mime.saveChanges();
+        // 3) Serialize
+        mime.setContent(mixed);
+        mime.saveChanges();
 
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
-            mime.writeTo(out);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(estimateSize(html, attachments));
+        mime.writeTo(out);
+        return SdkBytes.fromByteArrayUnsafe(out.toByteArray());
+    }
 
-            RawMessage raw =
-                    RawMessage.builder().data(SdkBytes.fromByteArray(out.toByteArray())).build();
+    /**
+     * Estimated MIME size of an email. Base64 grows binary parts by a third plus line breaks. The
+     * HTML is counted as quoted-printable UTF-8, where every byte of a non-ASCII character and
+     * every '=' takes three, plus a soft line break per line. That also bounds the 7bit and base64
+     * encodings JavaMail may pick instead.
+     */
+    static int estimateSize(String html, List<AttachmentDTO> attachments) {
+        long size = HEADER_ALLOWANCE + quotedPrintableSize(html);
+        if (attachments != null) {
+            for (AttachmentDTO a : attachments) {
+                if (a.bytes() != null) {
+                    size += PART_ALLOWANCE + (a.bytes().length + 2L) / 3 * 4 * 78 / 76;
+                }
+            }
+        }
+        return (int) Math.min(size, MAX_BUFFER);
+    }
 
-            SendEmailRequest req =
-                    SendEmailRequest.builder()
+    /**
+     * Store a template under its id and a hash of its content, so a changed template is stored
+     * under a new name and nodes running different versions never overwrite each other. Storing a
+     * new version deletes all but the newest {@link #KEPT_TEMPLATE_VERSIONS} of the same id.
+     */
+    @Override
+    public String registerTemplate(String templateId, String subject, String html) {
+        String prefix = templatePrefix(templateId);
+        String name =
+                prefix
+                        + Hashing.sha256()
+                                .hashString(subject + "\n" + html, StandardCharsets.UTF_8)
+                                .toString()
+                                .substring(0, TEMPLATE_HASH_LENGTH);
+        if (registeredTemplates.contains(name)) {
+            return name;
+        }
+        try {
+            ses.createEmailTemplate(
+                    CreateEmailTemplateRequest.builder()
+                            .templateName(name)
+                            .templateContent(
+                                    EmailTemplateContent.builder()
+                                            .subject(subject)
+                                            .html(html)
+                                            .build())
+                            .build());
+            pruneTemplates(prefix, name);
+        } catch (AlreadyExistsException e) {
+            // Stored by another node, with the same content
+        }
+        registeredTemplates.add(name);
+        return name;
+    }
+
+    /**
+     * Delete the versions of a template past the newest few. A node still sending an older one gets
+     * it rejected as missing, forgets it and stores it again on the retry.
+     */
+    private void pruneTemplates(String prefix, String current) {
+        try {
+            List<EmailTemplateMetadata> versions = new ArrayList<>();
+            String nextToken = null;
+            do {
+                ListEmailTemplatesResponse page =
+                        ses.listEmailTemplates(
+                                ListEmailTemplatesRequest.builder()
+                                        .nextToken(nextToken)
+                                        .pageSize(100)
+                                        .build());
+                for (EmailTemplateMetadata template : page.templatesMetadata()) {
+                    String name = template.templateName();
+                    // Ids sharing this prefix have a longer name, so they are left alone
+                    if (name.startsWith(prefix)
+                            && name.length() == prefix.length() + TEMPLATE_HASH_LENGTH) {
+                        versions.add(template);
+                    }
+                }
+                nextToken = page.nextToken();
+            } while (nextToken != null);
+
+            versions.sort(
+                    Comparator.comparing(
+                                    EmailTemplateMetadata::createdTimestamp,
+                                    Comparator.nullsFirst(Comparator.<Instant>naturalOrder()))
+                            .reversed());
+            for (int i = KEPT_TEMPLATE_VERSIONS; i < versions.size(); i++) {
+                String name = versions.get(i).templateName();
+                if (name.equals(current)) {
+                    continue;
+                }
+                try {
+                    ses.deleteEmailTemplate(
+                            DeleteEmailTemplateRequest.builder().templateName(name).build());
+                } catch (NotFoundException e) {
+                    // Deleted by another node
+                }
+                registeredTemplates.remove(name);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to delete old versions of template {}", prefix, e);
+        }
+    }
+
+    /** Names of one template's versions, SES takes up to 64 letters, digits, '-' and '_' */
+    private static String templatePrefix(String templateId) {
+        String id = templateId == null ? "default" : templateId.replaceAll("[^A-Za-z0-9_-]", "_");
+        if (id.length() > MAX_TEMPLATE_ID_LENGTH) {
+            id = id.substring(0, MAX_TEMPLATE_ID_LENGTH);
+        }
+        return "chronoflow-" + id + "-";
+    }
+
+    /**
+     * Send in batches of {@link #MAX_BULK_DESTINATIONS}. A failed call stops the send, its batch
+     * and the unsent ones are reported failed while the batches already sent keep their results.
+     */
+    @Override
+    public List<String> sendBulkEmail(String templateName, List<BulkEmailEntryDTO> entries) {
+        Template template =
+                Template.builder().templateName(templateName).templateData("{}").build();
+        List<String> errors = new ArrayList<>(entries.size());
+        for (List<BulkEmailEntryDTO> batch : Lists.partition(entries, MAX_BULK_DESTINATIONS)) {
+            List<BulkEmailEntry> bulkEntries = new ArrayList<>(batch.size());
+            for (BulkEmailEntryDTO entry : batch) {
+                String data = JsonUtils.toJsonString(entry.variables());
+                bulkEntries.add(
+                        BulkEmailEntry.builder()
+                                .destination(d -> d.toAddresses(entry.to()))
+                                .replacementEmailContent(
+                                        c ->
+                                                c.replacementTemplate(
+                                                        t -> t.replacementTemplateData(data)))
+                                .build());
+            }
+            SendBulkEmailRequest req =
+                    SendBulkEmailRequest.builder()
                             .fromEmailAddress(props.getFrom())
-                            .destination(b -> b.toAddresses(to))
-                            .content(EmailContent.builder().raw(raw).build())
+                            .defaultContent(BulkEmailContent.builder().template(template).build())
+                            .bulkEmailEntries(bulkEntries)
                             .build();
+            List<BulkEmailEntryResult> results;
+            try {
+                results = ses.sendBulkEmail(req).bulkEmailEntryResults();
+            } catch (RuntimeException e) {
+                if (e instanceof NotFoundException) {
+                    // Deleted as an old version, stored again on the retry
+                    registeredTemplates.remove(templateName);
+                }
+                log.warn(
+                        "Bulk email batch {} of {} failed",
+                        errors.size() / MAX_BULK_DESTINATIONS + 1,
+                        templateName,
+                        e);
+                String reason = "Not sent: " + e.getMessage();
+                while (errors.size() < entries.size()) {
+                    errors.add(reason);
+                }
+                return errors;
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                BulkEmailEntryResult result = i < results.size() ? results.get(i) : null;
+                if (result == null) {
+                    errors.add("No result");
+                } else if (result.status() == BulkEmailStatus.SUCCESS) {
+                    errors.add(null);
+                } else {
+                    errors.add(result.statusAsString() + ": " + result.error());
+                }
+            }
+        }
+        return errors;
+    }
 
-            SendEmailResponse resp = ses.sendEmail(req);
-
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to send email with attachments", e);
+    /** Upper bound of the quoted-printable UTF-8 encoding of a text */
+    private static long quotedPrintableSize(String text) {
+        if (text == null) {
+            return 0;
+        }
+        long size = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '=' || c == '\n') {
+                // "=3D", or a line break written as "\r\n"
+                size += 3;
+            } else if (c < 0x80) {
+                size += 1;
+            } else if (c < 0x800) {
+                size += 2 * 3;
+            } else if (Character.isSurrogate(c)) {
+                // Each half of a pair, for the four bytes of the character
+                size += 2 * 3;
+            } else {
+                size += 3 * 3;
+            }
         }
+        // "=\r\n" ends every encoded line of at most 76 characters
+        return size + (size / 72 + 1) * 3;
     }
 
     private static String safeContentType(String ct) {
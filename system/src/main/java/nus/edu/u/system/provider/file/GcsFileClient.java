@@ -1,11 +1,15 @@
 package nus.edu.u.system.provider.file;
 
 import com.google.cloud.storage.*;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import java.io.IOException;
 import java.net.URL;
+import java.time.Duration;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import nus.edu.u.framework.file.GcsPropertiesConfig;
 import org.springframework.stereotype.Service;
@@ -13,12 +17,32 @@ import org.springframework.web.multipart.MultipartFile;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class GcsFileClient implements FileClient {
 
+    /** Objects whose signed URL is kept for reuse */
+    private static final int MAX_SIGNED_URLS = 10_000;
+
     private final Storage storage;
     private final GcsPropertiesConfig gcsConfig;
 
+    /**
+     * Signed URL of each object, kept for half of the URL's validity so a reused URL always has at
+     * least half of its lifetime left
+     */
+    private final Cache<String, String> signedUrls;
+
+    public GcsFileClient(Storage storage, GcsPropertiesConfig gcsConfig) {
+        this.storage = storage;
+        this.gcsConfig = gcsConfig;
+        this.signedUrls =
+                CacheBuilder.newBuilder()
+                        .maximumSize(MAX_SIGNED_URLS)
+                        .expireAfterWrite(
+                                Duration.ofMinutes(gcsConfig.getSignedUrlExpiryMinutes())
+                                        .dividedBy(2))
+                        .build();
+    }
+
     @Override
     public FileUploadResult uploadFile(MultipartFile file) {
         if (file == null || file.isEmpty())
@@ -48,8 +72,23 @@ public class GcsFileClient implements FileClient {
         }
     }
 
-    /** Generate a fresh signed URL for an existing object. */
+    /**
+     * Signed URL for an existing object, reusing the one signed earlier while it is still within
+     * its reuse window
+     */
     public String generateSignedUrl(String objectName) {
+        try {
+            return signedUrls.get(objectName, () -> signUrl(objectName));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Failed to sign URL for " + objectName, e.getCause());
+        }
+    }
+
+    /** Generate a fresh signed URL for an existing object. */
+    private String signUrl(String objectName) {
         BlobInfo blobInfo =
                 BlobInfo.newBuilder(BlobId.of(gcsConfig.getBucket(), objectName)).build();
         URL signedUrl =
@@ -1,7 +1,10 @@
 package nus.edu.u.system.service.attendee;
 
 import java.util.List;
+import nus.edu.u.common.core.domain.CursorPageResult;
+import nus.edu.u.system.domain.dto.QrImageDTO;
 import nus.edu.u.system.domain.vo.attendee.AttendeeInfoRespVO;
+import nus.edu.u.system.domain.vo.attendee.AttendeePageReqVO;
 import nus.edu.u.system.domain.vo.attendee.AttendeeQrCodeRespVO;
 import nus.edu.u.system.domain.vo.attendee.AttendeeReqVO;
 import nus.edu.u.system.domain.vo.checkin.CheckInRespVO;
@@ -17,6 +20,16 @@ public interface AttendeeService {
      */
     CheckInRespVO checkIn(String token);
 
+    /**
+     * Perform check-in with token on behalf of a specific event, tokens of other events are
+     * rejected
+     *
+     * @param token Check-in token
+     * @param eventId Event the scanning device checks in for
+     * @return Check-in result
+     */
+    CheckInRespVO checkIn(String token, Long eventId);
+
     /**
      * Generate check-in tokens and QR codes for multiple attendees Returns QR code data that can be
      * used by email service
@@ -43,6 +56,15 @@ public interface AttendeeService {
      */
     List<AttendeeQrCodeRespVO> list(Long eventId);
 
+    /**
+     * List one page of an event's attendees, ordered by id
+     *
+     * @param eventId Event id
+     * @param reqVO Cursor, page size and filters
+     * @return Attendees of the page and the cursor of the next one
+     */
+    CursorPageResult<AttendeeQrCodeRespVO> page(Long eventId, AttendeePageReqVO reqVO);
+
     /**
      * Query attendee info by id
      *
@@ -65,4 +87,12 @@ public interface AttendeeService {
     AttendeeQrCodeRespVO update(Long attendeeId, AttendeeReqVO reqVO);
 
     AttendeeInfoRespVO getAttendeeInfo(String token);
+
+    /**
+     * Get the rendered check-in QR image of a token
+     *
+     * @param token check-in token
+     * @return cached PNG bytes with their entity tag
+     */
+    QrImageDTO getCheckInQrImage(String token);
 }
@@ -4,29 +4,41 @@ import static nus.edu.u.common.utils.exception.ServiceExceptionUtil.exception;
 import static nus.edu.u.framework.mybatis.MybatisPlusConfig.getCurrentTenantId;
 import static nus.edu.u.system.enums.ErrorCodeConstants.*;
 
+import cn.dev33.satoken.stp.StpUtil;
 import cn.hutool.core.util.ObjectUtil;
+import com.google.common.collect.Lists;
 import jakarta.annotation.Resource;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import lombok.extern.slf4j.Slf4j;
+import nus.edu.u.common.core.domain.CursorPageResult;
+import nus.edu.u.framework.checkin.CheckInTokenCodec;
+import nus.edu.u.framework.executor.ExecutorConfig;
 import nus.edu.u.system.domain.dataobject.attendee.EventAttendeeDO;
 import nus.edu.u.system.domain.dataobject.task.EventDO;
 import nus.edu.u.system.domain.dataobject.tenant.TenantDO;
+import nus.edu.u.system.domain.dto.EventCheckInMetaDTO;
+import nus.edu.u.system.domain.dto.QrImageDTO;
 import nus.edu.u.system.domain.vo.attendee.AttendeeInfoRespVO;
 import nus.edu.u.system.domain.vo.attendee.AttendeeInviteReqVO;
+import nus.edu.u.system.domain.vo.attendee.AttendeePageReqVO;
 import nus.edu.u.system.domain.vo.attendee.AttendeeQrCodeRespVO;
 import nus.edu.u.system.domain.vo.attendee.AttendeeReqVO;
 import nus.edu.u.system.domain.vo.checkin.CheckInRespVO;
 import nus.edu.u.system.domain.vo.checkin.GenerateQrCodesReqVO;
 import nus.edu.u.system.domain.vo.checkin.GenerateQrCodesRespVO;
-import nus.edu.u.system.domain.vo.qrcode.QrCodeRespVO;
 import nus.edu.u.system.mapper.attendee.EventAttendeeMapper;
 import nus.edu.u.system.mapper.task.EventMapper;
 import nus.edu.u.system.mapper.tenant.TenantMapper;
+import nus.edu.u.system.service.attendee.stats.CheckInCounter;
 import nus.edu.u.system.service.attendee.validation.CheckInValidationChainBuilder;
 import nus.edu.u.system.service.attendee.validation.CheckInValidationContext;
 import nus.edu.u.system.service.attendee.validation.CheckInValidator;
-import nus.edu.u.system.service.notification.AttendeeEmailService;
+import nus.edu.u.system.service.notification.AttendeeInviteDispatcher;
 import nus.edu.u.system.service.qrcode.QrCodeService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -36,12 +48,20 @@ import org.springframework.transaction.annotation.Transactional;
 @Slf4j
 public class AttendeeServiceImpl implements AttendeeService {
 
+    /** Rows per multi-row insert, keeps statements well below max_allowed_packet */
+    private static final int INSERT_BATCH_SIZE = 500;
+
     @Resource private EventAttendeeMapper attendeeMapper;
     @Resource private EventMapper eventMapper;
     @Resource private QrCodeService qrCodeService;
-    @Resource private AttendeeEmailService attendeeEmailService;
+    @Resource private AttendeeInviteDispatcher attendeeInviteDispatcher;
     @Resource private TenantMapper tenantMapper;
     @Resource private CheckInValidationChainBuilder validationChainBuilder;
+    @Resource private CheckInTokenCodec checkInTokenCodec;
+    @Resource private CheckInCounter checkInCounter;
+
+    @Resource(name = ExecutorConfig.QR_RENDER_EXECUTOR)
+    private Executor qrRenderExecutor;
 
     @Value("${app.base-url:http://localhost:8080}")
     private String baseUrl;
@@ -52,18 +72,39 @@ public class AttendeeServiceImpl implements AttendeeService {
         if (ObjectUtil.isEmpty(list)) {
             return Collections.emptyList();
         }
-        return list.stream()
-                .map(
-                        attendee ->
-                                AttendeeQrCodeRespVO.builder()
-                                        .id(attendee.getId())
-                                        .attendeeEmail(attendee.getAttendeeEmail())
-                                        .attendeeMobile(attendee.getAttendeeMobile())
-                                        .attendeeName(attendee.getAttendeeName())
-                                        .checkInToken(attendee.getCheckInToken())
-                                        .checkInStatus(attendee.getCheckInStatus())
-                                        .build())
-                .toList();
+        return list.stream().map(this::toListItem).toList();
+    }
+
+    @Override
+    public CursorPageResult<AttendeeQrCodeRespVO> page(Long eventId, AttendeePageReqVO reqVO) {
+        int limit = reqVO.getLimit();
+        // One extra row tells whether another page follows without a COUNT
+        List<EventAttendeeDO> rows =
+                attendeeMapper.selectPageByCursor(
+                        eventId,
+                        reqVO.getCursor(),
+                        reqVO.getCheckInStatus(),
+                        reqVO.getKeyword(),
+                        limit + 1);
+        if (ObjectUtil.isEmpty(rows)) {
+            return CursorPageResult.empty();
+        }
+        boolean hasMore = rows.size() > limit;
+        List<EventAttendeeDO> page = hasMore ? rows.subList(0, limit) : rows;
+        Long nextCursor = hasMore ? page.get(page.size() - 1).getId() : null;
+        return new CursorPageResult<>(page.stream().map(this::toListItem).toList(), nextCursor);
+    }
+
+    private AttendeeQrCodeRespVO toListItem(EventAttendeeDO attendee) {
+        return AttendeeQrCodeRespVO.builder()
+                .id(attendee.getId())
+                .attendeeEmail(attendee.getAttendeeEmail())
+                .attendeeMobile(attendee.getAttendeeMobile())
+                .attendeeName(attendee.getAttendeeName())
+                .checkInToken(attendee.getCheckInToken())
+                .qrImageUrl(qrImageUrl(attendee.getCheckInToken()))
+                .checkInStatus(attendee.getCheckInStatus())
+                .build();
     }
 
     @Override
@@ -89,6 +130,7 @@ public class AttendeeServiceImpl implements AttendeeService {
             throw exception(ATTENDEE_NOT_EXIST);
         }
         attendeeMapper.deleteById(attendeeId);
+        checkInCounter.evict(attendee.getEventId());
     }
 
     @Override
@@ -114,7 +156,7 @@ public class AttendeeServiceImpl implements AttendeeService {
 
         String token = attendee.getCheckInToken();
         if (ObjectUtil.isNull(attendee.getCheckInToken())) {
-            token = UUID.randomUUID().toString();
+            token = newCheckInToken(attendee.getId(), event);
             attendee.setCheckInToken(token);
             attendee.setQrCodeGeneratedTime(LocalDateTime.now());
             attendeeMapper.updateById(attendee);
@@ -124,7 +166,7 @@ public class AttendeeServiceImpl implements AttendeeService {
         }
 
         // Generate QR code
-        QrCodeRespVO qrCode = qrCodeService.generateEventCheckInQrWithToken(token);
+        QrImageDTO qrCode = qrCodeService.getEventCheckInQrImage(token);
         String qrCodeUrl = baseUrl + "/system/attendee/scan?token=" + token;
 
         // Send email
@@ -136,22 +178,29 @@ public class AttendeeServiceImpl implements AttendeeService {
                 .attendeeName(attendee.getAttendeeName())
                 .attendeeMobile(attendee.getAttendeeMobile())
                 .checkInToken(token)
-                .qrCodeBase64(qrCode.getBase64Image())
+                .qrCodeBase64(Base64.getEncoder().encodeToString(qrCode.getBytes()))
                 .qrCodeUrl(qrCodeUrl)
+                .qrImageUrl(qrImageUrl(token))
                 .checkInStatus(attendee.getCheckInStatus())
                 .build();
     }
 
     @Override
-    @Transactional
     public CheckInRespVO checkIn(String token) {
+        return checkIn(token, null);
+    }
+
+    @Override
+    public CheckInRespVO checkIn(String token, Long eventId) {
         log.info("Starting check-in process with validation chain");
 
         // Build validation context
         CheckInValidationContext context =
                 CheckInValidationContext.builder()
                         .token(token)
-                        .currentTime(LocalDateTime.now())
+                        // Whole seconds, so live counters see the check-in time the database stores
+                        .currentTime(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS))
+                        .expectedEventId(eventId)
                         .validationFailed(false)
                         .build();
 
@@ -167,12 +216,23 @@ public class AttendeeServiceImpl implements AttendeeService {
 
         // All validations passed - perform check-in
         EventAttendeeDO attendee = context.getAttendee();
-        EventDO event = context.getEvent();
+        EventCheckInMetaDTO event = context.getEventMeta();
         LocalDateTime now = context.getCurrentTime();
 
+        // The conditional update is the authoritative step, a concurrent scan of the same
+        // ticket, or of a token reissued since it was validated, affects no rows here
+        boolean isSuccess =
+                (CheckInTokenCodec.isSigned(token)
+                                ? attendeeMapper.checkInById(attendee.getId(), token, now)
+                                : attendeeMapper.checkInByToken(token, now))
+                        > 0;
+        if (!isSuccess) {
+            log.warn("Attendee {} has already checked in", attendee.getAttendeeEmail());
+            throw exception(ALREADY_CHECKED_IN);
+        }
         attendee.setCheckInStatus(1);
         attendee.setCheckInTime(now);
-        attendeeMapper.updateById(attendee);
+        checkInCounter.recordCheckIn(event.getEventId(), now);
 
         log.info(
                 "Attendee {} ({}) checked in successfully for event {}",
@@ -181,7 +241,7 @@ public class AttendeeServiceImpl implements AttendeeService {
                 event.getName());
 
         return CheckInRespVO.builder()
-                .eventId(event.getId())
+                .eventId(event.getEventId())
                 .eventName(event.getName())
                 .userId(null)
                 .userName(attendee.getAttendeeName())
@@ -216,70 +276,101 @@ public class AttendeeServiceImpl implements AttendeeService {
             throw exception(EVENT_NOT_FOUND);
         }
 
-        // 2. Process each attendee
-        List<AttendeeQrCodeRespVO> successList = new ArrayList<>();
+        // 2. Drop blank emails and repeats within the upload, then look up the remaining ones in
+        // one query
         List<String> failedList = new ArrayList<>();
-        LocalDateTime now = LocalDateTime.now();
-
+        Map<String, AttendeeReqVO> candidates = new LinkedHashMap<>();
         for (AttendeeReqVO info : attendeeInfos) {
-            try {
-                if (info.getEmail() == null || info.getEmail().isBlank()) {
-                    failedList.add("email can't be empty");
-                    continue;
-                }
-
-                EventAttendeeDO existing =
-                        attendeeMapper.selectByEventAndEmail(eventId, info.getEmail());
-
-                if (ObjectUtil.isNotNull(existing)) {
-                    failedList.add(info.getEmail() + " - already exist in this event");
-                    log.warn(
-                            "Attendee already exists: email={}, eventId={}",
-                            info.getEmail(),
-                            eventId);
-                    continue;
-                }
-
-                String token = UUID.randomUUID().toString();
-                EventAttendeeDO attendee =
-                        EventAttendeeDO.builder()
-                                .eventId(eventId)
-                                .attendeeEmail(info.getEmail())
-                                .attendeeName(info.getName())
-                                .attendeeMobile(info.getMobile())
-                                .checkInToken(token)
-                                .checkInStatus(0)
-                                .qrCodeGeneratedTime(now)
-                                .build();
-
-                attendeeMapper.insert(attendee);
-
-                QrCodeRespVO qrCode = qrCodeService.generateEventCheckInQrWithToken(token);
-                String qrCodeUrl = baseUrl + "/system/attendee/scan?token=" + token;
-
-                try {
-                    sendEmail(attendee, event, qrCode);
-                } catch (Exception e) {
-                    log.error("Failed to send email to {}: {}", info.getEmail(), e.getMessage());
-                }
-
-                successList.add(
-                        AttendeeQrCodeRespVO.builder()
-                                .id(attendee.getId())
-                                .attendeeEmail(attendee.getAttendeeEmail())
-                                .attendeeName(attendee.getAttendeeName())
-                                .attendeeMobile(attendee.getAttendeeMobile())
-                                .checkInToken(token)
-                                .qrCodeBase64(qrCode.getBase64Image())
-                                .qrCodeUrl(qrCodeUrl)
-                                .checkInStatus(0)
-                                .build());
-
-            } catch (Exception e) {
-                log.error("Error processing attendee {}: {}", info.getEmail(), e.getMessage(), e);
-                failedList.add(info.getEmail() + " - System error");
+            if (info.getEmail() == null || info.getEmail().isBlank()) {
+                failedList.add("email can't be empty");
+            } else if (candidates.putIfAbsent(info.getEmail(), info) != null) {
+                failedList.add(info.getEmail() + " - appears more than once in this upload");
+            }
+        }
+        if (!candidates.isEmpty()) {
+            for (String email : attendeeMapper.selectExistingEmails(eventId, candidates.keySet())) {
+                candidates.remove(email);
+                failedList.add(email + " - already exist in this event");
+                log.warn("Attendee already exists: email={}, eventId={}", email, eventId);
             }
         }
+        if (candidates.isEmpty()) {
+            String errorMsg = String.join("; ", failedList);
+            throw exception(ATTENDEE_CREATION_FAILED, "Fail to create" + errorMsg);
+        }
+
+        // 3. Insert in chunks of multi-row statements
+        LocalDateTime now = LocalDateTime.now();
+        String operator = currentUser();
+        List<EventAttendeeDO> attendees = new ArrayList<>(candidates.size());
+        for (AttendeeReqVO info : candidates.values()) {
+            EventAttendeeDO attendee =
+                    EventAttendeeDO.builder()
+                            .eventId(eventId)
+                            .attendeeEmail(info.getEmail())
+                            .attendeeName(info.getName())
+                            .attendeeMobile(info.getMobile())
+                            .checkInToken(UUID.randomUUID().toString())
+                            .checkInStatus(0)
+                            .qrCodeGeneratedTime(now)
+                            .build();
+            attendee.setCreator(operator);
+            attendee.setUpdater(operator);
+            attendee.setCreateTime(now);
+            attendee.setUpdateTime(now);
+            attendees.add(attendee);
+        }
+        for (List<EventAttendeeDO> chunk : Lists.partition(attendees, INSERT_BATCH_SIZE)) {
+            attendeeMapper.insertBatch(chunk);
+        }
+        if (checkInTokenCodec.isSigningEnabled()) {
+            // Signed tokens embed the attendee id, which is only known after insert
+            for (EventAttendeeDO attendee : attendees) {
+                attendee.setCheckInToken(newCheckInToken(attendee.getId(), event));
+            }
+            for (List<EventAttendeeDO> chunk : Lists.partition(attendees, INSERT_BATCH_SIZE)) {
+                attendeeMapper.updateCheckInTokens(chunk);
+            }
+        }
+
+        // 4. Render QR codes in parallel on the bounded render pool
+        List<CompletableFuture<QrImageDTO>> renders =
+                attendees.stream()
+                        .map(
+                                attendee ->
+                                        CompletableFuture.supplyAsync(
+                                                () ->
+                                                        qrCodeService.getEventCheckInQrImage(
+                                                                attendee.getCheckInToken()),
+                                                qrRenderExecutor))
+                        .toList();
+        CompletableFuture.allOf(renders.toArray(new CompletableFuture[0])).join();
+
+        // 5. Build the response, invites go out once the rows are committed
+        TenantDO tenant = tenantMapper.selectById(getCurrentTenantId());
+        String organizationName = ObjectUtil.isNotNull(tenant) ? tenant.getName() : null;
+        List<AttendeeQrCodeRespVO> successList = new ArrayList<>(attendees.size());
+        List<AttendeeInviteReqVO> invites = new ArrayList<>(attendees.size());
+        for (int i = 0; i < attendees.size(); i++) {
+            EventAttendeeDO attendee = attendees.get(i);
+            QrImageDTO qrCode = renders.get(i).join();
+            String token = attendee.getCheckInToken();
+            invites.add(buildInvite(attendee, event, qrCode, qrImageUrl(token), organizationName));
+            successList.add(
+                    AttendeeQrCodeRespVO.builder()
+                            .id(attendee.getId())
+                            .attendeeEmail(attendee.getAttendeeEmail())
+                            .attendeeName(attendee.getAttendeeName())
+                            .attendeeMobile(attendee.getAttendeeMobile())
+                            .checkInToken(token)
+                            .qrCodeBase64(Base64.getEncoder().encodeToString(qrCode.getBytes()))
+                            .qrCodeUrl(baseUrl + "/system/attendee/scan?token=" + token)
+                            .qrImageUrl(qrImageUrl(token))
+                            .checkInStatus(0)
+                            .build());
+        }
+        attendeeInviteDispatcher.enqueue(invites);
+        checkInCounter.evict(eventId);
 
         log.info(
                 "Event {}: {} succeeded, {} failed",
@@ -291,11 +382,6 @@ public class AttendeeServiceImpl implements AttendeeService {
             log.warn("Failed attendees: {}", failedList);
         }
 
-        if (successList.isEmpty()) {
-            String errorMsg = String.join("; ", failedList);
-            throw exception(ATTENDEE_CREATION_FAILED, "Fail to create" + errorMsg);
-        }
-
         return GenerateQrCodesRespVO.builder()
                 .eventId(eventId)
                 .eventName(event.getName())
@@ -324,7 +410,7 @@ public class AttendeeServiceImpl implements AttendeeService {
         }
 
         if (ObjectUtil.isNull(attendee.getCheckInToken())) {
-            String token = UUID.randomUUID().toString();
+            String token = newCheckInToken(attendee.getId(), event);
             attendee.setCheckInToken(token);
             attendee.setQrCodeGeneratedTime(LocalDateTime.now());
             attendeeMapper.updateById(attendee);
@@ -334,24 +420,64 @@ public class AttendeeServiceImpl implements AttendeeService {
         return attendee.getCheckInToken();
     }
 
-    private void sendEmail(EventAttendeeDO attendee, EventDO event, QrCodeRespVO qrCode) {
-        byte[] qrCodeBytes = Base64.getDecoder().decode(qrCode.getBase64Image());
+    /**
+     * Issue a check-in token, signed when enabled and the attendee id and event end are known,
+     * otherwise a random UUID
+     */
+    private String newCheckInToken(Long attendeeId, EventDO event) {
+        if (checkInTokenCodec.isSigningEnabled()
+                && ObjectUtil.isNotNull(attendeeId)
+                && ObjectUtil.isNotNull(event.getEndTime())) {
+            long expiresAt = event.getEndTime().atZone(ZoneId.systemDefault()).toEpochSecond();
+            return checkInTokenCodec.sign(event.getId(), attendeeId, expiresAt);
+        }
+        return UUID.randomUUID().toString();
+    }
+
+    private void sendEmail(EventAttendeeDO attendee, EventDO event, QrImageDTO qrCode) {
         TenantDO tenant = tenantMapper.selectById(getCurrentTenantId());
-        AttendeeInviteReqVO emailReq =
-                AttendeeInviteReqVO.builder()
-                        .toEmail(attendee.getAttendeeEmail())
-                        .attendeeMobile(attendee.getAttendeeMobile())
-                        .attendeeName(attendee.getAttendeeName())
-                        .qrCodeBytes(qrCodeBytes)
-                        .qrCodeContentType(qrCode.getContentType())
-                        .eventName(event.getName())
-                        .eventDescription(event.getDescription())
-                        .eventId(event.getId())
-                        .eventLocation(event.getLocation())
-                        .eventDate(event.getStartTime().toString())
-                        .organizationName(ObjectUtil.isNotNull(tenant) ? tenant.getName() : null)
-                        .build();
-        attendeeEmailService.sendAttendeeInvite(emailReq);
+        attendeeInviteDispatcher.enqueue(
+                List.of(
+                        buildInvite(
+                                attendee,
+                                event,
+                                qrCode,
+                                qrImageUrl(attendee.getCheckInToken()),
+                                ObjectUtil.isNotNull(tenant) ? tenant.getName() : null)));
+    }
+
+    private static AttendeeInviteReqVO buildInvite(
+            EventAttendeeDO attendee,
+            EventDO event,
+            QrImageDTO qrCode,
+            String qrImageUrl,
+            String organizationName) {
+        return AttendeeInviteReqVO.builder()
+                .toEmail(attendee.getAttendeeEmail())
+                .attendeeMobile(attendee.getAttendeeMobile())
+                .attendeeName(attendee.getAttendeeName())
+                .qrCodeBytes(qrCode.getBytes())
+                .qrCodeContentType(qrCode.getContentType())
+                .qrImageUrl(qrImageUrl)
+                .eventName(event.getName())
+                .eventDescription(event.getDescription())
+                .eventId(event.getId())
+                .eventLocation(event.getLocation())
+                .eventDate(event.getStartTime().toString())
+                .organizationName(organizationName)
+                .build();
+    }
+
+    private String qrImageUrl(String token) {
+        return ObjectUtil.isNull(token) ? null : baseUrl + "/system/attendee/qr?token=" + token;
+    }
+
+    private static String currentUser() {
+        try {
+            return StpUtil.getLoginId().toString();
+        } catch (Exception e) {
+            return "system";
+        }
     }
 
     @Override
@@ -360,7 +486,21 @@ public class AttendeeServiceImpl implements AttendeeService {
             throw exception(INVALID_CHECKIN_TOKEN);
         }
 
-        EventAttendeeDO attendee = attendeeMapper.selectByToken(token);
+        EventAttendeeDO attendee;
+        if (CheckInTokenCodec.isSigned(token)) {
+            // Reject forged tokens before touching the database
+            CheckInTokenCodec.SignedToken claims = checkInTokenCodec.parse(token);
+            if (ObjectUtil.isNull(claims)) {
+                throw exception(INVALID_CHECKIN_TOKEN);
+            }
+            attendee = attendeeMapper.selectById(claims.getAttendeeId());
+            if (ObjectUtil.isNotNull(attendee)
+                    && !ObjectUtil.equal(attendee.getCheckInToken(), token)) {
+                attendee = null;
+            }
+        } else {
+            attendee = attendeeMapper.selectByToken(token);
+        }
         if (ObjectUtil.isNull(attendee)) {
             throw exception(INVALID_CHECKIN_TOKEN);
         }
@@ -387,4 +527,22 @@ public class AttendeeServiceImpl implements AttendeeService {
 
         return respVO;
     }
+
+    @Override
+    public QrImageDTO getCheckInQrImage(String token) {
+        if (token == null || token.isBlank()) {
+            throw exception(INVALID_CHECKIN_TOKEN);
+        }
+        // Forged signed tokens are turned away without a query
+        if (CheckInTokenCodec.isSigned(token)
+                && ObjectUtil.isNull(checkInTokenCodec.parse(token))) {
+            throw exception(INVALID_CHECKIN_TOKEN);
+        }
+        // A valid signature outlives reissued, deleted and revoked tokens, so only render images
+        // for tokens that still belong to a live attendee
+        if (!attendeeMapper.existsByToken(token)) {
+            throw exception(INVALID_CHECKIN_TOKEN);
+        }
+        return qrCodeService.getEventCheckInQrImage(token);
+    }
 }
@@ -0,0 +1,31 @@
+package nus.edu.u.system.service.attendee;
+
+import nus.edu.u.system.domain.dto.CheckInManifestDTO;
+import nus.edu.u.system.domain.vo.checkin.OfflineCheckInReqVO;
+import nus.edu.u.system.domain.vo.checkin.OfflineCheckInRespVO;
+
+/**
+ * Offline check-in for staff devices with unreliable connectivity
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-23
+ */
+public interface OfflineCheckInService {
+
+    /**
+     * Build the signed manifest a staff device validates scans against while offline
+     *
+     * @param eventId Event id
+     * @return Binary manifest, signed with the manifest key
+     */
+    CheckInManifestDTO buildManifest(Long eventId);
+
+    /**
+     * Apply check-ins recorded offline to an active event, the earliest scan of a ticket wins
+     *
+     * @param eventId Event id
+     * @param reqVO Offline check-ins
+     * @return Sync result
+     */
+    OfflineCheckInRespVO sync(Long eventId, OfflineCheckInReqVO reqVO);
+}
@@ -0,0 +1,188 @@
+package nus.edu.u.system.service.attendee;
+
+import static nus.edu.u.common.utils.exception.ServiceExceptionUtil.exception;
+import static nus.edu.u.framework.mybatis.MybatisPlusConfig.getCurrentTenantId;
+import static nus.edu.u.system.enums.ErrorCodeConstants.*;
+
+import cn.hutool.core.util.ObjectUtil;
+import com.google.common.hash.Hashing;
+import jakarta.annotation.Resource;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.*;
+import lombok.extern.slf4j.Slf4j;
+import nus.edu.u.framework.checkin.CheckInManifestSigner;
+import nus.edu.u.system.domain.dataobject.attendee.EventAttendeeDO;
+import nus.edu.u.system.domain.dto.CheckInManifestDTO;
+import nus.edu.u.system.domain.dto.EventCheckInMetaDTO;
+import nus.edu.u.system.domain.vo.checkin.OfflineCheckInReqVO;
+import nus.edu.u.system.domain.vo.checkin.OfflineCheckInRespVO;
+import nus.edu.u.system.enums.event.EventStatusEnum;
+import nus.edu.u.system.mapper.attendee.EventAttendeeMapper;
+import nus.edu.u.system.service.attendee.cache.EventCheckInCache;
+import nus.edu.u.system.service.attendee.stats.CheckInCounter;
+import org.springframework.stereotype.Service;
+
+/**
+ * Offline check-in service implementation
+ *
+ * <p>Manifest layout, big endian:
+ *
+ * <pre>
+ * magic "CFM1" (4) | event id (8) | generated at, epoch seconds (8) | entry count (4)
+ * entries: sha256(token)[0..16) (16) | attendee id (8) | check-in status (1)
+ * Ed25519 signature of everything above (64)
+ * </pre>
+ *
+ * <p>Devices hash a scanned token and look it up in the entries, so the manifest never carries
+ * usable tokens. They verify the signature with a public key provisioned at enrolment, so a
+ * tampered manifest cannot be re-signed by whoever altered it.
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-23
+ */
+@Service
+@Slf4j
+public class OfflineCheckInServiceImpl implements OfflineCheckInService {
+
+    private static final byte[] MAGIC = "CFM1".getBytes(StandardCharsets.US_ASCII);
+
+    private static final int HEADER_LENGTH = MAGIC.length + Long.BYTES * 2 + Integer.BYTES;
+
+    private static final int TOKEN_HASH_LENGTH = 16;
+
+    private static final int ENTRY_LENGTH = TOKEN_HASH_LENGTH + Long.BYTES + 1;
+
+    /** Tolerated clock drift of staff devices when checking scan times */
+    private static final Duration CLOCK_SKEW = Duration.ofMinutes(5);
+
+    @Resource private EventAttendeeMapper attendeeMapper;
+
+    @Resource private EventCheckInCache eventCheckInCache;
+
+    @Resource private CheckInManifestSigner manifestSigner;
+
+    @Resource private CheckInCounter checkInCounter;
+
+    @Override
+    public CheckInManifestDTO buildManifest(Long eventId) {
+        EventCheckInMetaDTO event = eventCheckInCache.get(getCurrentTenantId(), eventId);
+        if (ObjectUtil.isNull(event)) {
+            throw exception(EVENT_NOT_FOUND);
+        }
+        if (!manifestSigner.isConfigured()) {
+            throw exception(CHECKIN_MANIFEST_UNAVAILABLE);
+        }
+
+        List<EventAttendeeDO> attendees = attendeeMapper.selectManifestByEventId(eventId);
+        ByteBuffer buffer =
+                ByteBuffer.allocate(
+                        HEADER_LENGTH
+                                + attendees.size() * ENTRY_LENGTH
+                                + CheckInManifestSigner.SIGNATURE_LENGTH);
+        buffer.put(MAGIC)
+                .putLong(eventId)
+                .putLong(Instant.now().getEpochSecond())
+                .putInt(attendees.size());
+        for (EventAttendeeDO attendee : attendees) {
+            byte[] tokenHash =
+                    Hashing.sha256()
+                            .hashString(attendee.getCheckInToken(), StandardCharsets.UTF_8)
+                            .asBytes();
+            buffer.put(tokenHash, 0, TOKEN_HASH_LENGTH)
+                    .putLong(attendee.getId())
+                    .put((byte) (ObjectUtil.equal(attendee.getCheckInStatus(), 1) ? 1 : 0));
+        }
+        buffer.put(manifestSigner.sign(buffer.array(), 0, buffer.position()));
+
+        log.info(
+                "Built offline check-in manifest for event {}: {} attendees",
+                eventId,
+                attendees.size());
+        return CheckInManifestDTO.builder()
+                .content(buffer.array())
+                .attendeeCount(attendees.size())
+                .build();
+    }
+
+    @Override
+    public OfflineCheckInRespVO sync(Long eventId, OfflineCheckInReqVO reqVO) {
+        EventCheckInMetaDTO event = eventCheckInCache.get(getCurrentTenantId(), eventId);
+        if (ObjectUtil.isNull(event)) {
+            throw exception(EVENT_NOT_FOUND);
+        }
+        if (!ObjectUtil.equal(event.getStatus(), EventStatusEnum.ACTIVE.getCode())) {
+            throw exception(EVENT_NOT_ACTIVE);
+        }
+
+        // Several devices may have scanned the same ticket, keep the earliest scan
+        Map<String, LocalDateTime> earliestScans = new LinkedHashMap<>();
+        for (OfflineCheckInReqVO.Item item : reqVO.getCheckIns()) {
+            earliestScans.merge(
+                    item.getToken(), item.getScannedAt(), (a, b) -> a.isBefore(b) ? a : b);
+        }
+
+        LocalDateTime latestAllowed = LocalDateTime.now().plus(CLOCK_SKEW);
+        List<String> rejectedTokens = new ArrayList<>();
+        Map<String, LocalDateTime> inWindow = new LinkedHashMap<>();
+        earliestScans.forEach(
+                (token, scannedAt) -> {
+                    if (!isInWindow(event, scannedAt) || scannedAt.isAfter(latestAllowed)) {
+                        rejectedTokens.add(token);
+                    } else {
+                        inWindow.put(token, scannedAt);
+                    }
+                });
+
+        List<String> unknownTokens = new ArrayList<>();
+        int applied = 0;
+        if (!inWindow.isEmpty()) {
+            Set<String> existing =
+                    new HashSet<>(attendeeMapper.selectExistingTokens(eventId, inWindow.keySet()));
+            List<OfflineCheckInReqVO.Item> items = new ArrayList<>(existing.size());
+            inWindow.forEach(
+                    (token, scannedAt) -> {
+                        if (!existing.contains(token)) {
+                            unknownTokens.add(token);
+                            return;
+                        }
+                        OfflineCheckInReqVO.Item item = new OfflineCheckInReqVO.Item();
+                        item.setToken(token);
+                        item.setScannedAt(scannedAt);
+                        items.add(item);
+                    });
+            if (!items.isEmpty()) {
+                applied = attendeeMapper.applyOfflineCheckIns(eventId, items);
+            }
+            if (applied > 0) {
+                checkInCounter.evict(eventId);
+            }
+        }
+
+        log.info(
+                "Offline check-in sync for event {}: received={}, applied={}, unknown={},"
+                        + " rejected={}",
+                eventId,
+                earliestScans.size(),
+                applied,
+                unknownTokens.size(),
+                rejectedTokens.size());
+        return OfflineCheckInRespVO.builder()
+                .eventId(eventId)
+                .received(earliestScans.size())
+                .applied(applied)
+                .unknownTokens(unknownTokens)
+                .rejectedTokens(rejectedTokens)
+                .build();
+    }
+
+    private static boolean isInWindow(EventCheckInMetaDTO event, LocalDateTime scannedAt) {
+        return (ObjectUtil.isNull(event.getCheckInStartTime())
+                        || !scannedAt.isBefore(event.getCheckInStartTime()))
+                && (ObjectUtil.isNull(event.getCheckInEndTime())
+                        || !scannedAt.isAfter(event.getCheckInEndTime()));
+    }
+}
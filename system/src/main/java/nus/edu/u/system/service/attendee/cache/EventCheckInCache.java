@@ -0,0 +1,159 @@
+package nus.edu.u.system.service.attendee.cache;
+
+import cn.hutool.core.util.ObjectUtil;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import nus.edu.u.system.domain.dataobject.task.EventDO;
+import nus.edu.u.system.domain.dto.EventCheckInMetaDTO;
+import nus.edu.u.system.mapper.task.EventMapper;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Near-cache of event check-in metadata
+ *
+ * <p>During an entry storm every scan of the same event needs the same event fields. They are kept
+ * in a bounded local cache keyed by tenant and event id, so a scan costs at most one attendee
+ * lookup. Writes to an event call {@link #invalidate(Long, Long)}, which evicts locally and
+ * broadcasts the eviction to the other nodes over Redis pub/sub.
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-20
+ */
+@Component
+@Slf4j
+public class EventCheckInCache implements MessageListener {
+
+    public static final String INVALIDATE_CHANNEL = "chronoflow:cache:event-checkin:invalidate";
+
+    /** Check-in opens this many hours before the event starts */
+    public static final int CHECK_IN_HOURS_BEFORE_START = 2;
+
+    private static final long MAXIMUM_SIZE = 1_000;
+
+    /** Safety net only, entries are invalidated explicitly when the event changes */
+    private static final Duration EXPIRE_AFTER_WRITE = Duration.ofMinutes(10);
+
+    private static final String KEY_SEPARATOR = ":";
+
+    @Resource private EventMapper eventMapper;
+
+    @Resource private StringRedisTemplate stringRedisTemplate;
+
+    @Resource private RedisMessageListenerContainer redisMessageListenerContainer;
+
+    private final Cache<String, EventCheckInMetaDTO> cache =
+            CacheBuilder.newBuilder()
+                    .maximumSize(MAXIMUM_SIZE)
+                    .expireAfterWrite(EXPIRE_AFTER_WRITE)
+                    .build();
+
+    @PostConstruct
+    public void subscribe() {
+        redisMessageListenerContainer.addMessageListener(
+                this, new ChannelTopic(INVALIDATE_CHANNEL));
+    }
+
+    /**
+     * Get check-in metadata of an event, loading it from the database on a miss
+     *
+     * @param tenantId tenant owning the event
+     * @param eventId event id
+     * @return metadata, or null if the event does not exist
+     */
+    public EventCheckInMetaDTO get(Long tenantId, Long eventId) {
+        if (ObjectUtil.isNull(eventId)) {
+            return null;
+        }
+        String key = buildKey(tenantId, eventId);
+        EventCheckInMetaDTO meta = cache.getIfPresent(key);
+        if (ObjectUtil.isNotNull(meta)) {
+            return meta;
+        }
+        EventDO event = eventMapper.selectById(eventId);
+        if (ObjectUtil.isNull(event)
+                || (ObjectUtil.isNotNull(tenantId)
+                        && ObjectUtil.isNotNull(event.getTenantId())
+                        && !tenantId.equals(event.getTenantId()))) {
+            return null;
+        }
+        meta = toMeta(event);
+        cache.put(key, meta);
+        return meta;
+    }
+
+    /**
+     * Evict an event on this node and on every other node
+     *
+     * <p>Inside a transaction the eviction is deferred until commit, otherwise a concurrent scan
+     * could reload the old row before the new one is visible.
+     *
+     * @param tenantId tenant owning the event
+     * @param eventId event id
+     */
+    public void invalidate(Long tenantId, Long eventId) {
+        if (ObjectUtil.isNull(eventId)) {
+            return;
+        }
+        String key = buildKey(tenantId, eventId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            evictAndBroadcast(key);
+                        }
+                    });
+            return;
+        }
+        evictAndBroadcast(key);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String key = new String(message.getBody(), StandardCharsets.UTF_8);
+        cache.invalidate(key);
+        log.debug("Evicted event check-in cache entry {} on remote notification", key);
+    }
+
+    private void evictAndBroadcast(String key) {
+        cache.invalidate(key);
+        try {
+            stringRedisTemplate.convertAndSend(INVALIDATE_CHANNEL, key);
+        } catch (Exception e) {
+            // Other nodes fall back to the expiry of their own entries
+            log.warn("Failed to broadcast event check-in cache eviction {}", key, e);
+        }
+    }
+
+    private static String buildKey(Long tenantId, Long eventId) {
+        return tenantId + KEY_SEPARATOR + eventId;
+    }
+
+    private static EventCheckInMetaDTO toMeta(EventDO event) {
+        return EventCheckInMetaDTO.builder()
+                .eventId(event.getId())
+                .tenantId(event.getTenantId())
+                .name(event.getName())
+                .status(event.getStatus())
+                .startTime(event.getStartTime())
+                .endTime(event.getEndTime())
+                .checkInStartTime(
+                        ObjectUtil.isNull(event.getStartTime())
+                                ? null
+                                : event.getStartTime().minusHours(CHECK_IN_HOURS_BEFORE_START))
+                .checkInEndTime(event.getEndTime())
+                .build();
+    }
+}
@@ -0,0 +1,271 @@
+package nus.edu.u.system.service.attendee.stats;
+
+import cn.hutool.core.util.ObjectUtil;
+import jakarta.annotation.Resource;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import nus.edu.u.system.domain.dto.CheckInCountDTO;
+import nus.edu.u.system.domain.vo.checkin.CheckInStatsRespVO;
+import nus.edu.u.system.mapper.attendee.EventAttendeeMapper;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Per-event check-in counters
+ *
+ * <p>Check-ins are summed in memory and folded into Redis by {@link #flush()}, so an entry storm
+ * costs one Redis call per event per flush rather than one per scan. Redis holds the counts shared
+ * by all nodes: a hash of total and checked-in attendees, seeded from the database when missing,
+ * and one bucket per check-in second, which also gives the last-minute rate. Writes that bypass the
+ * counter call {@link #evict(Long)}, the hash also expires, so any drift heals by reseeding.
+ *
+ * <p>A check-in can commit before the seed query and be flushed after it. So the seed only counts
+ * check-ins older than {@link #SEED_OVERLAP} from the database, adds the buckets of the overlap and
+ * records where the overlap starts. Later flushes only add seconds inside the overlap, so every
+ * check-in is counted once, whichever side of the seed it lands on.
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-27
+ */
+@Component
+@Slf4j
+public class CheckInCounter {
+
+    private static final String KEY_PREFIX = "chronoflow:checkin:";
+
+    private static final String TOTAL = "total";
+
+    private static final String CHECKED_IN = "checkedIn";
+
+    private static final int RATE_WINDOW_SECONDS = 60;
+
+    private static final Duration STATS_TTL = Duration.ofMinutes(5);
+
+    /** Check-in times are local date times written by the nodes, all in this zone */
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    /**
+     * Check-ins this recent are taken from the buckets rather than the database when seeding.
+     * Covers transactions that commit late and clock drift between nodes.
+     */
+    private static final Duration SEED_OVERLAP = Duration.ofSeconds(RATE_WINDOW_SECONDS);
+
+    /** Outlives the overlap plus the flush delay, so a seed always finds the buckets it needs */
+    private static final Duration BUCKET_TTL = Duration.ofSeconds(RATE_WINDOW_SECONDS * 2);
+
+    /**
+     * Add each second's check-ins to its bucket, and to the checked-in count when the seed did not
+     * already take them from the database. KEYS are the hash then one bucket per second, ARGV the
+     * bucket ttl then a second and a count per bucket.
+     */
+    private static final RedisScript<Long> INCREMENT =
+            new DefaultRedisScript<>(
+                    "local since = tonumber(redis.call('HGET', KEYS[1], 'since')) "
+                            + "for i = 2, #KEYS do "
+                            + "local count = ARGV[2 * i - 1] "
+                            + "redis.call('INCRBY', KEYS[i], count) "
+                            + "redis.call('EXPIRE', KEYS[i], ARGV[1]) "
+                            + "if since and tonumber(ARGV[2 * i - 2]) >= since then "
+                            + "redis.call('HINCRBY', KEYS[1], 'checkedIn', count) end "
+                            + "end "
+                            + "return 1",
+                    Long.class);
+
+    /**
+     * Seed the counts unless another node got there first. KEYS are the hash then the buckets of
+     * the overlap, ARGV the total, the check-ins before the overlap, its first second and the ttl.
+     */
+    private static final RedisScript<Long> SEED =
+            new DefaultRedisScript<>(
+                    "if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end "
+                            + "local checkedIn = tonumber(ARGV[2]) "
+                            + "for i = 2, #KEYS do "
+                            + "checkedIn = checkedIn + tonumber(redis.call('GET', KEYS[i]) or '0') "
+                            + "end "
+                            + "redis.call('HSET', KEYS[1], 'total', ARGV[1], "
+                            + "'checkedIn', checkedIn, 'since', ARGV[3]) "
+                            + "redis.call('EXPIRE', KEYS[1], ARGV[4]) "
+                            + "return 1",
+                    Long.class);
+
+    @Resource private StringRedisTemplate stringRedisTemplate;
+
+    @Resource private EventAttendeeMapper attendeeMapper;
+
+    /**
+     * Check-ins not yet folded into Redis, by event id then check-in second. The inner maps are
+     * only touched inside {@code compute} or after being removed, so they need no locking of their
+     * own.
+     */
+    private final Map<Long, Map<Long, Long>> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Count a successful check-in once the current transaction commits
+     *
+     * @param eventId event id
+     * @param checkInTime check-in time written to the attendee, in whole seconds
+     */
+    public void recordCheckIn(Long eventId, LocalDateTime checkInTime) {
+        long second = epochSecond(checkInTime);
+        afterCommit(() -> merge(eventId, Map.of(second, 1L)));
+    }
+
+    /**
+     * Drop the shared counts of an event so they are reseeded from the database, used after
+     * imports, deletes and offline syncs
+     *
+     * @param eventId event id
+     */
+    public void evict(Long eventId) {
+        afterCommit(
+                () -> {
+                    try {
+                        stringRedisTemplate.delete(statsKey(eventId));
+                    } catch (Exception e) {
+                        log.warn("Failed to evict check-in counts of event {}", eventId, e);
+                    }
+                });
+    }
+
+    /** Fold the pending check-ins into Redis, failed events are retried on the next flush */
+    public void flush() {
+        for (Long eventId : new ArrayList<>(pending.keySet())) {
+            Map<Long, Long> seconds = pending.remove(eventId);
+            if (ObjectUtil.isNull(seconds)) {
+                continue;
+            }
+            List<String> keys = new ArrayList<>(seconds.size() + 1);
+            List<String> args = new ArrayList<>(seconds.size() * 2 + 1);
+            keys.add(statsKey(eventId));
+            args.add(String.valueOf(BUCKET_TTL.toSeconds()));
+            seconds.forEach(
+                    (second, count) -> {
+                        keys.add(bucketKey(eventId, second));
+                        args.add(String.valueOf(second));
+                        args.add(String.valueOf(count));
+                    });
+            try {
+                stringRedisTemplate.execute(INCREMENT, keys, args.toArray());
+            } catch (Exception e) {
+                log.warn("Failed to flush check-ins of event {}", eventId, e);
+                merge(eventId, seconds);
+            }
+        }
+    }
+
+    /**
+     * Current counts of an event
+     *
+     * @param eventId event id, checked against the tenant by the caller
+     * @return counts
+     */
+    public CheckInStatsRespVO snapshot(Long eventId) {
+        long now = System.currentTimeMillis();
+        String statsKey = statsKey(eventId);
+        List<Object> counts =
+                stringRedisTemplate.opsForHash().multiGet(statsKey, List.of(TOTAL, CHECKED_IN));
+        Long total = toLong(counts.get(0));
+        Long checkedIn = toLong(counts.get(1));
+        long second = now / 1000;
+        if (ObjectUtil.isNull(total) || ObjectUtil.isNull(checkedIn)) {
+            seed(eventId, second);
+            counts =
+                    stringRedisTemplate.opsForHash().multiGet(statsKey, List.of(TOTAL, CHECKED_IN));
+            total = toLong(counts.get(0));
+            checkedIn = toLong(counts.get(1));
+        }
+
+        List<String> bucketKeys = new ArrayList<>(RATE_WINDOW_SECONDS);
+        for (int i = 0; i < RATE_WINDOW_SECONDS; i++) {
+            bucketKeys.add(bucketKey(eventId, second - i));
+        }
+        long lastMinute =
+                stringRedisTemplate.opsForValue().multiGet(bucketKeys).stream()
+                        .filter(Objects::nonNull)
+                        .mapToLong(Long::parseLong)
+                        .sum();
+
+        return CheckInStatsRespVO.builder()
+                .eventId(eventId)
+                .total(total)
+                .checkedIn(checkedIn)
+                .lastMinute(lastMinute)
+                .timestamp(now)
+                .build();
+    }
+
+    /** Seed the counts, check-ins inside the overlap come from the buckets */
+    private void seed(Long eventId, long nowSecond) {
+        long since = nowSecond - SEED_OVERLAP.toSeconds();
+        CheckInCountDTO seeded =
+                attendeeMapper.countCheckIns(
+                        eventId, Instant.ofEpochSecond(since).atZone(ZONE).toLocalDateTime());
+        // Buckets a little ahead of this node's clock hold check-ins of nodes running fast
+        List<String> keys = new ArrayList<>();
+        keys.add(statsKey(eventId));
+        for (long s = since; s <= nowSecond + SEED_OVERLAP.toSeconds(); s++) {
+            keys.add(bucketKey(eventId, s));
+        }
+        stringRedisTemplate.execute(
+                SEED,
+                keys,
+                String.valueOf(seeded.getTotal()),
+                String.valueOf(seeded.getCheckedIn()),
+                String.valueOf(since),
+                String.valueOf(STATS_TTL.toSeconds()));
+    }
+
+    private void merge(Long eventId, Map<Long, Long> seconds) {
+        pending.compute(
+                eventId,
+                (id, current) -> {
+                    Map<Long, Long> merged = current == null ? new HashMap<>() : current;
+                    seconds.forEach((second, count) -> merged.merge(second, count, Long::sum));
+                    return merged;
+                });
+    }
+
+    private static long epochSecond(LocalDateTime time) {
+        return time.atZone(ZONE).toEpochSecond();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            action.run();
+                        }
+                    });
+            return;
+        }
+        action.run();
+    }
+
+    private static Long toLong(Object value) {
+        return ObjectUtil.isNull(value) ? null : Long.valueOf(value.toString());
+    }
+
+    /** Hash tags keep the keys of one event in one cluster slot, as the scripts require */
+    private static String statsKey(Long eventId) {
+        return KEY_PREFIX + "{" + eventId + "}:stats";
+    }
+
+    private static String bucketKey(Long eventId, long epochSecond) {
+        return KEY_PREFIX + "{" + eventId + "}:rate:" + epochSecond;
+    }
+}
@@ -0,0 +1,128 @@
+package nus.edu.u.system.service.attendee.stats;
+
+import static nus.edu.u.common.utils.exception.ServiceExceptionUtil.exception;
+import static nus.edu.u.framework.mybatis.MybatisPlusConfig.getCurrentTenantId;
+import static nus.edu.u.system.enums.ErrorCodeConstants.EVENT_NOT_FOUND;
+
+import cn.hutool.core.util.ObjectUtil;
+import jakarta.annotation.Resource;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import lombok.extern.slf4j.Slf4j;
+import nus.edu.u.common.utils.json.JsonUtils;
+import nus.edu.u.framework.executor.ExecutorConfig;
+import nus.edu.u.system.domain.vo.checkin.CheckInStatsRespVO;
+import nus.edu.u.system.service.attendee.cache.EventCheckInCache;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes live check-in counts to dashboards over Server-Sent Events
+ *
+ * <p>Once per second the counts of every watched event are taken once and the serialized payload is
+ * written to all of its subscribers, so the cost is per event rather than per dashboard. The push
+ * runs on its own thread, the shared scheduler only ticks it.
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-27
+ */
+@Component
+@Slf4j
+public class CheckInStatsBroadcaster {
+
+    public static final String EVENT_NAME = "checkin-stats";
+
+    private static final long PUSH_INTERVAL_MILLIS = 1_000;
+
+    /** Dashboards reconnect after this, EventSource does it on its own */
+    private static final Duration EMITTER_TIMEOUT = Duration.ofMinutes(30);
+
+    @Resource private CheckInCounter checkInCounter;
+
+    @Resource private EventCheckInCache eventCheckInCache;
+
+    @Resource(name = ExecutorConfig.CHECK_IN_STATS_EXECUTOR)
+    private Executor checkInStatsExecutor;
+
+    private final Map<Long, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    /**
+     * Watch the check-in counts of an event of the current tenant
+     *
+     * @param eventId event id
+     * @return emitter receiving one {@value #EVENT_NAME} event per second
+     */
+    public SseEmitter subscribe(Long eventId) {
+        if (ObjectUtil.isNull(eventCheckInCache.get(getCurrentTenantId(), eventId))) {
+            throw exception(EVENT_NOT_FOUND);
+        }
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT.toMillis());
+        subscribers.compute(
+                eventId,
+                (key, emitters) -> {
+                    Set<SseEmitter> watching =
+                            ObjectUtil.isNull(emitters) ? new CopyOnWriteArraySet<>() : emitters;
+                    watching.add(emitter);
+                    return watching;
+                });
+        emitter.onCompletion(() -> unsubscribe(eventId, emitter));
+        emitter.onTimeout(() -> unsubscribe(eventId, emitter));
+        emitter.onError(e -> unsubscribe(eventId, emitter));
+        return emitter;
+    }
+
+    @Scheduled(fixedRate = PUSH_INTERVAL_MILLIS)
+    public void tick() {
+        checkInStatsExecutor.execute(this::push);
+    }
+
+    /** Flush pending check-ins and send the current counts to every dashboard */
+    public void push() {
+        checkInCounter.flush();
+        subscribers.forEach(this::pushEvent);
+    }
+
+    private void pushEvent(Long eventId, Set<SseEmitter> emitters) {
+        if (emitters.isEmpty()) {
+            return;
+        }
+        String payload;
+        try {
+            CheckInStatsRespVO stats = checkInCounter.snapshot(eventId);
+            payload = JsonUtils.toJsonString(stats);
+        } catch (Exception e) {
+            log.warn("Failed to read check-in counts of event {}", eventId, e);
+            return;
+        }
+        SseEmitter.SseEventBuilder event =
+                SseEmitter.event().name(EVENT_NAME).data(payload, MediaType.APPLICATION_JSON);
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                // The client went away, the container completes the emitter
+                unsubscribe(eventId, emitter);
+            }
+        }
+    }
+
+    int subscriberCount(Long eventId) {
+        return subscribers.getOrDefault(eventId, Set.of()).size();
+    }
+
+    private void unsubscribe(Long eventId, SseEmitter emitter) {
+        subscribers.computeIfPresent(
+                eventId,
+                (key, emitters) -> {
+                    emitters.remove(emitter);
+                    return emitters.isEmpty() ? null : emitters;
+                });
+    }
+}
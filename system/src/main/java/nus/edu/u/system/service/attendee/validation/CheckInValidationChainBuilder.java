@@ -1,13 +1,16 @@
 package nus.edu.u.system.service.attendee.validation;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import jakarta.annotation.Resource;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Component;
 
 /**
- * Check-in Validation Chain Builder Builds and manages the chain of responsibility for check-in
- * validation
+ * Check-in Validation Chain Builder Compiles the check-in validators into an immutable pipeline
+ * once at startup
  *
  * @author Fan Yazhuoting
  * @date 2025-10-15
@@ -26,46 +29,48 @@ public class CheckInValidationChainBuilder {
 
     @Resource private TimeWindowValidator timeWindowValidator;
 
+    @Resource private ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    private CheckInValidationPipeline pipeline;
+
+    @PostConstruct
+    public void init() {
+        // Token -> Duplicate -> Event Existence -> Event Status -> Time Window
+        pipeline =
+                buildValidationChain(
+                        List.of(
+                                tokenValidator,
+                                duplicateCheckInValidator,
+                                eventExistenceValidator,
+                                eventStatusValidator,
+                                timeWindowValidator));
+        log.info("Check-in validation pipeline compiled: {}", pipeline.getStageNames());
+    }
+
     /**
-     * Build the validation chain with all validators in order
+     * Get the precompiled validation pipeline, safe to share between concurrent requests
      *
-     * @return The head of the validation chain
+     * @return The validation pipeline
      */
     public CheckInValidator buildValidationChain() {
-        log.debug("Building check-in validation chain");
-
-        // Build the chain: Token -> Duplicate -> Event Existence -> Event Status -> Time Window
-        tokenValidator
-                .setNext(duplicateCheckInValidator)
-                .setNext(eventExistenceValidator)
-                .setNext(eventStatusValidator)
-                .setNext(timeWindowValidator);
-
-        log.debug("Validation chain built successfully with {} validators", 5);
-        return tokenValidator;
+        return pipeline;
     }
 
     /**
-     * Alternative method: Build chain from a list of validators This allows for dynamic chain
+     * Alternative method: Build a pipeline from a list of validators This allows for dynamic
      * composition in the future
      *
      * @param validators List of validators in desired order
-     * @return The head of the validation chain
+     * @return The validation pipeline
      */
-    public CheckInValidator buildValidationChain(List<CheckInValidator> validators) {
+    public CheckInValidationPipeline buildValidationChain(List<CheckInValidator> validators) {
         if (validators == null || validators.isEmpty()) {
             throw new IllegalArgumentException("Validators list cannot be null or empty");
         }
 
-        log.debug("Building custom validation chain with {} validators", validators.size());
-
-        CheckInValidator head = validators.get(0);
-        CheckInValidator current = head;
-
-        for (int i = 1; i < validators.size(); i++) {
-            current = current.setNext(validators.get(i));
-        }
-
-        return head;
+        log.debug("Building validation pipeline with {} validators", validators.size());
+        MeterRegistry meterRegistry =
+                meterRegistryProvider == null ? null : meterRegistryProvider.getIfAvailable();
+        return new CheckInValidationPipeline(validators, meterRegistry);
     }
 }
@@ -4,7 +4,7 @@ import java.time.LocalDateTime;
 import lombok.Builder;
 import lombok.Data;
 import nus.edu.u.system.domain.dataobject.attendee.EventAttendeeDO;
-import nus.edu.u.system.domain.dataobject.task.EventDO;
+import nus.edu.u.system.domain.dto.EventCheckInMetaDTO;
 
 /**
  * Check-in Validation Context Holds all data needed during the validation chain execution
@@ -22,11 +22,14 @@ public class CheckInValidationContext {
     /** Current time for time window validation */
     private LocalDateTime currentTime;
 
+    /** Event the scanning device is checking in for, optional */
+    private Long expectedEventId;
+
     /** Attendee record (loaded by TokenValidator) */
     private EventAttendeeDO attendee;
 
-    /** Event record (loaded by EventExistenceValidator) */
-    private EventDO event;
+    /** Event check-in metadata (loaded by EventExistenceValidator) */
+    private EventCheckInMetaDTO eventMeta;
 
     /** Flag to indicate if validation has failed */
     private boolean validationFailed;
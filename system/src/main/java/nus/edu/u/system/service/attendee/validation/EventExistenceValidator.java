@@ -3,8 +3,8 @@ package nus.edu.u.system.service.attendee.validation;
 import cn.hutool.core.util.ObjectUtil;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
-import nus.edu.u.system.domain.dataobject.task.EventDO;
-import nus.edu.u.system.mapper.task.EventMapper;
+import nus.edu.u.system.domain.dto.EventCheckInMetaDTO;
+import nus.edu.u.system.service.attendee.cache.EventCheckInCache;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
@@ -19,15 +19,17 @@ import org.springframework.stereotype.Component;
 @Slf4j
 public class EventExistenceValidator extends CheckInValidator {
 
-    @Resource private EventMapper eventMapper;
+    @Resource private EventCheckInCache eventCheckInCache;
 
     @Override
     protected void doValidate(CheckInValidationContext context) {
         log.debug("Validating event existence: {}", getValidatorName());
 
-        EventDO event = eventMapper.selectById(context.getAttendee().getEventId());
+        EventCheckInMetaDTO eventMeta =
+                eventCheckInCache.get(
+                        context.getAttendee().getTenantId(), context.getAttendee().getEventId());
 
-        if (ObjectUtil.isNull(event)) {
+        if (ObjectUtil.isNull(eventMeta)) {
             log.warn("Event not found: {}", context.getAttendee().getEventId());
             context.setValidationFailed(true);
             context.setErrorMessage("EVENT_NOT_FOUND");
@@ -35,8 +37,8 @@ public class EventExistenceValidator extends CheckInValidator {
         }
 
         // Set event in context for next validators
-        context.setEvent(event);
-        log.debug("Event existence validation passed for event: {}", event.getName());
+        context.setEventMeta(eventMeta);
+        log.debug("Event existence validation passed for event: {}", eventMeta.getName());
     }
 
     @Override
@@ -21,11 +21,12 @@ public class EventStatusValidator extends CheckInValidator {
     protected void doValidate(CheckInValidationContext context) {
         log.debug("Validating event status: {}", getValidatorName());
 
-        if (!ObjectUtil.equal(context.getEvent().getStatus(), EventStatusEnum.ACTIVE.getCode())) {
+        if (!ObjectUtil.equal(
+                context.getEventMeta().getStatus(), EventStatusEnum.ACTIVE.getCode())) {
             log.warn(
                     "Event {} is not active, current status: {}",
-                    context.getEvent().getName(),
-                    context.getEvent().getStatus());
+                    context.getEventMeta().getName(),
+                    context.getEventMeta().getStatus());
             context.setValidationFailed(true);
             context.setErrorMessage("EVENT_NOT_ACTIVE");
             return;
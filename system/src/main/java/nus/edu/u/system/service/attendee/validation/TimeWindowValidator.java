@@ -17,16 +17,13 @@ import org.springframework.stereotype.Component;
 @Slf4j
 public class TimeWindowValidator extends CheckInValidator {
 
-    private static final int CHECK_IN_HOURS_BEFORE_START = 2;
-
     @Override
     protected void doValidate(CheckInValidationContext context) {
         log.debug("Validating time window: {}", getValidatorName());
 
         LocalDateTime now = context.getCurrentTime();
-        LocalDateTime checkInStart =
-                context.getEvent().getStartTime().minusHours(CHECK_IN_HOURS_BEFORE_START);
-        LocalDateTime checkInEnd = context.getEvent().getEndTime();
+        LocalDateTime checkInStart = context.getEventMeta().getCheckInStartTime();
+        LocalDateTime checkInEnd = context.getEventMeta().getCheckInEndTime();
 
         if (now.isBefore(checkInStart)) {
             log.warn(
@@ -2,7 +2,9 @@ package nus.edu.u.system.service.attendee.validation;
 
 import cn.hutool.core.util.ObjectUtil;
 import jakarta.annotation.Resource;
+import java.time.ZoneId;
 import lombok.extern.slf4j.Slf4j;
+import nus.edu.u.framework.checkin.CheckInTokenCodec;
 import nus.edu.u.system.domain.dataobject.attendee.EventAttendeeDO;
 import nus.edu.u.system.mapper.attendee.EventAttendeeMapper;
 import org.springframework.core.annotation.Order;
@@ -11,6 +13,10 @@ import org.springframework.stereotype.Component;
 /**
  * Token Validator Validates that the check-in token exists and retrieves attendee record
  *
+ * <p>Signed tokens are verified in memory first, so forged, expired or wrong-event tokens never
+ * reach the database and valid ones are loaded by primary key. Legacy UUID tokens are looked up by
+ * value.
+ *
  * @author Fan Yazhuoting
  * @date 2025-10-15
  */
@@ -21,13 +27,24 @@ public class TokenValidator extends CheckInValidator {
 
     @Resource private EventAttendeeMapper attendeeMapper;
 
+    @Resource private CheckInTokenCodec checkInTokenCodec;
+
     @Override
     protected void doValidate(CheckInValidationContext context) {
         log.debug("Validating token: {}", getValidatorName());
 
-        EventAttendeeDO attendee = attendeeMapper.selectByToken(context.getToken());
+        EventAttendeeDO attendee =
+                CheckInTokenCodec.isSigned(context.getToken())
+                        ? loadBySignedToken(context)
+                        : attendeeMapper.selectByToken(context.getToken());
+        if (context.isValidationFailed()) {
+            return;
+        }
 
-        if (ObjectUtil.isNull(attendee)) {
+        if (ObjectUtil.isNull(attendee)
+                || (ObjectUtil.isNotNull(context.getExpectedEventId())
+                        && !ObjectUtil.equal(
+                                context.getExpectedEventId(), attendee.getEventId()))) {
             log.warn("Invalid check-in token");
             context.setValidationFailed(true);
             context.setErrorMessage("INVALID_CHECKIN_TOKEN");
@@ -39,6 +56,38 @@ public class TokenValidator extends CheckInValidator {
         log.debug("Token validation passed for attendee: {}", attendee.getAttendeeEmail());
     }
 
+    private EventAttendeeDO loadBySignedToken(CheckInValidationContext context) {
+        CheckInTokenCodec.SignedToken claims = checkInTokenCodec.parse(context.getToken());
+        if (ObjectUtil.isNull(claims)) {
+            log.warn("Malformed or forged signed check-in token");
+            return null;
+        }
+        if (claims.isExpired(
+                context.getCurrentTime().atZone(ZoneId.systemDefault()).toEpochSecond())) {
+            log.warn("Expired check-in token for event {}", claims.getEventId());
+            context.setValidationFailed(true);
+            context.setErrorMessage("CHECKIN_ENDED");
+            return null;
+        }
+        if (ObjectUtil.isNotNull(context.getExpectedEventId())
+                && context.getExpectedEventId() != claims.getEventId()) {
+            log.warn(
+                    "Check-in token of event {} scanned for event {}",
+                    claims.getEventId(),
+                    context.getExpectedEventId());
+            return null;
+        }
+
+        EventAttendeeDO attendee = attendeeMapper.selectById(claims.getAttendeeId());
+        // A reissued token replaces the old one, so the stored token must still match
+        if (ObjectUtil.isNull(attendee)
+                || !ObjectUtil.equal(attendee.getCheckInToken(), context.getToken())
+                || !ObjectUtil.equal(attendee.getEventId(), claims.getEventId())) {
+            return null;
+        }
+        return attendee;
+    }
+
     @Override
     protected String getValidatorName() {
         return "TokenValidator";
@@ -3,7 +3,6 @@ package nus.edu.u.system.service.event;
 import static nus.edu.u.common.utils.exception.ServiceExceptionUtil.exception;
 import static nus.edu.u.system.enums.ErrorCodeConstants.*;
 
-import cn.hutool.core.util.ObjectUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import jakarta.annotation.Resource;
@@ -18,6 +17,7 @@ import nus.edu.u.system.domain.dataobject.task.EventDO;
 import nus.edu.u.system.domain.dataobject.task.TaskDO;
 import nus.edu.u.system.domain.dataobject.user.UserDO;
 import nus.edu.u.system.domain.dataobject.user.UserGroupDO;
+import nus.edu.u.system.domain.dto.EventCountDTO;
 import nus.edu.u.system.domain.dto.EventDTO;
 import nus.edu.u.system.domain.vo.event.*;
 import nus.edu.u.system.domain.vo.group.GroupRespVO;
@@ -28,6 +28,7 @@ import nus.edu.u.system.mapper.task.EventMapper;
 import nus.edu.u.system.mapper.task.TaskMapper;
 import nus.edu.u.system.mapper.user.UserGroupMapper;
 import nus.edu.u.system.mapper.user.UserMapper;
+import nus.edu.u.system.service.attendee.cache.EventCheckInCache;
 import nus.edu.u.system.service.event.validation.EventValidationContext;
 import nus.edu.u.system.service.event.validation.EventValidationHandler;
 import nus.edu.u.system.service.group.GroupService;
@@ -51,6 +52,8 @@ public class EventServiceImpl implements EventService {
 
     @Resource private UserGroupMapper userGroupMapper;
 
+    @Resource private EventCheckInCache eventCheckInCache;
+
     @Autowired private List<EventValidationHandler> validationHandlers;
 
     @Override
@@ -100,7 +103,7 @@ public class EventServiceImpl implements EventService {
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public List<EventRespVO> getByOrganizerId(Long organizerId) {
         if (userMapper.selectById(organizerId) == null) {
             throw exception(ORGANIZER_NOT_FOUND);
@@ -174,21 +177,6 @@ public class EventServiceImpl implements EventService {
         Map<Long, EventRespVO.TaskStatusVO> taskStatusByEventId =
                 fetchTaskStatusesByEventIds(eventIds);
 
-        // Active event
-        for (EventDO event : orderedEvents) {
-            if (ObjectUtil.isNull(event.getStartTime()) || ObjectUtil.isNull(event.getEndTime())) {
-                continue;
-            }
-            if (LocalDateTime.now().isBefore(event.getStartTime())) {
-                event.setStatus(EventStatusEnum.NOT_STARTED.getCode());
-            } else if (LocalDateTime.now().isAfter(event.getEndTime())) {
-                event.setStatus(EventStatusEnum.COMPLETED.getCode());
-            } else {
-                event.setStatus(EventStatusEnum.ACTIVE.getCode());
-            }
-            eventMapper.updateById(event);
-        }
-
         return orderedEvents.stream()
                 .map(
                         event -> {
@@ -218,6 +206,7 @@ public class EventServiceImpl implements EventService {
         patch.setId(id);
         EventConvert.INSTANCE.patch(patch, reqVO);
         eventMapper.updateById(patch);
+        eventCheckInCache.invalidate(db.getTenantId(), id);
 
         EventDO updated = eventMapper.selectById(id);
         UpdateEventRespVO resp = EventConvert.INSTANCE.toUpdateResp(updated);
@@ -239,6 +228,7 @@ public class EventServiceImpl implements EventService {
         if (rows <= 0) {
             throw exception(EVENT_DELETE_FAILED);
         }
+        eventCheckInCache.invalidate(db.getTenantId(), id);
 
         userGroupMapper.delete(Wrappers.<UserGroupDO>lambdaQuery().eq(UserGroupDO::getEventId, id));
         taskMapper.delete(Wrappers.<TaskDO>lambdaQuery().eq(TaskDO::getEventId, id));
@@ -260,6 +250,7 @@ public class EventServiceImpl implements EventService {
         if (rows <= 0) {
             throw exception(EVENT_RESTORE_FAILED);
         }
+        eventCheckInCache.invalidate(db.getTenantId(), id);
         userGroupMapper.restoreByEventId(id);
         return true;
     }
@@ -368,21 +359,21 @@ public class EventServiceImpl implements EventService {
             return Map.of();
         }
 
-        List<TaskDO> tasks =
-                taskMapper.selectList(
-                        Wrappers.<TaskDO>lambdaQuery().in(TaskDO::getEventId, eventIds));
-
-        Map<Long, List<TaskDO>> tasksByEvent =
-                tasks.stream().collect(Collectors.groupingBy(TaskDO::getEventId));
-
         Map<Long, EventRespVO.TaskStatusVO> result = new HashMap<>();
         for (Long eventId : eventIds) {
-            List<TaskDO> taskList = tasksByEvent.get(eventId);
-            if (taskList == null || taskList.isEmpty()) {
-                result.put(eventId, emptyTaskStatus());
-            } else {
-                result.put(eventId, toTaskStatusVO(taskList));
+            result.put(eventId, emptyTaskStatus());
+        }
+        for (EventCountDTO count : taskMapper.selectStatusCountsByEventIds(eventIds)) {
+            EventRespVO.TaskStatusVO statusVO = result.get(count.getEventId());
+            if (statusVO == null) {
+                continue;
+            }
+            int total = count.getTotal().intValue();
+            statusVO.setTotal(statusVO.getTotal() + total);
+            if (Objects.equals(count.getStatus(), TaskStatusEnum.COMPLETED.getStatus())) {
+                statusVO.setCompleted(statusVO.getCompleted() + total);
             }
+            statusVO.setRemaining(statusVO.getTotal() - statusVO.getCompleted());
         }
         return result;
     }
@@ -394,24 +385,6 @@ public class EventServiceImpl implements EventService {
         return vo;
     }
 
-    private EventRespVO.TaskStatusVO toTaskStatusVO(List<TaskDO> tasks) {
-        EventRespVO.TaskStatusVO statusVO = new EventRespVO.TaskStatusVO();
-        int total = tasks.size();
-        int completed =
-                (int)
-                        tasks.stream()
-                                .filter(
-                                        task ->
-                                                Objects.equals(
-                                                        task.getStatus(),
-                                                        TaskStatusEnum.COMPLETED.getStatus()))
-                                .count();
-        statusVO.setTotal(total);
-        statusVO.setCompleted(completed);
-        statusVO.setRemaining(total - completed);
-        return statusVO;
-    }
-
     private EventRespVO.TaskStatusVO emptyTaskStatus() {
         EventRespVO.TaskStatusVO statusVO = new EventRespVO.TaskStatusVO();
         statusVO.setTotal(0);
@@ -425,14 +398,10 @@ public class EventServiceImpl implements EventService {
             return Map.of();
         }
 
-        List<UserGroupDO> userGroups =
-                userGroupMapper.selectList(
-                        Wrappers.<UserGroupDO>lambdaQuery().in(UserGroupDO::getEventId, eventIds));
-
-        return userGroups.stream()
+        return userGroupMapper.selectCountsByEventIds(eventIds).stream()
                 .collect(
-                        Collectors.groupingBy(
-                                UserGroupDO::getEventId, Collectors.summingInt(item -> 1)));
+                        Collectors.toMap(
+                                EventCountDTO::getEventId, count -> count.getTotal().intValue()));
     }
 
     private List<Long> fetchParticipantIdsByEventId(Long eventId) {
@@ -0,0 +1,84 @@
+package nus.edu.u.system.service.event.status;
+
+import jakarta.annotation.Resource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import nus.edu.u.system.domain.dataobject.task.EventDO;
+import nus.edu.u.system.enums.event.EventStatusEnum;
+import nus.edu.u.system.mapper.task.EventMapper;
+import nus.edu.u.system.service.attendee.cache.EventCheckInCache;
+import nus.edu.u.system.service.scheduling.LeaderLease;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves events between NOT_STARTED, ACTIVE and COMPLETED as their start and end times pass
+ *
+ * <p>Every tick, the node holding the {@link LeaderLease} looks up the events of all tenants whose
+ * stored status disagrees with their time range and moves them with one UPDATE per target status.
+ * Event reads therefore only read the stored status, which trails a boundary by at most one tick.
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-29
+ */
+@Component
+@Slf4j
+public class EventStatusScheduler {
+
+    private static final String LEASE_NAME = "event-status";
+
+    private static final long TICK_MILLIS = 10_000;
+
+    /** A leader that stops ticking hands over after three missed ticks */
+    private static final Duration LEASE = Duration.ofMillis(TICK_MILLIS * 3);
+
+    /** Events moved per query, a backlog is worked off in several rounds of one tick */
+    private static final int BATCH_SIZE = 500;
+
+    @Resource private EventMapper eventMapper;
+
+    @Resource private EventCheckInCache eventCheckInCache;
+
+    @Resource private LeaderLease leaderLease;
+
+    @Scheduled(initialDelay = TICK_MILLIS, fixedDelay = TICK_MILLIS)
+    public void tick() {
+        if (!leaderLease.acquire(LEASE_NAME, LEASE)) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<EventDO> outdated;
+        do {
+            outdated = eventMapper.selectStatusOutdated(now, BATCH_SIZE);
+            transition(outdated, now);
+        } while (outdated.size() == BATCH_SIZE);
+    }
+
+    private void transition(List<EventDO> events, LocalDateTime now) {
+        Map<EventStatusEnum, List<EventDO>> byStatus =
+                events.stream()
+                        .collect(
+                                Collectors.groupingBy(
+                                        event ->
+                                                EventStatusEnum.at(
+                                                        event.getStartTime(),
+                                                        event.getEndTime(),
+                                                        now),
+                                        LinkedHashMap::new,
+                                        Collectors.toList()));
+        byStatus.forEach(
+                (status, moving) -> {
+                    eventMapper.updateStatusByIds(
+                            moving.stream().map(EventDO::getId).toList(), status.getCode());
+                    for (EventDO event : moving) {
+                        eventCheckInCache.invalidate(event.getTenantId(), event.getId());
+                    }
+                    log.info("Moved {} events to {}", moving.size(), status);
+                });
+    }
+}
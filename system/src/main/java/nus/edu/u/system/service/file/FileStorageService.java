@@ -1,6 +1,8 @@
 package nus.edu.u.system.service.file;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import nus.edu.u.system.domain.vo.file.FileResultVO;
 import nus.edu.u.system.domain.vo.file.FileUploadReqVO;
 
@@ -10,4 +12,12 @@ public interface FileStorageService {
     FileResultVO downloadFile(Long fileId);
 
     List<FileResultVO> downloadFilesByTaskLogId(Long taskLogId);
+
+    /**
+     * Files of many task logs, loaded with one query
+     *
+     * @param taskLogIds task log ids
+     * @return files of each task log, logs without files are absent
+     */
+    Map<Long, List<FileResultVO>> downloadFilesByTaskLogIds(Collection<Long> taskLogIds);
 }
@@ -4,8 +4,12 @@ import cn.dev33.satoken.stp.StpUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -151,29 +155,40 @@ public class FileStorageServiceImpl implements FileStorageService {
 
     @Override
     public List<FileResultVO> downloadFilesByTaskLogId(Long taskLogId) {
-        List<FileDO> files =
-                fileMapper.selectList(
-                        new LambdaQueryWrapper<FileDO>().eq(FileDO::getTaskLogId, taskLogId));
-
-        if (files.isEmpty()) return Collections.emptyList();
+        return downloadFilesByTaskLogIds(List.of(taskLogId))
+                .getOrDefault(taskLogId, Collections.emptyList());
+    }
 
-        FileClient client = fileClientFactory.create(files.get(0).getProvider());
+    @Override
+    public Map<Long, List<FileResultVO>> downloadFilesByTaskLogIds(Collection<Long> taskLogIds) {
+        if (taskLogIds == null || taskLogIds.isEmpty()) return Collections.emptyMap();
 
-        if (client instanceof GcsFileClient gcs) {
-            return files.stream()
-                    .map(
-                            f ->
-                                    FileResultVO.builder()
-                                            .objectName(f.getObjectName())
-                                            .contentType(f.getType())
-                                            .name(f.getName())
-                                            .size(f.getSize())
-                                            .signedUrl(gcs.generateSignedUrl(f.getObjectName()))
-                                            .build())
-                    .toList();
+        List<FileDO> files =
+                fileMapper.selectList(
+                        new LambdaQueryWrapper<FileDO>().in(FileDO::getTaskLogId, taskLogIds));
+
+        Map<String, GcsFileClient> clients = new HashMap<>();
+        Map<Long, List<FileResultVO>> results = new LinkedHashMap<>();
+        for (FileDO f : files) {
+            GcsFileClient gcs = clients.computeIfAbsent(f.getProvider(), this::signingClient);
+            results.computeIfAbsent(f.getTaskLogId(), id -> new ArrayList<>())
+                    .add(
+                            FileResultVO.builder()
+                                    .objectName(f.getObjectName())
+                                    .contentType(f.getType())
+                                    .name(f.getName())
+                                    .size(f.getSize())
+                                    .signedUrl(gcs.generateSignedUrl(f.getObjectName()))
+                                    .build());
         }
+        return results;
+    }
 
+    private GcsFileClient signingClient(String provider) {
+        if (fileClientFactory.create(provider) instanceof GcsFileClient gcs) {
+            return gcs;
+        }
         throw new UnsupportedOperationException(
-                "Signed URL generation not supported for this provider");
+                "Signed URL generation not supported for provider: " + provider);
     }
 }
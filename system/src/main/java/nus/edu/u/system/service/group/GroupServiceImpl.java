@@ -12,9 +12,11 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import nus.edu.u.common.enums.CommonStatusEnum;
+import nus.edu.u.framework.mybatis.loader.EntityLoader;
 import nus.edu.u.system.domain.dataobject.dept.DeptDO;
 import nus.edu.u.system.domain.dataobject.task.EventDO;
 import nus.edu.u.system.domain.dataobject.task.TaskDO;
@@ -30,6 +32,7 @@ import nus.edu.u.system.mapper.task.EventMapper;
 import nus.edu.u.system.mapper.task.TaskMapper;
 import nus.edu.u.system.mapper.user.UserGroupMapper;
 import nus.edu.u.system.mapper.user.UserMapper;
+import nus.edu.u.system.service.task.dashboard.MemberDashboardStore;
 import nus.edu.u.system.service.user.UserService;
 import org.springframework.aop.framework.AopContext;
 import org.springframework.stereotype.Service;
@@ -57,6 +60,8 @@ public class GroupServiceImpl implements GroupService {
 
     @Resource private TaskMapper taskMapper;
 
+    @Resource private MemberDashboardStore memberDashboardStore;
+
     @Override
     @Transactional
     public Long createGroup(CreateGroupReqVO reqVO) {
@@ -137,6 +142,14 @@ public class GroupServiceImpl implements GroupService {
         BeanUtil.copyProperties(reqVO, updateDept);
 
         deptMapper.updateById(updateDept);
+        memberDashboardStore.evict(
+                userGroupMapper
+                        .selectList(
+                                new LambdaQueryWrapper<UserGroupDO>()
+                                        .eq(UserGroupDO::getDeptId, reqVO.getId()))
+                        .stream()
+                        .map(UserGroupDO::getUserId)
+                        .toList());
         log.info("Updated group ID: {}", reqVO.getId());
     }
 
@@ -171,6 +184,7 @@ public class GroupServiceImpl implements GroupService {
                         .eq("id", leaderId);
 
                 userMapper.update(null, userUpdateWrapper);
+                memberDashboardStore.evict(List.of(leaderId));
                 log.info("Removed leader {} from group {}", leaderId, id);
             }
         }
@@ -231,6 +245,7 @@ public class GroupServiceImpl implements GroupService {
                         .build();
 
         userGroupMapper.insert(userGroup);
+        memberDashboardStore.evict(List.of(userId));
         log.info("Added user {} to group {} in event {}", userId, groupId, eventId);
     }
 
@@ -279,6 +294,7 @@ public class GroupServiceImpl implements GroupService {
         }
 
         int deletedRows = userGroupMapper.deleteById(userGroup.getId());
+        memberDashboardStore.evict(List.of(userId));
         log.info("Removed user {} from group {}, affected rows: {}", userId, groupId, deletedRows);
     }
 
@@ -434,6 +450,11 @@ public class GroupServiceImpl implements GroupService {
 
         log.info("Found {} groups for event ID: {}", deptList.size(), eventId);
 
+        Map<Long, UserDO> leadersById =
+                EntityLoader.current()
+                        .of(UserDO.class, userMapper, UserDO::getId)
+                        .loadMany(deptList.stream().map(DeptDO::getLeadUserId).toList());
+
         return deptList.stream()
                 .map(
                         dept -> {
@@ -447,11 +468,9 @@ public class GroupServiceImpl implements GroupService {
                                                                     dept.getId())));
 
                             String leadUserName = null;
-                            if (ObjectUtil.isNotNull(dept.getLeadUserId())) {
-                                UserDO leader = userMapper.selectById(dept.getLeadUserId());
-                                if (ObjectUtil.isNotNull(leader)) {
-                                    leadUserName = leader.getUsername();
-                                }
+                            UserDO leader = leadersById.get(dept.getLeadUserId());
+                            if (ObjectUtil.isNotNull(leader)) {
+                                leadUserName = leader.getUsername();
                             }
 
                             return GroupRespVO.builder()
@@ -1,7 +1,10 @@
 package nus.edu.u.system.service.notification;
 
+import java.util.List;
 import nus.edu.u.system.domain.vo.attendee.AttendeeInviteReqVO;
 
 public interface AttendeeEmailService {
     void sendAttendeeInvite(AttendeeInviteReqVO req);
+
+    void sendAttendeeInvites(List<AttendeeInviteReqVO> reqs);
 }
@@ -1,17 +1,18 @@
 package nus.edu.u.system.service.notification;
 
+import cn.hutool.core.util.StrUtil;
 import java.util.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import nus.edu.u.framework.notification.email.EmailBulkPropertiesConfig;
 import nus.edu.u.system.domain.dto.AttachmentDTO;
 import nus.edu.u.system.domain.dto.NotificationRequestDTO;
 import nus.edu.u.system.domain.vo.attendee.AttendeeInviteReqVO;
 import nus.edu.u.system.enums.email.EmailProvider;
 import nus.edu.u.system.enums.email.NotificationChannel;
 import nus.edu.u.system.enums.email.TemplateProvider;
-import org.springframework.core.io.ClassPathResource;
+import nus.edu.u.system.service.notification.outbox.EmailOutbox;
 import org.springframework.stereotype.Service;
-import org.springframework.util.StreamUtils;
 
 @Service
 @RequiredArgsConstructor
@@ -22,19 +23,36 @@ public class AttendeeEmailServiceImpl implements AttendeeEmailService {
     private static final String LOGO_CID = "logo";
     private static final String INLINE_CID = "attendee-qr";
 
-    private final NotificationService notificationService;
+    private final EmailOutbox emailOutbox;
+
+    private final EmailBulkPropertiesConfig bulkProps;
 
     @Override
     public void sendAttendeeInvite(AttendeeInviteReqVO req) {
+        sendAttendeeInvites(List.of(req));
+    }
 
-        try {
+    /**
+     * Invites with a hosted QR image link their images when bulk sending is on, so they can go out
+     * in SES bulk batches, the others carry them as inline parts
+     */
+    @Override
+    public void sendAttendeeInvites(List<AttendeeInviteReqVO> reqs) {
+        AttachmentDTO logo =
+                EmailAssetRegistry.inline(EmailAssetRegistry.LOGO, "image/png", LOGO_CID);
+        List<NotificationRequestDTO> requests = new ArrayList<>(reqs.size());
+        for (AttendeeInviteReqVO req : reqs) {
             Map<String, Object> vars = getAttendeeInviteTemplateVars(req);
-
             List<AttachmentDTO> attachments = new ArrayList<>();
-            attachments.addAll(getInlineQRCode(req));
-            attachments.addAll(getInlineLogoAttachment());
+            if (hostedImages(req)) {
+                vars.put("qrCodeSrc", req.getQrImageUrl());
+                vars.put("logoSrc", bulkProps.getLogoUrl());
+            } else {
+                attachments.addAll(getInlineQRCode(req));
+                attachments.add(logo);
+            }
 
-            var request =
+            requests.add(
                     NotificationRequestDTO.builder()
                             .channel(NotificationChannel.EMAIL)
                             .to(req.getToEmail())
@@ -44,12 +62,16 @@ public class AttendeeEmailServiceImpl implements AttendeeEmailService {
                             .variables(vars)
                             .locale(Locale.ENGLISH)
                             .attachment(attachments)
-                            .build();
-
-            notificationService.send(request);
-        } catch (Exception e) {
-
+                            .build());
         }
+        emailOutbox.enqueueAll(requests);
+    }
+
+    private boolean hostedImages(AttendeeInviteReqVO req) {
+        return bulkProps.isEnabled()
+                && bulkProps.getTemplates().contains(ATTENDEE_INVITE_TEMPLATE_ID)
+                && StrUtil.isNotBlank(bulkProps.getLogoUrl())
+                && StrUtil.isNotBlank(req.getQrImageUrl());
     }
 
     private static Map<String, Object> getAttendeeInviteTemplateVars(AttendeeInviteReqVO req) {
@@ -84,19 +106,4 @@ public class AttendeeEmailServiceImpl implements AttendeeEmailService {
         }
         return attachments;
     }
-
-    private static List<AttachmentDTO> getInlineLogoAttachment() {
-        List<AttachmentDTO> attachments = new ArrayList<>();
-        try {
-            var res = new ClassPathResource("images/email/logo.png");
-            if (res.exists()) {
-                byte[] bytes = StreamUtils.copyToByteArray(res.getInputStream());
-                attachments.add(
-                        new AttachmentDTO("logo.png", "image/png", bytes, null, true, LOGO_CID));
-            }
-        } catch (Exception ignored) {
-            // ignore missing logo
-        }
-        return attachments;
-    }
 }
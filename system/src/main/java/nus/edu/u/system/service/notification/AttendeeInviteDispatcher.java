@@ -0,0 +1,38 @@
+package nus.edu.u.system.service.notification;
+
+import jakarta.annotation.Resource;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import nus.edu.u.system.domain.vo.attendee.AttendeeInviteReqVO;
+import nus.edu.u.system.service.notification.outbox.EmailOutbox;
+import org.springframework.stereotype.Component;
+
+/**
+ * Queues attendee invites for sending off the request thread
+ *
+ * <p>Invites are written to the {@link EmailOutbox} in the caller's transaction, so a rolled back
+ * import never mails a QR code that does not exist, and a committed one always mails it.
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-24
+ */
+@Component
+@Slf4j
+public class AttendeeInviteDispatcher {
+
+    @Resource private AttendeeEmailService attendeeEmailService;
+
+    /**
+     * Write invites to the outbox in the current transaction, the outbox worker sends them once it
+     * commits
+     *
+     * @param invites invites to send
+     */
+    public void enqueue(List<AttendeeInviteReqVO> invites) {
+        if (invites.isEmpty()) {
+            return;
+        }
+        attendeeEmailService.sendAttendeeInvites(invites);
+        log.info("Queued {} attendee invites", invites.size());
+    }
+}
@@ -0,0 +1,99 @@
+package nus.edu.u.system.service.notification;
+
+import cn.hutool.core.util.ObjectUtil;
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import nus.edu.u.system.domain.dto.AttachmentDTO;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Static images of the email templates, read from the classpath once at startup
+ *
+ * <p>Emails reference an asset by its classpath location instead of carrying its bytes, so outbox
+ * rows stay small. The bytes are filled in by {@link #resolve(List)} when the email is sent, and
+ * every email shares the same array, which must not be modified.
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-29
+ */
+@Component
+@Slf4j
+public class EmailAssetRegistry {
+
+    public static final String LOGO = "images/email/logo.png";
+
+    private static final List<String> ASSETS = List.of(LOGO);
+
+    private final Map<String, byte[]> assets = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void load() {
+        for (String location : ASSETS) {
+            try {
+                ClassPathResource resource = new ClassPathResource(location);
+                if (resource.exists()) {
+                    register(location, StreamUtils.copyToByteArray(resource.getInputStream()));
+                } else {
+                    log.warn("Email asset {} not found, emails go out without it", location);
+                }
+            } catch (Exception e) {
+                log.warn("Failed to load email asset {}", location, e);
+            }
+        }
+    }
+
+    void register(String location, byte[] bytes) {
+        assets.put(location, bytes);
+    }
+
+    /**
+     * Inline attachment referencing an asset
+     *
+     * @param location classpath location of the asset
+     * @param contentType content type of the asset
+     * @param contentId content id the template refers to
+     * @return attachment without bytes, they are filled in when the email is sent
+     */
+    public static AttachmentDTO inline(String location, String contentType, String contentId) {
+        String filename = location.substring(location.lastIndexOf('/') + 1);
+        return new AttachmentDTO(filename, contentType, null, location, true, contentId);
+    }
+
+    /**
+     * Fill in the bytes of the assets referenced by attachments
+     *
+     * @param attachments attachments of an email, may be null
+     * @return attachments with bytes, references to missing assets dropped
+     */
+    public List<AttachmentDTO> resolve(List<AttachmentDTO> attachments) {
+        if (ObjectUtil.isNull(attachments) || attachments.isEmpty()) {
+            return List.of();
+        }
+        List<AttachmentDTO> resolved = new ArrayList<>(attachments.size());
+        for (AttachmentDTO attachment : attachments) {
+            if (ObjectUtil.isNotNull(attachment.bytes())) {
+                resolved.add(attachment);
+                continue;
+            }
+            byte[] bytes =
+                    ObjectUtil.isNull(attachment.url()) ? null : assets.get(attachment.url());
+            if (ObjectUtil.isNotNull(bytes)) {
+                resolved.add(
+                        new AttachmentDTO(
+                                attachment.filename(),
+                                attachment.contentType(),
+                                bytes,
+                                attachment.url(),
+                                attachment.inline(),
+                                attachment.contentId()));
+            }
+        }
+        return resolved;
+    }
+}
@@ -1,18 +1,27 @@
 package nus.edu.u.system.service.notification;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import nus.edu.u.framework.notification.email.EmailBulkPropertiesConfig;
 import nus.edu.u.system.domain.dto.NotificationRequestDTO;
 import nus.edu.u.system.domain.dto.TemplateRequestDTO;
 import nus.edu.u.system.domain.dto.TemplateResponseDTO;
+import nus.edu.u.system.enums.email.EmailProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 @Service
 public class EmailNotificationService extends NotificationService {
 
+    private final EmailBulkPropertiesConfig bulkProps;
+
     public EmailNotificationService(
             @Qualifier("emailTransport") TransportImplementor transportImplementor,
-            @Qualifier("generalTemplate") TemplateEngineImplementor templateEngineImplementor) {
+            @Qualifier("generalTemplate") TemplateEngineImplementor templateEngineImplementor,
+            EmailBulkPropertiesConfig bulkProps) {
         super(transportImplementor, templateEngineImplementor);
+        this.bulkProps = bulkProps;
     }
 
     @Override
@@ -32,6 +41,9 @@ public class EmailNotificationService extends NotificationService {
                 NotificationRequestDTO.builder()
                         .emailProvider(dto.getEmailProvider())
                         .to(dto.getTo())
+                        .templateId(dto.getTemplateId())
+                        .variables(dto.getVariables())
+                        .locale(dto.getLocale())
                         .subject(tpl.getSubject())
                         .body(tpl.getBody())
                         .attachment(dto.getAttachment())
@@ -39,4 +51,41 @@ public class EmailNotificationService extends NotificationService {
 
         transportImplementor.process(emailReq);
     }
+
+    /** Bulk emails are SES templates, which cannot carry attachments */
+    @Override
+    public boolean supportsBulk(NotificationRequestDTO dto) {
+        return bulkProps.isEnabled()
+                && dto.getEmailProvider() == EmailProvider.AWS_SES
+                && bulkProps.getTemplates().contains(dto.getTemplateId())
+                && (dto.getAttachment() == null || dto.getAttachment().isEmpty());
+    }
+
+    /**
+     * Render the template once with a {@code {{variable}}} placeholder for every variable, and let
+     * the provider fill in the values of each recipient
+     */
+    @Override
+    public List<RuntimeException> sendBulk(List<NotificationRequestDTO> dtos) {
+        NotificationRequestDTO first = dtos.get(0);
+        Map<String, Object> placeholders = new HashMap<>();
+        for (NotificationRequestDTO dto : dtos) {
+            if (dto.getVariables() != null) {
+                for (String name : dto.getVariables().keySet()) {
+                    placeholders.put(name, "{{" + name + "}}");
+                }
+            }
+        }
+
+        TemplateResponseDTO tpl =
+                templateEngineImplementor.process(
+                        TemplateRequestDTO.builder()
+                                .templateId(first.getTemplateId())
+                                .variables(placeholders)
+                                .locale(first.getLocale())
+                                .templateProvider(first.getTemplateProvider())
+                                .build());
+
+        return transportImplementor.processBulk(tpl.getSubject(), tpl.getBody(), dtos);
+    }
 }
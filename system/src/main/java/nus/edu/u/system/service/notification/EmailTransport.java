@@ -1,16 +1,22 @@
 package nus.edu.u.system.service.notification;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import nus.edu.u.common.exception.RateLimitExceededException;
+import nus.edu.u.framework.mybatis.TenantContextHolder;
 import nus.edu.u.framework.notification.email.EmailLimitPropertiesConfig;
 import nus.edu.u.framework.notification.idempotency.IdempotencyKeyUtil;
 import nus.edu.u.system.domain.dto.AttachmentDTO;
+import nus.edu.u.system.domain.dto.BulkEmailEntryDTO;
 import nus.edu.u.system.domain.dto.EmailRequestDTO;
 import nus.edu.u.system.domain.dto.NotificationRequestDTO;
+import nus.edu.u.system.enums.email.EmailProvider;
+import nus.edu.u.system.provider.email.BulkEmailClient;
 import nus.edu.u.system.provider.email.EmailClient;
 import nus.edu.u.system.provider.email.EmailClientFactory;
 import org.springframework.stereotype.Service;
@@ -20,36 +26,34 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class EmailTransport implements TransportImplementor {
 
+    private static final String RATE_LIMITED = "Rate limit exceeded for sending emails";
+
     private final EmailClientFactory emailClientFactory = EmailClientFactory.getInstance();
     private final IdempotencyService idempotency;
     private final RateLimiter rateLimiter;
     private final EmailLimitPropertiesConfig props;
     private final IdempotencyKeyUtil idempotencyKeys;
+    private final EmailAssetRegistry assets;
 
     public void process(NotificationRequestDTO notificationRequestDTO) {
         var to = notificationRequestDTO.getTo();
         var subject = notificationRequestDTO.getSubject();
         var html = notificationRequestDTO.getBody();
-        var rateKey = props.getRateKey();
-        var rateLimit = props.getRateLimit();
-        var rateWindow = props.getRateWindow();
         var idempotencyTtl = props.getIdempotencyTtl();
-        List<AttachmentDTO> attachments =
-                (notificationRequestDTO.getAttachment() != null)
-                        ? notificationRequestDTO.getAttachment()
-                        : Collections.emptyList();
+        List<AttachmentDTO> attachments = assets.resolve(notificationRequestDTO.getAttachment());
 
         final String requestId = UUID.randomUUID().toString();
 
-        // rate limit
-        if (!rateLimiter.allow(rateKey, rateLimit, rateWindow)) {
-            throw new RateLimitExceededException("Rate limit exceeded for sending emails");
+        // rate limit, a tenant over its limit takes no provider permits
+        if (!allowed(notificationRequestDTO.getEmailProvider())) {
+            throw new RateLimitExceededException(RATE_LIMITED);
         }
 
-        // idempotency
-        final String idemKey = idempotencyKeys.buildEmailKey(to, subject, html);
-        if (!idempotency.tryClaim(idemKey, idempotencyTtl)) {
+        // idempotency, a send already claimed or sent is skipped
+        final String idemKey = idempotencyKey(notificationRequestDTO);
+        if (!idempotency.tryClaim(idemKey, props.getIdempotencyClaimTtl())) {
             log.info("Email idempotency hit for key={} (requestId={})", idemKey, requestId);
+            return;
         }
 
         try {
@@ -65,6 +69,7 @@ public class EmailTransport implements TransportImplementor {
                             .build();
             client.sendEmail(requestDTO);
         } catch (Exception ex) {
+            idempotency.release(idemKey);
             log.warn(
                     "Email send failed (requestId={}): to={}, subject={}, error={}",
                     requestId,
@@ -74,5 +79,109 @@ public class EmailTransport implements TransportImplementor {
                     ex);
             throw ex;
         }
+        idempotency.complete(idemKey, idempotencyTtl);
+    }
+
+    @Override
+    public List<RuntimeException> processBulk(
+            String subject, String body, List<NotificationRequestDTO> notifications) {
+        List<RuntimeException> outcomes =
+                new ArrayList<>(Collections.nCopies(notifications.size(), null));
+
+        // rate limit and claim every email, as if it were sent on its own
+        List<Integer> admitted = new ArrayList<>(notifications.size());
+        List<String> idemKeys = new ArrayList<>(notifications.size());
+        List<BulkEmailEntryDTO> entries = new ArrayList<>(notifications.size());
+        for (int i = 0; i < notifications.size(); i++) {
+            NotificationRequestDTO notification = notifications.get(i);
+            if (!allowed(notification.getEmailProvider())) {
+                outcomes.set(i, new RateLimitExceededException(RATE_LIMITED));
+                continue;
+            }
+            String idemKey = idempotencyKey(notification);
+            if (!idempotency.tryClaim(idemKey, props.getIdempotencyClaimTtl())) {
+                log.info("Email idempotency hit for key={}", idemKey);
+                continue;
+            }
+            admitted.add(i);
+            idemKeys.add(idemKey);
+            entries.add(new BulkEmailEntryDTO(notification.getTo(), notification.getVariables()));
+        }
+        if (admitted.isEmpty()) {
+            return outcomes;
+        }
+
+        List<String> errors;
+        try {
+            NotificationRequestDTO first = notifications.get(0);
+            BulkEmailClient client = emailClientFactory.getBulkClient(first.getEmailProvider());
+            String templateName = client.registerTemplate(first.getTemplateId(), subject, body);
+            errors = client.sendBulkEmail(templateName, entries);
+        } catch (RuntimeException ex) {
+            log.warn(
+                    "Bulk email send of {} emails failed: {}",
+                    admitted.size(),
+                    ex.getMessage(),
+                    ex);
+            idemKeys.forEach(idempotency::release);
+            admitted.forEach(i -> outcomes.set(i, ex));
+            return outcomes;
+        }
+        for (int j = 0; j < admitted.size(); j++) {
+            if (errors.get(j) == null) {
+                idempotency.complete(idemKeys.get(j), props.getIdempotencyTtl());
+            } else {
+                idempotency.release(idemKeys.get(j));
+                String reason = "Bulk email to " + entries.get(j).to() + ": " + errors.get(j);
+                outcomes.set(admitted.get(j), new IllegalStateException(reason));
+            }
+        }
+        return outcomes;
+    }
+
+    /** Templated emails are keyed by what they are rendered from, others by their content */
+    private String idempotencyKey(NotificationRequestDTO request) {
+        List<List<Object>> attachments = attachmentParts(request.getAttachment());
+        if (request.getTemplateId() == null) {
+            return idempotencyKeys.buildEmailKey(
+                    request.getTo(), request.getSubject(), request.getBody(), attachments);
+        }
+        return idempotencyKeys.buildEmailKey(
+                request.getTo(),
+                request.getTemplateId(),
+                request.getVariables(),
+                request.getLocale(),
+                attachments);
+    }
+
+    /** Shared assets are identified by their location, so their bytes are not hashed every time */
+    private static List<List<Object>> attachmentParts(List<AttachmentDTO> attachments) {
+        if (attachments == null) {
+            return List.of();
+        }
+        return attachments.stream()
+                .map(
+                        attachment ->
+                                Arrays.<Object>asList(
+                                        attachment.filename(),
+                                        attachment.contentId(),
+                                        attachment.bytes() != null
+                                                ? attachment.bytes()
+                                                : attachment.url()))
+                .toList();
+    }
+
+    /** The hash tag keeps the buckets of a provider in one cluster slot, as the script requires */
+    private boolean allowed(EmailProvider provider) {
+        String providerKey = "{" + props.getRateKey() + ":" + provider + "}";
+        List<RateLimiter.Bucket> buckets = new ArrayList<>(2);
+        Long tenantId = TenantContextHolder.getTenantId();
+        if (tenantId != null && props.getTenantRateLimit() > 0) {
+            buckets.add(
+                    new RateLimiter.Bucket(
+                            providerKey + ":tenant:" + tenantId, props.getTenantRateLimit()));
+        }
+        buckets.add(new RateLimiter.Bucket(providerKey, props.getRateLimit()));
+        return rateLimiter.allow(buckets, props.getRateWindow());
     }
 }
@@ -3,5 +3,18 @@ package nus.edu.u.system.service.notification;
 import java.time.Duration;
 
 public interface IdempotencyService {
+
+    /**
+     * Claim a key for one send
+     *
+     * @param ttl how long the claim stands if it is neither completed nor released
+     * @return false if the key is already claimed or sent
+     */
     boolean tryClaim(String key, Duration ttl);
+
+    /** Record that the send of a claimed key went out, so it is not sent again for {@code ttl} */
+    void complete(String key, Duration ttl);
+
+    /** Drop the claim of a send that failed, so it can be tried again */
+    void release(String key);
 }
@@ -1,19 +1,60 @@
 package nus.edu.u.system.service.notification;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.time.Duration;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
+/**
+ * Idempotency keys in Redis, with the keys this node claimed recently kept in memory
+ *
+ * <p>A key holds {@code CLAIMED} while its send is in flight and {@code SENT} once it went out.
+ * Duplicates within one bulk job are turned away by the near-cache without a Redis call. Only keys
+ * this node holds are cached, a released key is dropped from it and an entry is only trusted for
+ * half of its claim, so the cache never turns away a send that Redis would let through.
+ */
 @Service
 @RequiredArgsConstructor
 public class IdempotencyServiceImpl implements IdempotencyService {
 
+    static final String CLAIMED = "CLAIMED";
+
+    static final String SENT = "SENT";
+
     private final StringRedisTemplate redis;
 
+    /** Claimed keys and the {@link System#nanoTime()} until which they are trusted */
+    private final Cache<String, Long> recent =
+            CacheBuilder.newBuilder().maximumSize(10_000).build();
+
     @Override
     public boolean tryClaim(String key, Duration ttl) {
-        Boolean ok = redis.opsForValue().setIfAbsent(key, "1", ttl);
-        return Boolean.TRUE.equals(ok);
+        Long trustedUntil = recent.getIfPresent(key);
+        if (trustedUntil != null) {
+            if (System.nanoTime() - trustedUntil < 0) {
+                return false;
+            }
+            recent.invalidate(key);
+        }
+        Boolean ok = redis.opsForValue().setIfAbsent(key, CLAIMED, ttl);
+        if (!Boolean.TRUE.equals(ok)) {
+            return false;
+        }
+        // Half the claim, so an entry never outlives its key in Redis whatever the claim ttl
+        recent.put(key, System.nanoTime() + ttl.toNanos() / 2);
+        return true;
+    }
+
+    @Override
+    public void complete(String key, Duration ttl) {
+        redis.opsForValue().set(key, SENT, ttl);
+    }
+
+    @Override
+    public void release(String key) {
+        recent.invalidate(key);
+        redis.delete(key);
     }
 }
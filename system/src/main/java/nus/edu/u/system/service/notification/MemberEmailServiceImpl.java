@@ -8,9 +8,8 @@ import nus.edu.u.system.domain.vo.reg.RegSearchReqVO;
 import nus.edu.u.system.enums.email.EmailProvider;
 import nus.edu.u.system.enums.email.NotificationChannel;
 import nus.edu.u.system.enums.email.TemplateProvider;
-import org.springframework.core.io.ClassPathResource;
+import nus.edu.u.system.service.notification.outbox.EmailOutbox;
 import org.springframework.stereotype.Service;
-import org.springframework.util.StreamUtils;
 
 @Service
 @RequiredArgsConstructor
@@ -21,7 +20,7 @@ public class MemberEmailServiceImpl implements MemberEmailService {
     private static final String INVITE_BASE_URL =
             "https://chronoflow-frontend-production.up.railway.app/login";
 
-    private final NotificationService notificationService;
+    private final EmailOutbox emailOutbox;
 
     @Override
     public void sendMemberInviteEmail(String recipientEmail, RegSearchReqVO req) {
@@ -35,37 +34,22 @@ public class MemberEmailServiceImpl implements MemberEmailService {
 
         Map<String, Object> vars = getMemberInviteVars(req, inviteUrl);
 
-        List<AttachmentDTO> attachments = new ArrayList<>();
-        try {
-            var res = new ClassPathResource("images/email/logo.png");
-            if (res.exists()) {
-                byte[] bytes = StreamUtils.copyToByteArray(res.getInputStream());
-                attachments.add(
-                        new AttachmentDTO(
-                                "logo.png",
-                                "image/png",
-                                bytes,
-                                null, // objectName
-                                true, // inline
-                                LOGO_CID));
-            }
+        List<AttachmentDTO> attachments =
+                List.of(EmailAssetRegistry.inline(EmailAssetRegistry.LOGO, "image/png", LOGO_CID));
 
-            var request =
-                    NotificationRequestDTO.builder()
-                            .channel(NotificationChannel.EMAIL)
-                            .emailProvider(EmailProvider.AWS_SES)
-                            .templateProvider(TemplateProvider.Thymeleaf)
-                            .to(recipientEmail)
-                            .templateId(MEMBER_INVITE_TEMPLATE_ID)
-                            .variables(vars)
-                            .locale(Locale.ENGLISH)
-                            .attachment(attachments)
-                            .build();
+        var request =
+                NotificationRequestDTO.builder()
+                        .channel(NotificationChannel.EMAIL)
+                        .emailProvider(EmailProvider.AWS_SES)
+                        .templateProvider(TemplateProvider.Thymeleaf)
+                        .to(recipientEmail)
+                        .templateId(MEMBER_INVITE_TEMPLATE_ID)
+                        .variables(vars)
+                        .locale(Locale.ENGLISH)
+                        .attachment(attachments)
+                        .build();
 
-            notificationService.send(request);
-        } catch (Exception ignored) {
-
-        }
+        emailOutbox.enqueue(request);
     }
 
     private static Map<String, Object> getMemberInviteVars(RegSearchReqVO req, String inviteUrl) {
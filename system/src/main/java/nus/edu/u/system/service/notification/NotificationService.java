@@ -1,5 +1,7 @@
 package nus.edu.u.system.service.notification;
 
+import java.util.ArrayList;
+import java.util.List;
 import nus.edu.u.system.domain.dto.NotificationRequestDTO;
 
 public abstract class NotificationService {
@@ -14,4 +16,28 @@ public abstract class NotificationService {
     }
 
     public abstract void send(NotificationRequestDTO notificationRequestDTO);
+
+    /** Whether a request may be sent together with others of its template through sendBulk */
+    public boolean supportsBulk(NotificationRequestDTO notificationRequestDTO) {
+        return false;
+    }
+
+    /**
+     * Send requests of one template, locale and provider, one by one unless the channel supports
+     * bulk sending
+     *
+     * @return one entry per request in order, null if it went out, else why it did not
+     */
+    public List<RuntimeException> sendBulk(List<NotificationRequestDTO> notificationRequestDTOs) {
+        List<RuntimeException> outcomes = new ArrayList<>(notificationRequestDTOs.size());
+        for (NotificationRequestDTO notificationRequestDTO : notificationRequestDTOs) {
+            try {
+                send(notificationRequestDTO);
+                outcomes.add(null);
+            } catch (RuntimeException e) {
+                outcomes.add(e);
+            }
+        }
+        return outcomes;
+    }
 }
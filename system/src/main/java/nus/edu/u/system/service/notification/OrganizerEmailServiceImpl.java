@@ -8,9 +8,8 @@ import nus.edu.u.system.domain.vo.reg.RegOrganizerReqVO;
 import nus.edu.u.system.enums.email.EmailProvider;
 import nus.edu.u.system.enums.email.NotificationChannel;
 import nus.edu.u.system.enums.email.TemplateProvider;
-import org.springframework.core.io.ClassPathResource;
+import nus.edu.u.system.service.notification.outbox.EmailOutbox;
 import org.springframework.stereotype.Service;
-import org.springframework.util.StreamUtils;
 
 @Service
 @RequiredArgsConstructor
@@ -19,45 +18,29 @@ public class OrganizerEmailServiceImpl implements OrganizerEmailService {
     private static final String WELCOME_EMAIL_ORGANIZER_TEMPLATE_ID = "welcome-email-organizer";
     private static final String LOGO_CID = "logo";
 
-    private final NotificationService notificationService;
+    private final EmailOutbox emailOutbox;
 
     @Override
     public void sendWelcomeEmailOrganizer(RegOrganizerReqVO req) {
 
         Map<String, Object> vars = getOrganizerRequestVars(req);
 
-        List<AttachmentDTO> attachments = new ArrayList<>();
-        try {
-            var res = new ClassPathResource("images/email/logo.png");
-            if (res.exists()) {
-                byte[] bytes = StreamUtils.copyToByteArray(res.getInputStream());
-                attachments.add(
-                        new AttachmentDTO(
-                                "logo.png",
-                                "image/png",
-                                bytes,
-                                null, // objectName
-                                true, // inline
-                                LOGO_CID));
-            }
-
-            var request =
-                    NotificationRequestDTO.builder()
-                            .channel(NotificationChannel.EMAIL)
-                            .templateProvider(TemplateProvider.Thymeleaf)
-                            .emailProvider(EmailProvider.AWS_SES)
-                            .to(req.getUserEmail())
-                            .templateId(WELCOME_EMAIL_ORGANIZER_TEMPLATE_ID)
-                            .variables(vars)
-                            .locale(Locale.ENGLISH)
-                            .attachment(attachments)
-                            .build();
-
-            notificationService.send(request);
-
-        } catch (Exception ignored) {
-            // if logo missing, just proceed without it
-        }
+        List<AttachmentDTO> attachments =
+                List.of(EmailAssetRegistry.inline(EmailAssetRegistry.LOGO, "image/png", LOGO_CID));
+
+        var request =
+                NotificationRequestDTO.builder()
+                        .channel(NotificationChannel.EMAIL)
+                        .templateProvider(TemplateProvider.Thymeleaf)
+                        .emailProvider(EmailProvider.AWS_SES)
+                        .to(req.getUserEmail())
+                        .templateId(WELCOME_EMAIL_ORGANIZER_TEMPLATE_ID)
+                        .variables(vars)
+                        .locale(Locale.ENGLISH)
+                        .attachment(attachments)
+                        .build();
+
+        emailOutbox.enqueue(request);
     }
 
     private static Map<String, Object> getOrganizerRequestVars(RegOrganizerReqVO req) {
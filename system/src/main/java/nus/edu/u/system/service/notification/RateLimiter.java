@@ -1,7 +1,32 @@
 package nus.edu.u.system.service.notification;
 
 import java.time.Duration;
+import java.util.List;
 
 public interface RateLimiter {
-    boolean allow(String key, int limit, Duration window);
+
+    /** A token bucket and the permits it holds, refilled at this many per window */
+    record Bucket(String key, int limit) {}
+
+    /**
+     * Take a permit from a token bucket
+     *
+     * @param key bucket key
+     * @param limit permits the bucket holds, refilled at this many per window
+     * @param window time the bucket takes to refill completely
+     * @return whether a permit was taken
+     */
+    default boolean allow(String key, int limit, Duration window) {
+        return allow(List.of(new Bucket(key, limit)), window);
+    }
+
+    /**
+     * Take a permit from every bucket or from none of them, so a refusal by one bucket costs the
+     * others nothing
+     *
+     * @param buckets buckets sharing a Redis cluster slot, give their keys a common hash tag
+     * @param window time each bucket takes to refill completely
+     * @return whether a permit was taken
+     */
+    boolean allow(List<Bucket> buckets, Duration window);
 }
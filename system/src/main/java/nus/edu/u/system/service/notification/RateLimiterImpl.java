@@ -1,22 +1,115 @@
 package nus.edu.u.system.service.notification;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+/**
+ * Token buckets in Redis, with permits leased to this node in small batches
+ *
+ * <p>A bucket holds up to {@code limit} permits and refills at {@code limit} per {@code window}.
+ * Refilling and taking permits is one Lua script timed by the Redis clock, so buckets are updated
+ * in one atomic round trip whatever the clocks of the nodes say, and always carry their expiry.
+ * Buckets checked together, such as a tenant's and its provider's, grant the same permits from each
+ * or none at all. A node takes up to a tenth of the smallest bucket at a time and hands the permits
+ * out locally until they run out or their lease ends, so a bulk send makes a fraction of the Redis
+ * calls. Leased permits left unused when their lease ends are dropped, not returned.
+ */
 @Service
 @RequiredArgsConstructor
 public class RateLimiterImpl implements RateLimiter {
 
+    /** Most permits a node takes in one call */
+    private static final int MAX_LEASE = 20;
+
+    /** Share of the bucket a node may hold, and of the window its permits stay valid for */
+    private static final int LEASE_DIVISOR = 10;
+
+    /**
+     * Refill every bucket for the time passed and take the same permits from each, up to ARGV[2]
+     *
+     * <p>ARGV is the window in milliseconds, the permits wanted, then the capacity of each bucket
+     * in KEYS order. Returns the permits granted, 0 when any bucket is empty.
+     */
+    private static final RedisScript<Long> TAKE =
+            new DefaultRedisScript<>(
+                    "local window = tonumber(ARGV[1]) "
+                            + "local time = redis.call('TIME') "
+                            + "local now = tonumber(time[1]) * 1000 "
+                            + "+ math.floor(tonumber(time[2]) / 1000) "
+                            + "local granted = tonumber(ARGV[2]) "
+                            + "local tokens = {} "
+                            + "for i, key in ipairs(KEYS) do "
+                            + "local capacity = tonumber(ARGV[i + 2]) "
+                            + "local bucket = redis.call('HMGET', key, 'tokens', 'ts') "
+                            + "local available = tonumber(bucket[1]) or capacity "
+                            + "local ts = tonumber(bucket[2]) or now "
+                            + "available = math.min(capacity, "
+                            + "available + math.max(0, now - ts) * capacity / window) "
+                            + "tokens[i] = available "
+                            + "granted = math.min(granted, math.floor(available)) "
+                            + "end "
+                            + "for i, key in ipairs(KEYS) do "
+                            + "redis.call('HSET', key, 'tokens', tokens[i] - granted, 'ts', now) "
+                            + "redis.call('PEXPIRE', key, window) "
+                            + "end "
+                            + "return granted",
+                    Long.class);
+
     private final StringRedisTemplate redis;
 
+    /** Buckets nobody sent through for a while are forgotten, they hold no permits by then */
+    private final Cache<String, Lease> leases =
+            CacheBuilder.newBuilder().expireAfterAccess(Duration.ofMinutes(10)).build();
+
     @Override
-    public boolean allow(String key, int limit, Duration window) {
-        Long count = redis.opsForValue().increment(key);
-        if (count != null && count == 1L) {
-            redis.expire(key, window);
+    public boolean allow(List<Bucket> buckets, Duration window) {
+        if (buckets.isEmpty() || buckets.stream().anyMatch(bucket -> bucket.limit() <= 0)) {
+            return false;
+        }
+        String leaseKey = buckets.stream().map(Bucket::key).collect(Collectors.joining("|"));
+        return leases.asMap().computeIfAbsent(leaseKey, k -> new Lease()).take(buckets, window);
+    }
+
+    /** Permits of a set of buckets held by this node */
+    private class Lease {
+
+        private int permits;
+
+        private long expiresAt;
+
+        synchronized boolean take(List<Bucket> buckets, Duration window) {
+            long now = System.currentTimeMillis();
+            if (permits > 0 && now < expiresAt) {
+                permits--;
+                return true;
+            }
+            int smallest = buckets.stream().mapToInt(Bucket::limit).min().orElse(0);
+            int wanted = Math.max(1, Math.min(MAX_LEASE, smallest / LEASE_DIVISOR));
+            long windowMillis = Math.max(1, window.toMillis());
+            List<String> args = new ArrayList<>(buckets.size() + 2);
+            args.add(String.valueOf(windowMillis));
+            args.add(String.valueOf(wanted));
+            for (Bucket bucket : buckets) {
+                args.add(String.valueOf(bucket.limit()));
+            }
+            Long granted =
+                    redis.execute(TAKE, buckets.stream().map(Bucket::key).toList(), args.toArray());
+            if (granted == null || granted <= 0) {
+                permits = 0;
+                return false;
+            }
+            permits = granted.intValue() - 1;
+            expiresAt = now + windowMillis / LEASE_DIVISOR;
+            return true;
         }
-        return count != null && count <= limit;
     }
 }
@@ -1,8 +1,22 @@
 package nus.edu.u.system.service.notification;
 
+import java.util.List;
 import nus.edu.u.system.domain.dto.NotificationRequestDTO;
 
 public interface TransportImplementor {
 
     void process(NotificationRequestDTO notification);
+
+    /**
+     * Send one rendered template to many recipients in as few provider calls as possible
+     *
+     * @param subject subject with a {@code {{variable}}} placeholder for every variable
+     * @param body body with a {@code {{variable}}} placeholder for every variable
+     * @param notifications recipients, each with the values of its placeholders
+     * @return one entry per notification in order, null if it went out, else why it did not
+     */
+    default List<RuntimeException> processBulk(
+            String subject, String body, List<NotificationRequestDTO> notifications) {
+        throw new UnsupportedOperationException("Bulk sending is not supported");
+    }
 }
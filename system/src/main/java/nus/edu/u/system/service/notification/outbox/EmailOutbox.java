@@ -0,0 +1,117 @@
+package nus.edu.u.system.service.notification.outbox;
+
+import cn.dev33.satoken.stp.StpUtil;
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
+import com.google.common.collect.Lists;
+import jakarta.annotation.Resource;
+import java.time.LocalDateTime;
+import java.util.List;
+import nus.edu.u.common.utils.json.JsonUtils;
+import nus.edu.u.framework.mybatis.MybatisPlusConfig;
+import nus.edu.u.system.domain.dataobject.notification.EmailOutboxDO;
+import nus.edu.u.system.domain.dto.NotificationRequestDTO;
+import nus.edu.u.system.enums.email.EmailStatus;
+import nus.edu.u.system.mapper.notification.EmailOutboxMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Transactional outbox of emails
+ *
+ * <p>Emails are written to the outbox in the caller's transaction instead of being rendered and
+ * sent on the request thread. A rolled back transaction therefore never sends its emails, and a
+ * committed one always does, eventually, through the {@link EmailOutboxWorker}.
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-29
+ */
+@Component
+public class EmailOutbox {
+
+    /** Messages per multi-row insert */
+    private static final int INSERT_BATCH_SIZE = 100;
+
+    @Resource private EmailOutboxMapper emailOutboxMapper;
+
+    @Resource private EmailOutboxWorker emailOutboxWorker;
+
+    public void enqueue(NotificationRequestDTO request) {
+        enqueueAll(List.of(request));
+    }
+
+    /**
+     * Write emails to the outbox, they are picked up as soon as the current transaction commits
+     *
+     * @param requests emails to send, with their template and attachments
+     */
+    public void enqueueAll(List<NotificationRequestDTO> requests) {
+        if (requests.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        String operator = currentOperator();
+        Long tenantId = currentTenantId();
+        List<EmailOutboxDO> messages =
+                requests.stream()
+                        .map(request -> newMessage(request, tenantId, operator, now))
+                        .toList();
+        for (List<EmailOutboxDO> chunk : Lists.partition(messages, INSERT_BATCH_SIZE)) {
+            emailOutboxMapper.insertBatch(chunk);
+        }
+        afterCommit(emailOutboxWorker::wakeUp);
+    }
+
+    /** Message with its id and audit fields filled in, for inserts that bypass MyBatis-Plus */
+    private static EmailOutboxDO newMessage(
+            NotificationRequestDTO request, Long tenantId, String operator, LocalDateTime now) {
+        EmailOutboxDO message =
+                EmailOutboxDO.builder()
+                        .id(IdWorker.getId())
+                        .tenantId(tenantId)
+                        .toAddress(request.getTo())
+                        .templateId(request.getTemplateId())
+                        .payload(JsonUtils.toJsonString(request))
+                        .status(EmailStatus.PENDING.name())
+                        .attempts(0)
+                        .nextAttemptTime(now)
+                        .build();
+        message.setCreator(operator);
+        message.setUpdater(operator);
+        message.setCreateTime(now);
+        message.setUpdateTime(now);
+        return message;
+    }
+
+    /** Login id of the current user, or "system" for registrations and jobs */
+    private static String currentOperator() {
+        try {
+            return StpUtil.getLoginId().toString();
+        } catch (Exception e) {
+            return "system";
+        }
+    }
+
+    /** Tenant of the current user or job, null for registrations */
+    private static Long currentTenantId() {
+        try {
+            return MybatisPlusConfig.getCurrentTenantId();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            action.run();
+                        }
+                    });
+            return;
+        }
+        action.run();
+    }
+}
@@ -0,0 +1,352 @@
+package nus.edu.u.system.service.notification.outbox;
+
+import cn.hutool.core.util.ObjectUtil;
+import cn.hutool.core.util.StrUtil;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import nus.edu.u.common.exception.RateLimitExceededException;
+import nus.edu.u.common.utils.json.JsonUtils;
+import nus.edu.u.framework.executor.ExecutorConfig;
+import nus.edu.u.framework.mybatis.TenantContextHolder;
+import nus.edu.u.framework.notification.email.EmailOutboxPropertiesConfig;
+import nus.edu.u.system.domain.dataobject.notification.EmailOutboxDO;
+import nus.edu.u.system.domain.dto.NotificationRequestDTO;
+import nus.edu.u.system.enums.email.EmailStatus;
+import nus.edu.u.system.mapper.notification.EmailOutboxMapper;
+import nus.edu.u.system.service.notification.NotificationService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends the emails of the {@link EmailOutbox} on the notification executor
+ *
+ * <p>Due messages are claimed with one conditional UPDATE that stamps them with a claim token and a
+ * lease, so every node can drain the outbox without sending a message twice. Each claimed message
+ * is rendered and sent on a worker thread and then marked SENT, or FAILED with an exponential
+ * backoff until its last attempt marks it DEAD. A message whose worker died is taken over once its
+ * lease runs out, so delivery is at least once.
+ *
+ * <p>The outbox is drained right after new messages commit and every second, a node holds at most
+ * {@code maxInFlight} claimed messages at a time. Claimed messages the notification service can
+ * send together go out as one bulk batch per template, locale and tenant.
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-29
+ */
+@Component
+@Slf4j
+public class EmailOutboxWorker {
+
+    private static final long POLL_MILLIS = 1_000;
+
+    private static final int MAX_ERROR_LENGTH = 512;
+
+    @Resource private EmailOutboxPropertiesConfig props;
+
+    @Resource private EmailOutboxMapper emailOutboxMapper;
+
+    @Resource private NotificationService notificationService;
+
+    @Resource(name = ExecutorConfig.NOTIFICATION_EXECUTOR)
+    private Executor notificationExecutor;
+
+    @Resource private ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /** Set by every drain request, so one that arrives during a drain is not lost */
+    private final AtomicBoolean drainRequested = new AtomicBoolean();
+
+    /** The last drain stopped because too many messages were in flight */
+    private final AtomicBoolean saturated = new AtomicBoolean();
+
+    private final ReentrantLock draining = new ReentrantLock();
+
+    private Counter sentCounter;
+
+    private Counter retriedCounter;
+
+    private Counter deadCounter;
+
+    @PostConstruct
+    public void init() {
+        MeterRegistry registry = meterRegistryProvider.getIfAvailable();
+        if (ObjectUtil.isNotNull(registry)) {
+            Gauge.builder("email.outbox.in_flight", inFlight, AtomicInteger::get)
+                    .register(registry);
+            sentCounter = Counter.builder("email.outbox.sent").register(registry);
+            retriedCounter = Counter.builder("email.outbox.retried").register(registry);
+            deadCounter = Counter.builder("email.outbox.dead").register(registry);
+        }
+    }
+
+    /** Drain on a worker thread, called once new messages are committed */
+    public void wakeUp() {
+        try {
+            notificationExecutor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            // The scheduled drain picks the messages up
+        }
+    }
+
+    /** Claim due messages and hand them to the workers while there is room */
+    @Scheduled(initialDelay = POLL_MILLIS, fixedDelay = POLL_MILLIS)
+    public void drain() {
+        drainRequested.set(true);
+        while (drainRequested.get() && draining.tryLock()) {
+            try {
+                drainRequested.set(false);
+                claimAndSubmit();
+            } catch (Exception e) {
+                log.warn("Failed to claim outbox emails", e);
+            } finally {
+                draining.unlock();
+            }
+        }
+    }
+
+    private void claimAndSubmit() {
+        int room;
+        while ((room = props.getMaxInFlight() - inFlight.get()) > 0) {
+            int limit = Math.min(room, props.getBatchSize());
+            String token = UUID.randomUUID().toString();
+            LocalDateTime now = LocalDateTime.now();
+            int claimed = emailOutboxMapper.claimDue(token, now, now.plus(props.getLease()), limit);
+            if (claimed == 0) {
+                return;
+            }
+            List<EmailOutboxDO> messages =
+                    emailOutboxMapper.selectList(
+                            Wrappers.<EmailOutboxDO>lambdaQuery()
+                                    .eq(EmailOutboxDO::getClaimToken, token));
+            List<List<EmailOutboxDO>> batches = batches(messages);
+            for (int i = 0; i < batches.size(); i++) {
+                if (!submit(batches.get(i))) {
+                    batches.subList(i, batches.size()).forEach(this::release);
+                    return;
+                }
+            }
+            if (claimed < limit) {
+                return;
+            }
+        }
+        saturated.set(true);
+    }
+
+    /**
+     * Messages that can go out together are sent in one bulk batch per template, locale and tenant,
+     * every other message on its own
+     */
+    private List<List<EmailOutboxDO>> batches(List<EmailOutboxDO> messages) {
+        List<List<EmailOutboxDO>> batches = new ArrayList<>(messages.size());
+        Map<String, List<EmailOutboxDO>> bulk = new LinkedHashMap<>();
+        for (EmailOutboxDO message : messages) {
+            NotificationRequestDTO request = parse(message);
+            if (ObjectUtil.isNotNull(request) && notificationService.supportsBulk(request)) {
+                String group =
+                        request.getTemplateId()
+                                + ":"
+                                + request.getLocale()
+                                + ":"
+                                + message.getTenantId();
+                bulk.computeIfAbsent(group, k -> new ArrayList<>()).add(message);
+            } else {
+                batches.add(List.of(message));
+            }
+        }
+        batches.addAll(bulk.values());
+        return batches;
+    }
+
+    private static NotificationRequestDTO parse(EmailOutboxDO message) {
+        try {
+            return JsonUtils.parseObject(message.getPayload(), NotificationRequestDTO.class);
+        } catch (Exception e) {
+            // Failed by its delivery
+            return null;
+        }
+    }
+
+    private boolean submit(List<EmailOutboxDO> batch) {
+        inFlight.addAndGet(batch.size());
+        try {
+            notificationExecutor.execute(() -> send(batch));
+            return true;
+        } catch (RejectedExecutionException e) {
+            inFlight.addAndGet(-batch.size());
+            return false;
+        }
+    }
+
+    private void send(List<EmailOutboxDO> batch) {
+        try {
+            if (batch.size() == 1) {
+                deliver(batch.get(0));
+            } else {
+                deliverBulk(batch);
+            }
+        } catch (Exception e) {
+            // The messages are sent again once their lease runs out
+            log.warn("Failed to record the outcome of {} outbox emails", batch.size(), e);
+        } finally {
+            inFlight.addAndGet(-batch.size());
+            if (saturated.compareAndSet(true, false)) {
+                drain();
+            }
+        }
+    }
+
+    private void deliver(EmailOutboxDO message) {
+        Exception outcome = null;
+        try {
+            NotificationRequestDTO request =
+                    JsonUtils.parseObject(message.getPayload(), NotificationRequestDTO.class);
+            // Sent as its tenant, whose emails are rate limited on their own
+            TenantContextHolder.runAs(
+                    message.getTenantId(), () -> notificationService.send(request));
+        } catch (Exception e) {
+            outcome = e;
+        }
+        record(message, outcome);
+    }
+
+    private void deliverBulk(List<EmailOutboxDO> batch) {
+        List<NotificationRequestDTO> requests = new ArrayList<>(batch.size());
+        for (EmailOutboxDO message : batch) {
+            requests.add(JsonUtils.parseObject(message.getPayload(), NotificationRequestDTO.class));
+        }
+        List<RuntimeException> outcomes = new ArrayList<>(batch.size());
+        try {
+            // A batch holds the messages of one tenant
+            TenantContextHolder.runAs(
+                    batch.get(0).getTenantId(),
+                    () -> outcomes.addAll(notificationService.sendBulk(requests)));
+        } catch (RuntimeException e) {
+            outcomes.clear();
+            outcomes.addAll(Collections.nCopies(batch.size(), e));
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            record(batch.get(i), outcomes.get(i));
+        }
+    }
+
+    /** Record the outcome of a send, null if the email went out */
+    private void record(EmailOutboxDO message, Exception outcome) {
+        if (outcome instanceof RateLimitExceededException) {
+            // Not the message's fault, try again later without using up an attempt
+            finish(
+                    message,
+                    EmailStatus.PENDING,
+                    message.getAttempts(),
+                    LocalDateTime.now().plus(props.getInitialBackoff()),
+                    outcome);
+            return;
+        }
+        if (ObjectUtil.isNotNull(outcome)) {
+            fail(message, outcome);
+            return;
+        }
+        finish(message, EmailStatus.SENT, message.getAttempts(), LocalDateTime.now(), null);
+        if (ObjectUtil.isNotNull(sentCounter)) {
+            sentCounter.increment();
+        }
+    }
+
+    private void fail(EmailOutboxDO message, Exception cause) {
+        int attempts = message.getAttempts() + 1;
+        if (attempts >= props.getMaxAttempts()) {
+            log.error(
+                    "Giving up on outbox email {} to {} after {} attempts",
+                    message.getId(),
+                    message.getToAddress(),
+                    attempts,
+                    cause);
+            finish(message, EmailStatus.DEAD, attempts, LocalDateTime.now(), cause);
+            if (ObjectUtil.isNotNull(deadCounter)) {
+                deadCounter.increment();
+            }
+            return;
+        }
+        log.warn(
+                "Outbox email {} failed on attempt {}: {}",
+                message.getId(),
+                attempts,
+                cause.getMessage());
+        finish(
+                message,
+                EmailStatus.FAILED,
+                attempts,
+                LocalDateTime.now().plus(backoff(attempts)),
+                cause);
+        if (ObjectUtil.isNotNull(retriedCounter)) {
+            retriedCounter.increment();
+        }
+    }
+
+    /** Exponential backoff with jitter, so messages that failed together do not retry together */
+    Duration backoff(int attempts) {
+        Duration delay = props.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        if (delay.compareTo(props.getMaxBackoff()) > 0) {
+            delay = props.getMaxBackoff();
+        }
+        long half = delay.toMillis() / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(half + 1));
+    }
+
+    /** Hand claimed messages back, due right away */
+    private void release(List<EmailOutboxDO> messages) {
+        LocalDateTime now = LocalDateTime.now();
+        for (EmailOutboxDO message : messages) {
+            finish(message, EmailStatus.PENDING, message.getAttempts(), now, null);
+        }
+    }
+
+    /** Record the outcome of a claim, unless the claim ran out and another worker took over */
+    private void finish(
+            EmailOutboxDO message,
+            EmailStatus status,
+            int attempts,
+            LocalDateTime nextAttemptTime,
+            Exception cause) {
+        EmailOutboxDO change =
+                EmailOutboxDO.builder()
+                        .status(status.name())
+                        .attempts(attempts)
+                        .nextAttemptTime(nextAttemptTime)
+                        .sentTime(status == EmailStatus.SENT ? nextAttemptTime : null)
+                        .build();
+        emailOutboxMapper.update(
+                change,
+                Wrappers.<EmailOutboxDO>lambdaUpdate()
+                        .set(EmailOutboxDO::getClaimToken, null)
+                        .set(
+                                EmailOutboxDO::getLastError,
+                                ObjectUtil.isNull(cause)
+                                        ? null
+                                        : StrUtil.maxLength(
+                                                String.valueOf(cause.getMessage()),
+                                                MAX_ERROR_LENGTH))
+                        .eq(EmailOutboxDO::getId, message.getId())
+                        .eq(EmailOutboxDO::getClaimToken, message.getClaimToken()));
+    }
+}
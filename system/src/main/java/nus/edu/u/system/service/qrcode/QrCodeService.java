@@ -1,6 +1,7 @@
 package nus.edu.u.system.service.qrcode;
 
 import java.io.IOException;
+import nus.edu.u.system.domain.dto.QrImageDTO;
 import nus.edu.u.system.domain.vo.qrcode.QrCodeReqVO;
 import nus.edu.u.system.domain.vo.qrcode.QrCodeRespVO;
 
@@ -36,4 +37,12 @@ public interface QrCodeService {
      * @return QR code with check-in URL
      */
     QrCodeRespVO generateEventCheckInQrWithToken(String checkInToken);
+
+    /**
+     * Get the rendered check-in QR image of a token, rendering it only on a cache miss
+     *
+     * @param checkInToken Unique check-in token for the attendee
+     * @return PNG bytes with their entity tag
+     */
+    QrImageDTO getEventCheckInQrImage(String checkInToken);
 }
@@ -2,12 +2,16 @@ package nus.edu.u.system.service.qrcode;
 
 import jakarta.annotation.Resource;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Comparator;
 import java.util.List;
 import javax.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import nus.edu.u.system.domain.dto.QrImageDTO;
 import nus.edu.u.system.domain.vo.qrcode.QrCodeReqVO;
 import nus.edu.u.system.domain.vo.qrcode.QrCodeRespVO;
+import nus.edu.u.system.service.qrcode.cache.QrImageCache;
+import nus.edu.u.system.service.qrcode.strategy.CompactQrCodeStrategy;
 import nus.edu.u.system.service.qrcode.strategy.QrCodeGenerationStrategy;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -22,12 +26,18 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class QrCodeServiceImpl implements QrCodeService {
 
+    private static final int CHECK_IN_QR_SIZE = 400;
+    private static final String CHECK_IN_QR_FORMAT = "PNG";
+    private static final String CHECK_IN_QR_TYPE = CompactQrCodeStrategy.NAME;
+
     @Value("${app.base-url:http://localhost:8080}")
     private String baseUrl;
 
     /** All available QR code generation strategies automatically injected by Spring */
     @Resource private List<QrCodeGenerationStrategy> strategies;
 
+    @Resource private QrImageCache qrImageCache;
+
     /** Default strategy to use when no specific strategy is found */
     private QrCodeGenerationStrategy defaultStrategy;
 
@@ -61,18 +71,7 @@ public class QrCodeServiceImpl implements QrCodeService {
 
     @Override
     public QrCodeRespVO generateQrCode(QrCodeReqVO reqVO) {
-        QrCodeGenerationStrategy strategy = selectStrategy(reqVO);
-
-        log.debug(
-                "Selected strategy: {} for request type: {}",
-                strategy == null ? "null" : strategy.getStrategyName(),
-                reqVO == null ? "null" : reqVO.getType());
-
-        if (strategy == null) {
-            throw new IllegalStateException("No QR code strategy available");
-        }
-
-        return strategy.generate(reqVO);
+        return requireStrategy(reqVO).generate(reqVO);
     }
 
     @Override
@@ -85,20 +84,54 @@ public class QrCodeServiceImpl implements QrCodeService {
                         .type("STANDARD")
                         .build();
 
-        QrCodeRespVO response = generateQrCode(reqVO);
-        return java.util.Base64.getDecoder().decode(response.getBase64Image());
+        return requireStrategy(reqVO).generateBytes(reqVO);
     }
 
     @Override
     public QrCodeRespVO generateEventCheckInQrWithToken(String checkInToken) {
-        String url = baseUrl + "/system/attendee/scan?token=" + checkInToken;
+        QrImageDTO image = getEventCheckInQrImage(checkInToken);
+        return QrCodeRespVO.builder()
+                .base64Image(Base64.getEncoder().encodeToString(image.getBytes()))
+                .contentType(image.getContentType())
+                .size(CHECK_IN_QR_SIZE)
+                .build();
+    }
 
-        QrCodeReqVO reqVO =
-                QrCodeReqVO.builder().content(url).size(400).format("PNG").type("SECURE").build();
+    @Override
+    public QrImageDTO getEventCheckInQrImage(String checkInToken) {
+        QrImageCache.Key key =
+                new QrImageCache.Key(
+                        checkInToken, CHECK_IN_QR_SIZE, CHECK_IN_QR_FORMAT, CHECK_IN_QR_TYPE);
+        return qrImageCache.get(
+                key,
+                CompactQrCodeStrategy.contentType(CHECK_IN_QR_FORMAT),
+                () -> {
+                    String url = baseUrl + "/system/attendee/scan?token=" + checkInToken;
+                    QrCodeReqVO reqVO =
+                            QrCodeReqVO.builder()
+                                    .content(url)
+                                    .size(CHECK_IN_QR_SIZE)
+                                    .format(CHECK_IN_QR_FORMAT)
+                                    .type(CHECK_IN_QR_TYPE)
+                                    .build();
+                    byte[] bytes = requireStrategy(reqVO).generateBytes(reqVO);
+                    log.info("Generated event check-in QR code with selected strategy");
+                    return bytes;
+                });
+    }
 
-        QrCodeRespVO response = generateQrCode(reqVO);
-        log.info("Generated event check-in QR code with selected strategy");
-        return response;
+    private QrCodeGenerationStrategy requireStrategy(QrCodeReqVO reqVO) {
+        QrCodeGenerationStrategy strategy = selectStrategy(reqVO);
+
+        log.debug(
+                "Selected strategy: {} for request type: {}",
+                strategy == null ? "null" : strategy.getStrategyName(),
+                reqVO == null ? "null" : reqVO.getType());
+
+        if (strategy == null) {
+            throw new IllegalStateException("No QR code strategy available");
+        }
+        return strategy;
     }
 
     private QrCodeGenerationStrategy selectStrategy(QrCodeReqVO reqVO) {
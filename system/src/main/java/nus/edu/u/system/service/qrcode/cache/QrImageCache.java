@@ -0,0 +1,151 @@
+package nus.edu.u.system.service.qrcode.cache;
+
+import cn.hutool.core.util.ObjectUtil;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import nus.edu.u.framework.qrcode.QrCodeCachePropertiesConfig;
+import nus.edu.u.system.domain.dto.QrImageDTO;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache of rendered QR images
+ *
+ * <p>A QR image only depends on its content and rendering parameters, so it is rendered once per
+ * token, size, format and strategy. The on-heap tier is an LRU bounded by image bytes; the optional
+ * Redis tier lets other nodes skip the render too. Concurrent misses of the same key render once.
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-25
+ */
+@Component
+@Slf4j
+public class QrImageCache {
+
+    private static final String REDIS_KEY_PREFIX = "chronoflow:qrcode:image:";
+
+    @Resource private QrCodeCachePropertiesConfig props;
+
+    @Resource private StringRedisTemplate stringRedisTemplate;
+
+    @Resource private ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    private Cache<Key, QrImageDTO> cache;
+
+    /** Cache key, Redis keys carry a hash of the token instead of the token */
+    public record Key(String token, int size, String format, String strategy) {}
+
+    @PostConstruct
+    public void init() {
+        cache =
+                CacheBuilder.newBuilder()
+                        .maximumWeight(props.getMaxBytes())
+                        .<Key, QrImageDTO>weigher((key, image) -> image.getBytes().length)
+                        .recordStats()
+                        .build();
+        MeterRegistry registry = meterRegistryProvider.getIfAvailable();
+        if (ObjectUtil.isNotNull(registry)) {
+            GuavaCacheMetrics.monitor(registry, cache, "qrcode.image");
+        }
+    }
+
+    /**
+     * Get a rendered image, rendering it on a miss of both tiers
+     *
+     * @param key rendering parameters
+     * @param contentType content type of the rendered bytes
+     * @param renderer renders the image bytes
+     * @return cached image
+     */
+    public QrImageDTO get(Key key, String contentType, Supplier<byte[]> renderer) {
+        try {
+            return cache.get(key, () -> load(key, contentType, renderer));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Failed to render QR image", e.getCause());
+        }
+    }
+
+    /** Drop every cached image of a token, used when a token is revoked */
+    public void invalidate(String token) {
+        cache.asMap().keySet().removeIf(key -> key.token().equals(token));
+    }
+
+    private QrImageDTO load(Key key, String contentType, Supplier<byte[]> renderer) {
+        byte[] redisKey = redisKey(key);
+        if (props.isRedisEnabled()) {
+            byte[] shared = readShared(redisKey);
+            if (ObjectUtil.isNotNull(shared)) {
+                return toImage(shared, contentType);
+            }
+        }
+        byte[] bytes = renderer.get();
+        if (props.isRedisEnabled()) {
+            writeShared(redisKey, bytes);
+        }
+        return toImage(bytes, contentType);
+    }
+
+    private byte[] readShared(byte[] redisKey) {
+        try {
+            return stringRedisTemplate.execute(
+                    (RedisCallback<byte[]>)
+                            connection -> connection.stringCommands().get(redisKey));
+        } catch (Exception e) {
+            log.warn("Failed to read QR image from Redis, rendering locally", e);
+            return null;
+        }
+    }
+
+    private void writeShared(byte[] redisKey, byte[] bytes) {
+        try {
+            stringRedisTemplate.execute(
+                    (RedisCallback<Boolean>)
+                            connection ->
+                                    connection
+                                            .stringCommands()
+                                            .set(
+                                                    redisKey,
+                                                    bytes,
+                                                    Expiration.from(props.getRedisTtl()),
+                                                    RedisStringCommands.SetOption.upsert()));
+        } catch (Exception e) {
+            log.warn("Failed to write QR image to Redis", e);
+        }
+    }
+
+    private static QrImageDTO toImage(byte[] bytes, String contentType) {
+        String etag = "\"" + Hashing.sha256().hashBytes(bytes).toString().substring(0, 32) + "\"";
+        return QrImageDTO.builder().bytes(bytes).contentType(contentType).etag(etag).build();
+    }
+
+    private static byte[] redisKey(Key key) {
+        String tokenHash =
+                Hashing.sha256().hashString(key.token(), StandardCharsets.UTF_8).toString();
+        return (REDIS_KEY_PREFIX
+                        + key.strategy()
+                        + ":"
+                        + key.format()
+                        + ":"
+                        + key.size()
+                        + ":"
+                        + tokenHash)
+                .getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,293 @@
+package nus.edu.u.system.service.qrcode.strategy;
+
+import static nus.edu.u.system.enums.ErrorCodeConstants.QRCODE_GENERATION_FAILED;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.WriterException;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import lombok.extern.slf4j.Slf4j;
+import nus.edu.u.common.exception.ServiceException;
+import nus.edu.u.system.domain.vo.qrcode.QrCodeReqVO;
+import nus.edu.u.system.domain.vo.qrcode.QrCodeRespVO;
+import org.springframework.stereotype.Component;
+
+/**
+ * Compact QR Code Generation Strategy
+ *
+ * <p>Writes the bit matrix straight into a 1-bit PNG or an SVG, skipping the ARGB BufferedImage and
+ * ImageIO round trip of the other strategies. Scanlines are packed 8 pixels per byte and deflated
+ * into a per-thread buffer that is reused across calls, so a render allocates little more than the
+ * returned array. Error correction and margin match the secure strategy, so check-in codes scan the
+ * same.
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-26
+ */
+@Component
+@Slf4j
+public class CompactQrCodeStrategy implements QrCodeGenerationStrategy {
+
+    public static final String NAME = "COMPACT";
+
+    private static final int DEFAULT_SIZE = 400;
+    private static final String PNG = "PNG";
+    private static final String SVG = "SVG";
+
+    private static final Map<EncodeHintType, Object> HINTS =
+            Map.of(
+                    EncodeHintType.CHARACTER_SET,
+                    StandardCharsets.UTF_8.name(),
+                    EncodeHintType.ERROR_CORRECTION,
+                    ErrorCorrectionLevel.H,
+                    EncodeHintType.MARGIN,
+                    2);
+
+    private static final QRCodeWriter WRITER = new QRCodeWriter();
+
+    private static final byte[] PNG_SIGNATURE = {
+        (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'
+    };
+
+    /** Bit depth 1, color type 0 (grayscale), default compression, filter and no interlace */
+    private static final byte[] IHDR_FLAGS = {1, 0, 0, 0, 0};
+
+    /** Scanline filter type None */
+    private static final byte FILTER_NONE = 0;
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    @Override
+    public QrCodeRespVO generate(QrCodeReqVO reqVO) {
+        byte[] bytes = generateBytes(reqVO);
+        String format = format(reqVO);
+        return QrCodeRespVO.builder()
+                .base64Image(Base64.getEncoder().encodeToString(bytes))
+                .contentType(contentType(format))
+                .size(Optional.ofNullable(reqVO.getSize()).orElse(DEFAULT_SIZE))
+                .build();
+    }
+
+    @Override
+    public byte[] generateBytes(QrCodeReqVO reqVO) {
+        int size = Optional.ofNullable(reqVO.getSize()).orElse(DEFAULT_SIZE);
+        try {
+            if (SVG.equals(format(reqVO))) {
+                // One unit per module, the viewBox scales it to the requested size
+                return writeSvg(
+                        WRITER.encode(reqVO.getContent(), BarcodeFormat.QR_CODE, 0, 0, HINTS),
+                        size);
+            }
+            return writePng(
+                    WRITER.encode(reqVO.getContent(), BarcodeFormat.QR_CODE, size, size, HINTS));
+        } catch (WriterException e) {
+            log.error("Failed to generate compact QR code", e);
+            throw new ServiceException(
+                    QRCODE_GENERATION_FAILED.getCode(),
+                    "Failed to generate compact QR code: " + e.getMessage());
+        }
+    }
+
+    /** Content type of the bytes this strategy produces for a format */
+    public static String contentType(String format) {
+        return SVG.equalsIgnoreCase(format) ? "image/svg+xml" : "image/png";
+    }
+
+    static byte[] writePng(BitMatrix matrix) {
+        Scratch s = SCRATCH.get();
+        int width = matrix.getWidth();
+        int height = matrix.getHeight();
+
+        // Pack scanlines, 1 = white, 0 = black, each row prefixed with its filter byte
+        int stride = (width + 7) >>> 3;
+        int rawLength = (stride + 1) * height;
+        if (s.raw.length < rawLength) {
+            s.raw = new byte[rawLength];
+        }
+        byte[] raw = s.raw;
+        int p = 0;
+        for (int y = 0; y < height; y++) {
+            raw[p++] = FILTER_NONE;
+            for (int x = 0; x < width; x += 8) {
+                int packed = 0;
+                for (int bit = 0; bit < 8; bit++) {
+                    int px = x + bit;
+                    packed <<= 1;
+                    if (px >= width || !matrix.get(px, y)) {
+                        packed |= 1;
+                    }
+                }
+                raw[p++] = (byte) packed;
+            }
+        }
+
+        s.pos = 0;
+        s.put(PNG_SIGNATURE);
+
+        int ihdr = s.beginChunk("IHDR");
+        s.putInt(width);
+        s.putInt(height);
+        s.put(IHDR_FLAGS);
+        s.endChunk(ihdr);
+
+        int idat = s.beginChunk("IDAT");
+        Deflater deflater = s.deflater;
+        deflater.reset();
+        deflater.setInput(raw, 0, rawLength);
+        deflater.finish();
+        while (!deflater.finished()) {
+            s.ensure(4096);
+            s.pos += deflater.deflate(s.out, s.pos, s.out.length - s.pos);
+        }
+        s.endChunk(idat);
+
+        s.endChunk(s.beginChunk("IEND"));
+        return Arrays.copyOf(s.out, s.pos);
+    }
+
+    static byte[] writeSvg(BitMatrix matrix, int size) {
+        Scratch s = SCRATCH.get();
+        int width = matrix.getWidth();
+        int height = matrix.getHeight();
+
+        s.pos = 0;
+        s.putAscii("<svg xmlns=\"http://www.w3.org/2000/svg\" viewBox=\"0 0 ");
+        s.putDecimal(width);
+        s.putAscii(" ");
+        s.putDecimal(height);
+        s.putAscii("\" width=\"");
+        s.putDecimal(size);
+        s.putAscii("\" height=\"");
+        s.putDecimal(size);
+        s.putAscii(
+                "\" shape-rendering=\"crispEdges\"><rect width=\"100%\" height=\"100%\""
+                        + " fill=\"#fff\"/><path fill=\"#000\" d=\"");
+        // One horizontal run of dark modules per path segment
+        for (int y = 0; y < height; y++) {
+            int x = 0;
+            while (x < width) {
+                if (!matrix.get(x, y)) {
+                    x++;
+                    continue;
+                }
+                int start = x;
+                while (x < width && matrix.get(x, y)) {
+                    x++;
+                }
+                s.putAscii("M");
+                s.putDecimal(start);
+                s.putAscii(",");
+                s.putDecimal(y);
+                s.putAscii("h");
+                s.putDecimal(x - start);
+                s.putAscii("v1h-");
+                s.putDecimal(x - start);
+                s.putAscii("z");
+            }
+        }
+        s.putAscii("\"/></svg>");
+        return Arrays.copyOf(s.out, s.pos);
+    }
+
+    private static String format(QrCodeReqVO reqVO) {
+        return Optional.ofNullable(reqVO.getFormat()).orElse(PNG).toUpperCase();
+    }
+
+    @Override
+    public boolean supports(QrCodeReqVO reqVO) {
+        if (!NAME.equalsIgnoreCase(reqVO.getType())) {
+            return false;
+        }
+        String format = format(reqVO);
+        return PNG.equals(format) || SVG.equals(format);
+    }
+
+    @Override
+    public String getStrategyName() {
+        return NAME;
+    }
+
+    @Override
+    public int getPriority() {
+        return 20;
+    }
+
+    /**
+     * Per-thread working memory, grown on demand and never shrunk
+     *
+     * <p>Render threads are pooled, so the number of live instances is bounded by the pool size.
+     */
+    private static final class Scratch {
+        private final Deflater deflater = new Deflater();
+        private final CRC32 crc = new CRC32();
+        private byte[] raw = new byte[0];
+        private byte[] out = new byte[8 * 1024];
+        private int pos;
+
+        private void ensure(int extra) {
+            if (out.length - pos < extra) {
+                out = Arrays.copyOf(out, Math.max(out.length * 2, pos + extra));
+            }
+        }
+
+        private void put(byte[] bytes) {
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, out, pos, bytes.length);
+            pos += bytes.length;
+        }
+
+        private void putInt(int value) {
+            ensure(4);
+            putIntAt(pos, value);
+            pos += 4;
+        }
+
+        private void putIntAt(int at, int value) {
+            out[at] = (byte) (value >>> 24);
+            out[at + 1] = (byte) (value >>> 16);
+            out[at + 2] = (byte) (value >>> 8);
+            out[at + 3] = (byte) value;
+        }
+
+        private void putAscii(String text) {
+            int length = text.length();
+            ensure(length);
+            for (int i = 0; i < length; i++) {
+                out[pos++] = (byte) text.charAt(i);
+            }
+        }
+
+        private void putDecimal(int value) {
+            if (value >= 10) {
+                putDecimal(value / 10);
+            }
+            ensure(1);
+            out[pos++] = (byte) ('0' + value % 10);
+        }
+
+        /** Reserve the length field and write the type, returns where the chunk starts */
+        private int beginChunk(String type) {
+            int start = pos;
+            putInt(0);
+            putAscii(type);
+            return start;
+        }
+
+        /** Fill in the length and append the CRC over type and data */
+        private void endChunk(int start) {
+            putIntAt(start, pos - start - 8);
+            crc.reset();
+            crc.update(out, start + 4, pos - start - 4);
+            putInt((int) crc.getValue());
+        }
+    }
+}
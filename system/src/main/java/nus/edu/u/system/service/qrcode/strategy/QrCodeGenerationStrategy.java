@@ -1,5 +1,6 @@
 package nus.edu.u.system.service.qrcode.strategy;
 
+import java.util.Base64;
 import nus.edu.u.system.domain.vo.qrcode.QrCodeReqVO;
 import nus.edu.u.system.domain.vo.qrcode.QrCodeRespVO;
 
@@ -20,6 +21,18 @@ public interface QrCodeGenerationStrategy {
      */
     QrCodeRespVO generate(QrCodeReqVO reqVO);
 
+    /**
+     * Generate QR code image bytes using this strategy
+     *
+     * <p>Strategies that render raw bytes should override this to skip the Base64 round trip.
+     *
+     * @param reqVO QR code request parameters
+     * @return Encoded image bytes
+     */
+    default byte[] generateBytes(QrCodeReqVO reqVO) {
+        return Base64.getDecoder().decode(generate(reqVO).getBase64Image());
+    }
+
     /**
      * Check if this strategy supports the given request
      *
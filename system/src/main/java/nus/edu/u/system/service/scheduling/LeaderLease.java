@@ -0,0 +1,95 @@
+package nus.edu.u.system.service.scheduling;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis leases that let a scheduled job run on one node at a time
+ *
+ * <p>A job asks for its lease on every tick. The node holding it renews it, any other node gets it
+ * only once it has expired, so a leader that stops ticking hands over after one lease. Leases held
+ * by this node are given up on shutdown.
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-29
+ */
+@Component
+@Slf4j
+public class LeaderLease {
+
+    private static final String KEY_PREFIX = "chronoflow:leader:";
+
+    /** Renew the lease when ARGV[1] holds it, otherwise take it if nobody does */
+    private static final RedisScript<Long> ACQUIRE =
+            new DefaultRedisScript<>(
+                    "if redis.call('GET', KEYS[1]) == ARGV[1] then "
+                            + "redis.call('PEXPIRE', KEYS[1], ARGV[2]) return 1 end "
+                            + "if redis.call('SET', KEYS[1], ARGV[1], 'NX', 'PX', ARGV[2]) "
+                            + "then return 1 end "
+                            + "return 0",
+                    Long.class);
+
+    /** Give the lease up, only when ARGV[1] holds it */
+    private static final RedisScript<Long> RELEASE =
+            new DefaultRedisScript<>(
+                    "if redis.call('GET', KEYS[1]) == ARGV[1] then "
+                            + "return redis.call('DEL', KEYS[1]) end "
+                            + "return 0",
+                    Long.class);
+
+    @Resource private StringRedisTemplate stringRedisTemplate;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Set<String> held = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Take or renew a lease
+     *
+     * @param name job name
+     * @param lease how long the lease lasts without a renewal
+     * @return whether this node holds the lease, false when Redis cannot be reached
+     */
+    public boolean acquire(String name, Duration lease) {
+        try {
+            Long acquired =
+                    stringRedisTemplate.execute(
+                            ACQUIRE,
+                            List.of(KEY_PREFIX + name),
+                            nodeId,
+                            String.valueOf(lease.toMillis()));
+            if (Long.valueOf(1L).equals(acquired)) {
+                held.add(name);
+                return true;
+            }
+            held.remove(name);
+            return false;
+        } catch (Exception e) {
+            log.warn("Failed to reach Redis for the {} lease, skipping tick", name, e);
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void releaseAll() {
+        for (String name : held) {
+            try {
+                stringRedisTemplate.execute(RELEASE, List.of(KEY_PREFIX + name), nodeId);
+            } catch (Exception e) {
+                // The lease expires on its own
+                log.warn("Failed to give up the {} lease", name, e);
+            }
+        }
+        held.clear();
+    }
+}
@@ -1,5 +1,6 @@
 package nus.edu.u.system.service.task;
 
+import java.util.Collection;
 import java.util.List;
 import nus.edu.u.system.domain.vo.task.TaskLogRespVO;
 
@@ -11,5 +12,13 @@ public interface TaskLogService {
 
     Long insertTaskLog(Long taskId, Long targetUserId, Integer action, String remark);
 
+    /**
+     * Log an action whose log id is not needed, written after the transaction commits when
+     * write-behind is on, right away otherwise
+     */
+    void appendTaskLog(Long taskId, Long targetUserId, Integer action, String remark);
+
+    void insertTaskLogs(Collection<Long> taskIds, Integer action, String remark);
+
     List<TaskLogRespVO> getTaskLog(Long taskId);
 }
@@ -3,14 +3,21 @@ package nus.edu.u.system.service.task;
 import static nus.edu.u.common.utils.exception.ServiceExceptionUtil.exception;
 import static nus.edu.u.system.enums.ErrorCodeConstants.TASK_LOG_ERROR;
 
+import cn.dev33.satoken.stp.StpUtil;
 import cn.hutool.core.util.NumberUtil;
 import cn.hutool.core.util.ObjectUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
+import com.google.common.collect.Lists;
 import jakarta.annotation.Resource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import nus.edu.u.framework.mybatis.MybatisPlusConfig;
 import nus.edu.u.system.domain.dataobject.task.TaskLogDO;
 import nus.edu.u.system.domain.dataobject.user.UserDO;
 import nus.edu.u.system.domain.vo.auth.UserVO;
@@ -19,6 +26,7 @@ import nus.edu.u.system.domain.vo.task.TaskLogRespVO;
 import nus.edu.u.system.mapper.task.TaskLogMapper;
 import nus.edu.u.system.mapper.user.UserMapper;
 import nus.edu.u.system.service.file.FileStorageService;
+import nus.edu.u.system.service.task.log.TaskLogBuffer;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,12 +37,17 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 public class TaskLogServiceImpl implements TaskLogService {
 
+    /** Rows per multi-row insert */
+    private static final int INSERT_BATCH_SIZE = 500;
+
     @Resource private TaskLogMapper taskLogMapper;
 
     @Resource private UserMapper userMapper;
 
     @Resource private FileStorageService fileStorageService;
 
+    @Resource private TaskLogBuffer taskLogBuffer;
+
     @Override
     @Transactional
     public Long insertTaskLog(Long taskId, Long targetUserId, Integer action, String remark) {
@@ -52,6 +65,43 @@ public class TaskLogServiceImpl implements TaskLogService {
         return taskLogDO.getId();
     }
 
+    @Override
+    public void appendTaskLog(Long taskId, Long targetUserId, Integer action, String remark) {
+        if (!taskLogBuffer.isEnabled()) {
+            insertTaskLog(taskId, targetUserId, action, remark);
+            return;
+        }
+        TaskLogDO taskLogDO =
+                newTaskLog(
+                        taskId,
+                        targetUserId,
+                        action,
+                        remark,
+                        StpUtil.getLoginId().toString(),
+                        LocalDateTime.now());
+        taskLogDO.setTenantId(MybatisPlusConfig.getCurrentTenantId());
+        taskLogBuffer.append(taskLogDO);
+    }
+
+    @Override
+    @Transactional
+    public void insertTaskLogs(Collection<Long> taskIds, Integer action, String remark) {
+        if (taskIds.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        String operator = currentOperator();
+        List<TaskLogDO> logs = new ArrayList<>(taskIds.size());
+        for (Long taskId : taskIds) {
+            logs.add(newTaskLog(taskId, null, action, remark, operator, now));
+        }
+        for (List<TaskLogDO> chunk : Lists.partition(logs, INSERT_BATCH_SIZE)) {
+            if (taskLogMapper.insertBatch(chunk) != chunk.size()) {
+                throw exception(TASK_LOG_ERROR);
+            }
+        }
+    }
+
     @Override
     public List<TaskLogRespVO> getTaskLog(Long taskId) {
         List<TaskLogDO> taskLogList =
@@ -69,6 +119,9 @@ public class TaskLogServiceImpl implements TaskLogService {
         List<UserDO> userList = userMapper.selectBatchIds(userIdList);
         Map<Long, UserDO> userMap =
                 userList.stream().collect(Collectors.toMap(UserDO::getId, user -> user));
+        Map<Long, List<FileResultVO>> filesByLogId =
+                fileStorageService.downloadFilesByTaskLogIds(
+                        taskLogList.stream().map(TaskLogDO::getId).toList());
         return taskLogList.stream()
                 .map(
                         taskLog -> {
@@ -89,7 +142,8 @@ public class TaskLogServiceImpl implements TaskLogService {
                                 sourceUserVO.setEmail(sourceUser.getEmail());
                             }
                             List<FileResultVO> fileResults =
-                                    fileStorageService.downloadFilesByTaskLogId(taskLog.getId());
+                                    filesByLogId.getOrDefault(
+                                            taskLog.getId(), Collections.emptyList());
                             return TaskLogRespVO.builder()
                                     .id(taskLog.getId())
                                     .action(taskLog.getAction())
@@ -102,4 +156,36 @@ public class TaskLogServiceImpl implements TaskLogService {
                         })
                 .toList();
     }
+
+    /** Login id of the current user, or "system" for scheduled jobs as in the audit fields */
+    private static String currentOperator() {
+        try {
+            return StpUtil.getLoginId().toString();
+        } catch (Exception e) {
+            return "system";
+        }
+    }
+
+    /** Log with its id and audit fields filled in, for inserts that bypass MyBatis-Plus */
+    private TaskLogDO newTaskLog(
+            Long taskId,
+            Long targetUserId,
+            Integer action,
+            String remark,
+            String operator,
+            LocalDateTime now) {
+        TaskLogDO taskLogDO =
+                TaskLogDO.builder()
+                        .id(IdWorker.getId())
+                        .taskId(taskId)
+                        .targetUserId(targetUserId)
+                        .action(action)
+                        .remark(remark)
+                        .build();
+        taskLogDO.setCreator(operator);
+        taskLogDO.setUpdater(operator);
+        taskLogDO.setCreateTime(now);
+        taskLogDO.setUpdateTime(now);
+        return taskLogDO;
+    }
 }
@@ -1,6 +1,10 @@
 package nus.edu.u.system.service.task;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import nus.edu.u.system.domain.dataobject.task.TaskDO;
+import nus.edu.u.system.domain.vo.task.TaskBulkActionReqVO;
+import nus.edu.u.system.domain.vo.task.TaskBulkActionRespVO;
 import nus.edu.u.system.domain.vo.task.TaskCreateReqVO;
 import nus.edu.u.system.domain.vo.task.TaskDashboardRespVO;
 import nus.edu.u.system.domain.vo.task.TaskRespVO;
@@ -13,6 +17,8 @@ public interface TaskService {
 
     void deleteTask(Long eventId, Long taskId);
 
+    TaskBulkActionRespVO bulkAction(Long eventId, TaskBulkActionReqVO reqVO);
+
     TaskRespVO getTask(Long eventId, Long taskId);
 
     List<TaskRespVO> listTasksByEvent(Long eventId);
@@ -20,4 +26,8 @@ public interface TaskService {
     List<TaskRespVO> listTasksByMember(Long memberId);
 
     TaskDashboardRespVO getByMemberId(Long memberId);
+
+    void rebuildDashboard(Long memberId);
+
+    List<TaskDO> markOverdueTasks(LocalDateTime now, int limit);
 }
@@ -4,18 +4,24 @@ import static nus.edu.u.common.utils.exception.ServiceExceptionUtil.exception;
 import static nus.edu.u.system.enums.ErrorCodeConstants.*;
 import static nus.edu.u.system.enums.task.TaskActionEnum.getUpdateTaskAction;
 
+import cn.dev33.satoken.stp.StpUtil;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import jakarta.annotation.Resource;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import nus.edu.u.common.exception.ServiceException;
+import nus.edu.u.framework.mybatis.loader.EntityLoader;
 import nus.edu.u.system.convert.task.TaskConvert;
 import nus.edu.u.system.domain.dataobject.dept.DeptDO;
 import nus.edu.u.system.domain.dataobject.task.EventDO;
@@ -23,26 +29,36 @@ import nus.edu.u.system.domain.dataobject.task.TaskDO;
 import nus.edu.u.system.domain.dataobject.user.UserDO;
 import nus.edu.u.system.domain.dataobject.user.UserGroupDO;
 import nus.edu.u.system.domain.dto.TaskActionDTO;
+import nus.edu.u.system.domain.dto.TaskDetailDTO;
+import nus.edu.u.system.domain.dto.UserGroupNameDTO;
+import nus.edu.u.system.domain.vo.task.TaskBulkActionReqVO;
+import nus.edu.u.system.domain.vo.task.TaskBulkActionRespVO;
 import nus.edu.u.system.domain.vo.task.TaskCreateReqVO;
 import nus.edu.u.system.domain.vo.task.TaskDashboardRespVO;
 import nus.edu.u.system.domain.vo.task.TaskRespVO;
 import nus.edu.u.system.domain.vo.task.TaskUpdateReqVO;
 import nus.edu.u.system.domain.vo.task.TasksRespVO;
 import nus.edu.u.system.enums.task.TaskActionEnum;
+import nus.edu.u.system.enums.task.TaskStatusEnum;
 import nus.edu.u.system.mapper.dept.DeptMapper;
 import nus.edu.u.system.mapper.task.EventMapper;
 import nus.edu.u.system.mapper.task.TaskMapper;
 import nus.edu.u.system.mapper.user.UserGroupMapper;
 import nus.edu.u.system.mapper.user.UserMapper;
+import nus.edu.u.system.service.task.action.BulkTaskTransition;
 import nus.edu.u.system.service.task.action.TaskActionFactory;
 import nus.edu.u.system.service.task.builder.TaskRespVOBuilder;
 import nus.edu.u.system.service.task.builder.TasksRespVOBuilder;
+import nus.edu.u.system.service.task.dashboard.MemberDashboardStore;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class TaskServiceImpl implements TaskService {
 
+    /** Remark of the log written when a task is marked as delayed */
+    private static final String OVERDUE_REMARK = "Past its end time, marked as delayed";
+
     @Resource private TaskMapper taskMapper;
 
     @Resource private EventMapper eventMapper;
@@ -55,6 +71,10 @@ public class TaskServiceImpl implements TaskService {
 
     @Resource private TaskActionFactory taskActionFactory;
 
+    @Resource private MemberDashboardStore memberDashboardStore;
+
+    @Resource private TaskLogService taskLogService;
+
     @Override
     @Transactional
     public TaskRespVO createTask(Long eventId, TaskCreateReqVO reqVO) {
@@ -88,6 +108,8 @@ public class TaskServiceImpl implements TaskService {
                         .eventEndTime(event.getEndTime())
                         .build();
         taskActionFactory.getStrategy(TaskActionEnum.CREATE).execute(task, actionDTO);
+        memberDashboardStore.taskChanged(
+                task.getId(), Arrays.asList(task.getUserId()), this::renderDashboardTask);
 
         UserDO assigner = fetchUser(event.getUserId());
 
@@ -102,7 +124,7 @@ public class TaskServiceImpl implements TaskService {
                 .withAssigneeSupplier(
                         () -> {
                             Long userId = task.getUserId();
-                            return userId != null ? userMapper.selectById(userId) : null;
+                            return fetchUser(userId);
                         })
                 .withAssigneeGroupsResolver(
                         user -> resolveCrudGroups(user.getId(), event.getId(), null))
@@ -150,7 +172,12 @@ public class TaskServiceImpl implements TaskService {
                         .remark(reqVO.getRemark())
                         .build();
 
+        Long previousAssigneeId = task.getUserId();
         taskActionFactory.getStrategy(TaskActionEnum.getEnum(type)).execute(task, actionDTO);
+        memberDashboardStore.taskChanged(
+                taskId,
+                Arrays.asList(previousAssigneeId, task.getUserId()),
+                this::renderDashboardTask);
 
         UserDO assigner = fetchUser(event.getUserId());
 
@@ -165,7 +192,7 @@ public class TaskServiceImpl implements TaskService {
                 .withAssigneeSupplier(
                         () -> {
                             Long userId = task.getUserId();
-                            return userId != null ? userMapper.selectById(userId) : null;
+                            return fetchUser(userId);
                         })
                 .withAssigneeGroupsResolver(
                         user -> resolveCrudGroups(user.getId(), event.getId(), null))
@@ -185,6 +212,158 @@ public class TaskServiceImpl implements TaskService {
             throw exception(TASK_NOT_FOUND);
         }
         taskActionFactory.getStrategy(TaskActionEnum.DELETE).execute(task, null);
+        memberDashboardStore.taskChanged(
+                taskId, Arrays.asList(task.getUserId()), this::renderDashboardTask);
+    }
+
+    @Override
+    @Transactional
+    public TaskBulkActionRespVO bulkAction(Long eventId, TaskBulkActionReqVO reqVO) {
+        BulkTaskTransition transition =
+                BulkTaskTransition.of(TaskActionEnum.getEnum(reqVO.getType()));
+        if (transition == null) {
+            throw exception(WRONG_TASK_ACTION_TYPE);
+        }
+        if (transition.getPermission() != null) {
+            StpUtil.checkPermission(transition.getPermission());
+        }
+
+        EventDO event = eventMapper.selectById(eventId);
+        if (event == null) {
+            throw exception(EVENT_NOT_FOUND);
+        }
+
+        // Locked until commit, so the checks below still hold when the tasks are moved
+        List<Long> taskIds = reqVO.getTaskIds().stream().distinct().toList();
+        Map<Long, TaskDO> tasksById =
+                taskMapper
+                        .selectList(
+                                Wrappers.<TaskDO>lambdaQuery()
+                                        .eq(TaskDO::getEventId, eventId)
+                                        .in(TaskDO::getId, taskIds)
+                                        .last("FOR UPDATE"))
+                        .stream()
+                        .collect(Collectors.toMap(TaskDO::getId, Function.identity()));
+
+        // Validate in memory, only tasks that pass reach the database
+        String loginId = StpUtil.getLoginId().toString();
+        Map<Long, ServiceException> failures = new HashMap<>();
+        List<Long> movable = new ArrayList<>();
+        for (Long taskId : taskIds) {
+            TaskDO task = tasksById.get(taskId);
+            ServiceException failure =
+                    task == null
+                            ? exception(TASK_NOT_FOUND)
+                            : transition.check(task, loginId, event);
+            if (failure == null) {
+                movable.add(taskId);
+            } else {
+                failures.put(taskId, failure);
+            }
+        }
+
+        moveTasks(movable, transition);
+        taskLogService.insertTaskLogs(movable, transition.getAction().getCode(), reqVO.getRemark());
+        memberDashboardStore.evict(
+                movable.stream().map(taskId -> tasksById.get(taskId).getUserId()).toList());
+
+        List<TaskBulkActionRespVO.Result> results =
+                taskIds.stream()
+                        .map(
+                                taskId -> {
+                                    ServiceException failure = failures.get(taskId);
+                                    return TaskBulkActionRespVO.Result.builder()
+                                            .taskId(taskId)
+                                            .success(failure == null)
+                                            .code(failure == null ? null : failure.getCode())
+                                            .msg(failure == null ? null : failure.getMessage())
+                                            .build();
+                                })
+                        .toList();
+        return TaskBulkActionRespVO.builder()
+                .succeeded(movable.size())
+                .failed(failures.size())
+                .results(results)
+                .build();
+    }
+
+    /**
+     * Move tasks with one UPDATE guarded by their expected status. The tasks were locked when
+     * loaded, so every one of them must move, anything else rolls the whole action back rather than
+     * logging a move that did not happen.
+     */
+    private void moveTasks(List<Long> taskIds, BulkTaskTransition transition) {
+        if (taskIds.isEmpty()) {
+            return;
+        }
+        TaskDO change = new TaskDO();
+        change.setStatus(transition.getTo().getStatus());
+        int updated =
+                taskMapper.update(
+                        change,
+                        Wrappers.<TaskDO>lambdaUpdate()
+                                .in(TaskDO::getId, taskIds)
+                                .eq(TaskDO::getStatus, transition.getFrom().getStatus()));
+        if (updated != taskIds.size()) {
+            throw exception(TASK_UPDATE_FAILED);
+        }
+    }
+
+    /**
+     * Mark open tasks of the current tenant whose end time has passed as DELAYED, oldest first
+     *
+     * @param now point in time the end times are checked against
+     * @param limit maximum number of tasks
+     * @return tasks that were marked, with their id, assignee and end time
+     */
+    @Override
+    @Transactional
+    public List<TaskDO> markOverdueTasks(LocalDateTime now, int limit) {
+        List<TaskDO> overdue =
+                taskMapper.selectList(
+                        Wrappers.<TaskDO>lambdaQuery()
+                                .select(TaskDO::getId, TaskDO::getUserId, TaskDO::getEndTime)
+                                .lt(TaskDO::getEndTime, now)
+                                .in(TaskDO::getStatus, TaskStatusEnum.OPEN_STATUSES)
+                                .orderByAsc(TaskDO::getEndTime)
+                                .last("LIMIT " + limit));
+        if (overdue.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> taskIds = overdue.stream().map(TaskDO::getId).toList();
+        TaskDO change = new TaskDO();
+        change.setStatus(TaskStatusEnum.DELAYED.getStatus());
+        int updated =
+                taskMapper.update(
+                        change,
+                        Wrappers.<TaskDO>lambdaUpdate()
+                                .in(TaskDO::getId, taskIds)
+                                .in(TaskDO::getStatus, TaskStatusEnum.OPEN_STATUSES));
+        List<TaskDO> marked = overdue;
+        if (updated != taskIds.size()) {
+            // Some tasks were acted on in between, keep the ones that did turn DELAYED
+            Set<Long> delayed =
+                    taskMapper
+                            .selectList(
+                                    Wrappers.<TaskDO>lambdaQuery()
+                                            .select(TaskDO::getId)
+                                            .in(TaskDO::getId, taskIds)
+                                            .eq(
+                                                    TaskDO::getStatus,
+                                                    TaskStatusEnum.DELAYED.getStatus()))
+                            .stream()
+                            .map(TaskDO::getId)
+                            .collect(Collectors.toSet());
+            marked = overdue.stream().filter(task -> delayed.contains(task.getId())).toList();
+        }
+
+        taskLogService.insertTaskLogs(
+                marked.stream().map(TaskDO::getId).toList(),
+                TaskActionEnum.UPDATE.getCode(),
+                OVERDUE_REMARK);
+        memberDashboardStore.evict(marked.stream().map(TaskDO::getUserId).toList());
+        return marked;
     }
 
     @Override
@@ -212,7 +391,7 @@ public class TaskServiceImpl implements TaskService {
                 .withAssigneeSupplier(
                         () -> {
                             Long userId = task.getUserId();
-                            return userId != null ? userMapper.selectById(userId) : null;
+                            return fetchUser(userId);
                         })
                 .withAssigneeGroupsResolver(
                         user -> resolveCrudGroups(user.getId(), event.getId(), null))
@@ -226,60 +405,7 @@ public class TaskServiceImpl implements TaskService {
         if (event == null) {
             throw exception(EVENT_NOT_FOUND);
         }
-
-        List<TaskDO> tasks =
-                taskMapper.selectList(
-                        Wrappers.<TaskDO>lambdaQuery().eq(TaskDO::getEventId, eventId));
-
-        if (tasks.isEmpty()) {
-            return List.of();
-        }
-
-        List<Long> userIds =
-                tasks.stream().map(TaskDO::getUserId).filter(Objects::nonNull).distinct().toList();
-
-        Map<Long, UserDO> usersById =
-                userIds.isEmpty()
-                        ? Map.of()
-                        : userMapper.selectBatchIds(userIds).stream()
-                                .collect(Collectors.toMap(UserDO::getId, Function.identity()));
-
-        Map<Long, List<TaskRespVO.AssignedUserVO.GroupVO>> groupsByUserId =
-                buildCrudGroupsByUser(usersById.keySet(), eventId);
-
-        UserDO assigner = fetchUser(event.getUserId());
-
-        return tasks.stream()
-                .map(
-                        task -> {
-                            Long userId = task.getUserId();
-                            UserDO user = userId != null ? usersById.get(userId) : null;
-                            return TaskRespVOBuilder.from(task)
-                                    .withEvent(event)
-                                    .withEventSupplier(() -> fetchEvent(task.getEventId()))
-                                    .withAssigner(assigner)
-                                    .withAssignerSupplier(() -> fetchUser(event.getUserId()))
-                                    .withAssignerGroupsResolver(
-                                            assignerUser ->
-                                                    resolveAssignerGroups(
-                                                            assignerUser.getId(), eventId))
-                                    .withAssignee(user)
-                                    .withAssigneeSupplier(
-                                            () -> {
-                                                Long fallbackUserId = task.getUserId();
-                                                return fallbackUserId != null
-                                                        ? userMapper.selectById(fallbackUserId)
-                                                        : null;
-                                            })
-                                    .withAssigneeGroupsResolver(
-                                            assignedUser ->
-                                                    resolveCrudGroups(
-                                                            assignedUser.getId(),
-                                                            eventId,
-                                                            groupsByUserId))
-                                    .build();
-                        })
-                .toList();
+        return toTaskRespVOs(taskMapper.selectDetailsByEventId(eventId));
     }
 
     @Override
@@ -289,86 +415,106 @@ public class TaskServiceImpl implements TaskService {
         if (member == null) {
             throw exception(USER_NOT_FOUND);
         }
+        return toTaskRespVOs(taskMapper.selectDetailsByUserId(memberId));
+    }
 
-        List<TaskDO> tasks =
-                taskMapper.selectList(
-                        Wrappers.<TaskDO>lambdaQuery().eq(TaskDO::getUserId, memberId));
-
-        if (tasks.isEmpty()) {
+    /**
+     * Build task responses from joined rows, fetching the groups of every assignee and assigner in
+     * one more query. Nothing is looked up per task.
+     */
+    private List<TaskRespVO> toTaskRespVOs(List<TaskDetailDTO> details) {
+        if (details == null || details.isEmpty()) {
             return List.of();
         }
 
-        Map<Long, UserDO> usersById = Map.of(memberId, member);
-        Map<Long, Map<Long, List<TaskRespVO.AssignedUserVO.GroupVO>>> crudGroupsCache =
-                new LinkedHashMap<>();
-        Map<Long, Map<Long, List<TaskRespVO.AssignerUserVO.GroupVO>>> assignerGroupsCache =
-                new LinkedHashMap<>();
-
-        List<Long> eventIds =
-                tasks.stream().map(TaskDO::getEventId).filter(Objects::nonNull).distinct().toList();
-
-        Map<Long, EventDO> eventsById =
-                eventIds.isEmpty()
-                        ? Map.of()
-                        : eventMapper.selectBatchIds(eventIds).stream()
-                                .filter(Objects::nonNull)
-                                .collect(Collectors.toMap(EventDO::getId, Function.identity()));
+        Set<Long> eventIds = new LinkedHashSet<>();
+        Set<Long> userIds = new LinkedHashSet<>();
+        for (TaskDetailDTO detail : details) {
+            if (detail.getTask().getEventId() != null) {
+                eventIds.add(detail.getTask().getEventId());
+            }
+            if (detail.getAssignee() != null) {
+                userIds.add(detail.getAssignee().getId());
+            }
+            if (detail.getAssigner() != null) {
+                userIds.add(detail.getAssigner().getId());
+            }
+        }
 
-        Map<Long, UserDO> assignersByEventId = buildAssignersByEventId(eventsById.values());
+        Map<Long, Map<Long, List<UserGroupNameDTO>>> groupsByEventAndUser = new HashMap<>();
+        if (!eventIds.isEmpty() && !userIds.isEmpty()) {
+            for (UserGroupNameDTO group : taskMapper.selectGroupNames(eventIds, userIds)) {
+                groupsByEventAndUser
+                        .computeIfAbsent(group.getEventId(), ignored -> new HashMap<>())
+                        .computeIfAbsent(group.getUserId(), ignored -> new ArrayList<>())
+                        .add(group);
+            }
+        }
 
-        return tasks.stream()
+        return details.stream()
                 .map(
-                        task -> {
-                            Long eventId = task.getEventId();
-                            EventDO event = eventId != null ? eventsById.get(eventId) : null;
-                            Long currentEventId = eventId;
-                            return TaskRespVOBuilder.from(task)
-                                    .withEvent(event)
-                                    .withEventSupplier(() -> fetchEvent(task.getEventId()))
-                                    .withAssigner(assignersByEventId.get(eventId))
-                                    .withAssignerSupplier(
-                                            () -> {
-                                                EventDO fallbackEvent =
-                                                        fetchEvent(task.getEventId());
-                                                if (fallbackEvent == null) {
-                                                    return null;
-                                                }
-                                                Long assignerId = fallbackEvent.getUserId();
-                                                return assignerId != null
-                                                        ? userMapper.selectById(assignerId)
-                                                        : null;
-                                            })
+                        detail -> {
+                            Map<Long, List<UserGroupNameDTO>> groupsByUser =
+                                    groupsByEventAndUser.getOrDefault(
+                                            detail.getTask().getEventId(), Map.of());
+                            return TaskRespVOBuilder.from(detail.getTask())
+                                    .withEvent(detail.getEvent())
+                                    .withAssigner(detail.getAssigner())
                                     .withAssignerGroupsResolver(
-                                            assignerUser ->
-                                                    resolveAssignerGroupsWithCache(
-                                                            assignerUser,
-                                                            currentEventId,
-                                                            assignerGroupsCache))
-                                    .withAssignee(member)
-                                    .withAssigneeSupplier(
-                                            () -> {
-                                                Long userId = task.getUserId();
-                                                return userId != null
-                                                        ? userMapper.selectById(userId)
-                                                        : null;
-                                            })
+                                            user ->
+                                                    groupsByUser
+                                                            .getOrDefault(user.getId(), List.of())
+                                                            .stream()
+                                                            .map(this::toAssignerGroupVO)
+                                                            .toList())
+                                    .withAssignee(detail.getAssignee())
                                     .withAssigneeGroupsResolver(
-                                            assignedUser ->
-                                                    resolveCrudGroupsWithCache(
-                                                            assignedUser,
-                                                            currentEventId,
-                                                            crudGroupsCache,
-                                                            usersById.keySet()))
+                                            user ->
+                                                    groupsByUser
+                                                            .getOrDefault(user.getId(), List.of())
+                                                            .stream()
+                                                            .map(this::toAssigneeGroupVO)
+                                                            .toList())
                                     .build();
                         })
                 .toList();
     }
 
+    private TaskRespVO.AssignerUserVO.GroupVO toAssignerGroupVO(UserGroupNameDTO group) {
+        TaskRespVO.AssignerUserVO.GroupVO groupVO = new TaskRespVO.AssignerUserVO.GroupVO();
+        groupVO.setId(group.getDeptId());
+        groupVO.setName(group.getDeptName());
+        return groupVO;
+    }
+
+    private TaskRespVO.AssignedUserVO.GroupVO toAssigneeGroupVO(UserGroupNameDTO group) {
+        TaskRespVO.AssignedUserVO.GroupVO groupVO = new TaskRespVO.AssignedUserVO.GroupVO();
+        groupVO.setId(group.getDeptId());
+        groupVO.setName(group.getDeptName());
+        return groupVO;
+    }
+
     private List<TasksRespVO> listDashboardTasksByMember(UserDO member) {
-        List<TaskDO> tasks =
+        return toDashboardTasks(
+                member,
                 taskMapper.selectList(
-                        Wrappers.<TaskDO>lambdaQuery().eq(TaskDO::getUserId, member.getId()));
+                        Wrappers.<TaskDO>lambdaQuery().eq(TaskDO::getUserId, member.getId())));
+    }
 
+    /** Render one task for a stored dashboard, null when it is gone or assigned elsewhere */
+    private TasksRespVO renderDashboardTask(Long memberId, Long taskId) {
+        TaskDO task = taskMapper.selectById(taskId);
+        if (task == null || !Objects.equals(task.getUserId(), memberId)) {
+            return null;
+        }
+        UserDO member = fetchUser(memberId);
+        if (member == null) {
+            return null;
+        }
+        return toDashboardTasks(member, List.of(task)).get(0);
+    }
+
+    private List<TasksRespVO> toDashboardTasks(UserDO member, List<TaskDO> tasks) {
         if (tasks.isEmpty()) {
             return List.of();
         }
@@ -401,9 +547,7 @@ public class TaskServiceImpl implements TaskService {
                                     .withAssigneeSupplier(
                                             () -> {
                                                 Long userId = task.getUserId();
-                                                return userId != null
-                                                        ? userMapper.selectById(userId)
-                                                        : null;
+                                                return fetchUser(userId);
                                             })
                                     .withGroupResolver(
                                             assignedUser ->
@@ -420,11 +564,32 @@ public class TaskServiceImpl implements TaskService {
     @Override
     @Transactional(readOnly = true)
     public TaskDashboardRespVO getByMemberId(Long memberId) {
+        TaskDashboardRespVO stored = memberDashboardStore.get(memberId);
+        if (stored != null) {
+            return stored;
+        }
+
         UserDO member = userMapper.selectById(memberId);
         if (member == null) {
             throw exception(USER_NOT_FOUND);
         }
+        TaskDashboardRespVO dashboard = buildDashboard(member);
+        memberDashboardStore.save(member.getTenantId(), dashboard);
+        return dashboard;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void rebuildDashboard(Long memberId) {
+        UserDO member = userMapper.selectById(memberId);
+        if (member == null) {
+            memberDashboardStore.evict(List.of(memberId));
+            return;
+        }
+        memberDashboardStore.save(member.getTenantId(), buildDashboard(member));
+    }
 
+    private TaskDashboardRespVO buildDashboard(UserDO member) {
         TaskDashboardRespVO dashboard = new TaskDashboardRespVO();
         dashboard.setMember(toMemberVO(member));
         dashboard.setGroups(resolveMemberGroups(member));
@@ -436,46 +601,22 @@ public class TaskServiceImpl implements TaskService {
         if (eventId == null) {
             return null;
         }
-        return eventMapper.selectById(eventId);
+        return eventLoader().load(eventId);
     }
 
     private UserDO fetchUser(Long userId) {
         if (userId == null) {
             return null;
         }
-        return userMapper.selectById(userId);
+        return userLoader().load(userId);
     }
 
-    private Map<Long, UserDO> buildAssignersByEventId(Collection<EventDO> events) {
-        if (events == null || events.isEmpty()) {
-            return Map.of();
-        }
-
-        List<Long> assignerIds =
-                events.stream()
-                        .filter(Objects::nonNull)
-                        .map(EventDO::getUserId)
-                        .filter(Objects::nonNull)
-                        .distinct()
-                        .toList();
-
-        Map<Long, UserDO> assignersByUserId = fetchUsersByIds(assignerIds);
-        return events.stream()
-                .filter(Objects::nonNull)
-                .collect(
-                        Collectors.toMap(
-                                EventDO::getId,
-                                event -> assignersByUserId.get(event.getUserId()),
-                                (existing, replacement) -> existing));
+    private EntityLoader.Batch<EventDO> eventLoader() {
+        return EntityLoader.current().of(EventDO.class, eventMapper, EventDO::getId);
     }
 
-    private Map<Long, UserDO> fetchUsersByIds(Collection<Long> userIds) {
-        if (userIds == null || userIds.isEmpty()) {
-            return Map.of();
-        }
-        return userMapper.selectBatchIds(userIds).stream()
-                .filter(Objects::nonNull)
-                .collect(Collectors.toMap(UserDO::getId, Function.identity()));
+    private EntityLoader.Batch<UserDO> userLoader() {
+        return EntityLoader.current().of(UserDO.class, userMapper, UserDO::getId);
     }
 
     private Map<Long, List<DeptDO>> fetchUserDeptsByEvent(Collection<Long> userIds, Long eventId) {
@@ -541,25 +682,6 @@ public class TaskServiceImpl implements TaskService {
         return fetchUserDeptsByEvent(List.of(userId), eventId).getOrDefault(userId, List.of());
     }
 
-    private Map<Long, List<TaskRespVO.AssignedUserVO.GroupVO>> buildCrudGroupsByUser(
-            Collection<Long> userIds, Long eventId) {
-        if (userIds == null || userIds.isEmpty() || eventId == null) {
-            return Map.of();
-        }
-        Map<Long, List<DeptDO>> deptsByUserId = fetchUserDeptsByEvent(userIds, eventId);
-        if (deptsByUserId.isEmpty()) {
-            return Map.of();
-        }
-        return deptsByUserId.entrySet().stream()
-                .collect(
-                        Collectors.toMap(
-                                Map.Entry::getKey,
-                                entry ->
-                                        entry.getValue().stream()
-                                                .map(this::toCrudGroupVO)
-                                                .collect(Collectors.toList())));
-    }
-
     private List<TaskRespVO.AssignedUserVO.GroupVO> resolveCrudGroups(
             Long userId,
             Long eventId,
@@ -606,33 +728,6 @@ public class TaskServiceImpl implements TaskService {
                 .collect(Collectors.toList());
     }
 
-    private List<TaskRespVO.AssignerUserVO.GroupVO> resolveAssignerGroupsWithCache(
-            UserDO user,
-            Long eventId,
-            Map<Long, Map<Long, List<TaskRespVO.AssignerUserVO.GroupVO>>> cache) {
-        if (user == null || user.getId() == null || eventId == null) {
-            return List.of();
-        }
-        Map<Long, List<TaskRespVO.AssignerUserVO.GroupVO>> groupsForEvent =
-                cache.computeIfAbsent(eventId, ignored -> new LinkedHashMap<>());
-        return groupsForEvent.computeIfAbsent(
-                user.getId(), ignored -> resolveAssignerGroups(user.getId(), eventId));
-    }
-
-    private List<TaskRespVO.AssignedUserVO.GroupVO> resolveCrudGroupsWithCache(
-            UserDO user,
-            Long eventId,
-            Map<Long, Map<Long, List<TaskRespVO.AssignedUserVO.GroupVO>>> cache,
-            Collection<Long> usersToPrefetch) {
-        if (user == null || user.getId() == null || eventId == null) {
-            return List.of();
-        }
-        Map<Long, List<TaskRespVO.AssignedUserVO.GroupVO>> groupsForEvent =
-                cache.computeIfAbsent(
-                        eventId, ignored -> buildCrudGroupsByUser(usersToPrefetch, eventId));
-        return groupsForEvent.getOrDefault(user.getId(), List.of());
-    }
-
     private Map<Long, List<TasksRespVO.AssignedUserVO.GroupVO>> buildDashboardGroupsByUser(
             Collection<Long> userIds, Long eventId) {
         if (userIds == null || userIds.isEmpty() || eventId == null) {
@@ -716,7 +811,10 @@ public class TaskServiceImpl implements TaskService {
             return List.of();
         }
 
-        return fetchUserDeptsByEvent(member.getId(), null).stream()
+        List<DeptDO> depts = fetchUserDeptsByEvent(member.getId(), null);
+        Map<Long, EventDO> eventsById =
+                eventLoader().loadMany(depts.stream().map(DeptDO::getEventId).toList());
+        return depts.stream()
                 .map(
                         dept -> {
                             TaskDashboardRespVO.GroupVO groupVO = new TaskDashboardRespVO.GroupVO();
@@ -726,18 +824,13 @@ public class TaskServiceImpl implements TaskService {
                             groupVO.setLeadUserId(dept.getLeadUserId());
                             groupVO.setRemark(dept.getRemark());
                             groupVO.setStatus(dept.getStatus());
-                            groupVO.setEvent(toGroupEvent(dept.getEventId()));
+                            groupVO.setEvent(toGroupEvent(eventsById.get(dept.getEventId())));
                             return groupVO;
                         })
                 .collect(Collectors.toList());
     }
 
-    private TaskDashboardRespVO.GroupVO.EventVO toGroupEvent(Long eventId) {
-        if (eventId == null) {
-            return null;
-        }
-
-        EventDO event = eventMapper.selectById(eventId);
+    private TaskDashboardRespVO.GroupVO.EventVO toGroupEvent(EventDO event) {
         if (event == null) {
             return null;
         }
@@ -3,11 +3,16 @@ package nus.edu.u.system.service.task.action;
 import static nus.edu.u.common.utils.exception.ServiceExceptionUtil.exception;
 import static nus.edu.u.system.enums.ErrorCodeConstants.*;
 
+import cn.hutool.core.bean.BeanUtil;
+import cn.hutool.core.bean.copier.CopyOptions;
 import cn.hutool.core.collection.CollectionUtil;
 import cn.hutool.core.util.ObjectUtil;
 import jakarta.annotation.Resource;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import nus.edu.u.common.exception.ErrorCode;
 import nus.edu.u.system.domain.dataobject.task.TaskDO;
 import nus.edu.u.system.domain.dto.TaskActionDTO;
 import nus.edu.u.system.domain.vo.file.FileUploadReqVO;
@@ -49,12 +54,61 @@ public abstract class AbstractTaskStrategy implements TaskStrategy {
             throw exception(TASK_TIME_OUTSIDE_EVENT);
         }
         if (taskEnd != null && eventEnd != null && taskEnd.isAfter(eventEnd)) {
-            task.setStatus(TaskStatusEnum.DELAYED.getStatus());
-            taskMapper.updateById(task);
             throw exception(TASK_TIME_OUTSIDE_EVENT);
         }
     }
 
+    /**
+     * Apply a change to a task, provided it is still in one of the statuses it may move from
+     *
+     * <p>The checks done on {@code task} before calling this are only as fresh as the read, the
+     * status guard of the update is what decides whether the action wins. Only the non-null columns
+     * of {@code change} are written and, on success, copied onto {@code task}.
+     *
+     * @param task task as loaded by the caller
+     * @param change columns to write
+     * @param failure raised when the task is gone or has moved on
+     * @param from statuses the task may move from
+     */
+    protected void transition(
+            TaskDO task, TaskDO change, ErrorCode failure, Collection<Integer> from) {
+        if (taskMapper.updateByIdAndStatus(change, task.getId(), from) <= 0) {
+            throw exception(failure);
+        }
+        BeanUtil.copyProperties(change, task, CopyOptions.create().ignoreNullValue());
+    }
+
+    /** Move a task that must also still have the assignee it was read with */
+    protected void transition(
+            TaskDO task, TaskDO change, ErrorCode failure, Collection<Integer> from, Long userId) {
+        if (taskMapper.updateByIdAndStatus(change, task.getId(), from, userId) <= 0) {
+            throw exception(failure);
+        }
+        BeanUtil.copyProperties(change, task, CopyOptions.create().ignoreNullValue());
+    }
+
+    protected void transition(
+            TaskDO task, TaskDO change, ErrorCode failure, TaskStatusEnum... from) {
+        transition(
+                task, change, failure, Arrays.stream(from).map(TaskStatusEnum::getStatus).toList());
+    }
+
+    /**
+     * Log the action and attach its files. The log is written right away only when files need its
+     * id, otherwise it may be written behind the transaction.
+     */
+    protected void logAction(
+            TaskDO task, Long targetUserId, String remark, List<MultipartFile> files) {
+        if (CollectionUtil.isEmpty(files)) {
+            taskLogService.appendTaskLog(task.getId(), targetUserId, getType().getCode(), remark);
+            return;
+        }
+        Long taskLogId =
+                taskLogService.insertTaskLog(
+                        task.getId(), targetUserId, getType().getCode(), remark);
+        uploadFiles(taskLogId, task.getEventId(), files);
+    }
+
     protected void uploadFiles(Long taskLogId, Long eventId, List<MultipartFile> files) {
         if (CollectionUtil.isEmpty(files)) {
             return;
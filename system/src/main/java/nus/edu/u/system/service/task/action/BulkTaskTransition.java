@@ -0,0 +1,119 @@
+package nus.edu.u.system.service.task.action;
+
+import static nus.edu.u.common.constant.PermissionConstants.UPDATE_TASK;
+import static nus.edu.u.common.utils.exception.ServiceExceptionUtil.exception;
+import static nus.edu.u.system.enums.ErrorCodeConstants.*;
+
+import java.util.Arrays;
+import java.util.Objects;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import nus.edu.u.common.exception.ServiceException;
+import nus.edu.u.system.domain.dataobject.task.EventDO;
+import nus.edu.u.system.domain.dataobject.task.TaskDO;
+import nus.edu.u.system.enums.task.TaskActionEnum;
+import nus.edu.u.system.enums.task.TaskStatusEnum;
+
+/**
+ * Task actions that can be applied to many tasks at once
+ *
+ * <p>Each entry mirrors the checks of its {@link TaskStrategy}, minus file uploads, so a bulk
+ * request can validate every task in memory and move them all with one conditional update.
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-28
+ */
+@Getter
+@AllArgsConstructor
+public enum BulkTaskTransition {
+    SUBMIT(
+            TaskActionEnum.SUBMIT,
+            TaskStatusEnum.PROGRESS,
+            TaskStatusEnum.PENDING_APPROVAL,
+            Actor.ASSIGNEE,
+            null),
+    BLOCK(
+            TaskActionEnum.BLOCK,
+            TaskStatusEnum.PROGRESS,
+            TaskStatusEnum.BLOCKED,
+            Actor.ANYONE,
+            null),
+    ACCEPT(
+            TaskActionEnum.ACCEPT,
+            TaskStatusEnum.PENDING,
+            TaskStatusEnum.PROGRESS,
+            Actor.ASSIGNEE,
+            null),
+    REJECT(
+            TaskActionEnum.REJECT,
+            TaskStatusEnum.PENDING,
+            TaskStatusEnum.REJECTED,
+            Actor.ASSIGNEE,
+            null),
+    APPROVE(
+            TaskActionEnum.APPROVE,
+            TaskStatusEnum.PENDING_APPROVAL,
+            TaskStatusEnum.COMPLETED,
+            Actor.CREATOR,
+            UPDATE_TASK);
+
+    private final TaskActionEnum action;
+
+    private final TaskStatusEnum from;
+
+    private final TaskStatusEnum to;
+
+    private final Actor actor;
+
+    /** Checked once per request, null when the action needs no permission */
+    private final String permission;
+
+    /** Who may take the action on a task */
+    public enum Actor {
+        ASSIGNEE,
+        CREATOR,
+        ANYONE
+    }
+
+    public static BulkTaskTransition of(TaskActionEnum action) {
+        return Arrays.stream(values())
+                .filter(transition -> transition.action == action)
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Why a task cannot take this action
+     *
+     * @param task task loaded in this request
+     * @param loginId current user id
+     * @param event event of the task
+     * @return the error the single task action would raise, null when the task can move
+     */
+    public ServiceException check(TaskDO task, String loginId, EventDO event) {
+        if (task.getStartTime() != null
+                && task.getEndTime() != null
+                && !task.getStartTime().isBefore(task.getEndTime())) {
+            return exception(TASK_TIME_RANGE_INVALID);
+        }
+        if ((task.getStartTime() != null
+                        && event.getStartTime() != null
+                        && task.getStartTime().isBefore(event.getStartTime()))
+                || (task.getEndTime() != null
+                        && event.getEndTime() != null
+                        && task.getEndTime().isAfter(event.getEndTime()))) {
+            return exception(TASK_TIME_OUTSIDE_EVENT);
+        }
+        if ((actor == Actor.ASSIGNEE && !Objects.equals(String.valueOf(task.getUserId()), loginId))
+                || (actor == Actor.CREATOR && !Objects.equals(task.getCreator(), loginId))) {
+            return exception(MODIFY_OTHER_TASK_ERROR);
+        }
+        if (!Objects.equals(task.getStatus(), from.getStatus())) {
+            return exception(
+                    MODIFY_WRONG_TASK_STATUS,
+                    action.getAction(),
+                    TaskStatusEnum.getEnum(task.getStatus()));
+        }
+        return null;
+    }
+}
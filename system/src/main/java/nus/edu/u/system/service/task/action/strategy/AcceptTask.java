@@ -42,12 +42,12 @@ public class AcceptTask extends AbstractTaskStrategy {
                     getType().getAction(),
                     TaskStatusEnum.getEnum(task.getStatus()));
         }
-        task.setStatus(TaskStatusEnum.PROGRESS.getStatus());
-        boolean isSuccess = taskMapper.updateById(task) > 0;
-        if (!isSuccess) {
-            throw exception(ACCEPT_TASK_FAILED);
-        }
-        taskLogService.insertTaskLog(
+        transition(
+                task,
+                TaskDO.builder().status(TaskStatusEnum.PROGRESS.getStatus()).build(),
+                ACCEPT_TASK_FAILED,
+                TaskStatusEnum.PENDING);
+        taskLogService.appendTaskLog(
                 task.getId(), null, getType().getCode(), actionDTO.getRemark());
     }
 }
@@ -43,12 +43,12 @@ public class ApproveTask extends AbstractTaskStrategy {
                     getType().getAction(),
                     TaskStatusEnum.getEnum(task.getStatus()));
         }
-        task.setStatus(TaskStatusEnum.COMPLETED.getStatus());
-        boolean isSuccess = taskMapper.updateById(task) > 0;
-        if (!isSuccess) {
-            throw exception(APPROVE_TASK_FAILED);
-        }
-        taskLogService.insertTaskLog(
+        transition(
+                task,
+                TaskDO.builder().status(TaskStatusEnum.COMPLETED.getStatus()).build(),
+                APPROVE_TASK_FAILED,
+                TaskStatusEnum.PENDING_APPROVAL);
+        taskLogService.appendTaskLog(
                 task.getId(), null, getType().getCode(), actionDTO.getRemark());
     }
 }
@@ -1,10 +1,10 @@
 package nus.edu.u.system.service.task.action.strategy;
 
 import static nus.edu.u.common.constant.PermissionConstants.ASSIGN_TASK;
-import static nus.edu.u.common.utils.exception.ServiceExceptionUtil.exception;
 import static nus.edu.u.system.enums.ErrorCodeConstants.ASSIGN_TASK_FAILED;
 
 import cn.dev33.satoken.stp.StpUtil;
+import java.util.Collections;
 import nus.edu.u.system.domain.dataobject.task.TaskDO;
 import nus.edu.u.system.domain.dto.TaskActionDTO;
 import nus.edu.u.system.enums.task.TaskActionEnum;
@@ -33,18 +33,19 @@ public class AssignTask extends AbstractTaskStrategy {
                 task.getEndTime(),
                 actionDTO.getEventStartTime(),
                 actionDTO.getEventEndTime());
-        task.setStatus(TaskStatusEnum.PENDING.getStatus());
-        task.setUserId(actionDTO.getTargetUserId());
-        boolean isSuccess = taskMapper.updateById(task) > 0;
-        if (!isSuccess) {
-            throw exception(ASSIGN_TASK_FAILED);
-        }
-        Long taskLogId =
-                taskLogService.insertTaskLog(
-                        task.getId(),
-                        actionDTO.getTargetUserId(),
-                        getType().getCode(),
-                        actionDTO.getRemark());
-        uploadFiles(taskLogId, task.getEventId(), actionDTO.getFiles());
+        // Any status can be reassigned, guard on the status and assignee read so a racing action
+        // or reassignment is not undone
+        TaskDO change =
+                TaskDO.builder()
+                        .status(TaskStatusEnum.PENDING.getStatus())
+                        .userId(actionDTO.getTargetUserId())
+                        .build();
+        transition(
+                task,
+                change,
+                ASSIGN_TASK_FAILED,
+                Collections.singletonList(task.getStatus()),
+                task.getUserId());
+        logAction(task, actionDTO.getTargetUserId(), actionDTO.getRemark(), actionDTO.getFiles());
     }
 }
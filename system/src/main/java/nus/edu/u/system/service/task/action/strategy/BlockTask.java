@@ -37,14 +37,11 @@ public class BlockTask extends AbstractTaskStrategy {
                     getType().getAction(),
                     TaskStatusEnum.getEnum(task.getStatus()));
         }
-        task.setStatus(TaskStatusEnum.BLOCKED.getStatus());
-        boolean isSuccess = taskMapper.updateById(task) > 0;
-        if (!isSuccess) {
-            throw exception(BLOCK_TASK_FAILED);
-        }
-        Long taskLogId =
-                taskLogService.insertTaskLog(
-                        task.getId(), null, getType().getCode(), actionDTO.getRemark());
-        uploadFiles(taskLogId, task.getEventId(), actionDTO.getFiles());
+        transition(
+                task,
+                TaskDO.builder().status(TaskStatusEnum.BLOCKED.getStatus()).build(),
+                BLOCK_TASK_FAILED,
+                TaskStatusEnum.PROGRESS);
+        logAction(task, null, actionDTO.getRemark(), actionDTO.getFiles());
     }
 }
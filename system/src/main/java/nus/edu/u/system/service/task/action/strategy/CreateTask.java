@@ -36,12 +36,6 @@ public class CreateTask extends AbstractTaskStrategy {
         if (!isSuccess) {
             throw exception(TASK_CREATE_FAILED);
         }
-        Long taskLogId =
-                taskLogService.insertTaskLog(
-                        task.getId(),
-                        actionDTO.getTargetUserId(),
-                        getType().getCode(),
-                        actionDTO.getRemark());
-        uploadFiles(taskLogId, task.getEventId(), actionDTO.getFiles());
+        logAction(task, actionDTO.getTargetUserId(), actionDTO.getRemark(), actionDTO.getFiles());
     }
 }
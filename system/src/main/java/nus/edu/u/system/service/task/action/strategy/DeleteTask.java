@@ -27,6 +27,6 @@ public class DeleteTask extends AbstractTaskStrategy {
         if (!isSuccess) {
             throw exception(TASK_DELETE_FAILED);
         }
-        taskLogService.insertTaskLog(task.getId(), null, getType().getCode(), null);
+        taskLogService.appendTaskLog(task.getId(), null, getType().getCode(), null);
     }
 }
@@ -42,12 +42,12 @@ public class RejectTask extends AbstractTaskStrategy {
                     getType().getAction(),
                     TaskStatusEnum.getEnum(task.getStatus()));
         }
-        task.setStatus(TaskStatusEnum.REJECTED.getStatus());
-        boolean isSuccess = taskMapper.updateById(task) > 0;
-        if (!isSuccess) {
-            throw exception(REJECT_TASK_FAILED);
-        }
-        taskLogService.insertTaskLog(
+        transition(
+                task,
+                TaskDO.builder().status(TaskStatusEnum.REJECTED.getStatus()).build(),
+                REJECT_TASK_FAILED,
+                TaskStatusEnum.PENDING);
+        taskLogService.appendTaskLog(
                 task.getId(), null, getType().getCode(), actionDTO.getRemark());
     }
 }
@@ -42,14 +42,11 @@ public class SubmitTask extends AbstractTaskStrategy {
                     getType().getAction(),
                     TaskStatusEnum.getEnum(task.getStatus()));
         }
-        task.setStatus(TaskStatusEnum.PENDING_APPROVAL.getStatus());
-        boolean isSuccess = taskMapper.updateById(task) > 0;
-        if (!isSuccess) {
-            throw exception(SUBMIT_TASK_FAILED);
-        }
-        Long taskLogId =
-                taskLogService.insertTaskLog(
-                        task.getId(), null, getType().getCode(), actionDTO.getRemark());
-        uploadFiles(taskLogId, task.getEventId(), actionDTO.getFiles());
+        transition(
+                task,
+                TaskDO.builder().status(TaskStatusEnum.PENDING_APPROVAL.getStatus()).build(),
+                SUBMIT_TASK_FAILED,
+                TaskStatusEnum.PROGRESS);
+        logAction(task, null, actionDTO.getRemark(), actionDTO.getFiles());
     }
 }
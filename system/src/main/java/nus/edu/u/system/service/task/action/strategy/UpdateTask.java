@@ -7,6 +7,7 @@ import static nus.edu.u.system.enums.ErrorCodeConstants.TASK_UPDATE_FAILED;
 
 import cn.dev33.satoken.stp.StpUtil;
 import cn.hutool.core.util.ObjectUtil;
+import java.util.Arrays;
 import nus.edu.u.system.domain.dataobject.task.TaskDO;
 import nus.edu.u.system.domain.dto.TaskActionDTO;
 import nus.edu.u.system.enums.task.TaskActionEnum;
@@ -21,6 +22,11 @@ import org.springframework.stereotype.Component;
 @Component
 public class UpdateTask extends AbstractTaskStrategy {
 
+    private static final TaskStatusEnum[] EDITABLE_STATUSES =
+            Arrays.stream(TaskStatusEnum.values())
+                    .filter(status -> status != TaskStatusEnum.COMPLETED)
+                    .toArray(TaskStatusEnum[]::new);
+
     @Override
     public TaskActionEnum getType() {
         return TaskActionEnum.UPDATE;
@@ -41,31 +47,16 @@ public class UpdateTask extends AbstractTaskStrategy {
                     getType().getAction(),
                     TaskStatusEnum.getEnum(task.getStatus()));
         }
-        task.setStatus(TaskStatusEnum.PENDING.getStatus());
-        task.setUserId(
-                ObjectUtil.isNull(actionDTO.getTargetUserId())
-                        ? task.getUserId()
-                        : actionDTO.getTargetUserId());
-        task.setName(ObjectUtil.isNull(actionDTO.getName()) ? task.getName() : actionDTO.getName());
-        task.setDescription(
-                ObjectUtil.isNull(actionDTO.getDescription())
-                        ? task.getDescription()
-                        : actionDTO.getDescription());
-        task.setStartTime(
-                ObjectUtil.isNull(actionDTO.getStartTime())
-                        ? task.getStartTime()
-                        : actionDTO.getStartTime());
-        task.setEndTime(
-                ObjectUtil.isNull(actionDTO.getEndTime())
-                        ? task.getEndTime()
-                        : actionDTO.getEndTime());
-        boolean isSuccess = taskMapper.updateById(task) > 0;
-        if (!isSuccess) {
-            throw exception(TASK_UPDATE_FAILED);
-        }
-        Long taskLogId =
-                taskLogService.insertTaskLog(
-                        task.getId(), null, getType().getCode(), actionDTO.getRemark());
-        uploadFiles(taskLogId, task.getEventId(), actionDTO.getFiles());
+        TaskDO change =
+                TaskDO.builder()
+                        .status(TaskStatusEnum.PENDING.getStatus())
+                        .userId(actionDTO.getTargetUserId())
+                        .name(actionDTO.getName())
+                        .description(actionDTO.getDescription())
+                        .startTime(actionDTO.getStartTime())
+                        .endTime(actionDTO.getEndTime())
+                        .build();
+        transition(task, change, TASK_UPDATE_FAILED, EDITABLE_STATUSES);
+        logAction(task, null, actionDTO.getRemark(), actionDTO.getFiles());
     }
 }
@@ -0,0 +1,60 @@
+package nus.edu.u.system.service.task.dashboard;
+
+import jakarta.annotation.Resource;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import nus.edu.u.framework.mybatis.TenantContextHolder;
+import nus.edu.u.system.service.task.TaskService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds stored member dashboards from the database
+ *
+ * <p>Incremental updates miss changes that do not go through a task action or a group membership
+ * change, and can race with a concurrent rebuild. Every stored dashboard is therefore rebuilt once
+ * it is older than {@link MemberDashboardStore#MAX_AGE}. Entries are claimed in Redis, so each one
+ * is rebuilt by a single node.
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-28
+ */
+@Component
+@Slf4j
+public class MemberDashboardRepairJob {
+
+    private static final int BATCH_SIZE = 100;
+
+    @Resource private MemberDashboardStore memberDashboardStore;
+
+    @Resource private TaskService taskService;
+
+    @Scheduled(initialDelay = 60_000, fixedDelay = 60_000)
+    public void repair() {
+        List<MemberDashboardStore.Entry> entries;
+        try {
+            entries = memberDashboardStore.claimStale(BATCH_SIZE);
+        } catch (Exception e) {
+            log.warn("Failed to claim dashboards to repair", e);
+            return;
+        }
+
+        int rebuilt = 0;
+        for (MemberDashboardStore.Entry entry : entries) {
+            if (!memberDashboardStore.exists(entry.memberId())) {
+                memberDashboardStore.forget(entry);
+                continue;
+            }
+            try {
+                TenantContextHolder.runAs(
+                        entry.tenantId(), () -> taskService.rebuildDashboard(entry.memberId()));
+                rebuilt++;
+            } catch (Exception e) {
+                log.warn("Failed to rebuild dashboard of member {}", entry.memberId(), e);
+            }
+        }
+        if (rebuilt > 0) {
+            log.info("Rebuilt {} of {} stale member dashboards", rebuilt, entries.size());
+        }
+    }
+}
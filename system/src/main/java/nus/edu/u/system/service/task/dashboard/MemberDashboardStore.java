@@ -0,0 +1,321 @@
+package nus.edu.u.system.service.task.dashboard;
+
+import cn.hutool.core.util.ObjectUtil;
+import jakarta.annotation.Resource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import lombok.extern.slf4j.Slf4j;
+import nus.edu.u.common.utils.json.JsonUtils;
+import nus.edu.u.system.domain.vo.task.TaskDashboardRespVO;
+import nus.edu.u.system.domain.vo.task.TasksRespVO;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Denormalized task dashboard of each member, kept in Redis
+ *
+ * <p>A dashboard is a hash with the member profile, the member's groups and one field per task, so
+ * serving it is a single HGETALL. It is built from the database on the first read, after which a
+ * committed task action rewrites just the field of that task and a group membership change drops
+ * the dashboard so it is rebuilt on the next read. Everything else that feeds it, such as event or
+ * profile edits, is caught up by {@link MemberDashboardRepairJob}, which rebuilds dashboards older
+ * than {@link #MAX_AGE}.
+ *
+ * <p>A rebuild keeps the remaining lifetime of the dashboard it replaces, so only a read that finds
+ * no dashboard starts a new {@link #TTL} and dashboards nobody reads still expire.
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-28
+ */
+@Component
+@Slf4j
+public class MemberDashboardStore {
+
+    private static final String KEY_PREFIX = "chronoflow:dashboard:member:";
+
+    /** Sorted set of tenantId:memberId, scored by the time the dashboard was last built */
+    private static final String INDEX_KEY = "chronoflow:dashboard:index";
+
+    private static final String TENANT = "tenant";
+
+    private static final String MEMBER = "member";
+
+    private static final String GROUPS = "groups";
+
+    private static final String TASK_PREFIX = "task:";
+
+    /** Dashboards older than this are rebuilt from the database */
+    public static final Duration MAX_AGE = Duration.ofMinutes(10);
+
+    /** Dashboards of members who stop visiting fall out of Redis */
+    private static final Duration TTL = Duration.ofDays(1);
+
+    /** Fields written per HSET while building, keeps each command small however many tasks */
+    private static final int WRITE_BATCH_SIZE = 500;
+
+    /** A build left behind by a node that died before publishing it */
+    private static final Duration BUILD_TTL = Duration.ofMinutes(1);
+
+    /**
+     * Publish a built dashboard KEYS[1] as KEYS[2], keeping the remaining TTL of the dashboard it
+     * replaces and starting a new one of ARGV[1] milliseconds when there is none
+     */
+    private static final RedisScript<Long> PUBLISH =
+            new DefaultRedisScript<>(
+                    "local ttl = redis.call('PTTL', KEYS[2]) "
+                            + "if ttl < 0 then ttl = ARGV[1] end "
+                            + "redis.call('RENAME', KEYS[1], KEYS[2]) "
+                            + "redis.call('PEXPIRE', KEYS[2], ttl) "
+                            + "return 1",
+                    Long.class);
+
+    /** Write one task, unless the dashboard is gone and will be rebuilt anyway */
+    private static final RedisScript<Long> PATCH =
+            new DefaultRedisScript<>(
+                    "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end "
+                            + "redis.call('HSET', KEYS[1], ARGV[1], ARGV[2]) "
+                            + "return 1",
+                    Long.class);
+
+    /** Take up to ARGV[2] entries built before ARGV[1] and mark them as built at ARGV[3] */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final RedisScript<List> CLAIM =
+            new DefaultRedisScript<>(
+                    "local stale = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], "
+                            + "'LIMIT', 0, ARGV[2]) "
+                            + "for _, entry in ipairs(stale) do "
+                            + "redis.call('ZADD', KEYS[1], ARGV[3], entry) end "
+                            + "return stale",
+                    List.class);
+
+    @Resource private StringRedisTemplate stringRedisTemplate;
+
+    /** A dashboard in the index, with the tenant its rebuild has to run as */
+    public record Entry(Long tenantId, Long memberId) {}
+
+    /**
+     * Stored dashboard of a member
+     *
+     * @param memberId member id
+     * @return dashboard, or null when it has to be built
+     */
+    public TaskDashboardRespVO get(Long memberId) {
+        Map<Object, Object> fields;
+        try {
+            fields = stringRedisTemplate.opsForHash().entries(key(memberId));
+        } catch (Exception e) {
+            log.warn("Failed to read dashboard of member {}", memberId, e);
+            return null;
+        }
+        if (fields.isEmpty() || !fields.containsKey(MEMBER)) {
+            return null;
+        }
+
+        TaskDashboardRespVO dashboard = new TaskDashboardRespVO();
+        dashboard.setMember(
+                JsonUtils.parseObject(
+                        fields.get(MEMBER).toString(), TaskDashboardRespVO.MemberVO.class));
+        dashboard.setGroups(
+                JsonUtils.parseArray(
+                        Objects.toString(fields.get(GROUPS), "[]"),
+                        TaskDashboardRespVO.GroupVO.class));
+        List<TasksRespVO> tasks = new ArrayList<>();
+        for (Map.Entry<Object, Object> field : fields.entrySet()) {
+            if (field.getKey().toString().startsWith(TASK_PREFIX)) {
+                tasks.add(JsonUtils.parseObject(field.getValue().toString(), TasksRespVO.class));
+            }
+        }
+        tasks.sort(Comparator.comparing(TasksRespVO::getId));
+        dashboard.setTasks(tasks);
+        return dashboard;
+    }
+
+    /**
+     * Store a freshly built dashboard
+     *
+     * @param tenantId tenant of the member
+     * @param dashboard dashboard built from the database
+     */
+    public void save(Long tenantId, TaskDashboardRespVO dashboard) {
+        Long memberId = dashboard.getMember().getId();
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put(TENANT, String.valueOf(tenantId));
+        fields.put(MEMBER, JsonUtils.toJsonString(dashboard.getMember()));
+        fields.put(GROUPS, JsonUtils.toJsonString(dashboard.getGroups()));
+        for (TasksRespVO task : dashboard.getTasks()) {
+            fields.put(TASK_PREFIX + task.getId(), JsonUtils.toJsonString(task));
+        }
+        // Built under its own key, so readers and concurrent builds never see half a dashboard
+        String buildKey = key(memberId) + ":build:" + UUID.randomUUID();
+        try {
+            Map<String, String> batch = new HashMap<>();
+            for (Map.Entry<String, String> field : fields.entrySet()) {
+                batch.put(field.getKey(), field.getValue());
+                if (batch.size() == WRITE_BATCH_SIZE) {
+                    writeBatch(buildKey, batch);
+                    batch = new HashMap<>();
+                }
+            }
+            if (!batch.isEmpty()) {
+                writeBatch(buildKey, batch);
+            }
+            stringRedisTemplate.execute(
+                    PUBLISH, List.of(buildKey, key(memberId)), String.valueOf(TTL.toMillis()));
+            stringRedisTemplate
+                    .opsForZSet()
+                    .add(INDEX_KEY, tenantId + ":" + memberId, System.currentTimeMillis());
+        } catch (Exception e) {
+            log.warn("Failed to store dashboard of member {}", memberId, e);
+        }
+    }
+
+    /**
+     * Rewrite one task in the dashboards of its previous and current assignee once the current
+     * transaction commits
+     *
+     * @param taskId task id
+     * @param memberIds members whose dashboards may show the task
+     * @param renderer renders the task for a member, null when it no longer belongs there
+     */
+    public void taskChanged(
+            Long taskId, Collection<Long> memberIds, BiFunction<Long, Long, TasksRespVO> renderer) {
+        LinkedHashSet<Long> members = new LinkedHashSet<>(memberIds);
+        members.remove(null);
+        if (ObjectUtil.isNull(taskId) || members.isEmpty()) {
+            return;
+        }
+        afterCommit(
+                () -> {
+                    for (Long memberId : members) {
+                        patchTask(memberId, taskId, renderer);
+                    }
+                });
+    }
+
+    /**
+     * Drop the dashboards of members once the current transaction commits, used when their groups
+     * change
+     *
+     * @param memberIds member ids
+     */
+    public void evict(Collection<Long> memberIds) {
+        List<String> keys =
+                memberIds.stream().filter(Objects::nonNull).distinct().map(this::key).toList();
+        if (keys.isEmpty()) {
+            return;
+        }
+        afterCommit(
+                () -> {
+                    try {
+                        stringRedisTemplate.delete(keys);
+                    } catch (Exception e) {
+                        log.warn("Failed to evict {} dashboards", keys.size(), e);
+                    }
+                });
+    }
+
+    /**
+     * Claim dashboards due for a rebuild, other nodes skip them until they are due again
+     *
+     * @param limit maximum number of entries
+     * @return claimed entries
+     */
+    public List<Entry> claimStale(int limit) {
+        long now = System.currentTimeMillis();
+        @SuppressWarnings("unchecked")
+        List<String> claimed =
+                stringRedisTemplate.execute(
+                        CLAIM,
+                        List.of(INDEX_KEY),
+                        String.valueOf(now - MAX_AGE.toMillis()),
+                        String.valueOf(limit),
+                        String.valueOf(now));
+        if (ObjectUtil.isNull(claimed)) {
+            return List.of();
+        }
+        return claimed.stream()
+                .map(
+                        entry -> {
+                            int separator = entry.indexOf(':');
+                            return new Entry(
+                                    Long.valueOf(entry.substring(0, separator)),
+                                    Long.valueOf(entry.substring(separator + 1)));
+                        })
+                .toList();
+    }
+
+    /** Whether a member still has a dashboard worth rebuilding */
+    public boolean exists(Long memberId) {
+        return Boolean.TRUE.equals(stringRedisTemplate.hasKey(key(memberId)));
+    }
+
+    /** Remove an entry whose dashboard expired or was evicted */
+    public void forget(Entry entry) {
+        stringRedisTemplate
+                .opsForZSet()
+                .remove(INDEX_KEY, entry.tenantId() + ":" + entry.memberId());
+    }
+
+    private void patchTask(
+            Long memberId, Long taskId, BiFunction<Long, Long, TasksRespVO> renderer) {
+        String key = key(memberId);
+        try {
+            if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(key))) {
+                return;
+            }
+            TasksRespVO task = renderer.apply(memberId, taskId);
+            if (ObjectUtil.isNull(task)) {
+                stringRedisTemplate.opsForHash().delete(key, TASK_PREFIX + taskId);
+                return;
+            }
+            stringRedisTemplate.execute(
+                    PATCH, List.of(key), TASK_PREFIX + taskId, JsonUtils.toJsonString(task));
+        } catch (Exception e) {
+            log.warn("Failed to update task {} on dashboard of {}", taskId, memberId, e);
+            try {
+                stringRedisTemplate.delete(key);
+            } catch (Exception ignored) {
+                // Expires on its own
+            }
+        }
+    }
+
+    /** Expires with every batch, so a build abandoned halfway does not linger */
+    private void writeBatch(String buildKey, Map<String, String> batch) {
+        stringRedisTemplate.opsForHash().putAll(buildKey, batch);
+        stringRedisTemplate.expire(buildKey, BUILD_TTL);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            action.run();
+                        }
+                    });
+            return;
+        }
+        action.run();
+    }
+
+    /** The hash tag keeps a dashboard and its builds in one cluster slot, as the script requires */
+    private String key(Long memberId) {
+        return KEY_PREFIX + "{" + memberId + "}";
+    }
+}
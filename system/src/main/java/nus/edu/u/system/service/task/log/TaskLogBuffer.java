@@ -0,0 +1,312 @@
+package nus.edu.u.system.service.task.log;
+
+import static nus.edu.u.common.utils.exception.ServiceExceptionUtil.exception;
+import static nus.edu.u.system.enums.ErrorCodeConstants.TASK_LOG_ERROR;
+
+import cn.hutool.core.util.ObjectUtil;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Queues;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import nus.edu.u.common.utils.json.JsonUtils;
+import nus.edu.u.framework.mybatis.TenantContextHolder;
+import nus.edu.u.framework.task.TaskLogPropertiesConfig;
+import nus.edu.u.system.domain.dataobject.task.TaskLogDO;
+import nus.edu.u.system.mapper.task.TaskLogMapper;
+import nus.edu.u.system.service.scheduling.LeaderLease;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Write-behind buffer of task logs
+ *
+ * <p>Task actions whose log id nobody waits for hand the log over here instead of inserting it
+ * inside their transaction. The log is spooled to a Redis hash just before the transaction commits,
+ * a spool failure rolls the action back, and it is queued in memory once the commit succeeds. A
+ * flusher thread writes queued logs as multi-row inserts as soon as a batch is full, or when the
+ * flush interval has passed. The queue only batches the inserts: a log leaves the spool once it is
+ * written, so logs lost with a crashed node, refused by a full queue or dropped by a failed flush
+ * are written by {@link #recover()} on the node holding the recovery lease.
+ *
+ * <p>A rolled back action takes its log out of the spool again. Only a node that dies during the
+ * commit itself can leave the log of an action that never happened.
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-29
+ */
+@Component
+@Slf4j
+public class TaskLogBuffer {
+
+    /** Hash of log id to log, for logs that are not in the database yet */
+    private static final String SPOOL_KEY = "chronoflow:task-log:spool";
+
+    private static final String LEASE_NAME = "task-log-recover";
+
+    private static final long TICK_MILLIS = 60_000;
+
+    /** A leader that stops ticking hands over after three missed ticks */
+    private static final Duration LEASE = Duration.ofMillis(TICK_MILLIS * 3);
+
+    /** Spool entries fetched per HSCAN call */
+    private static final int SCAN_COUNT = 500;
+
+    @Resource private TaskLogPropertiesConfig props;
+
+    @Resource private TaskLogMapper taskLogMapper;
+
+    @Resource private StringRedisTemplate stringRedisTemplate;
+
+    @Resource private LeaderLease leaderLease;
+
+    @Resource private ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    private BlockingQueue<TaskLogDO> queue;
+
+    private Thread flusher;
+
+    private volatile boolean running;
+
+    private Timer flushTimer;
+
+    private Counter recoveredCounter;
+
+    @PostConstruct
+    public void init() {
+        queue = new ArrayBlockingQueue<>(props.getQueueCapacity());
+        MeterRegistry registry = meterRegistryProvider.getIfAvailable();
+        if (ObjectUtil.isNotNull(registry)) {
+            Gauge.builder("task.log.queue.depth", queue, Collection::size).register(registry);
+            flushTimer = Timer.builder("task.log.flush").register(registry);
+            recoveredCounter = Counter.builder("task.log.recovered").register(registry);
+        }
+        if (props.isWriteBehind()) {
+            running = true;
+            flusher = new Thread(this::runFlusher, "task-log-flusher");
+            flusher.setDaemon(true);
+            flusher.start();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (ObjectUtil.isNotNull(flusher)) {
+            flusher.interrupt();
+            flusher.join(props.getFlushInterval().toMillis() + 5_000);
+        }
+        List<TaskLogDO> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        flush(rest);
+    }
+
+    public boolean isEnabled() {
+        return props.isWriteBehind();
+    }
+
+    /**
+     * Hand over a log, it is spooled as part of the current transaction and queued once that
+     * commits
+     *
+     * @param taskLog log with its id, tenant and audit fields already set
+     */
+    public void append(TaskLogDO taskLog) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            spool(taskLog);
+            enqueue(taskLog);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void beforeCommit(boolean readOnly) {
+                        spool(taskLog);
+                    }
+
+                    @Override
+                    public void afterCompletion(int status) {
+                        if (status == STATUS_COMMITTED) {
+                            enqueue(taskLog);
+                        } else if (status == STATUS_ROLLED_BACK) {
+                            try {
+                                unspool(List.of(taskLog));
+                            } catch (Exception e) {
+                                log.warn(
+                                        "Failed to unspool rolled back log {}", taskLog.getId(), e);
+                            }
+                        }
+                    }
+                });
+    }
+
+    /** Logs waiting in memory */
+    public int depth() {
+        return queue.size();
+    }
+
+    /**
+     * Write spooled logs older than the recovery age, covering logs the node that queued them never
+     * wrote
+     */
+    @Scheduled(initialDelay = TICK_MILLIS, fixedDelay = TICK_MILLIS)
+    public void recover() {
+        if (!leaderLease.acquire(LEASE_NAME, LEASE)) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minus(props.getRecoverAfter());
+        List<TaskLogDO> stale = new ArrayList<>();
+        int recovered = 0;
+        // Scanned in pages, so a large spool never blocks Redis, and written as it is found
+        try (Cursor<Map.Entry<Object, Object>> cursor =
+                stringRedisTemplate
+                        .opsForHash()
+                        .scan(SPOOL_KEY, ScanOptions.scanOptions().count(SCAN_COUNT).build())) {
+            while (cursor.hasNext()) {
+                TaskLogDO taskLog =
+                        JsonUtils.parseObject(cursor.next().getValue().toString(), TaskLogDO.class);
+                if (taskLog.getCreateTime().isBefore(cutoff)) {
+                    stale.add(taskLog);
+                }
+                if (stale.size() == props.getBatchSize()) {
+                    recovered += recoverBatch(stale);
+                    stale = new ArrayList<>();
+                }
+            }
+            recovered += recoverBatch(stale);
+        } catch (Exception e) {
+            log.warn("Failed to read task log spool", e);
+        }
+        if (recovered > 0) {
+            log.info("Recovered {} spooled task logs", recovered);
+            if (ObjectUtil.isNotNull(recoveredCounter)) {
+                recoveredCounter.increment(recovered);
+            }
+        }
+    }
+
+    /** Write a batch and take it out of the spool, a batch that fails stays for recovery */
+    void flush(List<TaskLogDO> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            write(batch);
+            unspool(batch);
+        } catch (Exception e) {
+            log.warn("Failed to flush {} task logs, left to recovery", batch.size(), e);
+        } finally {
+            if (ObjectUtil.isNotNull(flushTimer)) {
+                flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private int recoverBatch(List<TaskLogDO> stale) {
+        if (stale.isEmpty()) {
+            return 0;
+        }
+        try {
+            write(stale);
+            unspool(stale);
+            return stale.size();
+        } catch (Exception e) {
+            log.warn("Failed to recover {} spooled task logs", stale.size(), e);
+            return 0;
+        }
+    }
+
+    private void spool(TaskLogDO taskLog) {
+        try {
+            stringRedisTemplate
+                    .opsForHash()
+                    .put(
+                            SPOOL_KEY,
+                            String.valueOf(taskLog.getId()),
+                            JsonUtils.toJsonString(taskLog));
+        } catch (Exception e) {
+            log.warn("Failed to spool task log {}", taskLog.getId(), e);
+            throw exception(TASK_LOG_ERROR);
+        }
+    }
+
+    private void enqueue(TaskLogDO taskLog) {
+        if (!queue.offer(taskLog)) {
+            log.warn("Task log queue full, log {} left to recovery", taskLog.getId());
+        }
+    }
+
+    private void runFlusher() {
+        while (running) {
+            List<TaskLogDO> batch = new ArrayList<>(props.getBatchSize());
+            try {
+                Queues.drain(queue, batch, props.getBatchSize(), props.getFlushInterval());
+            } catch (InterruptedException e) {
+                // Shutting down, what is left in the queue is flushed by shutdown()
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            flush(batch);
+        }
+    }
+
+    /** Insert logs as the tenant each belongs to */
+    private void write(List<TaskLogDO> logs) {
+        Map<Long, List<TaskLogDO>> byTenant =
+                logs.stream()
+                        .collect(
+                                Collectors.groupingBy(
+                                        TaskLogDO::getTenantId,
+                                        LinkedHashMap::new,
+                                        Collectors.toList()));
+        byTenant.forEach(
+                (tenantId, tenantLogs) ->
+                        TenantContextHolder.runAs(tenantId, () -> insert(tenantLogs)));
+    }
+
+    private void insert(List<TaskLogDO> logs) {
+        for (List<TaskLogDO> chunk : Lists.partition(logs, props.getBatchSize())) {
+            try {
+                taskLogMapper.insertBatch(chunk);
+            } catch (DuplicateKeyException e) {
+                // Part of the batch was written by a recovery run already
+                for (TaskLogDO taskLog : chunk) {
+                    try {
+                        taskLogMapper.insert(taskLog);
+                    } catch (DuplicateKeyException ignored) {
+                        // Already written
+                    }
+                }
+            }
+        }
+    }
+
+    private void unspool(List<TaskLogDO> logs) {
+        Object[] ids = logs.stream().map(taskLog -> String.valueOf(taskLog.getId())).toArray();
+        stringRedisTemplate.opsForHash().delete(SPOOL_KEY, ids);
+    }
+}
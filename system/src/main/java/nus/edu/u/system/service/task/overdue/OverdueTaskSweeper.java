@@ -0,0 +1,128 @@
+package nus.edu.u.system.service.task.overdue;
+
+import cn.hutool.core.util.ObjectUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import nus.edu.u.framework.mybatis.TenantContextHolder;
+import nus.edu.u.system.domain.dataobject.task.TaskDO;
+import nus.edu.u.system.enums.task.TaskStatusEnum;
+import nus.edu.u.system.mapper.task.TaskMapper;
+import nus.edu.u.system.service.scheduling.LeaderLease;
+import nus.edu.u.system.service.task.TaskService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Marks open tasks whose end time has passed as DELAYED
+ *
+ * <p>Once a minute, the node holding the {@link LeaderLease} finds the tenants with overdue tasks
+ * and, as each tenant, marks them oldest first in chunks of {@link #CHUNK_SIZE}. Each chunk is one
+ * conditional UPDATE plus one multi-row log insert in its own transaction. The sweep publishes how
+ * many tasks it marked, how long it took and how far past its end time the oldest marked task was.
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-29
+ */
+@Component
+@Slf4j
+public class OverdueTaskSweeper {
+
+    private static final String LEASE_NAME = "task-overdue";
+
+    private static final long TICK_MILLIS = 60_000;
+
+    /** A leader that stops ticking hands over after three missed ticks */
+    private static final Duration LEASE = Duration.ofMillis(TICK_MILLIS * 3);
+
+    private static final int CHUNK_SIZE = 500;
+
+    @Resource private TaskMapper taskMapper;
+
+    @Resource private TaskService taskService;
+
+    @Resource private LeaderLease leaderLease;
+
+    @Resource private ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    /** Seconds the oldest task marked by the last sweep was past its end time */
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    private Counter markedCounter;
+
+    private Timer sweepTimer;
+
+    @PostConstruct
+    public void init() {
+        MeterRegistry registry = meterRegistryProvider.getIfAvailable();
+        if (ObjectUtil.isNotNull(registry)) {
+            Gauge.builder("task.overdue.lag", lagSeconds, AtomicLong::get)
+                    .baseUnit("seconds")
+                    .register(registry);
+            markedCounter = Counter.builder("task.overdue.marked").register(registry);
+            sweepTimer = Timer.builder("task.overdue.sweep").register(registry);
+        }
+    }
+
+    @Scheduled(initialDelay = TICK_MILLIS, fixedDelay = TICK_MILLIS)
+    public void sweep() {
+        if (!leaderLease.acquire(LEASE_NAME, LEASE)) {
+            return;
+        }
+        long start = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> tenantIds;
+        try {
+            tenantIds = taskMapper.selectOverdueTenantIds(now, TaskStatusEnum.OPEN_STATUSES);
+        } catch (Exception e) {
+            log.warn("Failed to find tenants with overdue tasks", e);
+            return;
+        }
+
+        List<TaskDO> marked = new ArrayList<>();
+        for (Long tenantId : tenantIds) {
+            try {
+                TenantContextHolder.runAs(tenantId, () -> markTenant(now, marked));
+            } catch (Exception e) {
+                log.warn("Failed to mark overdue tasks of tenant {}", tenantId, e);
+            }
+        }
+
+        lagSeconds.set(
+                marked.stream()
+                        .map(TaskDO::getEndTime)
+                        .min(Comparator.naturalOrder())
+                        .map(oldest -> Duration.between(oldest, now).toSeconds())
+                        .orElse(0L));
+        if (ObjectUtil.isNotNull(markedCounter)) {
+            markedCounter.increment(marked.size());
+            sweepTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!marked.isEmpty()) {
+            log.info(
+                    "Marked {} overdue tasks of {} tenants as delayed",
+                    marked.size(),
+                    tenantIds.size());
+        }
+    }
+
+    private void markTenant(LocalDateTime now, List<TaskDO> marked) {
+        List<TaskDO> chunk;
+        do {
+            chunk = taskService.markOverdueTasks(now, CHUNK_SIZE);
+            marked.addAll(chunk);
+        } while (chunk.size() == CHUNK_SIZE);
+    }
+}
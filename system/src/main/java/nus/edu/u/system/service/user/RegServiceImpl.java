@@ -209,10 +209,8 @@ public class RegServiceImpl implements RegService {
         if (!isSuccess) {
             throw exception(REG_FAIL);
         }
-        try {
-            organizerEmailService.sendWelcomeEmailOrganizer(regOrganizerReqVO);
-        } catch (Exception ignored) {
-        }
+        // Written to the outbox in this transaction, sent once the registration commits
+        organizerEmailService.sendWelcomeEmailOrganizer(regOrganizerReqVO);
         return isSuccess;
     }
 }
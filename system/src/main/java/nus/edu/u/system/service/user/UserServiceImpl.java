@@ -124,11 +124,9 @@ public class UserServiceImpl implements UserService {
                 }
             }
         }
-        try {
-            memberEmailService.sendMemberInviteEmail(
-                    dto.getEmail(), new RegSearchReqVO(getCurrentTenantId(), user.getId()));
-        } catch (Exception ignored) {
-        }
+        // Written to the outbox in this transaction, sent once the user commits
+        memberEmailService.sendMemberInviteEmail(
+                dto.getEmail(), new RegSearchReqVO(getCurrentTenantId(), user.getId()));
 
         return user.getId();
     }
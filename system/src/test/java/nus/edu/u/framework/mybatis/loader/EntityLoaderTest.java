@@ -0,0 +1,86 @@
+package nus.edu.u.framework.mybatis.loader;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import nus.edu.u.system.domain.dataobject.user.UserDO;
+import nus.edu.u.system.mapper.user.UserMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+class EntityLoaderTest {
+
+    private final UserMapper userMapper = mock(UserMapper.class);
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private static UserDO user(Long id) {
+        return UserDO.builder().id(id).username("user" + id).build();
+    }
+
+    @Test
+    void load_dispatchesPrimedIdsInOneQueryAndMemoizes() {
+        when(userMapper.selectBatchIds(List.of(1L, 2L, 3L)))
+                .thenReturn(List.of(user(1L), user(3L)));
+        EntityLoader loader = new EntityLoader();
+        EntityLoader.Batch<UserDO> users = loader.of(UserDO.class, userMapper, UserDO::getId);
+
+        users.prime(Arrays.asList(1L, 2L, null));
+        assertThat(users.load(3L).getUsername()).isEqualTo("user3");
+        assertThat(users.load(1L).getUsername()).isEqualTo("user1");
+        assertThat(users.load(2L)).isNull();
+        assertThat(users.loadMany(List.of(1L, 2L, 3L))).containsOnlyKeys(1L, 3L);
+
+        verify(userMapper).selectBatchIds(anyCollection());
+        verifyNoMoreInteractions(userMapper);
+        assertThat(loader.stats()).isEqualTo(new EntityLoader.Stats(5, 1, 1));
+    }
+
+    @Test
+    void loadMany_sendsLoneIdThroughPrimaryKeyLookup() {
+        when(userMapper.selectById(7L)).thenReturn(user(7L));
+        EntityLoader.Batch<UserDO> users =
+                new EntityLoader().of(UserDO.class, userMapper, UserDO::getId);
+
+        Map<Long, UserDO> result = users.loadMany(Arrays.asList(7L, null, 7L));
+
+        assertThat(result).containsOnlyKeys(7L);
+        verify(userMapper).selectById(7L);
+        verifyNoMoreInteractions(userMapper);
+    }
+
+    @Test
+    void evict_reloadsOnNextLookup() {
+        when(userMapper.selectById(1L)).thenReturn(user(1L));
+        EntityLoader.Batch<UserDO> users =
+                new EntityLoader().of(UserDO.class, userMapper, UserDO::getId);
+
+        users.load(1L);
+        users.evict(1L);
+        users.load(1L);
+
+        verify(userMapper, times(2)).selectById(1L);
+    }
+
+    @Test
+    void current_isSharedWithinRequestOnly() {
+        assertThat(EntityLoader.current()).isNotSameAs(EntityLoader.current());
+
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(new MockHttpServletRequest()));
+        EntityLoader loader = EntityLoader.current();
+        assertThat(EntityLoader.current()).isSameAs(loader);
+        assertThat(EntityLoader.current().of(UserDO.class, userMapper, UserDO::getId))
+                .isSameAs(loader.of(UserDO.class, userMapper, UserDO::getId));
+    }
+}
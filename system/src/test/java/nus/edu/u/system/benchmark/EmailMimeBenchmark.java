@@ -0,0 +1,133 @@
+package nus.edu.u.system.benchmark;
+
+import jakarta.activation.DataHandler;
+import jakarta.mail.Message;
+import jakarta.mail.Session;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeBodyPart;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.internet.MimeMultipart;
+import jakarta.mail.util.ByteArrayDataSource;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import nus.edu.u.system.domain.dto.AttachmentDTO;
+import nus.edu.u.system.domain.dto.EmailRequestDTO;
+import nus.edu.u.system.provider.email.SESEmailClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import software.amazon.awssdk.core.SdkBytes;
+
+/**
+ * Allocation per message of the MIME assembly of an attendee invite, with a 20 KB logo and a 3 KB
+ * QR code inlined
+ *
+ * <p>{@code perMessageSession} is how emails were serialized before: a new mail session per
+ * message, a buffer grown from its default size, and the bytes copied once out of the buffer and
+ * once more into the SDK. {@code sharedSessionSizedBuffer} is {@link SESEmailClient#toMime}. Run
+ * {@link #main(String[])} from the IDE, or after {@code mvn -pl system test-compile}, and compare
+ * {@code gc.alloc.rate.norm}, the bytes allocated per message.
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-29
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class EmailMimeBenchmark {
+
+    private static final String FROM = "no-reply@chronoflow.example";
+
+    private EmailRequestDTO email;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        byte[] logo = new byte[20 * 1024];
+        byte[] qr = new byte[3 * 1024];
+        random.nextBytes(logo);
+        random.nextBytes(qr);
+        String html =
+                "<html><body>"
+                        + "<p>Hi Guest, you are invited to Launch Night.</p>".repeat(200)
+                        + "<img src=\"cid:attendee-qr\"/><img src=\"cid:logo\"/>"
+                        + "</body></html>";
+        email =
+                EmailRequestDTO.builder()
+                        .to("guest@example.com")
+                        .subject("Your QR code for ChronoFlow")
+                        .html(html)
+                        .attachments(
+                                List.of(
+                                        new AttachmentDTO(
+                                                null, "image/png", qr, null, true, "attendee-qr"),
+                                        new AttachmentDTO(
+                                                "logo.png", "image/png", logo, null, true, "logo")))
+                        .build();
+    }
+
+    @Benchmark
+    public SdkBytes sharedSessionSizedBuffer() throws Exception {
+        return SESEmailClient.toMime(email, FROM);
+    }
+
+    @Benchmark
+    public SdkBytes perMessageSession() throws Exception {
+        Session session = Session.getInstance(new Properties());
+        MimeMessage mime = new MimeMessage(session);
+        mime.setFrom(new InternetAddress(FROM));
+        mime.setRecipient(Message.RecipientType.TO, new InternetAddress(email.getTo()));
+        mime.setSubject(email.getSubject(), StandardCharsets.UTF_8.name());
+
+        MimeMultipart mixed = new MimeMultipart("mixed");
+        MimeBodyPart relatedContainer = new MimeBodyPart();
+        MimeMultipart related = new MimeMultipart("related");
+        MimeBodyPart htmlPart = new MimeBodyPart();
+        htmlPart.setText(email.getHtml(), StandardCharsets.UTF_8.name(), "html");
+        related.addBodyPart(htmlPart);
+        for (AttachmentDTO a : email.getAttachments()) {
+            MimeBodyPart inlinePart = new MimeBodyPart();
+            inlinePart.setDataHandler(
+                    new DataHandler(new ByteArrayDataSource(a.bytes(), a.contentType())));
+            inlinePart.setHeader("Content-ID", "<" + a.contentId() + ">");
+            inlinePart.setHeader("Content-Transfer-Encoding", "base64");
+            inlinePart.setDisposition("inline");
+            related.addBodyPart(inlinePart);
+        }
+        relatedContainer.setContent(related);
+        mixed.addBodyPart(relatedContainer);
+        mime.setContent(mixed);
+        mime.saveChanges();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        mime.writeTo(out);
+        return SdkBytes.fromByteArray(out.toByteArray());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(
+                        new OptionsBuilder()
+                                .include(EmailMimeBenchmark.class.getSimpleName())
+                                .addProfiler(GCProfiler.class)
+                                .build())
+                .run();
+    }
+}
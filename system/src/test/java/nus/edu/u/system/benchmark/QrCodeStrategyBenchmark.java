@@ -0,0 +1,89 @@
+package nus.edu.u.system.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import nus.edu.u.system.domain.vo.qrcode.QrCodeReqVO;
+import nus.edu.u.system.service.qrcode.strategy.CompactQrCodeStrategy;
+import nus.edu.u.system.service.qrcode.strategy.SecureQrCodeStrategy;
+import nus.edu.u.system.service.qrcode.strategy.StandardQrCodeStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Throughput and allocation of the QR code strategies for a check-in sized code
+ *
+ * <p>Run {@link #main(String[])} from the IDE, or after {@code mvn -pl system test-compile}. The gc
+ * profiler reports {@code gc.alloc.rate.norm}, the bytes allocated per render.
+ *
+ * @author Fan Yazhuoting
+ * @date 2025-10-26
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class QrCodeStrategyBenchmark {
+
+    private static final String CONTENT =
+            "https://chronoflow.example/system/attendee/scan?token="
+                    + "v1.AAAAAAAAAGQAAAAAAAAAB2kZ8Q8.Xy3fQ0n1bYc2WqLk";
+
+    @Param({"400"})
+    private int size;
+
+    private final StandardQrCodeStrategy standard = new StandardQrCodeStrategy();
+    private final SecureQrCodeStrategy secure = new SecureQrCodeStrategy();
+    private final CompactQrCodeStrategy compact = new CompactQrCodeStrategy();
+
+    private QrCodeReqVO pngRequest;
+    private QrCodeReqVO svgRequest;
+
+    @Setup
+    public void setUp() {
+        pngRequest = QrCodeReqVO.builder().content(CONTENT).size(size).format("PNG").build();
+        svgRequest = QrCodeReqVO.builder().content(CONTENT).size(size).format("SVG").build();
+    }
+
+    @Benchmark
+    public byte[] standardPng() {
+        return standard.generateBytes(pngRequest);
+    }
+
+    @Benchmark
+    public byte[] securePng() {
+        return secure.generateBytes(pngRequest);
+    }
+
+    @Benchmark
+    public byte[] compactPng() {
+        return compact.generateBytes(pngRequest);
+    }
+
+    @Benchmark
+    public byte[] compactSvg() {
+        return compact.generateBytes(svgRequest);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(
+                        new OptionsBuilder()
+                                .include(QrCodeStrategyBenchmark.class.getSimpleName())
+                                .addProfiler(GCProfiler.class)
+                                .build())
+                .run();
+    }
+}
@@ -8,6 +8,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import cn.dev33.satoken.stp.StpUtil;
 import java.util.List;
 import nus.edu.u.system.domain.vo.file.FileResultVO;
+import nus.edu.u.system.domain.vo.task.TaskBulkActionReqVO;
+import nus.edu.u.system.domain.vo.task.TaskBulkActionRespVO;
 import nus.edu.u.system.domain.vo.task.TaskCreateReqVO;
 import nus.edu.u.system.domain.vo.task.TaskDashboardRespVO;
 import nus.edu.u.system.domain.vo.task.TaskLogRespVO;
@@ -125,6 +127,26 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.data.id").value(2));
     }
 
+    @Test
+    void bulkAction_bindsJsonBody() throws Exception {
+        TaskBulkActionRespVO respVO =
+                TaskBulkActionRespVO.builder().succeeded(2).failed(0).results(List.of()).build();
+        when(taskService.bulkAction(eq(3L), any(TaskBulkActionReqVO.class))).thenReturn(respVO);
+
+        mockMvc.perform(
+                        patch("/system/task/{eventId}/bulk", 3L)
+                                .contentType("application/json")
+                                .content("{\"taskIds\":[10,11],\"type\":9,\"remark\":\"ok\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.succeeded").value(2));
+
+        ArgumentCaptor<TaskBulkActionReqVO> captor =
+                ArgumentCaptor.forClass(TaskBulkActionReqVO.class);
+        verify(taskService).bulkAction(eq(3L), captor.capture());
+        Assertions.assertThat(captor.getValue().getTaskIds()).containsExactly(10L, 11L);
+        Assertions.assertThat(captor.getValue().getType()).isEqualTo(9);
+    }
+
     @Test
     void deleteTask_returnsMessage() throws Exception {
         mockMvc.perform(delete("/system/task/{eventId}/{taskId}", 6L, 9L))
@@ -7,7 +7,11 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.List;
+import nus.edu.u.common.core.domain.CursorPageResult;
+import nus.edu.u.system.domain.dto.CheckInManifestDTO;
+import nus.edu.u.system.domain.dto.QrImageDTO;
 import nus.edu.u.system.domain.vo.attendee.AttendeeInfoRespVO;
+import nus.edu.u.system.domain.vo.attendee.AttendeePageReqVO;
 import nus.edu.u.system.domain.vo.attendee.AttendeeQrCodeRespVO;
 import nus.edu.u.system.domain.vo.attendee.AttendeeReqVO;
 import nus.edu.u.system.domain.vo.checkin.CheckInReqVO;
@@ -15,6 +19,8 @@ import nus.edu.u.system.domain.vo.checkin.CheckInRespVO;
 import nus.edu.u.system.domain.vo.checkin.GenerateQrCodesReqVO;
 import nus.edu.u.system.domain.vo.checkin.GenerateQrCodesRespVO;
 import nus.edu.u.system.service.attendee.AttendeeService;
+import nus.edu.u.system.service.attendee.OfflineCheckInService;
+import nus.edu.u.system.service.attendee.stats.CheckInStatsBroadcaster;
 import nus.edu.u.system.service.excel.ExcelService;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -28,12 +34,15 @@ import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @ExtendWith(MockitoExtension.class)
 class AttendeeControllerTest {
 
     @Mock private AttendeeService attendeeService;
     @Mock private ExcelService excelService;
+    @Mock private OfflineCheckInService offlineCheckInService;
+    @Mock private CheckInStatsBroadcaster checkInStatsBroadcaster;
     @InjectMocks private AttendeeController attendeeController;
 
     private MockMvc mockMvc;
@@ -58,6 +67,42 @@ class AttendeeControllerTest {
         verify(attendeeService).list(1L);
     }
 
+    @Test
+    void page_bindsCursorAndFilters() throws Exception {
+        AttendeeQrCodeRespVO respVO =
+                AttendeeQrCodeRespVO.builder().id(51L).attendeeName("Amy").build();
+        when(attendeeService.page(eq(1L), any(AttendeePageReqVO.class)))
+                .thenReturn(new CursorPageResult<>(List.of(respVO), 51L));
+
+        mockMvc.perform(
+                        get("/system/attendee/page/{eventId}", 1L)
+                                .param("cursor", "50")
+                                .param("limit", "1")
+                                .param("checkInStatus", "0")
+                                .param("keyword", "am"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.list[0].attendeeName").value("Amy"))
+                .andExpect(jsonPath("$.data.nextCursor").value(51))
+                .andExpect(jsonPath("$.data.hasMore").value(true));
+
+        ArgumentCaptor<AttendeePageReqVO> captor = ArgumentCaptor.forClass(AttendeePageReqVO.class);
+        verify(attendeeService).page(eq(1L), captor.capture());
+        Assertions.assertThat(captor.getValue().getCursor()).isEqualTo(50L);
+        Assertions.assertThat(captor.getValue().getLimit()).isEqualTo(1);
+        Assertions.assertThat(captor.getValue().getCheckInStatus()).isZero();
+        Assertions.assertThat(captor.getValue().getKeyword()).isEqualTo("am");
+    }
+
+    @Test
+    void checkInStats_opensEventStream() throws Exception {
+        when(checkInStatsBroadcaster.subscribe(1L)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/system/attendee/checkin-stats/{eventId}", 1L))
+                .andExpect(request().asyncStarted());
+
+        verify(checkInStatsBroadcaster).subscribe(1L);
+    }
+
     @Test
     void generateQrCodes_invokesService() throws Exception {
         AttendeeReqVO attendeeReqVO = new AttendeeReqVO();
@@ -168,4 +213,40 @@ class AttendeeControllerTest {
                 .andExpect(jsonPath("$.data").value(true));
         verify(attendeeService).delete(5L);
     }
+
+    @Test
+    void manifest_returnsBinaryWithoutKey() throws Exception {
+        CheckInManifestDTO manifest =
+                CheckInManifestDTO.builder().content(new byte[] {1, 2, 3}).attendeeCount(0).build();
+        when(offlineCheckInService.buildManifest(7L)).thenReturn(manifest);
+
+        mockMvc.perform(get("/system/attendee/manifest/{eventId}", 7L))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+                .andExpect(header().doesNotExist("X-Manifest-Key"))
+                .andExpect(content().bytes(new byte[] {1, 2, 3}));
+    }
+
+    @Test
+    void qrImage_servesBytesWithEtag_andRevalidates() throws Exception {
+        QrImageDTO image =
+                QrImageDTO.builder()
+                        .bytes(new byte[] {9, 8, 7})
+                        .contentType("image/png")
+                        .etag("\"abc\"")
+                        .build();
+        when(attendeeService.getCheckInQrImage("tok")).thenReturn(image);
+
+        mockMvc.perform(get("/system/attendee/qr").param("token", "tok"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"abc\""))
+                .andExpect(content().contentType(MediaType.IMAGE_PNG))
+                .andExpect(content().bytes(new byte[] {9, 8, 7}));
+
+        mockMvc.perform(
+                        get("/system/attendee/qr")
+                                .param("token", "tok")
+                                .header("If-None-Match", "\"abc\""))
+                .andExpect(status().isNotModified());
+    }
 }
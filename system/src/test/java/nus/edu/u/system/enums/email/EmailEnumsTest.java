@@ -23,7 +23,11 @@ class EmailEnumsTest {
     void emailStatus_hasLifecycleStates() {
         assertThat(EnumSet.allOf(EmailStatus.class))
                 .containsExactlyInAnyOrder(
-                        EmailStatus.PENDING, EmailStatus.SENT, EmailStatus.FAILED);
+                        EmailStatus.PENDING,
+                        EmailStatus.SENDING,
+                        EmailStatus.SENT,
+                        EmailStatus.FAILED,
+                        EmailStatus.DEAD);
     }
 
     @Test
@@ -0,0 +1,261 @@
+package nus.edu.u.system.provider.email;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import nus.edu.u.framework.notification.email.EmailProviderPropertiesConfig;
+import nus.edu.u.system.domain.dto.AttachmentDTO;
+import nus.edu.u.system.domain.dto.BulkEmailEntryDTO;
+import nus.edu.u.system.domain.dto.EmailRequestDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.sesv2.SesV2Client;
+import software.amazon.awssdk.services.sesv2.model.AlreadyExistsException;
+import software.amazon.awssdk.services.sesv2.model.BulkEmailEntry;
+import software.amazon.awssdk.services.sesv2.model.BulkEmailEntryResult;
+import software.amazon.awssdk.services.sesv2.model.BulkEmailStatus;
+import software.amazon.awssdk.services.sesv2.model.CreateEmailTemplateRequest;
+import software.amazon.awssdk.services.sesv2.model.DeleteEmailTemplateRequest;
+import software.amazon.awssdk.services.sesv2.model.EmailTemplateMetadata;
+import software.amazon.awssdk.services.sesv2.model.ListEmailTemplatesRequest;
+import software.amazon.awssdk.services.sesv2.model.ListEmailTemplatesResponse;
+import software.amazon.awssdk.services.sesv2.model.NotFoundException;
+import software.amazon.awssdk.services.sesv2.model.SendBulkEmailRequest;
+import software.amazon.awssdk.services.sesv2.model.SendBulkEmailResponse;
+import software.amazon.awssdk.services.sesv2.model.SendEmailRequest;
+
+class SESEmailClientTest {
+
+    private SesV2Client ses;
+    private SESEmailClient client;
+
+    @BeforeEach
+    void setUp() {
+        ses = mock(SesV2Client.class);
+        EmailProviderPropertiesConfig props = new EmailProviderPropertiesConfig();
+        props.setFrom("no-reply@example.com");
+        client = new SESEmailClient(ses, props);
+        when(ses.listEmailTemplates(any(ListEmailTemplatesRequest.class)))
+                .thenReturn(ListEmailTemplatesResponse.builder().build());
+    }
+
+    private static List<BulkEmailEntryDTO> entries(int count) {
+        List<BulkEmailEntryDTO> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entries.add(new BulkEmailEntryDTO("user" + i + "@example.com", Map.of("n", i)));
+        }
+        return entries;
+    }
+
+    /** SES stand-in accepting every destination but the ones listed */
+    private void accept(String... rejected) {
+        List<String> bounced = List.of(rejected);
+        when(ses.sendBulkEmail(any(SendBulkEmailRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            SendBulkEmailRequest req = invocation.getArgument(0);
+                            List<BulkEmailEntryResult> results =
+                                    req.bulkEmailEntries().stream()
+                                            .map(entry -> result(entry, bounced))
+                                            .toList();
+                            return SendBulkEmailResponse.builder()
+                                    .bulkEmailEntryResults(results)
+                                    .build();
+                        });
+    }
+
+    private static BulkEmailEntryResult result(BulkEmailEntry entry, List<String> bounced) {
+        if (bounced.contains(entry.destination().toAddresses().get(0))) {
+            return BulkEmailEntryResult.builder()
+                    .status(BulkEmailStatus.MESSAGE_REJECTED)
+                    .error("rejected")
+                    .build();
+        }
+        return BulkEmailEntryResult.builder().status(BulkEmailStatus.SUCCESS).build();
+    }
+
+    @Test
+    void sendBulkEmail_sendsBatchesOfFifty() {
+        accept();
+
+        List<String> errors = client.sendBulkEmail("tpl", entries(120));
+
+        ArgumentCaptor<SendBulkEmailRequest> captor =
+                ArgumentCaptor.forClass(SendBulkEmailRequest.class);
+        verify(ses, times(3)).sendBulkEmail(captor.capture());
+        assertThat(captor.getAllValues())
+                .extracting(req -> req.bulkEmailEntries().size())
+                .containsExactly(50, 50, 20);
+        SendBulkEmailRequest first = captor.getAllValues().get(0);
+        assertThat(first.fromEmailAddress()).isEqualTo("no-reply@example.com");
+        assertThat(first.defaultContent().template().templateName()).isEqualTo("tpl");
+        assertThat(
+                        first.bulkEmailEntries()
+                                .get(1)
+                                .replacementEmailContent()
+                                .replacementTemplate()
+                                .replacementTemplateData())
+                .isEqualTo("{\"n\":1}");
+        assertThat(errors).hasSize(120).containsOnlyNulls();
+    }
+
+    @Test
+    void sendBulkEmail_reportsEachRejectedDestination() {
+        accept("user1@example.com");
+
+        List<String> errors = client.sendBulkEmail("tpl", entries(3));
+
+        assertThat(errors.get(0)).isNull();
+        assertThat(errors.get(1)).contains("MESSAGE_REJECTED").contains("rejected");
+        assertThat(errors.get(2)).isNull();
+    }
+
+    @Test
+    void registerTemplate_storesEachContentOnce() {
+        String name = client.registerTemplate("invite", "{{subject}}", "<p>{{name}}</p>");
+        String again = client.registerTemplate("invite", "{{subject}}", "<p>{{name}}</p>");
+        String changed = client.registerTemplate("invite", "{{subject}}", "<p>Hi {{name}}</p>");
+
+        assertThat(again).isEqualTo(name);
+        assertThat(changed).isNotEqualTo(name);
+        assertThat(name).startsWith("chronoflow-invite-").hasSizeLessThanOrEqualTo(64);
+        verify(ses, times(2)).createEmailTemplate(any(CreateEmailTemplateRequest.class));
+    }
+
+    @Test
+    void registerTemplate_storedByAnotherNodeIsReused() {
+        when(ses.createEmailTemplate(any(CreateEmailTemplateRequest.class)))
+                .thenThrow(AlreadyExistsException.builder().message("exists").build());
+
+        String name = client.registerTemplate("invite", "{{subject}}", "<p>{{name}}</p>");
+
+        assertThat(name).startsWith("chronoflow-");
+        assertThat(client.registerTemplate("invite", "{{subject}}", "<p>{{name}}</p>"))
+                .isEqualTo(name);
+        verify(ses, times(1)).createEmailTemplate(any(CreateEmailTemplateRequest.class));
+    }
+
+    private static EmailTemplateMetadata stored(String name, int minutesAgo) {
+        return EmailTemplateMetadata.builder()
+                .templateName(name)
+                .createdTimestamp(Instant.now().minusSeconds(minutesAgo * 60L))
+                .build();
+    }
+
+    @Test
+    void registerTemplate_deletesVersionsPastTheNewest() {
+        String hash = "0123456789abcdef0123";
+        when(ses.listEmailTemplates(any(ListEmailTemplatesRequest.class)))
+                .thenReturn(
+                        ListEmailTemplatesResponse.builder()
+                                .templatesMetadata(
+                                        stored("chronoflow-invite-" + hash, 40),
+                                        stored("chronoflow-invite-" + hash.replace('0', 'a'), 30),
+                                        stored("chronoflow-invite-x-" + hash, 50),
+                                        stored("chronoflow-invite-" + hash.replace('1', 'b'), 20),
+                                        stored("chronoflow-invite-" + hash.replace('2', 'c'), 10))
+                                .nextToken("page-2")
+                                .build(),
+                        ListEmailTemplatesResponse.builder()
+                                .templatesMetadata(stored("chronoflow-reminder-" + hash, 60))
+                                .build());
+
+        client.registerTemplate("invite", "{{subject}}", "<p>{{name}}</p>");
+
+        // Only the oldest invite version goes, other ids are left alone
+        ArgumentCaptor<DeleteEmailTemplateRequest> captor =
+                ArgumentCaptor.forClass(DeleteEmailTemplateRequest.class);
+        verify(ses).deleteEmailTemplate(captor.capture());
+        assertThat(captor.getValue().templateName()).isEqualTo("chronoflow-invite-" + hash);
+    }
+
+    @Test
+    void sendBulkEmail_failedBatchKeepsTheResultsOfEarlierOnes() {
+        when(ses.sendBulkEmail(any(SendBulkEmailRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            SendBulkEmailRequest req = invocation.getArgument(0);
+                            return SendBulkEmailResponse.builder()
+                                    .bulkEmailEntryResults(
+                                            req.bulkEmailEntries().stream()
+                                                    .map(entry -> result(entry, List.of()))
+                                                    .toList())
+                                    .build();
+                        })
+                .thenThrow(NotFoundException.builder().message("no template").build());
+
+        List<String> errors = client.sendBulkEmail("tpl", entries(120));
+
+        assertThat(errors).hasSize(120);
+        assertThat(errors.subList(0, 50)).containsOnlyNulls();
+        assertThat(errors.subList(50, 120)).allSatisfy(e -> assertThat(e).contains("no template"));
+        verify(ses, times(2)).sendBulkEmail(any(SendBulkEmailRequest.class));
+    }
+
+    private static EmailRequestDTO email() {
+        byte[] logo = new byte[8 * 1024];
+        Arrays.fill(logo, (byte) 7);
+        return EmailRequestDTO.builder()
+                .to("user@example.com")
+                .subject("Welcome")
+                .html("<html><body><p>Hi</p><img src=\"cid:logo\"/></body></html>")
+                .attachments(
+                        List.of(
+                                new AttachmentDTO(
+                                        "logo.png", "image/png", logo, null, true, "logo")))
+                .build();
+    }
+
+    @Test
+    void sendEmail_sendsTheMimeMessageRaw() {
+        client.sendEmail(email());
+
+        ArgumentCaptor<SendEmailRequest> captor = ArgumentCaptor.forClass(SendEmailRequest.class);
+        verify(ses).sendEmail(captor.capture());
+        SendEmailRequest req = captor.getValue();
+        assertThat(req.destination().toAddresses()).containsExactly("user@example.com");
+        String mime = req.content().raw().data().asUtf8String();
+        assertThat(mime)
+                .contains("From: no-reply@example.com")
+                .contains("Subject: Welcome")
+                .contains("Content-ID: <logo>");
+    }
+
+    @Test
+    void toMime_sizeHintHoldsTheWholeMessage() throws Exception {
+        EmailRequestDTO email = email();
+
+        SdkBytes mime = SESEmailClient.toMime(email, "no-reply@example.com");
+
+        assertThat(SESEmailClient.estimateSize(email.getHtml(), email.getAttachments()))
+                .isGreaterThanOrEqualTo(mime.asByteArrayUnsafe().length);
+    }
+
+    @Test
+    void toMime_sizeHintHoldsNonAsciiHtml() throws Exception {
+        String html =
+                "<html><body>"
+                        + "<p style=\"color:red\">签到成功 — café ✓ 🎉</p>".repeat(200)
+                        + "</body></html>";
+        EmailRequestDTO email =
+                EmailRequestDTO.builder()
+                        .to("user@example.com")
+                        .subject("欢迎")
+                        .html(html)
+                        .attachments(List.of())
+                        .build();
+
+        SdkBytes mime = SESEmailClient.toMime(email, "no-reply@example.com");
+
+        assertThat(SESEmailClient.estimateSize(html, List.of()))
+                .isGreaterThanOrEqualTo(mime.asByteArrayUnsafe().length);
+    }
+}
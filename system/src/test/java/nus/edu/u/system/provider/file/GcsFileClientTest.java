@@ -75,6 +75,35 @@ class GcsFileClientTest {
         assertThat(recording.lastSigned).isEqualTo("obj");
     }
 
+    @Test
+    void generateSignedUrl_reusesUrlOfSameObject() {
+        RecordingStorage recording = new RecordingStorage();
+        GcsFileClient client = new GcsFileClient(recording.asStorage(), defaultConfig());
+
+        String first = client.generateSignedUrl("obj");
+        recording.signedUrlToReturn = url("https://example.com/other");
+        String second = client.generateSignedUrl("obj");
+        String other = client.generateSignedUrl("obj-2");
+
+        assertThat(second).isEqualTo(first);
+        assertThat(other).isEqualTo("https://example.com/other");
+        assertThat(recording.signCount).isEqualTo(2);
+    }
+
+    @Test
+    void generateSignedUrl_whenSigningFails_rethrowsAndDoesNotCache() {
+        RecordingStorage recording = new RecordingStorage();
+        recording.throwOnSign = true;
+        GcsFileClient client = new GcsFileClient(recording.asStorage(), defaultConfig());
+
+        assertThatThrownBy(() -> client.generateSignedUrl("obj"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("sign failure");
+
+        recording.throwOnSign = false;
+        assertThat(client.generateSignedUrl("obj")).isEqualTo("https://example.com/default");
+    }
+
     @Test
     void deleteQuietly_swallowsExceptions() {
         RecordingStorage recording = new RecordingStorage();
@@ -117,6 +146,8 @@ class GcsFileClientTest {
         String lastSigned;
         boolean throwOnDelete;
         boolean throwOnCreate;
+        boolean throwOnSign;
+        int signCount;
 
         Storage asStorage() {
             return (Storage)
@@ -135,6 +166,10 @@ class GcsFileClientTest {
                                         return null;
                                     }
                                     case "signUrl" -> {
+                                        if (throwOnSign) {
+                                            throw new IllegalStateException("sign failure");
+                                        }
+                                        signCount++;
                                         BlobInfo info = (BlobInfo) args[0];
                                         lastSigned = info.getBlobId().getName();
                                         return signedUrlToReturn;
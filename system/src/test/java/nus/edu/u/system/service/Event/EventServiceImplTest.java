@@ -13,9 +13,9 @@ import nus.edu.u.common.exception.ErrorCode;
 import nus.edu.u.common.exception.ServiceException;
 import nus.edu.u.system.domain.dataobject.dept.DeptDO;
 import nus.edu.u.system.domain.dataobject.task.EventDO;
-import nus.edu.u.system.domain.dataobject.task.TaskDO;
 import nus.edu.u.system.domain.dataobject.user.UserDO;
 import nus.edu.u.system.domain.dataobject.user.UserGroupDO;
+import nus.edu.u.system.domain.dto.EventCountDTO;
 import nus.edu.u.system.domain.vo.event.*;
 import nus.edu.u.system.enums.ErrorCodeConstants;
 import nus.edu.u.system.enums.event.EventStatusEnum;
@@ -25,6 +25,7 @@ import nus.edu.u.system.mapper.task.EventMapper;
 import nus.edu.u.system.mapper.task.TaskMapper;
 import nus.edu.u.system.mapper.user.UserGroupMapper;
 import nus.edu.u.system.mapper.user.UserMapper;
+import nus.edu.u.system.service.attendee.cache.EventCheckInCache;
 import nus.edu.u.system.service.group.GroupService;
 import org.assertj.core.api.ThrowableAssert;
 import org.junit.jupiter.api.Test;
@@ -43,6 +44,7 @@ class EventServiceImplTest {
     @Mock private DeptMapper deptMapper;
     @Mock private TaskMapper taskMapper;
     @Mock private GroupService groupService;
+    @Mock private EventCheckInCache eventCheckInCache;
 
     @InjectMocks private EventServiceImpl service;
 
@@ -74,6 +76,10 @@ class EventServiceImplTest {
         return event;
     }
 
+    private static EventCountDTO count(Long eventId, Integer status, long total) {
+        return EventCountDTO.builder().eventId(eventId).status(status).total(total).build();
+    }
+
     @Test
     void createEvent_success() {
         when(userMapper.selectById(111L)).thenReturn(UserDO.builder().id(111L).build());
@@ -89,7 +95,7 @@ class EventServiceImplTest {
                             inserted.setId(1L);
                             return 1;
                         });
-        when(userGroupMapper.selectList(any())).thenReturn(List.of());
+        when(userGroupMapper.selectCountsByEventIds(List.of(1L))).thenReturn(List.of());
 
         EventRespVO resp = service.createEvent(newCreateReq());
 
@@ -99,7 +105,7 @@ class EventServiceImplTest {
         assertThat(resp.getStatus()).isEqualTo(EventStatusEnum.ACTIVE.getCode());
 
         verify(eventMapper).insert(any(EventDO.class));
-        verify(userGroupMapper).selectList(any());
+        verify(userGroupMapper).selectCountsByEventIds(List.of(1L));
     }
 
     @Test
@@ -165,12 +171,8 @@ class EventServiceImplTest {
         long eventId = 42L;
         EventDO event = persistedEvent(eventId);
         when(eventMapper.selectById(eventId)).thenReturn(event);
-        when(userGroupMapper.selectList(any()))
-                .thenReturn(
-                        List.of(
-                                UserGroupDO.builder().eventId(eventId).userId(1L).build(),
-                                UserGroupDO.builder().eventId(eventId).userId(2L).build(),
-                                UserGroupDO.builder().eventId(eventId).userId(3L).build()));
+        when(userGroupMapper.selectCountsByEventIds(List.of(eventId)))
+                .thenReturn(List.of(count(eventId, null, 3)));
         when(deptMapper.selectList(any()))
                 .thenReturn(
                         List.of(
@@ -180,17 +182,11 @@ class EventServiceImplTest {
                                         .name("Alpha")
                                         .status(CommonStatusEnum.ENABLE.getStatus())
                                         .build()));
-        when(taskMapper.selectList(any()))
+        when(taskMapper.selectStatusCountsByEventIds(List.of(eventId)))
                 .thenReturn(
                         List.of(
-                                TaskDO.builder()
-                                        .eventId(eventId)
-                                        .status(TaskStatusEnum.COMPLETED.getStatus())
-                                        .build(),
-                                TaskDO.builder()
-                                        .eventId(eventId)
-                                        .status(TaskStatusEnum.PROGRESS.getStatus())
-                                        .build()));
+                                count(eventId, TaskStatusEnum.COMPLETED.getStatus(), 1),
+                                count(eventId, TaskStatusEnum.PROGRESS.getStatus(), 1)));
 
         EventRespVO resp = service.getByEventId(eventId);
 
@@ -209,9 +205,9 @@ class EventServiceImplTest {
     void getByEventId_success_withoutTasksUsesEmptyStatus() {
         long eventId = 43L;
         when(eventMapper.selectById(eventId)).thenReturn(persistedEvent(eventId));
-        when(userGroupMapper.selectList(any())).thenReturn(List.of());
+        when(userGroupMapper.selectCountsByEventIds(List.of(eventId))).thenReturn(List.of());
         when(deptMapper.selectList(any())).thenReturn(List.of());
-        when(taskMapper.selectList(any())).thenReturn(List.of());
+        when(taskMapper.selectStatusCountsByEventIds(List.of(eventId))).thenReturn(List.of());
 
         EventRespVO resp = service.getByEventId(eventId);
 
@@ -260,13 +256,8 @@ class EventServiceImplTest {
     @Test
     void fetchTaskStatusesByEventIds_missingTasks_returnsEmptyStatusPerEvent() {
         List<Long> eventIds = List.of(1L, 2L);
-        when(taskMapper.selectList(any()))
-                .thenReturn(
-                        List.of(
-                                TaskDO.builder()
-                                        .eventId(1L)
-                                        .status(TaskStatusEnum.COMPLETED.getStatus())
-                                        .build()));
+        when(taskMapper.selectStatusCountsByEventIds(eventIds))
+                .thenReturn(List.of(count(1L, TaskStatusEnum.COMPLETED.getStatus(), 1)));
 
         Map<Long, EventRespVO.TaskStatusVO> result =
                 ReflectionTestUtils.invokeMethod(service, "fetchTaskStatusesByEventIds", eventIds);
@@ -275,6 +266,28 @@ class EventServiceImplTest {
         assertThat(result.get(2L).getTotal()).isZero();
     }
 
+    @Test
+    void fetchTaskStatusesByEventIds_sumsStatusCountsPerEvent() {
+        List<Long> eventIds = List.of(1L, 2L);
+        when(taskMapper.selectStatusCountsByEventIds(eventIds))
+                .thenReturn(
+                        List.of(
+                                count(1L, TaskStatusEnum.COMPLETED.getStatus(), 4),
+                                count(1L, TaskStatusEnum.PROGRESS.getStatus(), 2),
+                                count(1L, TaskStatusEnum.PENDING.getStatus(), 3),
+                                count(2L, TaskStatusEnum.BLOCKED.getStatus(), 5)));
+
+        Map<Long, EventRespVO.TaskStatusVO> result =
+                ReflectionTestUtils.invokeMethod(service, "fetchTaskStatusesByEventIds", eventIds);
+
+        assertThat(result.get(1L).getTotal()).isEqualTo(9);
+        assertThat(result.get(1L).getCompleted()).isEqualTo(4);
+        assertThat(result.get(1L).getRemaining()).isEqualTo(5);
+        assertThat(result.get(2L).getTotal()).isEqualTo(5);
+        assertThat(result.get(2L).getCompleted()).isZero();
+        assertThat(result.get(2L).getRemaining()).isEqualTo(5);
+    }
+
     @Test
     void updateEvent_success_patchAndReadsParticipantsFromGroups() {
         Long id = 7L;
@@ -306,6 +319,7 @@ class EventServiceImplTest {
         assertThat(resp.getParticipantUserIds()).containsExactlyInAnyOrder(301L, 303L);
 
         verify(userGroupMapper).selectList(any());
+        verify(eventCheckInCache).invalidate(any(), eq(id));
     }
 
     @Test
@@ -355,6 +369,8 @@ class EventServiceImplTest {
                                 UserGroupDO.builder().eventId(101L).userId(1L).build(),
                                 UserGroupDO.builder().eventId(101L).userId(2L).build(),
                                 UserGroupDO.builder().eventId(202L).userId(3L).build()));
+        when(userGroupMapper.selectCountsByEventIds(List.of(202L, 101L)))
+                .thenReturn(List.of(count(101L, null, 2), count(202L, null, 1)));
         when(deptMapper.selectList(any()))
                 .thenReturn(
                         List.of(
@@ -370,21 +386,12 @@ class EventServiceImplTest {
                                         .name("Group-202")
                                         .status(CommonStatusEnum.ENABLE.getStatus())
                                         .build()));
-        when(taskMapper.selectList(any()))
+        when(taskMapper.selectStatusCountsByEventIds(List.of(202L, 101L)))
                 .thenReturn(
                         List.of(
-                                TaskDO.builder()
-                                        .eventId(101L)
-                                        .status(TaskStatusEnum.COMPLETED.getStatus())
-                                        .build(),
-                                TaskDO.builder()
-                                        .eventId(101L)
-                                        .status(TaskStatusEnum.PROGRESS.getStatus())
-                                        .build(),
-                                TaskDO.builder()
-                                        .eventId(202L)
-                                        .status(TaskStatusEnum.PROGRESS.getStatus())
-                                        .build()));
+                                count(101L, TaskStatusEnum.COMPLETED.getStatus(), 1),
+                                count(101L, TaskStatusEnum.PROGRESS.getStatus(), 1),
+                                count(202L, TaskStatusEnum.PROGRESS.getStatus(), 1)));
 
         List<EventRespVO> resp = service.getByOrganizerId(organizerId);
 
@@ -409,6 +416,8 @@ class EventServiceImplTest {
         assertThat(second.getTaskStatus().getTotal()).isEqualTo(1);
         assertThat(second.getTaskStatus().getCompleted()).isZero();
         assertThat(second.getTaskStatus().getRemaining()).isEqualTo(1);
+        verify(eventMapper, never()).updateById(any(EventDO.class));
+        verifyNoInteractions(eventCheckInCache);
     }
 
     @Test
@@ -422,7 +431,7 @@ class EventServiceImplTest {
         participantEvent.setCreateTime(LocalDateTime.of(2025, 1, 2, 0, 0));
         when(eventMapper.selectBatchIds(anyCollection())).thenReturn(List.of(participantEvent));
         when(deptMapper.selectList(any())).thenReturn(List.of());
-        when(taskMapper.selectList(any())).thenReturn(List.of());
+        when(taskMapper.selectStatusCountsByEventIds(anyCollection())).thenReturn(List.of());
 
         List<EventRespVO> events = service.getByOrganizerId(userId);
 
@@ -447,7 +456,7 @@ class EventServiceImplTest {
         when(eventMapper.selectBatchIds(anyCollection())).thenReturn(List.of(joinedEarlier));
 
         when(deptMapper.selectList(any())).thenReturn(List.of());
-        when(taskMapper.selectList(any())).thenReturn(List.of());
+        when(taskMapper.selectStatusCountsByEventIds(anyCollection())).thenReturn(List.of());
 
         List<EventRespVO> events = service.getByOrganizerId(userId);
 
@@ -466,6 +475,7 @@ class EventServiceImplTest {
         assertThat(ok).isTrue();
         verify(userGroupMapper).delete(any());
         verify(taskMapper).delete(any());
+        verify(eventCheckInCache).invalidate(any(), eq(10L));
     }
 
     @Test
@@ -0,0 +1,93 @@
+package nus.edu.u.system.service.event.status;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import nus.edu.u.system.domain.dataobject.task.EventDO;
+import nus.edu.u.system.enums.event.EventStatusEnum;
+import nus.edu.u.system.mapper.task.EventMapper;
+import nus.edu.u.system.service.attendee.cache.EventCheckInCache;
+import nus.edu.u.system.service.scheduling.LeaderLease;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class EventStatusSchedulerTest {
+
+    @Mock private EventMapper eventMapper;
+    @Mock private EventCheckInCache eventCheckInCache;
+    @Mock private LeaderLease leaderLease;
+
+    @InjectMocks private EventStatusScheduler scheduler;
+
+    private static EventDO event(Long id, Long tenantId, LocalDateTime start, LocalDateTime end) {
+        EventDO event = EventDO.builder().id(id).startTime(start).endTime(end).build();
+        event.setTenantId(tenantId);
+        return event;
+    }
+
+    private void leading(boolean leader) {
+        when(leaderLease.acquire(eq("event-status"), any())).thenReturn(leader);
+    }
+
+    @Test
+    void tick_leaderMovesEachTargetStatusWithOneUpdate() {
+        leading(true);
+        LocalDateTime now = LocalDateTime.now();
+        EventDO started = event(1L, 7L, now.minusHours(1), now.plusHours(1));
+        EventDO ended = event(2L, 7L, now.minusHours(3), now.minusHours(2));
+        EventDO alsoEnded = event(3L, 8L, now.minusDays(2), now.minusDays(1));
+        EventDO postponed = event(4L, 8L, now.plusDays(1), now.plusDays(2));
+        when(eventMapper.selectStatusOutdated(any(), anyInt()))
+                .thenReturn(List.of(started, ended, alsoEnded, postponed));
+
+        scheduler.tick();
+
+        verify(eventMapper).updateStatusByIds(List.of(1L), EventStatusEnum.ACTIVE.getCode());
+        verify(eventMapper).updateStatusByIds(List.of(2L, 3L), EventStatusEnum.COMPLETED.getCode());
+        verify(eventMapper).updateStatusByIds(List.of(4L), EventStatusEnum.NOT_STARTED.getCode());
+        verify(eventCheckInCache).invalidate(7L, 1L);
+        verify(eventCheckInCache).invalidate(7L, 2L);
+        verify(eventCheckInCache).invalidate(8L, 3L);
+        verify(eventCheckInCache).invalidate(8L, 4L);
+    }
+
+    @Test
+    void tick_nothingOutdatedWritesNothing() {
+        leading(true);
+        when(eventMapper.selectStatusOutdated(any(), anyInt())).thenReturn(List.of());
+
+        scheduler.tick();
+
+        verify(eventMapper, never()).updateStatusByIds(anyCollection(), anyInt());
+        verifyNoInteractions(eventCheckInCache);
+    }
+
+    @Test
+    void tick_followerDoesNothing() {
+        leading(false);
+
+        scheduler.tick();
+
+        verifyNoInteractions(eventMapper, eventCheckInCache);
+    }
+
+    @Test
+    void statusAt_followsTimeRange() {
+        LocalDateTime start = LocalDateTime.of(2025, 11, 15, 9, 0);
+        LocalDateTime end = LocalDateTime.of(2025, 11, 15, 17, 0);
+
+        assertThat(EventStatusEnum.at(start, end, start.minusMinutes(1)))
+                .isEqualTo(EventStatusEnum.NOT_STARTED);
+        assertThat(EventStatusEnum.at(start, end, start)).isEqualTo(EventStatusEnum.ACTIVE);
+        assertThat(EventStatusEnum.at(start, end, end)).isEqualTo(EventStatusEnum.ACTIVE);
+        assertThat(EventStatusEnum.at(start, end, end.plusMinutes(1)))
+                .isEqualTo(EventStatusEnum.COMPLETED);
+    }
+}
@@ -11,22 +11,33 @@ import com.baomidou.mybatisplus.core.metadata.IPage;
 import java.lang.reflect.Field;
 import java.time.LocalDateTime;
 import java.util.*;
+import nus.edu.u.common.core.domain.CursorPageResult;
+import nus.edu.u.framework.checkin.CheckInTokenCodec;
+import nus.edu.u.framework.checkin.CheckInTokenPropertiesConfig;
 import nus.edu.u.system.domain.dataobject.attendee.EventAttendeeDO;
 import nus.edu.u.system.domain.dataobject.task.EventDO;
 import nus.edu.u.system.domain.dataobject.tenant.TenantDO;
+import nus.edu.u.system.domain.dto.CheckInCountDTO;
+import nus.edu.u.system.domain.dto.EventCheckInMetaDTO;
+import nus.edu.u.system.domain.dto.QrImageDTO;
+import nus.edu.u.system.domain.vo.attendee.AttendeeInviteReqVO;
+import nus.edu.u.system.domain.vo.attendee.AttendeePageReqVO;
 import nus.edu.u.system.domain.vo.attendee.AttendeeQrCodeRespVO;
 import nus.edu.u.system.domain.vo.attendee.AttendeeReqVO;
 import nus.edu.u.system.domain.vo.checkin.CheckInRespVO;
 import nus.edu.u.system.domain.vo.checkin.GenerateQrCodesReqVO;
 import nus.edu.u.system.domain.vo.checkin.GenerateQrCodesRespVO;
+import nus.edu.u.system.domain.vo.checkin.OfflineCheckInReqVO;
 import nus.edu.u.system.domain.vo.qrcode.QrCodeReqVO;
 import nus.edu.u.system.domain.vo.qrcode.QrCodeRespVO;
 import nus.edu.u.system.mapper.attendee.EventAttendeeMapper;
 import nus.edu.u.system.mapper.task.EventMapper;
 import nus.edu.u.system.mapper.tenant.TenantMapper;
+import nus.edu.u.system.service.attendee.stats.CheckInCounter;
 import nus.edu.u.system.service.attendee.validation.CheckInValidationChainBuilder;
 import nus.edu.u.system.service.attendee.validation.CheckInValidationContext;
 import nus.edu.u.system.service.attendee.validation.CheckInValidator;
+import nus.edu.u.system.service.notification.AttendeeInviteDispatcher;
 import nus.edu.u.system.service.qrcode.QrCodeService;
 import org.apache.ibatis.session.ResultHandler;
 import org.junit.jupiter.api.BeforeEach;
@@ -38,6 +49,8 @@ class AttendeeServiceImplTest {
     private InMemoryAttendeeMapper attendeeMapper;
     private InMemoryEventMapper eventMapper;
     private RecordingQrCodeService qrCodeService;
+    private RecordingInviteDispatcher inviteDispatcher;
+    private RecordingCheckInCounter checkInCounter;
 
     @BeforeEach
     void setUp() throws Exception {
@@ -51,6 +64,12 @@ class AttendeeServiceImplTest {
         setField("qrCodeService", qrCodeService);
         setField("tenantMapper", new InMemoryTenantMapper());
         setField("baseUrl", "http://test-host");
+        setField("checkInTokenCodec", codec(false));
+        setField("qrRenderExecutor", (java.util.concurrent.Executor) Runnable::run);
+        inviteDispatcher = new RecordingInviteDispatcher();
+        setField("attendeeInviteDispatcher", inviteDispatcher);
+        checkInCounter = new RecordingCheckInCounter();
+        setField("checkInCounter", checkInCounter);
 
         // IMPORTANT: AttendeeServiceImpl now uses a validationChainBuilder for checkIn.
         // Inject a stub builder that returns a validator which locates attendee and event
@@ -60,6 +79,15 @@ class AttendeeServiceImplTest {
                 new StubValidationChainBuilder(attendeeMapper, eventMapper));
     }
 
+    private static CheckInTokenCodec codec(boolean signed) {
+        CheckInTokenPropertiesConfig props = new CheckInTokenPropertiesConfig();
+        props.setSigned(signed);
+        props.setSecret("test-secret");
+        CheckInTokenCodec codec = new CheckInTokenCodec(props);
+        codec.init();
+        return codec;
+    }
+
     private void setField(String name, Object value) throws Exception {
         Field field = AttendeeServiceImpl.class.getDeclaredField(name);
         field.setAccessible(true);
@@ -85,6 +113,54 @@ class AttendeeServiceImplTest {
         assertThat(list.get(0).getAttendeeEmail()).isEqualTo("user@example.com");
     }
 
+    @Test
+    void page_walksEventWithCursorAndFilters() {
+        for (long id = 1; id <= 5; id++) {
+            attendeeMapper.save(
+                    EventAttendeeDO.builder()
+                            .id(id)
+                            .eventId(100L)
+                            .attendeeEmail((id % 2 == 0 ? "bob" : "amy") + id + "@example.com")
+                            .attendeeName("User " + id)
+                            .checkInStatus(id == 3 ? 1 : 0)
+                            .checkInToken("token-" + id)
+                            .build());
+        }
+        attendeeMapper.save(
+                EventAttendeeDO.builder()
+                        .id(6L)
+                        .eventId(200L)
+                        .attendeeEmail("amy6@example.com")
+                        .checkInStatus(0)
+                        .checkInToken("token-6")
+                        .build());
+
+        AttendeePageReqVO reqVO = new AttendeePageReqVO();
+        reqVO.setLimit(2);
+        CursorPageResult<AttendeeQrCodeRespVO> first = attendeeService.page(100L, reqVO);
+        assertThat(first.getList()).extracting(AttendeeQrCodeRespVO::getId).containsExactly(1L, 2L);
+        assertThat(first.getHasMore()).isTrue();
+
+        reqVO.setCursor(first.getNextCursor());
+        CursorPageResult<AttendeeQrCodeRespVO> second = attendeeService.page(100L, reqVO);
+        assertThat(second.getList())
+                .extracting(AttendeeQrCodeRespVO::getId)
+                .containsExactly(3L, 4L);
+
+        reqVO.setCursor(second.getNextCursor());
+        CursorPageResult<AttendeeQrCodeRespVO> last = attendeeService.page(100L, reqVO);
+        assertThat(last.getList()).extracting(AttendeeQrCodeRespVO::getId).containsExactly(5L);
+        assertThat(last.getHasMore()).isFalse();
+        assertThat(last.getNextCursor()).isNull();
+
+        AttendeePageReqVO filtered = new AttendeePageReqVO();
+        filtered.setCheckInStatus(0);
+        filtered.setKeyword("amy");
+        assertThat(attendeeService.page(100L, filtered).getList())
+                .extracting(AttendeeQrCodeRespVO::getId)
+                .containsExactly(1L, 5L);
+    }
+
     @Test
     void delete_whenNotFoundThrows() {
         assertThatThrownBy(() -> attendeeService.delete(1L))
@@ -104,6 +180,7 @@ class AttendeeServiceImplTest {
         attendeeService.delete(10L);
 
         assertThat(attendeeMapper.selectById(10L)).isNull();
+        assertThat(checkInCounter.evicted).containsExactly(1L);
     }
 
     @Test
@@ -130,6 +207,35 @@ class AttendeeServiceImplTest {
 
         assertThat(resp.getSuccess()).isTrue();
         assertThat(attendeeMapper.byId.get(2L).getCheckInStatus()).isEqualTo(1);
+        assertThat(checkInCounter.checkIns).containsExactly(200L);
+    }
+
+    @Test
+    void checkIn_whenConcurrentScanAlreadyWon_throws() {
+        eventMapper.save(
+                EventDO.builder()
+                        .id(201L)
+                        .startTime(LocalDateTime.now().minusHours(1))
+                        .endTime(LocalDateTime.now().plusHours(2))
+                        .status(1)
+                        .name("Event")
+                        .build());
+        attendeeMapper.save(
+                EventAttendeeDO.builder()
+                        .id(4L)
+                        .eventId(201L)
+                        .attendeeEmail("race@example.com")
+                        .attendeeName("Race")
+                        .checkInToken("token-race")
+                        .checkInStatus(0)
+                        .build());
+
+        attendeeService.checkIn("token-race");
+
+        // The stub chain does not check duplicates, so only the conditional update rejects it
+        assertThatThrownBy(() -> attendeeService.checkIn("token-race"))
+                .isInstanceOf(nus.edu.u.common.exception.ServiceException.class)
+                .hasMessageContaining("Already checked in");
     }
 
     @Test
@@ -171,6 +277,58 @@ class AttendeeServiceImplTest {
 
             assertThat(resp.getTotalCount()).isEqualTo(1);
             assertThat(resp.getAttendees()).hasSize(1);
+            assertThat(inviteDispatcher.invites)
+                    .extracting(AttendeeInviteReqVO::getToEmail)
+                    .containsExactly("first@example.com");
+        }
+    }
+
+    @Test
+    void generateQrCodesForAttendees_skipsExistingAndSignsAfterInsert() throws Exception {
+        CheckInTokenCodec codec = codec(true);
+        setField("checkInTokenCodec", codec);
+        eventMapper.save(
+                EventDO.builder()
+                        .id(502L)
+                        .name("Bulk")
+                        .startTime(LocalDateTime.now())
+                        .endTime(LocalDateTime.now().plusHours(1))
+                        .status(1)
+                        .build());
+        attendeeMapper.save(
+                EventAttendeeDO.builder()
+                        .id(40L)
+                        .eventId(502L)
+                        .attendeeEmail("existing@example.com")
+                        .checkInStatus(0)
+                        .build());
+
+        GenerateQrCodesReqVO req = new GenerateQrCodesReqVO();
+        req.setEventId(502L);
+        req.setAttendees(
+                List.of(
+                        attendee("existing@example.com", "Existing", "1"),
+                        attendee("new-a@example.com", "A", "2"),
+                        attendee("new-b@example.com", "B", "3")));
+
+        try (TenantSession ignored = new TenantSession(1L)) {
+            GenerateQrCodesRespVO resp = attendeeService.generateQrCodesForAttendees(req);
+
+            assertThat(resp.getAttendees())
+                    .extracting(AttendeeQrCodeRespVO::getAttendeeEmail)
+                    .containsExactly("new-a@example.com", "new-b@example.com");
+            for (AttendeeQrCodeRespVO attendee : resp.getAttendees()) {
+                CheckInTokenCodec.SignedToken claims = codec.parse(attendee.getCheckInToken());
+                assertThat(claims).isNotNull();
+                assertThat(claims.getAttendeeId()).isEqualTo(attendee.getId());
+                assertThat(attendee.getQrCodeBase64()).isNotBlank();
+            }
+            assertThat(qrCodeService.requestedTokens)
+                    .containsExactlyElementsOf(
+                            resp.getAttendees().stream()
+                                    .map(AttendeeQrCodeRespVO::getCheckInToken)
+                                    .toList());
+            assertThat(inviteDispatcher.invites).hasSize(2);
         }
     }
 
@@ -218,6 +376,140 @@ class AttendeeServiceImplTest {
         assertThat(attendeeMapper.selectById(30L).getCheckInToken()).isEqualTo(token);
     }
 
+    @Test
+    void getCheckInToken_whenSigningEnabled_issuesSignedToken() throws Exception {
+        CheckInTokenCodec codec = codec(true);
+        setField("checkInTokenCodec", codec);
+        eventMapper.save(
+                EventDO.builder()
+                        .id(601L)
+                        .name("Signed Event")
+                        .startTime(LocalDateTime.now())
+                        .endTime(LocalDateTime.now().plusHours(1))
+                        .status(1)
+                        .build());
+        attendeeMapper.save(
+                EventAttendeeDO.builder()
+                        .id(31L)
+                        .eventId(601L)
+                        .attendeeEmail("signed@example.com")
+                        .checkInStatus(0)
+                        .build());
+
+        String token = attendeeService.getCheckInToken(601L, "signed@example.com");
+
+        CheckInTokenCodec.SignedToken claims = codec.parse(token);
+        assertThat(claims).isNotNull();
+        assertThat(claims.getEventId()).isEqualTo(601L);
+        assertThat(claims.getAttendeeId()).isEqualTo(31L);
+    }
+
+    @Test
+    void checkIn_withSignedToken_updatesByPrimaryKey() throws Exception {
+        CheckInTokenCodec codec = codec(true);
+        setField("checkInTokenCodec", codec);
+        eventMapper.save(
+                EventDO.builder()
+                        .id(202L)
+                        .startTime(LocalDateTime.now().minusHours(1))
+                        .endTime(LocalDateTime.now().plusHours(2))
+                        .status(1)
+                        .name("Event")
+                        .build());
+        String token = codec.sign(202L, 5L, Long.MAX_VALUE >>> 32);
+        attendeeMapper.save(
+                EventAttendeeDO.builder()
+                        .id(5L)
+                        .eventId(202L)
+                        .attendeeEmail("signed-scan@example.com")
+                        .checkInToken(token)
+                        .checkInStatus(0)
+                        .build());
+
+        CheckInRespVO resp = attendeeService.checkIn(token);
+
+        assertThat(resp.getSuccess()).isTrue();
+        assertThat(attendeeMapper.byId.get(5L).getCheckInStatus()).isEqualTo(1);
+    }
+
+    @Test
+    void checkIn_withSignedTokenReissuedAfterValidation_throws() throws Exception {
+        CheckInTokenCodec codec = codec(true);
+        setField("checkInTokenCodec", codec);
+        eventMapper.save(
+                EventDO.builder()
+                        .id(203L)
+                        .startTime(LocalDateTime.now().minusHours(1))
+                        .endTime(LocalDateTime.now().plusHours(2))
+                        .status(1)
+                        .name("Event")
+                        .build());
+        String token = codec.sign(203L, 6L, Long.MAX_VALUE >>> 32);
+        attendeeMapper.save(
+                EventAttendeeDO.builder()
+                        .id(6L)
+                        .eventId(203L)
+                        .attendeeEmail("reissued@example.com")
+                        .checkInToken(token)
+                        .checkInStatus(0)
+                        .build());
+        String reissued = codec.sign(203L, 6L, (Long.MAX_VALUE >>> 32) - 1);
+        attendeeMapper.beforeCheckIn =
+                () ->
+                        attendeeMapper.save(
+                                EventAttendeeDO.builder()
+                                        .id(6L)
+                                        .eventId(203L)
+                                        .attendeeEmail("reissued@example.com")
+                                        .checkInToken(reissued)
+                                        .checkInStatus(0)
+                                        .build());
+
+        assertThatThrownBy(() -> attendeeService.checkIn(token))
+                .isInstanceOf(nus.edu.u.common.exception.ServiceException.class);
+        assertThat(attendeeMapper.byId.get(6L).getCheckInStatus()).isZero();
+        assertThat(checkInCounter.checkIns).isEmpty();
+    }
+
+    @Test
+    void getAttendeeInfo_withForgedSignedToken_throws() {
+        assertThatThrownBy(() -> attendeeService.getAttendeeInfo("v1.bogus.token"))
+                .isInstanceOf(nus.edu.u.common.exception.ServiceException.class);
+    }
+
+    @Test
+    void getCheckInQrImage_whenTokenNeverIssued_throws() {
+        assertThatThrownBy(() -> attendeeService.getCheckInQrImage("unknown-token"))
+                .isInstanceOf(nus.edu.u.common.exception.ServiceException.class);
+    }
+
+    @Test
+    void getCheckInQrImage_whenSignedTokenNoLongerLive_throws() {
+        CheckInTokenCodec codec = codec(true);
+        setField("checkInTokenCodec", codec);
+        String token = codec.sign(700L, 51L, Long.MAX_VALUE >>> 32);
+
+        assertThatThrownBy(() -> attendeeService.getCheckInQrImage(token))
+                .isInstanceOf(nus.edu.u.common.exception.ServiceException.class);
+    }
+
+    @Test
+    void getCheckInQrImage_returnsRenderedImage() {
+        attendeeMapper.save(
+                EventAttendeeDO.builder()
+                        .id(50L)
+                        .eventId(700L)
+                        .attendeeEmail("img@example.com")
+                        .checkInToken("img-token")
+                        .checkInStatus(0)
+                        .build());
+
+        QrImageDTO image = attendeeService.getCheckInQrImage("img-token");
+
+        assertThat(image.getBytes()).isNotEmpty();
+        assertThat(image.getEtag()).isNotBlank();
+    }
+
     private AttendeeReqVO attendee(String email, String name, String mobile) {
         AttendeeReqVO req = new AttendeeReqVO();
         req.setEmail(email);
@@ -253,6 +545,40 @@ class AttendeeServiceImplTest {
                     .size(128)
                     .build();
         }
+
+        @Override
+        public QrImageDTO getEventCheckInQrImage(String checkInToken) {
+            requestedTokens.add(checkInToken);
+            return QrImageDTO.builder()
+                    .bytes(("qr:" + checkInToken).getBytes(java.nio.charset.StandardCharsets.UTF_8))
+                    .contentType("image/png")
+                    .etag("\"" + checkInToken + "\"")
+                    .build();
+        }
+    }
+
+    private static final class RecordingInviteDispatcher extends AttendeeInviteDispatcher {
+        private final List<AttendeeInviteReqVO> invites = new ArrayList<>();
+
+        @Override
+        public void enqueue(List<AttendeeInviteReqVO> invites) {
+            this.invites.addAll(invites);
+        }
+    }
+
+    private static final class RecordingCheckInCounter extends CheckInCounter {
+        private final List<Long> checkIns = new ArrayList<>();
+        private final List<Long> evicted = new ArrayList<>();
+
+        @Override
+        public void recordCheckIn(Long eventId, LocalDateTime checkInTime) {
+            checkIns.add(eventId);
+        }
+
+        @Override
+        public void evict(Long eventId) {
+            evicted.add(eventId);
+        }
     }
 
     private static final class TenantSession implements AutoCloseable {
@@ -314,6 +640,9 @@ class AttendeeServiceImplTest {
         private final Map<Long, EventAttendeeDO> byId = new HashMap<>();
         private final Map<String, EventAttendeeDO> byToken = new HashMap<>();
 
+        /** Runs between validation and the conditional update, to stage a racing write */
+        private Runnable beforeCheckIn = () -> {};
+
         void save(EventAttendeeDO attendee) {
             byToken.entrySet()
                     .removeIf(e -> Objects.equals(e.getValue().getId(), attendee.getId()));
@@ -356,6 +685,89 @@ class AttendeeServiceImplTest {
             return byToken.get(token);
         }
 
+        @Override
+        public boolean existsByToken(String token) {
+            return byToken.containsKey(token);
+        }
+
+        @Override
+        public int checkInByToken(String token, LocalDateTime checkInTime) {
+            EventAttendeeDO attendee = byToken.get(token);
+            if (attendee == null || Objects.equals(attendee.getCheckInStatus(), 1)) {
+                return 0;
+            }
+            attendee.setCheckInStatus(1);
+            attendee.setCheckInTime(checkInTime);
+            return 1;
+        }
+
+        @Override
+        public int checkInById(Long id, String token, LocalDateTime checkInTime) {
+            beforeCheckIn.run();
+            EventAttendeeDO attendee = byId.get(id);
+            if (attendee == null
+                    || !Objects.equals(attendee.getCheckInToken(), token)
+                    || Objects.equals(attendee.getCheckInStatus(), 1)) {
+                return 0;
+            }
+            attendee.setCheckInStatus(1);
+            attendee.setCheckInTime(checkInTime);
+            return 1;
+        }
+
+        @Override
+        public CheckInCountDTO countCheckIns(Long eventId, LocalDateTime before) {
+            List<EventAttendeeDO> attendees = selectByEventId(eventId);
+            return new CheckInCountDTO(
+                    (long) attendees.size(),
+                    attendees.stream()
+                            .filter(a -> Objects.equals(a.getCheckInStatus(), 1))
+                            .filter(
+                                    a ->
+                                            a.getCheckInTime() == null
+                                                    || a.getCheckInTime().isBefore(before))
+                            .count());
+        }
+
+        @Override
+        public int applyOfflineCheckIns(Long eventId, List<OfflineCheckInReqVO.Item> list) {
+            int applied = 0;
+            for (OfflineCheckInReqVO.Item item : list) {
+                EventAttendeeDO attendee = byToken.get(item.getToken());
+                if (attendee == null || !Objects.equals(attendee.getEventId(), eventId)) {
+                    continue;
+                }
+                if (!Objects.equals(attendee.getCheckInStatus(), 1)
+                        || attendee.getCheckInTime().isAfter(item.getScannedAt())) {
+                    attendee.setCheckInStatus(1);
+                    attendee.setCheckInTime(item.getScannedAt());
+                    applied++;
+                }
+            }
+            return applied;
+        }
+
+        @Override
+        public List<String> selectExistingEmails(Long eventId, Collection<String> emails) {
+            return byId.values().stream()
+                    .filter(a -> Objects.equals(a.getEventId(), eventId))
+                    .map(EventAttendeeDO::getAttendeeEmail)
+                    .filter(emails::contains)
+                    .toList();
+        }
+
+        @Override
+        public int insertBatch(List<EventAttendeeDO> list) {
+            list.forEach(this::insert);
+            return list.size();
+        }
+
+        @Override
+        public int updateCheckInTokens(List<EventAttendeeDO> list) {
+            list.forEach(this::save);
+            return list.size();
+        }
+
         @Override
         public EventAttendeeDO selectByEventAndEmail(Long eventId, String email) {
             return byId.values().stream()
@@ -365,6 +777,27 @@ class AttendeeServiceImplTest {
                     .orElse(null);
         }
 
+        @Override
+        public List<EventAttendeeDO> selectPageByCursor(
+                Long eventId, Long cursor, Integer checkInStatus, String keyword, int limit) {
+            return byId.values().stream()
+                    .filter(a -> Objects.equals(a.getEventId(), eventId))
+                    .filter(a -> cursor == null || a.getId() > cursor)
+                    .filter(
+                            a ->
+                                    checkInStatus == null
+                                            || Objects.equals(a.getCheckInStatus(), checkInStatus))
+                    .filter(
+                            a ->
+                                    keyword == null
+                                            || a.getAttendeeEmail().startsWith(keyword)
+                                            || (a.getAttendeeName() != null
+                                                    && a.getAttendeeName().startsWith(keyword)))
+                    .sorted(Comparator.comparing(EventAttendeeDO::getId))
+                    .limit(limit)
+                    .toList();
+        }
+
         @Override
         public java.util.List<EventAttendeeDO> selectByEventId(Long eventId) {
             List<EventAttendeeDO> list = new ArrayList<>();
@@ -697,6 +1130,16 @@ class AttendeeServiceImplTest {
                         com.baomidou.mybatisplus.core.conditions.Wrapper<EventDO> queryWrapper) {
             throw new UnsupportedOperationException();
         }
+
+        @Override
+        public List<EventDO> selectStatusOutdated(LocalDateTime now, int limit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int updateStatusByIds(Collection<Long> ids, Integer status) {
+            throw new UnsupportedOperationException();
+        }
     }
 
     private static final class InMemoryTenantMapper implements TenantMapper {
@@ -936,7 +1379,14 @@ class AttendeeServiceImplTest {
                     }
                     // Basic time/status checks could be added if necessary.
                     context.setAttendee(attendee);
-                    context.setEvent(event);
+                    context.setEventMeta(
+                            EventCheckInMetaDTO.builder()
+                                    .eventId(event.getId())
+                                    .name(event.getName())
+                                    .status(event.getStatus())
+                                    .startTime(event.getStartTime())
+                                    .endTime(event.getEndTime())
+                                    .build());
                     context.setValidationFailed(false);
                 }
 
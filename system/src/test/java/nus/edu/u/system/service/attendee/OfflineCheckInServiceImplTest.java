@@ -0,0 +1,239 @@
+package nus.edu.u.system.service.attendee;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.google.common.hash.Hashing;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import nus.edu.u.common.exception.ServiceException;
+import nus.edu.u.framework.checkin.CheckInManifestPropertiesConfig;
+import nus.edu.u.framework.checkin.CheckInManifestSigner;
+import nus.edu.u.framework.mybatis.MybatisPlusConfig;
+import nus.edu.u.system.domain.dataobject.attendee.EventAttendeeDO;
+import nus.edu.u.system.domain.dto.CheckInManifestDTO;
+import nus.edu.u.system.domain.dto.EventCheckInMetaDTO;
+import nus.edu.u.system.domain.vo.checkin.OfflineCheckInReqVO;
+import nus.edu.u.system.domain.vo.checkin.OfflineCheckInRespVO;
+import nus.edu.u.system.mapper.attendee.EventAttendeeMapper;
+import nus.edu.u.system.service.attendee.cache.EventCheckInCache;
+import nus.edu.u.system.service.attendee.stats.CheckInCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class OfflineCheckInServiceImplTest {
+
+    private static final Long TENANT_ID = 9L;
+    private static final Long EVENT_ID = 100L;
+
+    @Mock private EventAttendeeMapper attendeeMapper;
+    @Mock private EventCheckInCache eventCheckInCache;
+    @Mock private CheckInCounter checkInCounter;
+
+    @InjectMocks private OfflineCheckInServiceImpl service;
+
+    private MockedStatic<MybatisPlusConfig> tenantMock;
+
+    private KeyPair keyPair;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        tenantMock = mockStatic(MybatisPlusConfig.class);
+        tenantMock.when(MybatisPlusConfig::getCurrentTenantId).thenReturn(TENANT_ID);
+        keyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        ReflectionTestUtils.setField(
+                service,
+                "manifestSigner",
+                signer(Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded())));
+    }
+
+    @AfterEach
+    void tearDown() {
+        tenantMock.close();
+    }
+
+    private static CheckInManifestSigner signer(String privateKey) {
+        CheckInManifestPropertiesConfig props = new CheckInManifestPropertiesConfig();
+        props.setPrivateKey(privateKey);
+        CheckInManifestSigner signer = new CheckInManifestSigner(props);
+        signer.init();
+        return signer;
+    }
+
+    private EventCheckInMetaDTO event() {
+        LocalDateTime start = LocalDateTime.now().minusHours(1);
+        return EventCheckInMetaDTO.builder()
+                .eventId(EVENT_ID)
+                .tenantId(TENANT_ID)
+                .status(1)
+                .checkInStartTime(start.minusHours(2))
+                .checkInEndTime(start.plusHours(8))
+                .build();
+    }
+
+    private static OfflineCheckInReqVO.Item item(String token, LocalDateTime scannedAt) {
+        OfflineCheckInReqVO.Item item = new OfflineCheckInReqVO.Item();
+        item.setToken(token);
+        item.setScannedAt(scannedAt);
+        return item;
+    }
+
+    @Test
+    void buildManifest_hashesTokensAndSignsContent() throws Exception {
+        when(eventCheckInCache.get(TENANT_ID, EVENT_ID)).thenReturn(event());
+        when(attendeeMapper.selectManifestByEventId(EVENT_ID))
+                .thenReturn(
+                        List.of(
+                                EventAttendeeDO.builder()
+                                        .id(7L)
+                                        .checkInToken("token-a")
+                                        .checkInStatus(1)
+                                        .build(),
+                                EventAttendeeDO.builder()
+                                        .id(8L)
+                                        .checkInToken("token-b")
+                                        .checkInStatus(0)
+                                        .build()));
+
+        CheckInManifestDTO manifest = service.buildManifest(EVENT_ID);
+
+        byte[] content = manifest.getContent();
+        assertThat(manifest.getAttendeeCount()).isEqualTo(2);
+        assertThat(content).hasSize(24 + 2 * 25 + 64);
+        ByteBuffer buffer = ByteBuffer.wrap(content);
+        byte[] magic = new byte[4];
+        buffer.get(magic);
+        assertThat(new String(magic, StandardCharsets.US_ASCII)).isEqualTo("CFM1");
+        assertThat(buffer.getLong()).isEqualTo(EVENT_ID);
+        buffer.getLong();
+        assertThat(buffer.getInt()).isEqualTo(2);
+
+        byte[] tokenHash = new byte[16];
+        buffer.get(tokenHash);
+        assertThat(tokenHash)
+                .isEqualTo(
+                        Arrays.copyOf(
+                                Hashing.sha256()
+                                        .hashString("token-a", StandardCharsets.UTF_8)
+                                        .asBytes(),
+                                16));
+        assertThat(buffer.getLong()).isEqualTo(7L);
+        assertThat(buffer.get()).isEqualTo((byte) 1);
+
+        Signature verifier = Signature.getInstance("Ed25519");
+        verifier.initVerify(keyPair.getPublic());
+        verifier.update(content, 0, content.length - 64);
+        assertThat(
+                        verifier.verify(
+                                Arrays.copyOfRange(content, content.length - 64, content.length)))
+                .isTrue();
+    }
+
+    @Test
+    void buildManifest_tamperedContentFailsVerification() throws Exception {
+        when(eventCheckInCache.get(TENANT_ID, EVENT_ID)).thenReturn(event());
+        when(attendeeMapper.selectManifestByEventId(EVENT_ID))
+                .thenReturn(
+                        List.of(
+                                EventAttendeeDO.builder()
+                                        .id(7L)
+                                        .checkInToken("token-a")
+                                        .checkInStatus(0)
+                                        .build()));
+
+        byte[] content = service.buildManifest(EVENT_ID).getContent();
+        // Flip the check-in status of the only entry
+        content[24 + 24] = 1;
+
+        Signature verifier = Signature.getInstance("Ed25519");
+        verifier.initVerify(keyPair.getPublic());
+        verifier.update(content, 0, content.length - 64);
+        assertThat(
+                        verifier.verify(
+                                Arrays.copyOfRange(content, content.length - 64, content.length)))
+                .isFalse();
+    }
+
+    @Test
+    void buildManifest_whenKeyMissing_throws() {
+        ReflectionTestUtils.setField(service, "manifestSigner", signer(null));
+        when(eventCheckInCache.get(TENANT_ID, EVENT_ID)).thenReturn(event());
+
+        assertThatThrownBy(() -> service.buildManifest(EVENT_ID))
+                .isInstanceOf(ServiceException.class);
+        verifyNoInteractions(attendeeMapper);
+    }
+
+    @Test
+    void sync_keepsEarliestScanAndReportsUnknownAndRejected() {
+        EventCheckInMetaDTO event = event();
+        when(eventCheckInCache.get(TENANT_ID, EVENT_ID)).thenReturn(event);
+        LocalDateTime early = event.getCheckInStartTime().plusMinutes(10);
+        LocalDateTime late = early.plusMinutes(5);
+        when(attendeeMapper.selectExistingTokens(eq(EVENT_ID), anyCollection()))
+                .thenReturn(List.of("known"));
+        when(attendeeMapper.applyOfflineCheckIns(eq(EVENT_ID), anyList())).thenReturn(1);
+
+        OfflineCheckInReqVO reqVO = new OfflineCheckInReqVO();
+        reqVO.setCheckIns(
+                List.of(
+                        item("known", late),
+                        item("known", early),
+                        item("missing", early),
+                        item("too-early", event.getCheckInStartTime().minusMinutes(1)),
+                        item("future", LocalDateTime.now().plusHours(1))));
+
+        OfflineCheckInRespVO resp = service.sync(EVENT_ID, reqVO);
+
+        assertThat(resp.getReceived()).isEqualTo(4);
+        assertThat(resp.getApplied()).isEqualTo(1);
+        assertThat(resp.getUnknownTokens()).containsExactly("missing");
+        assertThat(resp.getRejectedTokens()).containsExactly("too-early", "future");
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<OfflineCheckInReqVO.Item>> captor = ArgumentCaptor.forClass(List.class);
+        verify(attendeeMapper).applyOfflineCheckIns(eq(EVENT_ID), captor.capture());
+        assertThat(captor.getValue()).singleElement().extracting("scannedAt").isEqualTo(early);
+        verify(checkInCounter).evict(EVENT_ID);
+    }
+
+    @Test
+    void sync_whenEventNotActive_throws() {
+        EventCheckInMetaDTO event = event();
+        event.setStatus(2);
+        when(eventCheckInCache.get(TENANT_ID, EVENT_ID)).thenReturn(event);
+        OfflineCheckInReqVO reqVO = new OfflineCheckInReqVO();
+        reqVO.setCheckIns(List.of(item("known", event.getCheckInStartTime().plusMinutes(1))));
+
+        assertThatThrownBy(() -> service.sync(EVENT_ID, reqVO))
+                .isInstanceOf(ServiceException.class);
+        verifyNoInteractions(attendeeMapper);
+    }
+
+    @Test
+    void sync_whenEventMissing_throws() {
+        OfflineCheckInReqVO reqVO = new OfflineCheckInReqVO();
+        reqVO.setCheckIns(List.of(item("known", LocalDateTime.now())));
+
+        assertThatThrownBy(() -> service.sync(EVENT_ID, reqVO))
+                .isInstanceOf(ServiceException.class);
+        verifyNoInteractions(attendeeMapper);
+    }
+}
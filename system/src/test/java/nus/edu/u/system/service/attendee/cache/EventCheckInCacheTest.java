@@ -0,0 +1,90 @@
+package nus.edu.u.system.service.attendee.cache;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import nus.edu.u.system.domain.dataobject.task.EventDO;
+import nus.edu.u.system.domain.dto.EventCheckInMetaDTO;
+import nus.edu.u.system.mapper.task.EventMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@ExtendWith(MockitoExtension.class)
+class EventCheckInCacheTest {
+
+    @Mock private EventMapper eventMapper;
+    @Mock private StringRedisTemplate stringRedisTemplate;
+    @Mock private RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @InjectMocks private EventCheckInCache cache;
+
+    private EventDO event(Long id, Long tenantId) {
+        EventDO event =
+                EventDO.builder()
+                        .id(id)
+                        .name("Expo")
+                        .status(1)
+                        .startTime(LocalDateTime.of(2025, 11, 15, 9, 0))
+                        .endTime(LocalDateTime.of(2025, 11, 15, 17, 0))
+                        .build();
+        event.setTenantId(tenantId);
+        return event;
+    }
+
+    @Test
+    void get_loadsOnceAndComputesWindow() {
+        when(eventMapper.selectById(1L)).thenReturn(event(1L, 9L));
+
+        EventCheckInMetaDTO first = cache.get(9L, 1L);
+        EventCheckInMetaDTO second = cache.get(9L, 1L);
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.getCheckInStartTime()).isEqualTo(LocalDateTime.of(2025, 11, 15, 7, 0));
+        assertThat(first.getCheckInEndTime()).isEqualTo(LocalDateTime.of(2025, 11, 15, 17, 0));
+        verify(eventMapper, times(1)).selectById(1L);
+    }
+
+    @Test
+    void get_whenTenantMismatch_returnsNull() {
+        when(eventMapper.selectById(1L)).thenReturn(event(1L, 9L));
+
+        assertThat(cache.get(8L, 1L)).isNull();
+    }
+
+    @Test
+    void invalidate_evictsAndBroadcasts() {
+        when(eventMapper.selectById(1L)).thenReturn(event(1L, 9L));
+        cache.get(9L, 1L);
+
+        cache.invalidate(9L, 1L);
+        cache.get(9L, 1L);
+
+        verify(stringRedisTemplate).convertAndSend(EventCheckInCache.INVALIDATE_CHANNEL, "9:1");
+        verify(eventMapper, times(2)).selectById(1L);
+    }
+
+    @Test
+    void onMessage_evictsLocalEntry() {
+        when(eventMapper.selectById(1L)).thenReturn(event(1L, 9L));
+        cache.get(9L, 1L);
+
+        cache.onMessage(
+                new DefaultMessage(
+                        EventCheckInCache.INVALIDATE_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                        "9:1".getBytes(StandardCharsets.UTF_8)),
+                null);
+        cache.get(9L, 1L);
+
+        verify(eventMapper, times(2)).selectById(1L);
+        verify(stringRedisTemplate, never()).convertAndSend(anyString(), anyString());
+    }
+}
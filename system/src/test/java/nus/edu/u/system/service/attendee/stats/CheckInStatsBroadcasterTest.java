@@ -0,0 +1,95 @@
+package nus.edu.u.system.service.attendee.stats;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.Executor;
+import nus.edu.u.common.exception.ServiceException;
+import nus.edu.u.framework.mybatis.MybatisPlusConfig;
+import nus.edu.u.system.domain.dto.EventCheckInMetaDTO;
+import nus.edu.u.system.domain.vo.checkin.CheckInStatsRespVO;
+import nus.edu.u.system.service.attendee.cache.EventCheckInCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class CheckInStatsBroadcasterTest {
+
+    private static final Long TENANT_ID = 9L;
+    private static final Long EVENT_ID = 100L;
+
+    @Mock private CheckInCounter checkInCounter;
+    @Mock private EventCheckInCache eventCheckInCache;
+
+    @InjectMocks private CheckInStatsBroadcaster broadcaster;
+
+    private MockedStatic<MybatisPlusConfig> tenantMock;
+
+    @BeforeEach
+    void setUp() {
+        tenantMock = mockStatic(MybatisPlusConfig.class);
+        tenantMock.when(MybatisPlusConfig::getCurrentTenantId).thenReturn(TENANT_ID);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tenantMock.close();
+    }
+
+    @Test
+    void push_takesOneSnapshotPerEventForAllDashboards() {
+        when(eventCheckInCache.get(TENANT_ID, EVENT_ID))
+                .thenReturn(EventCheckInMetaDTO.builder().eventId(EVENT_ID).build());
+        when(checkInCounter.snapshot(EVENT_ID))
+                .thenReturn(
+                        CheckInStatsRespVO.builder()
+                                .eventId(EVENT_ID)
+                                .total(200L)
+                                .checkedIn(50L)
+                                .lastMinute(12L)
+                                .build());
+        for (int i = 0; i < 200; i++) {
+            broadcaster.subscribe(EVENT_ID);
+        }
+
+        broadcaster.push();
+
+        assertThat(broadcaster.subscriberCount(EVENT_ID)).isEqualTo(200);
+        verify(checkInCounter).flush();
+        verify(checkInCounter, times(1)).snapshot(EVENT_ID);
+    }
+
+    @Test
+    void tick_pushesOnTheStatsExecutor() {
+        Executor executor = mock(Executor.class);
+        ReflectionTestUtils.setField(broadcaster, "checkInStatsExecutor", executor);
+
+        broadcaster.tick();
+
+        verify(executor).execute(any(Runnable.class));
+        verifyNoInteractions(checkInCounter);
+    }
+
+    @Test
+    void push_withoutDashboards_onlyFlushes() {
+        broadcaster.push();
+
+        verify(checkInCounter).flush();
+        verify(checkInCounter, never()).snapshot(anyLong());
+    }
+
+    @Test
+    void subscribe_whenEventNotOfTenant_throws() {
+        assertThatThrownBy(() -> broadcaster.subscribe(EVENT_ID))
+                .isInstanceOf(ServiceException.class);
+        assertThat(broadcaster.subscriberCount(EVENT_ID)).isZero();
+    }
+}
@@ -0,0 +1,83 @@
+package nus.edu.u.system.service.attendee.validation;
+
+import static org.assertj.core.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CheckInValidationPipelineTest {
+
+    @Test
+    void validate_runsStagesInOrder() {
+        List<String> calls = new ArrayList<>();
+        CheckInValidationPipeline pipeline =
+                new CheckInValidationPipeline(
+                        List.of(stage("first", calls, false), stage("second", calls, false)), null);
+
+        CheckInValidationContext context = CheckInValidationContext.builder().build();
+        pipeline.validate(context);
+
+        assertThat(calls).containsExactly("first", "second");
+        assertThat(context.isValidationFailed()).isFalse();
+    }
+
+    @Test
+    void validate_stopsAtFirstFailure() {
+        List<String> calls = new ArrayList<>();
+        CheckInValidationPipeline pipeline =
+                new CheckInValidationPipeline(
+                        List.of(stage("first", calls, true), stage("second", calls, false)), null);
+
+        CheckInValidationContext context = CheckInValidationContext.builder().build();
+        pipeline.validate(context);
+
+        assertThat(calls).containsExactly("first");
+        assertThat(context.getErrorMessage()).isEqualTo("first");
+    }
+
+    @Test
+    void validate_recordsTimerPerStage() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        List<String> calls = new ArrayList<>();
+        CheckInValidationPipeline pipeline =
+                new CheckInValidationPipeline(
+                        List.of(stage("first", calls, false), stage("second", calls, false)),
+                        registry);
+
+        pipeline.validate(CheckInValidationContext.builder().build());
+        pipeline.validate(CheckInValidationContext.builder().build());
+
+        assertThat(
+                        registry.get(CheckInValidationPipeline.TIMER_NAME)
+                                .tag("validator", "second")
+                                .timer()
+                                .count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void constructor_whenEmpty_throws() {
+        assertThatThrownBy(() -> new CheckInValidationPipeline(List.of(), null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static CheckInValidator stage(String name, List<String> calls, boolean fail) {
+        return new CheckInValidator() {
+            @Override
+            protected void doValidate(CheckInValidationContext context) {
+                calls.add(name);
+                if (fail) {
+                    context.setValidationFailed(true);
+                    context.setErrorMessage(name);
+                }
+            }
+
+            @Override
+            protected String getValidatorName() {
+                return name;
+            }
+        };
+    }
+}
@@ -0,0 +1,116 @@
+package nus.edu.u.system.service.attendee.validation;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import nus.edu.u.framework.checkin.CheckInTokenCodec;
+import nus.edu.u.framework.checkin.CheckInTokenPropertiesConfig;
+import nus.edu.u.system.domain.dataobject.attendee.EventAttendeeDO;
+import nus.edu.u.system.mapper.attendee.EventAttendeeMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class TokenValidatorTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 11, 15, 10, 0);
+
+    @Mock private EventAttendeeMapper attendeeMapper;
+
+    @InjectMocks private TokenValidator validator;
+
+    private CheckInTokenCodec codec;
+
+    @BeforeEach
+    void setUp() {
+        CheckInTokenPropertiesConfig props = new CheckInTokenPropertiesConfig();
+        props.setSigned(true);
+        props.setSecret("test-secret");
+        codec = new CheckInTokenCodec(props);
+        codec.init();
+        ReflectionTestUtils.setField(validator, "checkInTokenCodec", codec);
+    }
+
+    private long epoch(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+
+    private CheckInValidationContext context(String token) {
+        return CheckInValidationContext.builder().token(token).currentTime(NOW).build();
+    }
+
+    @Test
+    void signedToken_loadsAttendeeByPrimaryKey() {
+        String token = codec.sign(100L, 7L, epoch(NOW.plusHours(1)));
+        when(attendeeMapper.selectById(7L))
+                .thenReturn(
+                        EventAttendeeDO.builder().id(7L).eventId(100L).checkInToken(token).build());
+
+        CheckInValidationContext context = context(token);
+        validator.validate(context);
+
+        assertThat(context.isValidationFailed()).isFalse();
+        assertThat(context.getAttendee().getId()).isEqualTo(7L);
+        verify(attendeeMapper, never()).selectByToken(anyString());
+    }
+
+    @Test
+    void forgedToken_rejectedWithoutQuery() {
+        // Payload of attendee 8 spliced with the signature issued for attendee 7
+        String genuine = codec.sign(100L, 7L, epoch(NOW.plusHours(1)));
+        String other = codec.sign(100L, 8L, epoch(NOW.plusHours(1)));
+        String forged =
+                other.substring(0, other.lastIndexOf('.'))
+                        + genuine.substring(genuine.lastIndexOf('.'));
+
+        CheckInValidationContext context = context(forged);
+        validator.validate(context);
+
+        assertThat(context.isValidationFailed()).isTrue();
+        assertThat(context.getErrorMessage()).isEqualTo("INVALID_CHECKIN_TOKEN");
+        verifyNoInteractions(attendeeMapper);
+    }
+
+    @Test
+    void expiredToken_rejectedWithoutQuery() {
+        String token = codec.sign(100L, 7L, epoch(NOW.minusMinutes(1)));
+
+        CheckInValidationContext context = context(token);
+        validator.validate(context);
+
+        assertThat(context.getErrorMessage()).isEqualTo("CHECKIN_ENDED");
+        verifyNoInteractions(attendeeMapper);
+    }
+
+    @Test
+    void wrongEventToken_rejectedWithoutQuery() {
+        String token = codec.sign(100L, 7L, epoch(NOW.plusHours(1)));
+
+        CheckInValidationContext context = context(token);
+        context.setExpectedEventId(200L);
+        validator.validate(context);
+
+        assertThat(context.getErrorMessage()).isEqualTo("INVALID_CHECKIN_TOKEN");
+        verifyNoInteractions(attendeeMapper);
+    }
+
+    @Test
+    void legacyToken_looksUpByValue() {
+        when(attendeeMapper.selectByToken("uuid-token"))
+                .thenReturn(EventAttendeeDO.builder().id(8L).eventId(100L).build());
+
+        CheckInValidationContext context = context("uuid-token");
+        validator.validate(context);
+
+        assertThat(context.isValidationFailed()).isFalse();
+        assertThat(context.getAttendee().getId()).isEqualTo(8L);
+    }
+}
@@ -210,6 +210,31 @@ class FileStorageServiceImplTest {
         assertThat(files.get(0).getSignedUrl()).isEqualTo("signed://obj-1");
     }
 
+    @Test
+    void downloadFilesByTaskLogIds_groupsFilesOfAllLogsFromOneQuery() {
+        fileMapper.store(file(1L, 20L, "obj-1"));
+        fileMapper.store(file(2L, 21L, "obj-2"));
+        fileMapper.store(file(3L, 20L, "obj-3"));
+
+        Map<Long, List<FileResultVO>> files =
+                fileStorageService.downloadFilesByTaskLogIds(List.of(20L, 21L, 22L));
+
+        assertThat(fileMapper.selectListCalls).isEqualTo(1);
+        assertThat(files).containsOnlyKeys(20L, 21L);
+        assertThat(files.get(20L))
+                .extracting(FileResultVO::getSignedUrl)
+                .containsExactly("signed://obj-1", "signed://obj-3");
+        assertThat(files.get(21L))
+                .extracting(FileResultVO::getSignedUrl)
+                .containsExactly("signed://obj-2");
+    }
+
+    @Test
+    void downloadFilesByTaskLogIds_emptyIdsSkipsQuery() {
+        assertThat(fileStorageService.downloadFilesByTaskLogIds(List.of())).isEmpty();
+        assertThat(fileMapper.selectListCalls).isZero();
+    }
+
     @Test
     void downloadFilesByTaskLogId_unsupportedProviderThrows() {
         providerConfig.setProvider("local");
@@ -229,6 +254,18 @@ class FileStorageServiceImplTest {
                 .isInstanceOf(UnsupportedOperationException.class);
     }
 
+    private static FileDO file(Long id, Long taskLogId, String objectName) {
+        return FileDO.builder()
+                .id(id)
+                .taskLogId(taskLogId)
+                .provider("gcs")
+                .objectName(objectName)
+                .name(objectName + ".txt")
+                .type("text/plain")
+                .size(10L)
+                .build();
+    }
+
     private static final class StubGcsFileClient extends GcsFileClient {
         private StubGcsFileClient() {
             super(storageProxy(), defaultGcsConfig());
@@ -334,6 +371,7 @@ class FileStorageServiceImplTest {
         private final Map<Long, FileDO> store = new LinkedHashMap<>();
         private long idSeq = 1;
         private RuntimeException insertFailure;
+        private int selectListCalls;
 
         void store(FileDO file) {
             if (file.getId() == null) {
@@ -359,6 +397,7 @@ class FileStorageServiceImplTest {
         @Override
         public List<FileDO> selectList(
                 com.baomidou.mybatisplus.core.conditions.Wrapper<FileDO> queryWrapper) {
+            selectListCalls++;
             return new ArrayList<>(store.values());
         }
 
@@ -9,6 +9,7 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import java.io.Serializable;
 import java.lang.reflect.Field;
+import java.time.LocalDateTime;
 import java.util.*;
 import nus.edu.u.common.enums.CommonStatusEnum;
 import nus.edu.u.common.exception.ServiceException;
@@ -17,6 +18,9 @@ import nus.edu.u.system.domain.dataobject.task.EventDO;
 import nus.edu.u.system.domain.dataobject.task.TaskDO;
 import nus.edu.u.system.domain.dataobject.user.UserDO;
 import nus.edu.u.system.domain.dataobject.user.UserGroupDO;
+import nus.edu.u.system.domain.dto.EventCountDTO;
+import nus.edu.u.system.domain.dto.TaskDetailDTO;
+import nus.edu.u.system.domain.dto.UserGroupNameDTO;
 import nus.edu.u.system.domain.dto.UserPermissionDTO;
 import nus.edu.u.system.domain.dto.UserRoleDTO;
 import nus.edu.u.system.domain.vo.group.CreateGroupReqVO;
@@ -27,6 +31,7 @@ import nus.edu.u.system.mapper.task.EventMapper;
 import nus.edu.u.system.mapper.task.TaskMapper;
 import nus.edu.u.system.mapper.user.UserGroupMapper;
 import nus.edu.u.system.mapper.user.UserMapper;
+import nus.edu.u.system.service.task.dashboard.MemberDashboardStore;
 import nus.edu.u.system.service.user.UserService;
 import org.apache.ibatis.session.ResultHandler;
 import org.junit.jupiter.api.BeforeEach;
@@ -44,6 +49,7 @@ class GroupServiceImplTest {
     private FakeUserGroupMapper userGroupMapper;
     private FakeTaskMapper taskMapper;
     private StubUserService userService;
+    private RecordingDashboardStore dashboardStore;
 
     @BeforeEach
     void setUp() throws Exception {
@@ -54,6 +60,7 @@ class GroupServiceImplTest {
         userGroupMapper = new FakeUserGroupMapper();
         taskMapper = new FakeTaskMapper();
         userService = new StubUserService();
+        dashboardStore = new RecordingDashboardStore();
 
         inject("deptMapper", deptMapper);
         inject("userMapper", userMapper);
@@ -61,6 +68,7 @@ class GroupServiceImplTest {
         inject("userService", userService);
         inject("userGroupMapper", userGroupMapper);
         inject("taskMapper", taskMapper);
+        inject("memberDashboardStore", dashboardStore);
 
         ProxyFactory factory = new ProxyFactory(target);
         factory.setProxyTargetClass(true);
@@ -100,6 +108,7 @@ class GroupServiceImplTest {
                 .singleElement()
                 .extracting(UserGroupDO::getUserId)
                 .isEqualTo(5L);
+        assertThat(dashboardStore.evicted()).containsExactly(5L);
     }
 
     @Test
@@ -184,6 +193,7 @@ class GroupServiceImplTest {
                 .isEqualTo(USER_NOT_IN_GROUP.getCode());
 
         assertThat(userGroupMapper.relations()).isEmpty();
+        assertThat(dashboardStore.evicted()).containsExactly(301L);
     }
 
     @Test
@@ -541,6 +551,16 @@ class GroupServiceImplTest {
         public int restoreById(Long id) {
             return 0;
         }
+
+        @Override
+        public List<EventDO> selectStatusOutdated(LocalDateTime now, int limit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int updateStatusByIds(Collection<Long> ids, Integer status) {
+            throw new UnsupportedOperationException();
+        }
     }
 
     private static final class FakeUserGroupMapper extends BaseMapperAdapter<UserGroupDO>
@@ -610,6 +630,11 @@ class GroupServiceImplTest {
         public int restoreByEventId(Long eventId) {
             return 0;
         }
+
+        @Override
+        public List<EventCountDTO> selectCountsByEventIds(Collection<Long> eventIds) {
+            throw unsupported();
+        }
     }
 
     private static final class FakeTaskMapper extends BaseMapperAdapter<TaskDO>
@@ -624,6 +649,45 @@ class GroupServiceImplTest {
         public Long selectCount(Wrapper<TaskDO> queryWrapper) {
             return selectCountQueue.isEmpty() ? 0L : selectCountQueue.removeFirst();
         }
+
+        @Override
+        public List<TaskDetailDTO> selectDetailsByEventId(Long eventId) {
+            throw unsupported();
+        }
+
+        @Override
+        public List<TaskDetailDTO> selectDetailsByUserId(Long userId) {
+            throw unsupported();
+        }
+
+        @Override
+        public List<UserGroupNameDTO> selectGroupNames(
+                Collection<Long> eventIds, Collection<Long> userIds) {
+            throw unsupported();
+        }
+
+        @Override
+        public List<EventCountDTO> selectStatusCountsByEventIds(Collection<Long> eventIds) {
+            throw unsupported();
+        }
+
+        @Override
+        public List<Long> selectOverdueTenantIds(LocalDateTime now, Collection<Integer> statuses) {
+            throw unsupported();
+        }
+    }
+
+    private static final class RecordingDashboardStore extends MemberDashboardStore {
+        private final List<Long> evicted = new ArrayList<>();
+
+        List<Long> evicted() {
+            return evicted;
+        }
+
+        @Override
+        public void evict(Collection<Long> memberIds) {
+            evicted.addAll(memberIds);
+        }
     }
 
     private static final class StubUserService implements UserService {
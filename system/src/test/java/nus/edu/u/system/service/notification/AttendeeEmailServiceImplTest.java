@@ -0,0 +1,71 @@
+package nus.edu.u.system.service.notification;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import nus.edu.u.framework.notification.email.EmailBulkPropertiesConfig;
+import nus.edu.u.system.domain.dto.AttachmentDTO;
+import nus.edu.u.system.domain.dto.NotificationRequestDTO;
+import nus.edu.u.system.domain.vo.attendee.AttendeeInviteReqVO;
+import nus.edu.u.system.service.notification.outbox.EmailOutbox;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class AttendeeEmailServiceImplTest {
+
+    private EmailOutbox emailOutbox;
+    private EmailBulkPropertiesConfig bulkProps;
+    private AttendeeEmailServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        emailOutbox = mock(EmailOutbox.class);
+        bulkProps = new EmailBulkPropertiesConfig();
+        bulkProps.setLogoUrl("https://cdn.example.com/logo.png");
+        service = new AttendeeEmailServiceImpl(emailOutbox, bulkProps);
+    }
+
+    private static AttendeeInviteReqVO invite() {
+        return AttendeeInviteReqVO.builder()
+                .toEmail("guest@example.com")
+                .attendeeName("Guest")
+                .qrCodeBytes(new byte[] {1, 2, 3})
+                .qrCodeContentType("image/png")
+                .qrImageUrl("https://app.example.com/system/attendee/qr?token=t")
+                .eventName("Launch")
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private NotificationRequestDTO enqueued() {
+        ArgumentCaptor<List<NotificationRequestDTO>> captor = ArgumentCaptor.forClass(List.class);
+        verify(emailOutbox).enqueueAll(captor.capture());
+        return captor.getValue().get(0);
+    }
+
+    @Test
+    void sendAttendeeInvites_inlinesTheQrCodeByDefault() {
+        service.sendAttendeeInvites(List.of(invite()));
+
+        NotificationRequestDTO request = enqueued();
+        assertThat(request.getAttachment())
+                .extracting(AttachmentDTO::contentId)
+                .contains("attendee-qr");
+        assertThat(request.getVariables()).doesNotContainKey("qrCodeSrc");
+    }
+
+    @Test
+    void sendAttendeeInvites_linksHostedImagesWhenSentInBulk() {
+        bulkProps.setEnabled(true);
+
+        service.sendAttendeeInvites(List.of(invite()));
+
+        NotificationRequestDTO request = enqueued();
+        assertThat(request.getAttachment()).isEmpty();
+        assertThat(request.getVariables())
+                .containsEntry("qrCodeSrc", "https://app.example.com/system/attendee/qr?token=t")
+                .containsEntry("logoSrc", "https://cdn.example.com/logo.png");
+    }
+}
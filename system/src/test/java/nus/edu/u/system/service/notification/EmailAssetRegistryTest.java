@@ -0,0 +1,57 @@
+package nus.edu.u.system.service.notification;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.List;
+import nus.edu.u.system.domain.dto.AttachmentDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EmailAssetRegistryTest {
+
+    private final byte[] logo = {1, 2, 3};
+    private EmailAssetRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new EmailAssetRegistry();
+        registry.register(EmailAssetRegistry.LOGO, logo);
+    }
+
+    @Test
+    void inline_referencesTheAssetWithoutItsBytes() {
+        AttachmentDTO attachment =
+                EmailAssetRegistry.inline(EmailAssetRegistry.LOGO, "image/png", "logo");
+
+        assertThat(attachment.bytes()).isNull();
+        assertThat(attachment.url()).isEqualTo(EmailAssetRegistry.LOGO);
+        assertThat(attachment.filename()).isEqualTo("logo.png");
+        assertThat(attachment.inline()).isTrue();
+    }
+
+    @Test
+    void resolve_everyEmailSharesTheLoadedBytes() {
+        List<AttachmentDTO> attachments =
+                List.of(EmailAssetRegistry.inline(EmailAssetRegistry.LOGO, "image/png", "logo"));
+
+        AttachmentDTO first = registry.resolve(attachments).get(0);
+        AttachmentDTO second = registry.resolve(attachments).get(0);
+
+        assertThat(first.bytes()).isSameAs(logo);
+        assertThat(second.bytes()).isSameAs(logo);
+        assertThat(first.contentId()).isEqualTo("logo");
+    }
+
+    @Test
+    void resolve_keepsAttachmentsWithBytesAndDropsMissingAssets() {
+        AttachmentDTO qr = new AttachmentDTO(null, "image/png", new byte[] {9}, null, true, "qr");
+        AttachmentDTO missing =
+                EmailAssetRegistry.inline("images/email/missing.png", "image/png", "missing");
+
+        List<AttachmentDTO> resolved = registry.resolve(Arrays.asList(qr, missing));
+
+        assertThat(resolved).containsExactly(qr);
+        assertThat(registry.resolve(null)).isEmpty();
+    }
+}
@@ -1,11 +1,15 @@
 package nus.edu.u.system.service.notification;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import nus.edu.u.framework.notification.email.EmailBulkPropertiesConfig;
+import nus.edu.u.system.domain.dto.AttachmentDTO;
 import nus.edu.u.system.domain.dto.NotificationRequestDTO;
 import nus.edu.u.system.domain.dto.TemplateRequestDTO;
 import nus.edu.u.system.domain.dto.TemplateResponseDTO;
@@ -23,7 +27,8 @@ class EmailNotificationServiceTest {
         TemplateEngineImplementor template = mock(TemplateEngineImplementor.class);
 
         // SUT
-        EmailNotificationService svc = new EmailNotificationService(transport, template);
+        EmailNotificationService svc =
+                new EmailNotificationService(transport, template, new EmailBulkPropertiesConfig());
 
         // input dto
         NotificationRequestDTO in =
@@ -67,13 +72,18 @@ class EmailNotificationServiceTest {
         assertEquals("Subject from template", sentEmail.getSubject());
         assertEquals("<p>Hello</p>", sentEmail.getBody());
         assertEquals(in.getAttachment(), sentEmail.getAttachment()); // passthrough
+        // what the email is rendered from, so it can be deduplicated without the body
+        assertEquals("invite-email", sentEmail.getTemplateId());
+        assertEquals(in.getVariables(), sentEmail.getVariables());
+        assertEquals(Locale.ENGLISH, sentEmail.getLocale());
     }
 
     @Test
     void send_works_whenVariablesAreNull() {
         TransportImplementor transport = mock(TransportImplementor.class);
         TemplateEngineImplementor template = mock(TemplateEngineImplementor.class);
-        EmailNotificationService svc = new EmailNotificationService(transport, template);
+        EmailNotificationService svc =
+                new EmailNotificationService(transport, template, new EmailBulkPropertiesConfig());
 
         NotificationRequestDTO in =
                 NotificationRequestDTO.builder()
@@ -97,4 +107,65 @@ class EmailNotificationServiceTest {
         verify(template).process(any(TemplateRequestDTO.class));
         verify(transport).process(any(NotificationRequestDTO.class));
     }
+
+    private static NotificationRequestDTO invite(String to, String name) {
+        return NotificationRequestDTO.builder()
+                .emailProvider(EmailProvider.AWS_SES)
+                .to(to)
+                .templateId("attendee-qr-invite")
+                .templateProvider(TemplateProvider.Thymeleaf)
+                .variables(Map.of("attendeeName", name, "qrCodeSrc", "https://x/qr?token=" + to))
+                .locale(Locale.ENGLISH)
+                .build();
+    }
+
+    @Test
+    void supportsBulk_onlyEnabledTemplatesWithoutAttachments() {
+        EmailBulkPropertiesConfig bulk = new EmailBulkPropertiesConfig();
+        EmailNotificationService svc =
+                new EmailNotificationService(
+                        mock(TransportImplementor.class),
+                        mock(TemplateEngineImplementor.class),
+                        bulk);
+
+        assertFalse(svc.supportsBulk(invite("a@example.com", "A")));
+
+        bulk.setEnabled(true);
+        assertTrue(svc.supportsBulk(invite("a@example.com", "A")));
+
+        NotificationRequestDTO withLogo = invite("a@example.com", "A");
+        withLogo.setAttachment(
+                List.of(
+                        new AttachmentDTO(
+                                "logo.png", "image/png", new byte[1], null, true, "logo")));
+        assertFalse(svc.supportsBulk(withLogo));
+
+        NotificationRequestDTO other = invite("a@example.com", "A");
+        other.setTemplateId("member-invite");
+        assertFalse(svc.supportsBulk(other));
+    }
+
+    @Test
+    void sendBulk_rendersTheTemplateOnceWithPlaceholders() {
+        TransportImplementor transport = mock(TransportImplementor.class);
+        TemplateEngineImplementor template = mock(TemplateEngineImplementor.class);
+        EmailNotificationService svc =
+                new EmailNotificationService(transport, template, new EmailBulkPropertiesConfig());
+        TemplateResponseDTO tpl = mock(TemplateResponseDTO.class);
+        when(tpl.getSubject()).thenReturn("{{subject}}");
+        when(tpl.getBody()).thenReturn("<p>{{attendeeName}}</p>");
+        when(template.process(any(TemplateRequestDTO.class))).thenReturn(tpl);
+        List<NotificationRequestDTO> invites =
+                List.of(invite("a@example.com", "A"), invite("b@example.com", "B"));
+
+        svc.sendBulk(invites);
+
+        ArgumentCaptor<TemplateRequestDTO> tplReqCap =
+                ArgumentCaptor.forClass(TemplateRequestDTO.class);
+        verify(template, times(1)).process(tplReqCap.capture());
+        assertEquals("{{attendeeName}}", tplReqCap.getValue().getVariables().get("attendeeName"));
+        assertEquals("{{qrCodeSrc}}", tplReqCap.getValue().getVariables().get("qrCodeSrc"));
+        verify(transport).processBulk("{{subject}}", "<p>{{attendeeName}}</p>", invites);
+        verify(transport, never()).process(any());
+    }
 }
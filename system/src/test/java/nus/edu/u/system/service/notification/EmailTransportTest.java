@@ -0,0 +1,263 @@
+package nus.edu.u.system.service.notification;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import nus.edu.u.common.exception.RateLimitExceededException;
+import nus.edu.u.framework.mybatis.TenantContextHolder;
+import nus.edu.u.framework.notification.email.EmailLimitPropertiesConfig;
+import nus.edu.u.framework.notification.idempotency.IdempotencyKeyUtil;
+import nus.edu.u.system.domain.dto.AttachmentDTO;
+import nus.edu.u.system.domain.dto.EmailRequestDTO;
+import nus.edu.u.system.domain.dto.NotificationRequestDTO;
+import nus.edu.u.system.enums.email.EmailProvider;
+import nus.edu.u.system.provider.email.BulkEmailClient;
+import nus.edu.u.system.provider.email.EmailClient;
+import nus.edu.u.system.provider.email.EmailClientFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class EmailTransportTest {
+
+    private RateLimiter rateLimiter;
+    private IdempotencyService idempotency;
+    private IdempotencyKeyUtil keys;
+    private EmailClient client;
+    private BulkEmailClient bulkClient;
+    private EmailTransport transport;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = mock(RateLimiter.class);
+        EmailLimitPropertiesConfig props = new EmailLimitPropertiesConfig();
+        props.setRateKey("rate:email");
+        props.setRateLimit(100);
+        props.setTenantRateLimit(10);
+        props.setRateWindow(Duration.ofMinutes(1));
+        props.setIdempotencyTtl(Duration.ofMinutes(10));
+        idempotency = mock(IdempotencyService.class);
+        keys = mock(IdempotencyKeyUtil.class);
+        transport =
+                new EmailTransport(idempotency, rateLimiter, props, keys, new EmailAssetRegistry());
+
+        client = mock(EmailClient.class);
+        EmailClientFactory factory = mock(EmailClientFactory.class);
+        when(factory.getClient(EmailProvider.AWS_SES)).thenReturn(client);
+        bulkClient = mock(BulkEmailClient.class);
+        when(factory.getBulkClient(EmailProvider.AWS_SES)).thenReturn(bulkClient);
+        ReflectionTestUtils.setField(transport, "emailClientFactory", factory);
+    }
+
+    private void allowAll() {
+        when(rateLimiter.allow(anyList(), any())).thenReturn(true);
+    }
+
+    private static NotificationRequestDTO request() {
+        return NotificationRequestDTO.builder()
+                .emailProvider(EmailProvider.AWS_SES)
+                .to("user@example.com")
+                .subject("Hi")
+                .body("<p>Hi</p>")
+                .build();
+    }
+
+    @Test
+    void process_tenantAndProviderBucketsAreTakenFromTogether() {
+        List<RateLimiter.Bucket> buckets =
+                List.of(
+                        new RateLimiter.Bucket("{rate:email:AWS_SES}:tenant:7", 10),
+                        new RateLimiter.Bucket("{rate:email:AWS_SES}", 100));
+        when(rateLimiter.allow(buckets, Duration.ofMinutes(1))).thenReturn(false);
+
+        TenantContextHolder.runAs(
+                7L,
+                () ->
+                        assertThatThrownBy(() -> transport.process(request()))
+                                .isInstanceOf(RateLimitExceededException.class));
+
+        verify(rateLimiter).allow(anyList(), any());
+    }
+
+    @Test
+    void process_withoutTenantOnlyUsesProviderBucket() {
+        when(rateLimiter.allow(
+                        List.of(new RateLimiter.Bucket("{rate:email:AWS_SES}", 100)),
+                        Duration.ofMinutes(1)))
+                .thenReturn(false);
+
+        assertThatThrownBy(() -> transport.process(request()))
+                .isInstanceOf(RateLimitExceededException.class);
+
+        verify(rateLimiter).allow(anyList(), any());
+    }
+
+    @Test
+    void process_duplicateIsNotSentAgain() {
+        allowAll();
+        when(keys.buildEmailKey("user@example.com", "Hi", "<p>Hi</p>", List.of()))
+                .thenReturn("idem:1");
+        when(idempotency.tryClaim("idem:1", Duration.ofMinutes(2))).thenReturn(false);
+
+        transport.process(request());
+
+        verifyNoInteractions(client);
+        verify(idempotency, never()).complete(anyString(), any());
+    }
+
+    @Test
+    void process_sentEmailIsRecorded() {
+        allowAll();
+        when(keys.buildEmailKey("user@example.com", "Hi", "<p>Hi</p>", List.of()))
+                .thenReturn("idem:1");
+        when(idempotency.tryClaim("idem:1", Duration.ofMinutes(2))).thenReturn(true);
+
+        transport.process(request());
+
+        verify(client).sendEmail(any(EmailRequestDTO.class));
+        verify(idempotency).complete("idem:1", Duration.ofMinutes(10));
+        verify(idempotency, never()).release(anyString());
+    }
+
+    @Test
+    void process_failedSendReleasesItsClaim() {
+        allowAll();
+        when(keys.buildEmailKey(anyString(), anyString(), anyString(), anyList()))
+                .thenReturn("idem:1");
+        when(idempotency.tryClaim(anyString(), any())).thenReturn(true);
+        doThrow(new IllegalStateException("ses down")).when(client).sendEmail(any());
+
+        assertThatThrownBy(() -> transport.process(request()))
+                .isInstanceOf(IllegalStateException.class);
+
+        verify(idempotency).release("idem:1");
+        verify(idempotency, never()).complete(anyString(), any());
+    }
+
+    @Test
+    void process_templatedEmailIsKeyedByItsVariablesNotItsBody() {
+        allowAll();
+        NotificationRequestDTO request = request();
+        request.setTemplateId("member-invite");
+        request.setVariables(Map.of("inviteUrl", "https://example.com/i/1"));
+        request.setLocale(Locale.ENGLISH);
+        when(keys.buildEmailKey(
+                        "user@example.com",
+                        "member-invite",
+                        Map.of("inviteUrl", "https://example.com/i/1"),
+                        Locale.ENGLISH,
+                        List.of()))
+                .thenReturn("idem:2");
+        when(idempotency.tryClaim("idem:2", Duration.ofMinutes(2))).thenReturn(true);
+
+        transport.process(request);
+
+        verify(keys, never()).buildEmailKey(anyString(), anyString(), anyString(), anyList());
+        verify(idempotency).complete("idem:2", Duration.ofMinutes(10));
+    }
+
+    @Test
+    void process_attachmentsArePartOfTheKey() {
+        allowAll();
+        byte[] qr = {1, 2, 3};
+        NotificationRequestDTO request = request();
+        request.setAttachment(
+                List.of(
+                        new AttachmentDTO(null, "image/png", qr, null, true, "qr"),
+                        EmailAssetRegistry.inline(EmailAssetRegistry.LOGO, "image/png", "logo")));
+        when(keys.buildEmailKey(anyString(), anyString(), anyString(), anyList()))
+                .thenReturn("idem:3");
+        when(idempotency.tryClaim("idem:3", Duration.ofMinutes(2))).thenReturn(true);
+
+        transport.process(request);
+
+        verify(keys)
+                .buildEmailKey(
+                        "user@example.com",
+                        "Hi",
+                        "<p>Hi</p>",
+                        List.of(
+                                Arrays.asList(null, "qr", qr),
+                                Arrays.asList("logo.png", "logo", EmailAssetRegistry.LOGO)));
+    }
+
+    private static NotificationRequestDTO invite(String to) {
+        return NotificationRequestDTO.builder()
+                .emailProvider(EmailProvider.AWS_SES)
+                .to(to)
+                .templateId("attendee-qr-invite")
+                .variables(Map.of("attendeeName", to))
+                .build();
+    }
+
+    @Test
+    void processBulk_sendsAdmittedEmailsInOneCallAndReportsEach() {
+        when(rateLimiter.allow(anyList(), any())).thenReturn(true, true, false);
+        when(keys.buildEmailKey(anyString(), anyString(), any(), any(), anyList()))
+                .thenAnswer(invocation -> "idem:" + invocation.getArgument(0));
+        when(idempotency.tryClaim(anyString(), any())).thenReturn(true, false);
+        when(bulkClient.registerTemplate(
+                        "attendee-qr-invite", "{{subject}}", "<p>{{attendeeName}}</p>"))
+                .thenReturn("tpl");
+        when(bulkClient.sendBulkEmail(eq("tpl"), anyList())).thenReturn(List.of("bounced"));
+        List<NotificationRequestDTO> invites =
+                List.of(invite("a@example.com"), invite("b@example.com"), invite("c@example.com"));
+
+        List<RuntimeException> outcomes =
+                transport.processBulk("{{subject}}", "<p>{{attendeeName}}</p>", invites);
+
+        // a was sent and bounced, b was a duplicate, c was rate limited
+        assertThat(outcomes.get(0)).hasMessageContaining("a@example.com");
+        assertThat(outcomes.get(1)).isNull();
+        assertThat(outcomes.get(2)).isInstanceOf(RateLimitExceededException.class);
+        verify(bulkClient).sendBulkEmail(eq("tpl"), argThat(entries -> entries.size() == 1));
+        verify(idempotency).release("idem:a@example.com");
+        verify(idempotency, never()).complete(anyString(), any());
+    }
+
+    @Test
+    void processBulk_failedCallReleasesEveryClaim() {
+        allowAll();
+        when(keys.buildEmailKey(anyString(), anyString(), any(), any(), anyList()))
+                .thenAnswer(invocation -> "idem:" + invocation.getArgument(0));
+        when(idempotency.tryClaim(anyString(), any())).thenReturn(true);
+        when(bulkClient.registerTemplate(anyString(), anyString(), anyString())).thenReturn("tpl");
+        when(bulkClient.sendBulkEmail(anyString(), anyList()))
+                .thenThrow(new IllegalStateException("ses down"));
+
+        List<RuntimeException> outcomes =
+                transport.processBulk(
+                        "S", "B", List.of(invite("a@example.com"), invite("b@example.com")));
+
+        assertThat(outcomes).allSatisfy(e -> assertThat(e).hasMessage("ses down"));
+        verify(idempotency).release("idem:a@example.com");
+        verify(idempotency).release("idem:b@example.com");
+    }
+
+    @Test
+    void processBulk_partlySentCallReleasesOnlyTheUnsentClaims() {
+        allowAll();
+        when(keys.buildEmailKey(anyString(), anyString(), any(), any(), anyList()))
+                .thenAnswer(invocation -> "idem:" + invocation.getArgument(0));
+        when(idempotency.tryClaim(anyString(), any())).thenReturn(true);
+        when(bulkClient.registerTemplate(anyString(), anyString(), anyString())).thenReturn("tpl");
+        when(bulkClient.sendBulkEmail(anyString(), anyList()))
+                .thenReturn(Arrays.asList(null, "Not sent: throttled"));
+
+        List<RuntimeException> outcomes =
+                transport.processBulk(
+                        "S", "B", List.of(invite("a@example.com"), invite("b@example.com")));
+
+        assertThat(outcomes.get(0)).isNull();
+        assertThat(outcomes.get(1)).hasMessageContaining("throttled");
+        verify(idempotency).complete(eq("idem:a@example.com"), any());
+        verify(idempotency).release("idem:b@example.com");
+        verify(idempotency, never()).release("idem:a@example.com");
+    }
+}
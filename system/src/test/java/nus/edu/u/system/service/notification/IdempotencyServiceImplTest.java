@@ -0,0 +1,74 @@
+package nus.edu.u.system.service.notification;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+class IdempotencyServiceImplTest {
+
+    private StringRedisTemplate redis;
+    private ValueOperations<String, String> ops;
+    private IdempotencyServiceImpl sut;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redis = mock(StringRedisTemplate.class);
+        ops = mock(ValueOperations.class);
+        when(redis.opsForValue()).thenReturn(ops);
+        sut = new IdempotencyServiceImpl(redis);
+    }
+
+    @Test
+    void tryClaim_duplicateWithinABulkJobSkipsRedis() {
+        when(ops.setIfAbsent("idem:1", "CLAIMED", Duration.ofMinutes(2))).thenReturn(true);
+
+        assertTrue(sut.tryClaim("idem:1", Duration.ofMinutes(2)));
+        assertFalse(sut.tryClaim("idem:1", Duration.ofMinutes(2)));
+
+        verify(ops, times(1)).setIfAbsent(anyString(), anyString(), any(Duration.class));
+    }
+
+    @Test
+    void tryClaim_entryOutlivingHalfItsClaimAsksRedisAgain() {
+        // Half of a one nanosecond claim is no time at all, so the entry is never trusted
+        when(ops.setIfAbsent("idem:1", "CLAIMED", Duration.ofNanos(1))).thenReturn(true);
+
+        assertTrue(sut.tryClaim("idem:1", Duration.ofNanos(1)));
+        assertTrue(sut.tryClaim("idem:1", Duration.ofNanos(1)));
+
+        verify(ops, times(2)).setIfAbsent(anyString(), anyString(), any(Duration.class));
+    }
+
+    @Test
+    void tryClaim_keyHeldElsewhereIsNotCached() {
+        when(ops.setIfAbsent("idem:1", "CLAIMED", Duration.ofMinutes(2))).thenReturn(false, true);
+
+        assertFalse(sut.tryClaim("idem:1", Duration.ofMinutes(2)));
+        assertTrue(sut.tryClaim("idem:1", Duration.ofMinutes(2)));
+    }
+
+    @Test
+    void release_letsTheSendBeTriedAgain() {
+        when(ops.setIfAbsent("idem:1", "CLAIMED", Duration.ofMinutes(2))).thenReturn(true);
+        assertTrue(sut.tryClaim("idem:1", Duration.ofMinutes(2)));
+
+        sut.release("idem:1");
+
+        verify(redis).delete("idem:1");
+        assertTrue(sut.tryClaim("idem:1", Duration.ofMinutes(2)));
+    }
+
+    @Test
+    void complete_recordsTheSendForTheDedupeWindow() {
+        sut.complete("idem:1", Duration.ofMinutes(10));
+
+        verify(ops).set("idem:1", "SENT", Duration.ofMinutes(10));
+    }
+}
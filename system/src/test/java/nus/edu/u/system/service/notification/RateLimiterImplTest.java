@@ -1,96 +1,140 @@
 package nus.edu.u.system.service.notification;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import java.time.Duration;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
 
 class RateLimiterImplTest {
 
     private StringRedisTemplate redis;
-    private ValueOperations<String, String> valueOps;
     private RateLimiterImpl sut;
 
     @BeforeEach
     void setUp() {
         redis = Mockito.mock(StringRedisTemplate.class);
-        valueOps = Mockito.mock(ValueOperations.class);
-        when(redis.opsForValue()).thenReturn(valueOps);
         sut = new RateLimiterImpl(redis);
     }
 
-    @Test
-    void allow_firstHit_setsTtl_andAllows() {
-        String key = "rate:user:1";
-        Duration window = Duration.ofSeconds(60);
-        int limit = 5;
+    private void grant(Long first, Long... then) {
+        when(redis.execute(any(RedisScript.class), anyList(), any(), any(), any()))
+                .thenReturn(first, then);
+    }
 
-        when(valueOps.increment(key)).thenReturn(1L);
+    @Test
+    void allow_leasesATenthOfTheBucketInOneCall() {
+        String key = "{rate:email:AWS_SES}";
+        grant(10L);
 
-        boolean allowed = sut.allow(key, limit, window);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(sut.allow(key, 100, Duration.ofMinutes(1)));
+        }
 
-        assertTrue(allowed);
-        verify(redis).expire(key, window);
+        verify(redis, times(1))
+                .execute(
+                        any(RedisScript.class), eq(List.of(key)), eq("60000"), eq("10"), eq("100"));
     }
 
     @Test
-    void allow_withinLimit_noTtlReset() {
-        String key = "rate:user:2";
-        Duration window = Duration.ofSeconds(30);
-        int limit = 5;
+    void allow_leaseUsedUpAsksRedisAgain() {
+        grant(2L, 0L);
 
-        when(valueOps.increment(key)).thenReturn(3L); // not first hit
+        assertTrue(sut.allow("{rate:email:AWS_SES}", 20, Duration.ofMinutes(1)));
+        assertTrue(sut.allow("{rate:email:AWS_SES}", 20, Duration.ofMinutes(1)));
+        assertFalse(sut.allow("{rate:email:AWS_SES}", 20, Duration.ofMinutes(1)));
 
-        boolean allowed = sut.allow(key, limit, window);
-
-        assertTrue(allowed);
-        verify(redis, never()).expire(eq(key), any(Duration.class));
+        verify(redis, times(2)).execute(any(RedisScript.class), anyList(), any(), any(), any());
     }
 
     @Test
-    void block_whenOverLimit() {
-        String key = "rate:user:3";
-        Duration window = Duration.ofSeconds(45);
-        int limit = 5;
-
-        when(valueOps.increment(key)).thenReturn(6L); // over limit
+    void allow_leaseIsCappedForLargeBuckets() {
+        grant(20L);
 
-        boolean allowed = sut.allow(key, limit, window);
+        assertTrue(sut.allow("{rate:email:AWS_SES}", 10_000, Duration.ofMinutes(1)));
 
-        assertFalse(allowed);
-        verify(redis, never()).expire(eq(key), any(Duration.class));
+        verify(redis).execute(any(RedisScript.class), anyList(), any(), eq("20"), any());
     }
 
     @Test
-    void returnsFalse_whenIncrementReturnsNull() {
-        String key = "rate:user:4";
-        Duration window = Duration.ofSeconds(10);
-        int limit = 1;
+    void allow_smallBucketTakesOnePermitAtATime() {
+        grant(1L);
 
-        when(valueOps.increment(key)).thenReturn(null);
+        assertTrue(sut.allow("{rate:email:AWS_SES}:tenant:7", 5, Duration.ofMinutes(1)));
 
-        boolean allowed = sut.allow(key, limit, window);
+        verify(redis).execute(any(RedisScript.class), anyList(), any(), eq("1"), any());
+    }
 
-        assertFalse(allowed);
-        verify(redis, never()).expire(eq(key), any(Duration.class));
+    @Test
+    void allow_keysHaveTheirOwnLeases() {
+        grant(5L, 5L);
+
+        assertTrue(sut.allow("{rate:email:AWS_SES}:tenant:7", 50, Duration.ofMinutes(1)));
+        assertTrue(sut.allow("{rate:email:AWS_SES}:tenant:8", 50, Duration.ofMinutes(1)));
+
+        verify(redis)
+                .execute(
+                        any(RedisScript.class),
+                        eq(List.of("{rate:email:AWS_SES}:tenant:7")),
+                        any(),
+                        any(),
+                        any());
+        verify(redis)
+                .execute(
+                        any(RedisScript.class),
+                        eq(List.of("{rate:email:AWS_SES}:tenant:8")),
+                        any(),
+                        any(),
+                        any());
     }
 
     @Test
-    void firstHit_butLimitZero_setsTtl_andBlocks() {
-        String key = "rate:user:5";
-        Duration window = Duration.ofSeconds(20);
-        int limit = 0;
+    void allow_bucketsAreTakenFromInOneCallSizedByTheSmallest() {
+        when(redis.execute(any(RedisScript.class), anyList(), any(), any(), any(), any()))
+                .thenReturn(5L);
+        List<RateLimiter.Bucket> buckets =
+                List.of(
+                        new RateLimiter.Bucket("{rate:email:AWS_SES}:tenant:7", 50),
+                        new RateLimiter.Bucket("{rate:email:AWS_SES}", 1_000));
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(sut.allow(buckets, Duration.ofMinutes(1)));
+        }
+
+        verify(redis, times(1))
+                .execute(
+                        any(RedisScript.class),
+                        eq(List.of("{rate:email:AWS_SES}:tenant:7", "{rate:email:AWS_SES}")),
+                        eq("60000"),
+                        eq("5"),
+                        eq("50"),
+                        eq("1000"));
+    }
 
-        when(valueOps.increment(key)).thenReturn(1L);
+    @Test
+    void allow_nullReplyBlocks() {
+        when(redis.execute(any(RedisScript.class), anyList(), any(), any(), any()))
+                .thenReturn(null);
 
-        boolean allowed = sut.allow(key, limit, window);
+        assertFalse(sut.allow("{rate:email:AWS_SES}", 5, Duration.ofSeconds(10)));
+    }
 
-        assertFalse(allowed);
-        verify(redis).expire(key, window);
+    @Test
+    void allow_limitZeroBlocksWithoutRedis() {
+        assertFalse(sut.allow("{rate:email:AWS_SES}", 0, Duration.ofSeconds(20)));
+        assertFalse(
+                sut.allow(
+                        List.of(
+                                new RateLimiter.Bucket("{rate:email:AWS_SES}:tenant:7", 0),
+                                new RateLimiter.Bucket("{rate:email:AWS_SES}", 100)),
+                        Duration.ofSeconds(20)));
+
+        verifyNoInteractions(redis);
     }
 }
@@ -0,0 +1,77 @@
+package nus.edu.u.system.service.notification.outbox;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import nus.edu.u.common.utils.json.JsonUtils;
+import nus.edu.u.system.domain.dataobject.notification.EmailOutboxDO;
+import nus.edu.u.system.domain.dto.AttachmentDTO;
+import nus.edu.u.system.domain.dto.NotificationRequestDTO;
+import nus.edu.u.system.enums.email.EmailProvider;
+import nus.edu.u.system.enums.email.EmailStatus;
+import nus.edu.u.system.mapper.notification.EmailOutboxMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxTest {
+
+    @Mock private EmailOutboxMapper emailOutboxMapper;
+    @Mock private EmailOutboxWorker emailOutboxWorker;
+
+    @InjectMocks private EmailOutbox outbox;
+
+    private static NotificationRequestDTO request(String to) {
+        AttachmentDTO logo =
+                new AttachmentDTO("logo.png", "image/png", new byte[] {1, 2}, null, true, "logo");
+        return NotificationRequestDTO.builder()
+                .emailProvider(EmailProvider.AWS_SES)
+                .to(to)
+                .templateId("member-invite")
+                .variables(Map.of("userId", 7))
+                .locale(Locale.ENGLISH)
+                .attachment(List.of(logo))
+                .build();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void enqueueAll_insertsPendingMessagesAndWakesWorker() {
+        outbox.enqueueAll(List.of(request("a@example.com"), request("b@example.com")));
+
+        ArgumentCaptor<List<EmailOutboxDO>> captor = ArgumentCaptor.forClass(List.class);
+        verify(emailOutboxMapper).insertBatch(captor.capture());
+        List<EmailOutboxDO> messages = captor.getValue();
+        assertThat(messages)
+                .extracting(EmailOutboxDO::getToAddress)
+                .containsExactly("a@example.com", "b@example.com");
+        EmailOutboxDO first = messages.get(0);
+        assertThat(first.getId()).isNotNull();
+        assertThat(first.getStatus()).isEqualTo(EmailStatus.PENDING.name());
+        assertThat(first.getAttempts()).isZero();
+        assertThat(first.getNextAttemptTime()).isNotNull();
+        assertThat(first.getCreator()).isEqualTo("system");
+        assertThat(first.getTenantId()).isNull();
+
+        NotificationRequestDTO payload =
+                JsonUtils.parseObject(first.getPayload(), NotificationRequestDTO.class);
+        assertThat(payload.getTemplateId()).isEqualTo("member-invite");
+        assertThat(payload.getAttachment().get(0).bytes()).containsExactly(1, 2);
+        verify(emailOutboxWorker).wakeUp();
+    }
+
+    @Test
+    void enqueueAll_nothingToSendWritesNothing() {
+        outbox.enqueueAll(List.of());
+
+        verifyNoInteractions(emailOutboxMapper, emailOutboxWorker);
+    }
+}
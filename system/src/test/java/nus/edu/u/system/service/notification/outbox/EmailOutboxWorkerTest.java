@@ -0,0 +1,210 @@
+package nus.edu.u.system.service.notification.outbox;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import nus.edu.u.common.exception.RateLimitExceededException;
+import nus.edu.u.common.utils.json.JsonUtils;
+import nus.edu.u.framework.mybatis.TenantContextHolder;
+import nus.edu.u.framework.notification.email.EmailOutboxPropertiesConfig;
+import nus.edu.u.system.domain.dataobject.notification.EmailOutboxDO;
+import nus.edu.u.system.domain.dto.NotificationRequestDTO;
+import nus.edu.u.system.enums.email.EmailStatus;
+import nus.edu.u.system.mapper.notification.EmailOutboxMapper;
+import nus.edu.u.system.service.notification.NotificationService;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxWorkerTest {
+
+    @Spy private EmailOutboxPropertiesConfig props = new EmailOutboxPropertiesConfig();
+    @Mock private EmailOutboxMapper emailOutboxMapper;
+    @Mock private NotificationService notificationService;
+    @Mock private ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    @InjectMocks private EmailOutboxWorker worker;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        // Outcomes are written through lambda update wrappers
+        TableInfoHelper.remove(EmailOutboxDO.class);
+        MapperBuilderAssistant assistant =
+                new MapperBuilderAssistant(new MybatisConfiguration(), "testMapper");
+        assistant.setCurrentNamespace("testMapperNamespace");
+        TableInfoHelper.initTableInfo(assistant, EmailOutboxDO.class);
+
+        // Send on the calling thread
+        ReflectionTestUtils.setField(worker, "notificationExecutor", (Executor) Runnable::run);
+        when(meterRegistryProvider.getIfAvailable()).thenReturn(registry);
+        worker.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TableInfoHelper.remove(EmailOutboxDO.class);
+    }
+
+    private static EmailOutboxDO message(Long id, int attempts) {
+        NotificationRequestDTO request =
+                NotificationRequestDTO.builder()
+                        .to("user" + id + "@example.com")
+                        .templateId("member-invite")
+                        .build();
+        return EmailOutboxDO.builder()
+                .id(id)
+                .toAddress(request.getTo())
+                .payload(JsonUtils.toJsonString(request))
+                .status(EmailStatus.SENDING.name())
+                .attempts(attempts)
+                .claimToken("token")
+                .build();
+    }
+
+    private void claim(EmailOutboxDO... messages) {
+        when(emailOutboxMapper.claimDue(anyString(), any(), any(), anyInt()))
+                .thenReturn(messages.length);
+        when(emailOutboxMapper.selectList(any())).thenReturn(List.of(messages));
+    }
+
+    private List<EmailOutboxDO> recorded() {
+        ArgumentCaptor<EmailOutboxDO> captor = ArgumentCaptor.forClass(EmailOutboxDO.class);
+        verify(emailOutboxMapper, atLeastOnce()).update(captor.capture(), any());
+        return captor.getAllValues();
+    }
+
+    @Test
+    void drain_sendsClaimedMessagesAndMarksThemSent() {
+        claim(message(1L, 0), message(2L, 0));
+
+        worker.drain();
+
+        ArgumentCaptor<NotificationRequestDTO> sent =
+                ArgumentCaptor.forClass(NotificationRequestDTO.class);
+        verify(notificationService, times(2)).send(sent.capture());
+        assertThat(sent.getAllValues())
+                .extracting(NotificationRequestDTO::getTo)
+                .containsExactly("user1@example.com", "user2@example.com");
+        assertThat(recorded())
+                .allSatisfy(
+                        change -> {
+                            assertThat(change.getStatus()).isEqualTo(EmailStatus.SENT.name());
+                            assertThat(change.getSentTime()).isNotNull();
+                        });
+        assertThat(registry.get("email.outbox.sent").counter().count()).isEqualTo(2.0);
+        assertThat(registry.get("email.outbox.in_flight").gauge().value()).isZero();
+    }
+
+    @Test
+    void drain_sendsAsTheTenantOfTheMessage() {
+        EmailOutboxDO message = message(1L, 0);
+        message.setTenantId(7L);
+        claim(message);
+        List<Long> tenants = new ArrayList<>();
+        doAnswer(invocation -> tenants.add(TenantContextHolder.getTenantId()))
+                .when(notificationService)
+                .send(any());
+
+        worker.drain();
+
+        assertThat(tenants).containsExactly(7L);
+        assertThat(TenantContextHolder.getTenantId()).isNull();
+    }
+
+    @Test
+    void drain_sendsMessagesOfOneTemplateAsOneBulkBatch() {
+        claim(message(1L, 0), message(2L, 0));
+        when(notificationService.supportsBulk(any())).thenReturn(true);
+        when(notificationService.sendBulk(anyList()))
+                .thenReturn(Arrays.asList(null, new RateLimitExceededException("slow down")));
+
+        worker.drain();
+
+        verify(notificationService).sendBulk(argThat(requests -> requests.size() == 2));
+        verify(notificationService, never()).send(any());
+        assertThat(recorded())
+                .extracting(EmailOutboxDO::getStatus)
+                .containsExactlyInAnyOrder(EmailStatus.SENT.name(), EmailStatus.PENDING.name());
+        assertThat(registry.get("email.outbox.in_flight").gauge().value()).isZero();
+    }
+
+    @Test
+    void drain_failureSchedulesRetryWithBackoff() {
+        claim(message(1L, 0));
+        doThrow(new IllegalStateException("ses down")).when(notificationService).send(any());
+
+        LocalDateTime before = LocalDateTime.now();
+        worker.drain();
+
+        EmailOutboxDO change = recorded().get(0);
+        assertThat(change.getStatus()).isEqualTo(EmailStatus.FAILED.name());
+        assertThat(change.getAttempts()).isEqualTo(1);
+        assertThat(change.getNextAttemptTime()).isAfterOrEqualTo(before.plusSeconds(15));
+        assertThat(registry.get("email.outbox.retried").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void drain_lastAttemptDeadLetters() {
+        claim(message(1L, props.getMaxAttempts() - 1));
+        doThrow(new IllegalStateException("bad address")).when(notificationService).send(any());
+
+        worker.drain();
+
+        EmailOutboxDO change = recorded().get(0);
+        assertThat(change.getStatus()).isEqualTo(EmailStatus.DEAD.name());
+        assertThat(change.getAttempts()).isEqualTo(props.getMaxAttempts());
+        assertThat(registry.get("email.outbox.dead").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void drain_rateLimitedKeepsItsAttempts() {
+        claim(message(1L, 2));
+        doThrow(new RateLimitExceededException("slow down")).when(notificationService).send(any());
+
+        worker.drain();
+
+        EmailOutboxDO change = recorded().get(0);
+        assertThat(change.getStatus()).isEqualTo(EmailStatus.PENDING.name());
+        assertThat(change.getAttempts()).isEqualTo(2);
+    }
+
+    @Test
+    void drain_nothingDueSendsNothing() {
+        when(emailOutboxMapper.claimDue(anyString(), any(), any(), anyInt())).thenReturn(0);
+
+        worker.drain();
+
+        verify(emailOutboxMapper, never()).selectList(any());
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void backoff_doublesPerAttemptUpToMax() {
+        assertThat(worker.backoff(1)).isBetween(Duration.ofSeconds(15), Duration.ofSeconds(30));
+        assertThat(worker.backoff(3)).isBetween(Duration.ofSeconds(60), Duration.ofSeconds(120));
+        assertThat(worker.backoff(30)).isBetween(Duration.ofMinutes(30), Duration.ofHours(1));
+    }
+}
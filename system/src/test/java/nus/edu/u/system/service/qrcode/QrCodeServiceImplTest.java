@@ -1,16 +1,22 @@
 package nus.edu.u.system.service.qrcode;
 
 import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.mock;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.List;
+import nus.edu.u.framework.qrcode.QrCodeCachePropertiesConfig;
+import nus.edu.u.system.domain.dto.QrImageDTO;
 import nus.edu.u.system.domain.vo.qrcode.QrCodeReqVO;
 import nus.edu.u.system.domain.vo.qrcode.QrCodeRespVO;
+import nus.edu.u.system.service.qrcode.cache.QrImageCache;
 import nus.edu.u.system.service.qrcode.strategy.QrCodeGenerationStrategy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
 
 /**
  * Unit tests for QrCodeServiceImpl.
@@ -20,17 +26,32 @@ import org.junit.jupiter.api.Test;
 class QrCodeServiceImplTest {
 
     private QrCodeServiceImpl qrCodeService;
+    private StubStrategy compactStrategy;
+
+    @SuppressWarnings("unchecked")
+    private static QrImageCache newImageCache() {
+        QrImageCache cache = new QrImageCache();
+        ReflectionTestUtils.setField(cache, "props", new QrCodeCachePropertiesConfig());
+        ReflectionTestUtils.setField(cache, "meterRegistryProvider", mock(ObjectProvider.class));
+        cache.init();
+        return cache;
+    }
 
     @BeforeEach
     void setUp() throws Exception {
         qrCodeService = new QrCodeServiceImpl();
 
         // Inject a mutable list of stub strategies (avoid immutable list issues)
+        compactStrategy = new StubStrategy("COMPACT", 80);
         List<QrCodeGenerationStrategy> stubs =
                 new ArrayList<>(
-                        List.of(new StubStrategy("STANDARD", 100), new StubStrategy("SECURE", 90)));
+                        List.of(
+                                new StubStrategy("STANDARD", 100),
+                                new StubStrategy("SECURE", 90),
+                                compactStrategy));
         setField("strategies", stubs);
         setField("baseUrl", "http://test-host");
+        setField("qrImageCache", newImageCache());
 
         // call init() to perform post-construct initialization (sort + default selection)
         qrCodeService.init();
@@ -71,7 +92,7 @@ class QrCodeServiceImplTest {
     }
 
     @Test
-    void generateEventCheckInQrWithToken_usesBaseUrl_and_secureStrategy() {
+    void generateEventCheckInQrWithToken_usesBaseUrl_and_compactStrategy() {
         QrCodeRespVO resp = qrCodeService.generateEventCheckInQrWithToken("token-xyz");
 
         assertThat(resp.getBase64Image()).isNotBlank();
@@ -82,10 +103,25 @@ class QrCodeServiceImplTest {
         assertThat(decoded).contains("http://test-host/system/attendee/scan?token=token-xyz");
     }
 
+    @Test
+    void getEventCheckInQrImage_rendersOncePerToken() {
+        QrImageDTO first = qrCodeService.getEventCheckInQrImage("token-a");
+        QrImageDTO again = qrCodeService.getEventCheckInQrImage("token-a");
+        qrCodeService.generateEventCheckInQrWithToken("token-a");
+        QrImageDTO other = qrCodeService.getEventCheckInQrImage("token-b");
+
+        assertThat(again).isSameAs(first);
+        assertThat(first.getContentType()).isEqualTo("image/png");
+        assertThat(first.getEtag()).startsWith("\"").endsWith("\"");
+        assertThat(other.getEtag()).isNotEqualTo(first.getEtag());
+        assertThat(compactStrategy.renders).isEqualTo(2);
+    }
+
     /** Simple stub strategy for testing */
     private static final class StubStrategy implements QrCodeGenerationStrategy {
         private final String name;
         private final int priority;
+        private int renders;
 
         private StubStrategy(String name, int priority) {
             this.name = name;
@@ -105,6 +141,7 @@ class QrCodeServiceImplTest {
 
         @Override
         public QrCodeRespVO generate(nus.edu.u.system.domain.vo.qrcode.QrCodeReqVO reqVO) {
+            renders++;
             String content = reqVO.getContent();
             if (content == null) content = "empty";
             String base64 = Base64.getEncoder().encodeToString(content.getBytes());
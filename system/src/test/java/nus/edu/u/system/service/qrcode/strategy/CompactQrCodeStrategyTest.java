@@ -0,0 +1,85 @@
+package nus.edu.u.system.service.qrcode.strategy;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.client.j2se.BufferedImageLuminanceSource;
+import com.google.zxing.common.HybridBinarizer;
+import com.google.zxing.qrcode.QRCodeReader;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import javax.imageio.ImageIO;
+import nus.edu.u.system.domain.vo.qrcode.QrCodeReqVO;
+import nus.edu.u.system.domain.vo.qrcode.QrCodeRespVO;
+import org.junit.jupiter.api.Test;
+
+class CompactQrCodeStrategyTest {
+
+    private static final String CONTENT = "http://test-host/system/attendee/scan?token=abc-123";
+
+    private final CompactQrCodeStrategy strategy = new CompactQrCodeStrategy();
+
+    private static QrCodeReqVO request(String format, int size) {
+        return QrCodeReqVO.builder()
+                .content(CONTENT)
+                .size(size)
+                .format(format)
+                .type(CompactQrCodeStrategy.NAME)
+                .build();
+    }
+
+    @Test
+    void png_isOneBitAndDecodesBackToContent() throws Exception {
+        byte[] png = strategy.generateBytes(request("PNG", 400));
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        assertThat(image.getWidth()).isEqualTo(400);
+        assertThat(image.getHeight()).isEqualTo(400);
+        assertThat(image.getColorModel().getPixelSize()).isEqualTo(1);
+
+        String decoded =
+                new QRCodeReader()
+                        .decode(
+                                new BinaryBitmap(
+                                        new HybridBinarizer(
+                                                new BufferedImageLuminanceSource(image))))
+                        .getText();
+        assertThat(decoded).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void png_repeatedRendersAreIdentical() {
+        byte[] first = strategy.generateBytes(request("PNG", 300));
+        strategy.generateBytes(request("PNG", 500));
+        byte[] again = strategy.generateBytes(request("PNG", 300));
+
+        assertThat(again).isEqualTo(first);
+    }
+
+    @Test
+    void svg_scalesModulesToRequestedSize() {
+        String svg =
+                new String(strategy.generateBytes(request("SVG", 256)), StandardCharsets.US_ASCII);
+
+        assertThat(svg).startsWith("<svg").endsWith("</svg>");
+        assertThat(svg).contains("width=\"256\"").contains("viewBox=\"0 0 ");
+        assertThat(svg).contains("<path fill=\"#000\" d=\"M");
+    }
+
+    @Test
+    void generate_reportsContentType() {
+        QrCodeRespVO png = strategy.generate(request("PNG", 200));
+        QrCodeRespVO svg = strategy.generate(request("svg", 200));
+
+        assertThat(png.getContentType()).isEqualTo("image/png");
+        assertThat(svg.getContentType()).isEqualTo("image/svg+xml");
+    }
+
+    @Test
+    void supports_onlyCompactTypeAndKnownFormats() {
+        assertThat(strategy.supports(request("PNG", 200))).isTrue();
+        assertThat(strategy.supports(request("JPG", 200))).isFalse();
+        assertThat(strategy.supports(QrCodeReqVO.builder().type("SECURE").build())).isFalse();
+    }
+}
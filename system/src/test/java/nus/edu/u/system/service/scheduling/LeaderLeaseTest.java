@@ -0,0 +1,67 @@
+package nus.edu.u.system.service.scheduling;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+@ExtendWith(MockitoExtension.class)
+class LeaderLeaseTest {
+
+    @Mock private StringRedisTemplate stringRedisTemplate;
+
+    @InjectMocks private LeaderLease leaderLease;
+
+    @Test
+    void acquire_holdsLeaseWhenScriptGrantsIt() {
+        when(stringRedisTemplate.execute(
+                        any(RedisScript.class),
+                        eq(List.of("chronoflow:leader:job")),
+                        anyString(),
+                        eq("30000")))
+                .thenReturn(1L);
+
+        assertThat(leaderLease.acquire("job", Duration.ofSeconds(30))).isTrue();
+    }
+
+    @Test
+    void acquire_otherNodeHoldsLease() {
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(), any()))
+                .thenReturn(0L);
+
+        assertThat(leaderLease.acquire("job", Duration.ofSeconds(30))).isFalse();
+    }
+
+    @Test
+    void acquire_redisDownIsNotLeading() {
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(), any()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThat(leaderLease.acquire("job", Duration.ofSeconds(30))).isFalse();
+    }
+
+    @Test
+    void releaseAll_givesUpOnlyHeldLeases() {
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(), any()))
+                .thenReturn(1L, 0L);
+        leaderLease.acquire("held", Duration.ofSeconds(30));
+        leaderLease.acquire("lost", Duration.ofSeconds(30));
+
+        leaderLease.releaseAll();
+
+        verify(stringRedisTemplate)
+                .execute(any(RedisScript.class), eq(List.of("chronoflow:leader:held")), any());
+        verify(stringRedisTemplate, never())
+                .execute(any(RedisScript.class), eq(List.of("chronoflow:leader:lost")), any());
+    }
+}
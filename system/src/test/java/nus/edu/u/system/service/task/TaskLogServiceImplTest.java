@@ -1,14 +1,18 @@
 package nus.edu.u.system.service.task;
 
 import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.mockStatic;
 
+import cn.dev33.satoken.stp.StpUtil;
 import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import java.io.Serializable;
 import java.lang.reflect.Field;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.LongStream;
 import nus.edu.u.common.exception.ServiceException;
+import nus.edu.u.framework.mybatis.TenantContextHolder;
 import nus.edu.u.system.domain.dataobject.task.TaskLogDO;
 import nus.edu.u.system.domain.dataobject.user.UserDO;
 import nus.edu.u.system.domain.vo.file.FileResultVO;
@@ -17,8 +21,10 @@ import nus.edu.u.system.domain.vo.task.TaskLogRespVO;
 import nus.edu.u.system.mapper.task.TaskLogMapper;
 import nus.edu.u.system.mapper.user.UserMapper;
 import nus.edu.u.system.service.file.FileStorageService;
+import nus.edu.u.system.service.task.log.TaskLogBuffer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
 
 class TaskLogServiceImplTest {
 
@@ -26,6 +32,7 @@ class TaskLogServiceImplTest {
     private RecordingTaskLogMapper taskLogMapper;
     private RecordingUserMapper userMapper;
     private RecordingFileStorageService fileStorageService;
+    private RecordingTaskLogBuffer taskLogBuffer;
 
     @BeforeEach
     void setUp() {
@@ -33,10 +40,12 @@ class TaskLogServiceImplTest {
         taskLogMapper = new RecordingTaskLogMapper();
         userMapper = new RecordingUserMapper();
         fileStorageService = new RecordingFileStorageService();
+        taskLogBuffer = new RecordingTaskLogBuffer();
 
         setField("taskLogMapper", taskLogMapper);
         setField("userMapper", userMapper);
         setField("fileStorageService", fileStorageService);
+        setField("taskLogBuffer", taskLogBuffer);
     }
 
     @Test
@@ -55,6 +64,75 @@ class TaskLogServiceImplTest {
                 .isInstanceOf(ServiceException.class);
     }
 
+    @Test
+    void appendTaskLog_withoutWriteBehindInsertsRightAway() {
+        taskLogService.appendTaskLog(1L, 2L, 3, "remark");
+
+        assertThat(taskLogMapper.inserted).hasSize(1);
+        assertThat(taskLogBuffer.appended).isEmpty();
+    }
+
+    @Test
+    void appendTaskLog_withWriteBehindHandsLogToBuffer() {
+        taskLogBuffer.enabled = true;
+
+        try (MockedStatic<StpUtil> stp = mockStatic(StpUtil.class)) {
+            stp.when(StpUtil::getLoginId).thenReturn(7L);
+            TenantContextHolder.runAs(40L, () -> taskLogService.appendTaskLog(1L, 2L, 3, "remark"));
+        }
+
+        assertThat(taskLogMapper.inserted).isEmpty();
+        assertThat(taskLogBuffer.appended).hasSize(1);
+        TaskLogDO appended = taskLogBuffer.appended.get(0);
+        assertThat(appended.getId()).isNotNull();
+        assertThat(appended.getTenantId()).isEqualTo(40L);
+        assertThat(appended.getTargetUserId()).isEqualTo(2L);
+        assertThat(appended.getCreator()).isEqualTo("7");
+        assertThat(appended.getCreateTime()).isNotNull();
+    }
+
+    @Test
+    void insertTaskLogs_writesOneRowPerTaskInChunks() {
+        List<Long> taskIds = LongStream.rangeClosed(1, 501).boxed().toList();
+
+        try (MockedStatic<StpUtil> stp = mockStatic(StpUtil.class)) {
+            stp.when(StpUtil::getLoginId).thenReturn(7L);
+            taskLogService.insertTaskLogs(taskIds, 5, "bulk");
+        }
+
+        assertThat(taskLogMapper.batchSizes).containsExactly(500, 1);
+        assertThat(taskLogMapper.inserted)
+                .extracting(TaskLogDO::getTaskId)
+                .containsExactlyElementsOf(taskIds);
+        assertThat(taskLogMapper.inserted).extracting(TaskLogDO::getId).doesNotHaveDuplicates();
+        assertThat(taskLogMapper.inserted)
+                .allSatisfy(
+                        log -> {
+                            assertThat(log.getAction()).isEqualTo(5);
+                            assertThat(log.getRemark()).isEqualTo("bulk");
+                            assertThat(log.getCreator()).isEqualTo("7");
+                            assertThat(log.getCreateTime()).isNotNull();
+                        });
+    }
+
+    @Test
+    void insertTaskLogs_emptyDoesNothing() {
+        taskLogService.insertTaskLogs(List.of(), 5, null);
+
+        assertThat(taskLogMapper.batchSizes).isEmpty();
+    }
+
+    @Test
+    void insertTaskLogs_shortInsertThrows() {
+        taskLogMapper.nextInsertResult = 0;
+
+        try (MockedStatic<StpUtil> stp = mockStatic(StpUtil.class)) {
+            stp.when(StpUtil::getLoginId).thenReturn(7L);
+            assertThatThrownBy(() -> taskLogService.insertTaskLogs(List.of(1L, 2L), 5, null))
+                    .isInstanceOf(ServiceException.class);
+        }
+    }
+
     @Test
     void getTaskLog_returnsEnrichedResponse() {
         TaskLogDO log1 =
@@ -83,7 +161,6 @@ class TaskLogServiceImplTest {
         userMapper.users.put(8L, user(8L, "creator"));
 
         fileStorageService.filesByLogId.put(10L, List.of(file("f1")));
-        fileStorageService.filesByLogId.put(11L, List.of());
 
         List<TaskLogRespVO> logs = taskLogService.getTaskLog(1L);
 
@@ -96,6 +173,8 @@ class TaskLogServiceImplTest {
         TaskLogRespVO second = logs.get(1);
         assertThat(second.getTargetUser()).isNull();
         assertThat(second.getSourceUser().getId()).isEqualTo(5L);
+        assertThat(second.getFileResults()).isEmpty();
+        assertThat(fileStorageService.batchLookups).isEqualTo(1);
     }
 
     @Test
@@ -123,8 +202,24 @@ class TaskLogServiceImplTest {
         }
     }
 
+    private static final class RecordingTaskLogBuffer extends TaskLogBuffer {
+        private final List<TaskLogDO> appended = new ArrayList<>();
+        private boolean enabled;
+
+        @Override
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        @Override
+        public void append(TaskLogDO taskLog) {
+            appended.add(taskLog);
+        }
+    }
+
     private static final class RecordingTaskLogMapper implements TaskLogMapper {
         private final List<TaskLogDO> inserted = new ArrayList<>();
+        private final List<Integer> batchSizes = new ArrayList<>();
         private final List<TaskLogDO> logs = new ArrayList<>();
         private int nextInsertResult = 1;
 
@@ -140,6 +235,16 @@ class TaskLogServiceImplTest {
             return nextInsertResult;
         }
 
+        @Override
+        public int insertBatch(List<TaskLogDO> list) {
+            if (nextInsertResult <= 0) {
+                return 0;
+            }
+            batchSizes.add(list.size());
+            inserted.addAll(list);
+            return list.size();
+        }
+
         @Override
         public List<TaskLogDO> selectList(Wrapper<TaskLogDO> queryWrapper) {
             return new ArrayList<>(logs);
@@ -483,6 +588,7 @@ class TaskLogServiceImplTest {
 
     private static final class RecordingFileStorageService implements FileStorageService {
         private final Map<Long, List<FileResultVO>> filesByLogId = new HashMap<>();
+        private int batchLookups;
 
         @Override
         public List<FileResultVO> uploadToTaskLog(FileUploadReqVO req) {
@@ -496,7 +602,21 @@ class TaskLogServiceImplTest {
 
         @Override
         public List<FileResultVO> downloadFilesByTaskLogId(Long taskLogId) {
-            return filesByLogId.getOrDefault(taskLogId, List.of());
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Map<Long, List<FileResultVO>> downloadFilesByTaskLogIds(
+                Collection<Long> taskLogIds) {
+            batchLookups++;
+            Map<Long, List<FileResultVO>> files = new HashMap<>();
+            taskLogIds.forEach(
+                    id -> {
+                        if (filesByLogId.containsKey(id)) {
+                            files.put(id, filesByLogId.get(id));
+                        }
+                    });
+            return files;
         }
     }
 }
@@ -5,11 +5,14 @@ import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import cn.dev33.satoken.stp.StpUtil;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
 import java.time.LocalDateTime;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.util.stream.Stream;
 import nus.edu.u.common.exception.ServiceException;
 import nus.edu.u.system.domain.dataobject.dept.DeptDO;
 import nus.edu.u.system.domain.dataobject.task.EventDO;
@@ -17,10 +20,15 @@ import nus.edu.u.system.domain.dataobject.task.TaskDO;
 import nus.edu.u.system.domain.dataobject.user.UserDO;
 import nus.edu.u.system.domain.dataobject.user.UserGroupDO;
 import nus.edu.u.system.domain.dto.TaskActionDTO;
+import nus.edu.u.system.domain.dto.TaskDetailDTO;
+import nus.edu.u.system.domain.dto.UserGroupNameDTO;
+import nus.edu.u.system.domain.vo.task.TaskBulkActionReqVO;
+import nus.edu.u.system.domain.vo.task.TaskBulkActionRespVO;
 import nus.edu.u.system.domain.vo.task.TaskCreateReqVO;
 import nus.edu.u.system.domain.vo.task.TaskDashboardRespVO;
 import nus.edu.u.system.domain.vo.task.TaskRespVO;
 import nus.edu.u.system.domain.vo.task.TaskUpdateReqVO;
+import nus.edu.u.system.domain.vo.task.TasksRespVO;
 import nus.edu.u.system.enums.task.TaskActionEnum;
 import nus.edu.u.system.enums.task.TaskStatusEnum;
 import nus.edu.u.system.mapper.dept.DeptMapper;
@@ -30,11 +38,14 @@ import nus.edu.u.system.mapper.user.UserGroupMapper;
 import nus.edu.u.system.mapper.user.UserMapper;
 import nus.edu.u.system.service.task.action.TaskActionFactory;
 import nus.edu.u.system.service.task.action.TaskStrategy;
+import nus.edu.u.system.service.task.dashboard.MemberDashboardStore;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
@@ -48,6 +59,8 @@ class TaskServiceImplTest {
     @Mock private DeptMapper deptMapper;
     @Mock private TaskActionFactory taskActionFactory;
     @Mock private TaskStrategy taskStrategy;
+    @Mock private MemberDashboardStore memberDashboardStore;
+    @Mock private TaskLogService taskLogService;
 
     @InjectMocks private TaskServiceImpl service;
 
@@ -248,6 +261,8 @@ class TaskServiceImplTest {
         assertThat(resp.getAssignerUser()).isNotNull();
         assertThat(resp.getAssignerUser().getId()).isEqualTo(assignerId);
         verify(taskStrategy).execute(any(TaskDO.class), any(TaskActionDTO.class));
+        verify(memberDashboardStore)
+                .taskChanged(eq(taskId), eq(Arrays.asList(assigneeId, assigneeId)), any());
     }
 
     @Test
@@ -466,6 +481,163 @@ class TaskServiceImplTest {
                 .isEqualTo(TASK_NOT_FOUND.getCode());
     }
 
+    // ---------- bulkAction tests ----------
+
+    private TaskBulkActionReqVO bulkReq(TaskActionEnum action, Long... taskIds) {
+        TaskBulkActionReqVO reqVO = new TaskBulkActionReqVO();
+        reqVO.setTaskIds(List.of(taskIds));
+        reqVO.setType(action.getCode());
+        reqVO.setRemark("bulk");
+        return reqVO;
+    }
+
+    private TaskDO mockBulkTask(Long taskId, Integer status, String creator) {
+        TaskDO task = mockTask(taskId, 1L, 201L);
+        task.setStatus(status);
+        task.setCreator(creator);
+        return task;
+    }
+
+    @Test
+    void bulkAction_approve_movesValidTasksAndReportsEachFailure() {
+        Integer waiting = TaskStatusEnum.PENDING_APPROVAL.getStatus();
+        when(eventMapper.selectById(1L)).thenReturn(mockEvent(1L, 100L, 301L));
+        when(taskMapper.selectList(any()))
+                .thenReturn(
+                        List.of(
+                                mockBulkTask(10L, waiting, "301"),
+                                mockBulkTask(11L, waiting, "999"),
+                                mockBulkTask(12L, TaskStatusEnum.PROGRESS.getStatus(), "301"),
+                                mockBulkTask(14L, waiting, "301")));
+        when(taskMapper.update(any(TaskDO.class), any())).thenReturn(2);
+
+        TaskBulkActionRespVO resp;
+        try (MockedStatic<StpUtil> stp = mockStatic(StpUtil.class)) {
+            stp.when(StpUtil::getLoginId).thenReturn("301");
+            resp =
+                    service.bulkAction(
+                            1L, bulkReq(TaskActionEnum.APPROVE, 10L, 11L, 12L, 13L, 14L, 10L));
+            stp.verify(() -> StpUtil.checkPermission(anyString()));
+        }
+
+        assertThat(resp.getSucceeded()).isEqualTo(2);
+        assertThat(resp.getFailed()).isEqualTo(3);
+        assertThat(resp.getResults())
+                .extracting(TaskBulkActionRespVO.Result::getTaskId)
+                .containsExactly(10L, 11L, 12L, 13L, 14L);
+        assertThat(resp.getResults())
+                .extracting(TaskBulkActionRespVO.Result::getCode)
+                .containsExactly(
+                        null,
+                        MODIFY_OTHER_TASK_ERROR.getCode(),
+                        MODIFY_WRONG_TASK_STATUS.getCode(),
+                        TASK_NOT_FOUND.getCode(),
+                        null);
+        verify(taskMapper, times(1)).selectList(any());
+        verify(taskMapper, times(1)).update(any(TaskDO.class), any());
+        verify(taskMapper, never()).updateById(any(TaskDO.class));
+        verify(taskLogService)
+                .insertTaskLogs(List.of(10L, 14L), TaskActionEnum.APPROVE.getCode(), "bulk");
+        verify(memberDashboardStore).evict(List.of(201L, 201L));
+    }
+
+    @Test
+    void bulkAction_taskNotMoved_failsTheWholeAction() {
+        Integer pending = TaskStatusEnum.PENDING.getStatus();
+        when(eventMapper.selectById(1L)).thenReturn(mockEvent(1L, 100L, 301L));
+        when(taskMapper.selectList(any()))
+                .thenReturn(
+                        List.of(
+                                mockBulkTask(10L, pending, "301"),
+                                mockBulkTask(11L, pending, "301")));
+        when(taskMapper.update(any(TaskDO.class), any())).thenReturn(1);
+
+        try (MockedStatic<StpUtil> stp = mockStatic(StpUtil.class)) {
+            stp.when(StpUtil::getLoginId).thenReturn("201");
+            assertThatThrownBy(
+                            () -> service.bulkAction(1L, bulkReq(TaskActionEnum.ACCEPT, 10L, 11L)))
+                    .isInstanceOf(ServiceException.class)
+                    .extracting("code")
+                    .isEqualTo(TASK_UPDATE_FAILED.getCode());
+        }
+
+        verify(taskLogService, never()).insertTaskLogs(any(), any(), any());
+        verify(memberDashboardStore, never()).evict(any());
+    }
+
+    @Test
+    void bulkAction_actionWithoutBulkSupport_throws() {
+        assertThatThrownBy(() -> service.bulkAction(1L, bulkReq(TaskActionEnum.CREATE, 10L)))
+                .isInstanceOf(ServiceException.class)
+                .extracting("code")
+                .isEqualTo(WRONG_TASK_ACTION_TYPE.getCode());
+        verifyNoInteractions(taskMapper, taskLogService);
+    }
+
+    // ---------- markOverdueTasks tests ----------
+
+    /** Overdue tasks are read with lambda column selects, which need the table info */
+    private static void initTaskTableInfo() {
+        TableInfoHelper.remove(TaskDO.class);
+        MapperBuilderAssistant assistant =
+                new MapperBuilderAssistant(new MybatisConfiguration(), "testMapper");
+        assistant.setCurrentNamespace("testMapperNamespace");
+        TableInfoHelper.initTableInfo(assistant, TaskDO.class);
+    }
+
+    @Test
+    void markOverdueTasks_marksChunkWithOneUpdateAndLogs() {
+        initTaskTableInfo();
+        LocalDateTime now = LocalDateTime.of(2025, 11, 15, 18, 0);
+        List<TaskDO> overdue = List.of(mockTask(10L, 1L, 201L), mockTask(11L, 1L, 202L));
+        when(taskMapper.selectList(any())).thenReturn(overdue);
+        when(taskMapper.update(any(TaskDO.class), any())).thenReturn(2);
+
+        List<TaskDO> marked = service.markOverdueTasks(now, 500);
+
+        assertThat(marked).isEqualTo(overdue);
+        verify(taskMapper)
+                .update(
+                        argThat(
+                                (TaskDO change) ->
+                                        TaskStatusEnum.DELAYED
+                                                .getStatus()
+                                                .equals(change.getStatus())),
+                        any());
+        verify(taskLogService)
+                .insertTaskLogs(
+                        eq(List.of(10L, 11L)), eq(TaskActionEnum.UPDATE.getCode()), anyString());
+        verify(memberDashboardStore).evict(List.of(201L, 202L));
+    }
+
+    @Test
+    void markOverdueTasks_taskMovedInBetweenIsLeftOut() {
+        initTaskTableInfo();
+        LocalDateTime now = LocalDateTime.of(2025, 11, 15, 18, 0);
+        TaskDO delayed = mockTask(10L, 1L, 201L);
+        when(taskMapper.selectList(any()))
+                .thenReturn(List.of(delayed, mockTask(11L, 1L, 202L)))
+                .thenReturn(List.of(TaskDO.builder().id(10L).build()));
+        when(taskMapper.update(any(TaskDO.class), any())).thenReturn(1);
+
+        List<TaskDO> marked = service.markOverdueTasks(now, 500);
+
+        assertThat(marked).containsExactly(delayed);
+        verify(taskLogService)
+                .insertTaskLogs(eq(List.of(10L)), eq(TaskActionEnum.UPDATE.getCode()), anyString());
+        verify(memberDashboardStore).evict(List.of(201L));
+    }
+
+    @Test
+    void markOverdueTasks_nothingOverdueWritesNothing() {
+        initTaskTableInfo();
+        when(taskMapper.selectList(any())).thenReturn(List.of());
+
+        assertThat(service.markOverdueTasks(LocalDateTime.now(), 500)).isEmpty();
+        verify(taskMapper, never()).update(any(TaskDO.class), any());
+        verifyNoInteractions(taskLogService, memberDashboardStore);
+    }
+
     // ---------- getTask tests ----------
 
     @Test
@@ -538,6 +710,25 @@ class TaskServiceImplTest {
 
     // ---------- listTasksByEvent tests ----------
 
+    private TaskDetailDTO mockDetail(TaskDO task, EventDO event, UserDO assignee, UserDO assigner) {
+        return TaskDetailDTO.builder()
+                .taskId(task.getId())
+                .task(task)
+                .event(event)
+                .assignee(assignee)
+                .assigner(assigner)
+                .build();
+    }
+
+    private UserGroupNameDTO mockGroupName(Long userId, Long eventId, Long deptId, String name) {
+        return UserGroupNameDTO.builder()
+                .userId(userId)
+                .eventId(eventId)
+                .deptId(deptId)
+                .deptName(name)
+                .build();
+    }
+
     @Test
     void listTasksByEvent_success() {
         Long eventId = 1L;
@@ -545,32 +736,84 @@ class TaskServiceImplTest {
         Long assignerId = 301L;
         Long assignee1Id = 201L;
         Long assignee2Id = 202L;
-        Long dept1Id = 5L;
-        Long dept2Id = 6L;
 
         EventDO event = mockEvent(eventId, tenantId, assignerId);
-        TaskDO task1 = mockTask(1L, eventId, assignee1Id);
-        TaskDO task2 = mockTask(2L, eventId, assignee2Id);
         UserDO assigner = mockUser(assignerId, tenantId, 7L);
-        UserDO assignee1 = mockUser(assignee1Id, tenantId, dept1Id);
-        UserDO assignee2 = mockUser(assignee2Id, tenantId, dept2Id);
-        DeptDO dept1 = mockDept(dept1Id, "Dept A");
-        DeptDO dept2 = mockDept(dept2Id, "Dept B");
-        List<UserGroupDO> relations =
-                List.of(
-                        mockUserGroup(assignee1Id, dept1Id, eventId),
-                        mockUserGroup(assignee2Id, dept2Id, eventId));
+        UserDO assignee1 = mockUser(assignee1Id, tenantId, 5L);
+        UserDO assignee2 = mockUser(assignee2Id, tenantId, 6L);
 
         when(eventMapper.selectById(eventId)).thenReturn(event);
-        when(taskMapper.selectList(any())).thenReturn(List.of(task1, task2));
-        when(userMapper.selectById(assignerId)).thenReturn(assigner);
-        when(userMapper.selectBatchIds(anyList())).thenReturn(List.of(assignee1, assignee2));
-        when(userGroupMapper.selectList(any())).thenReturn(relations);
-        when(deptMapper.selectBatchIds(anyCollection())).thenReturn(List.of(dept1, dept2));
+        when(taskMapper.selectDetailsByEventId(eventId))
+                .thenReturn(
+                        List.of(
+                                mockDetail(
+                                        mockTask(1L, eventId, assignee1Id),
+                                        event,
+                                        assignee1,
+                                        assigner),
+                                mockDetail(
+                                        mockTask(2L, eventId, assignee2Id),
+                                        event,
+                                        assignee2,
+                                        assigner)));
+        when(taskMapper.selectGroupNames(anyCollection(), anyCollection()))
+                .thenReturn(
+                        List.of(
+                                mockGroupName(assignee1Id, eventId, 5L, "Dept A"),
+                                mockGroupName(assignee2Id, eventId, 6L, "Dept B"),
+                                mockGroupName(assignerId, eventId, 7L, "Dept C")));
 
         List<TaskRespVO> resp = service.listTasksByEvent(eventId);
 
         assertThat(resp).hasSize(2);
+        assertThat(resp.get(0).getAssignedUser().getGroups())
+                .extracting(TaskRespVO.AssignedUserVO.GroupVO::getName)
+                .containsExactly("Dept A");
+        assertThat(resp.get(1).getAssignedUser().getGroups())
+                .extracting(TaskRespVO.AssignedUserVO.GroupVO::getName)
+                .containsExactly("Dept B");
+        assertThat(resp.get(0).getAssignerUser().getGroups())
+                .extracting(TaskRespVO.AssignerUserVO.GroupVO::getName)
+                .containsExactly("Dept C");
+        assertThat(resp.get(0).getEvent().getId()).isEqualTo(eventId);
+    }
+
+    @Test
+    void listTasksByEvent_500Tasks_issuesConstantNumberOfQueries() {
+        Long eventId = 1L;
+        Long tenantId = 100L;
+        Long assignerId = 301L;
+
+        EventDO event = mockEvent(eventId, tenantId, assignerId);
+        UserDO assigner = mockUser(assignerId, tenantId, 7L);
+        List<TaskDetailDTO> details = new ArrayList<>();
+        for (long i = 1; i <= 500; i++) {
+            // 50 distinct assignees, some tasks unassigned
+            UserDO assignee = i % 10 == 0 ? null : mockUser(1_000L + i % 50, tenantId, 5L);
+            details.add(
+                    mockDetail(
+                            mockTask(i, eventId, assignee == null ? null : assignee.getId()),
+                            event,
+                            assignee,
+                            assigner));
+        }
+
+        when(eventMapper.selectById(eventId)).thenReturn(event);
+        when(taskMapper.selectDetailsByEventId(eventId)).thenReturn(details);
+        when(taskMapper.selectGroupNames(anyCollection(), anyCollection()))
+                .thenReturn(List.of(mockGroupName(1_001L, eventId, 5L, "Dept A")));
+
+        List<TaskRespVO> resp = service.listTasksByEvent(eventId);
+
+        assertThat(resp).hasSize(500);
+        assertThat(sqlStatementCount()).isEqualTo(3);
+    }
+
+    /** Every mapper call is one SQL statement */
+    private int sqlStatementCount() {
+        return Stream.of(taskMapper, eventMapper, userMapper, userGroupMapper, deptMapper)
+                .mapToInt(mapper -> mockingDetails(mapper).getInvocations().size())
+                .sum();
     }
 
     @Test
@@ -593,11 +836,12 @@ class TaskServiceImplTest {
         EventDO event = mockEvent(eventId, tenantId, 301L);
 
         when(eventMapper.selectById(eventId)).thenReturn(event);
-        when(taskMapper.selectList(any())).thenReturn(List.of());
+        when(taskMapper.selectDetailsByEventId(eventId)).thenReturn(List.of());
 
         List<TaskRespVO> resp = service.listTasksByEvent(eventId);
 
         assertThat(resp).isEmpty();
+        verify(taskMapper, never()).selectGroupNames(anyCollection(), anyCollection());
     }
 
     @Test
@@ -608,15 +852,18 @@ class TaskServiceImplTest {
 
         EventDO event = mockEvent(eventId, tenantId, assignerId);
         TaskDO task1 = mockTask(1L, eventId, null);
-        task1.setUserId(null);
 
         when(eventMapper.selectById(eventId)).thenReturn(event);
-        when(taskMapper.selectList(any())).thenReturn(List.of(task1));
-        when(userMapper.selectById(assignerId)).thenReturn(null);
+        when(taskMapper.selectDetailsByEventId(eventId))
+                .thenReturn(List.of(mockDetail(task1, event, null, null)));
 
         List<TaskRespVO> resp = service.listTasksByEvent(eventId);
 
         assertThat(resp).hasSize(1);
+        assertThat(resp.get(0).getAssignedUser()).isNull();
+        assertThat(resp.get(0).getAssignerUser()).isNull();
+        verify(taskMapper, never()).selectGroupNames(anyCollection(), anyCollection());
+        verifyNoInteractions(userMapper);
     }
 
     // ---------- listTasksByMember tests ----------
@@ -632,29 +879,43 @@ class TaskServiceImplTest {
         Long assigner2Id = 302L;
 
         UserDO member = mockUser(memberId, tenantId, deptId);
-        TaskDO task1 = mockTask(10L, eventId1, memberId);
-        TaskDO task2 = mockTask(11L, eventId2, memberId);
         EventDO event1 = mockEvent(eventId1, tenantId, assigner1Id);
         EventDO event2 = mockEvent(eventId2, tenantId, assigner2Id);
         UserDO assigner1 = mockUser(assigner1Id, tenantId, 7L);
         UserDO assigner2 = mockUser(assigner2Id, tenantId, 8L);
-        DeptDO dept = mockDept(deptId, "Dept A");
-        List<UserGroupDO> relations =
-                List.of(
-                        mockUserGroup(memberId, deptId, eventId1),
-                        mockUserGroup(memberId, deptId, eventId2));
 
         when(userMapper.selectById(memberId)).thenReturn(member);
-        when(taskMapper.selectList(any())).thenReturn(List.of(task1, task2));
-        when(eventMapper.selectBatchIds(anyList())).thenReturn(List.of(event1, event2));
-        when(userMapper.selectBatchIds(anyList())).thenReturn(List.of(assigner1, assigner2));
-        when(userGroupMapper.selectList(any())).thenReturn(relations);
-        when(deptMapper.selectBatchIds(anyCollection())).thenReturn(List.of(dept));
+        when(taskMapper.selectDetailsByUserId(memberId))
+                .thenReturn(
+                        List.of(
+                                mockDetail(
+                                        mockTask(10L, eventId1, memberId),
+                                        event1,
+                                        member,
+                                        assigner1),
+                                mockDetail(
+                                        mockTask(11L, eventId2, memberId),
+                                        event2,
+                                        member,
+                                        assigner2)));
+        when(taskMapper.selectGroupNames(anyCollection(), anyCollection()))
+                .thenReturn(
+                        List.of(
+                                mockGroupName(memberId, eventId1, deptId, "Dept A"),
+                                mockGroupName(assigner2Id, eventId2, 8L, "Dept B")));
 
         List<TaskRespVO> resp = service.listTasksByMember(memberId);
 
         assertThat(resp).hasSize(2);
         assertThat(resp).extracting(TaskRespVO::getId).containsExactly(10L, 11L);
+        assertThat(resp.get(0).getAssignedUser().getGroups())
+                .extracting(TaskRespVO.AssignedUserVO.GroupVO::getName)
+                .containsExactly("Dept A");
+        assertThat(resp.get(1).getAssignedUser().getGroups()).isEmpty();
+        assertThat(resp.get(1).getAssignerUser().getGroups())
+                .extracting(TaskRespVO.AssignerUserVO.GroupVO::getName)
+                .containsExactly("Dept B");
+        assertThat(sqlStatementCount()).isEqualTo(3);
     }
 
     @Test
@@ -677,7 +938,7 @@ class TaskServiceImplTest {
         UserDO member = mockUser(memberId, tenantId, null);
 
         when(userMapper.selectById(memberId)).thenReturn(member);
-        when(taskMapper.selectList(any())).thenReturn(List.of());
+        when(taskMapper.selectDetailsByUserId(memberId)).thenReturn(List.of());
 
         List<TaskRespVO> resp = service.listTasksByMember(memberId);
 
@@ -716,6 +977,16 @@ class TaskServiceImplTest {
         assertThat(resp.getGroups()).hasSize(1);
         assertThat(resp.getGroups().get(0).getName()).isEqualTo("Dept A");
         assertThat(resp.getTasks()).hasSize(1);
+        verify(memberDashboardStore).save(tenantId, resp);
+    }
+
+    @Test
+    void getByMemberId_servesStoredDashboard() {
+        TaskDashboardRespVO stored = new TaskDashboardRespVO();
+        when(memberDashboardStore.get(201L)).thenReturn(stored);
+
+        assertThat(service.getByMemberId(201L)).isSameAs(stored);
+        verifyNoInteractions(userMapper, taskMapper, userGroupMapper, eventMapper);
     }
 
     @Test
@@ -789,83 +1060,6 @@ class TaskServiceImplTest {
         assertThat(result.getId()).isEqualTo(userId);
     }
 
-    @Test
-    void fetchUsersByIds_emptyCollection_returnsEmptyMap() {
-        Map<Long, UserDO> result =
-                ReflectionTestUtils.invokeMethod(service, "fetchUsersByIds", List.of());
-        assertThat(result).isEmpty();
-        verifyNoInteractions(userMapper);
-    }
-
-    @Test
-    void fetchUsersByIds_nullCollection_returnsEmptyMap() {
-        Map<Long, UserDO> result =
-                ReflectionTestUtils.invokeMethod(service, "fetchUsersByIds", new Object[] {null});
-        assertThat(result).isEmpty();
-        verifyNoInteractions(userMapper);
-    }
-
-    @Test
-    void buildAssignersByEventId_emptyCollection_returnsEmptyMap() {
-        Map<Long, UserDO> result =
-                ReflectionTestUtils.invokeMethod(service, "buildAssignersByEventId", List.of());
-        assertThat(result).isEmpty();
-        verifyNoInteractions(userMapper);
-    }
-
-    @Test
-    void buildAssignersByEventId_validEvents_returnsAssignersMap() {
-        Long event1Id = 1L;
-        Long event2Id = 2L;
-        Long assigner1Id = 301L;
-        Long assigner2Id = 302L;
-
-        EventDO event1 = mockEvent(event1Id, 100L, assigner1Id);
-        EventDO event2 = mockEvent(event2Id, 100L, assigner2Id);
-        UserDO assigner1 = mockUser(assigner1Id, 100L, 5L);
-        UserDO assigner2 = mockUser(assigner2Id, 100L, 6L);
-
-        when(userMapper.selectBatchIds(anyList())).thenReturn(List.of(assigner1, assigner2));
-
-        Map<Long, UserDO> result =
-                ReflectionTestUtils.invokeMethod(
-                        service, "buildAssignersByEventId", List.of(event1, event2));
-
-        assertThat(result).hasSize(2);
-        assertThat(result.get(event1Id).getId()).isEqualTo(assigner1Id);
-        assertThat(result.get(event2Id).getId()).isEqualTo(assigner2Id);
-    }
-
-    @Test
-    void buildCrudGroupsByUser_emptyInputs_returnsEmptyMap() {
-        Map<Long, List<TaskRespVO.AssignedUserVO.GroupVO>> result =
-                ReflectionTestUtils.invokeMethod(
-                        service, "buildCrudGroupsByUser", Collections.emptySet(), 1L);
-        assertThat(result).isEmpty();
-        verifyNoInteractions(userGroupMapper);
-    }
-
-    @Test
-    void buildCrudGroupsByUser_usersWithGroups_returnsGroupMap() {
-        Long eventId = 9L;
-        Long userId = 1L;
-        Long deptId = 5L;
-        DeptDO dept = mockDept(deptId, "Dept A");
-
-        when(userGroupMapper.selectList(any()))
-                .thenReturn(List.of(mockUserGroup(userId, deptId, eventId)));
-        when(deptMapper.selectBatchIds(anyCollection())).thenReturn(List.of(dept));
-
-        Map<Long, List<TaskRespVO.AssignedUserVO.GroupVO>> result =
-                ReflectionTestUtils.invokeMethod(
-                        service, "buildCrudGroupsByUser", Set.of(userId), eventId);
-
-        assertThat(result).hasSize(1);
-        assertThat(result.get(userId))
-                .extracting(TaskRespVO.AssignedUserVO.GroupVO::getName)
-                .containsExactly("Dept A");
-    }
-
     @Test
     void resolveCrudGroups_userIdNull_returnsEmptyList() {
         List<TaskRespVO.AssignedUserVO.GroupVO> result =
@@ -933,21 +1127,65 @@ class TaskServiceImplTest {
     }
 
     @Test
-    void toGroupEvent_nullEventId_returnsNull() {
-        TaskDashboardRespVO.GroupVO.EventVO result =
-                ReflectionTestUtils.invokeMethod(service, "toGroupEvent", new Object[] {null});
+    void resolveMemberGroups_loadsGroupEventsInOneQuery() {
+        UserDO member = mockUser(201L, 100L, null);
+        DeptDO first = mockDept(5L, "Dept A");
+        first.setEventId(1L);
+        DeptDO second = mockDept(6L, "Dept B");
+        second.setEventId(2L);
+        DeptDO third = mockDept(7L, "Dept C");
+        third.setEventId(1L);
+
+        when(userGroupMapper.selectList(any()))
+                .thenReturn(
+                        List.of(
+                                mockUserGroup(201L, 5L, 1L),
+                                mockUserGroup(201L, 6L, 2L),
+                                mockUserGroup(201L, 7L, 1L)));
+        when(deptMapper.selectBatchIds(anyCollection())).thenReturn(List.of(first, second, third));
+        when(eventMapper.selectBatchIds(List.of(1L, 2L)))
+                .thenReturn(List.of(mockEvent(1L, 100L, 301L), mockEvent(2L, 100L, 301L)));
+
+        List<TaskDashboardRespVO.GroupVO> result =
+                ReflectionTestUtils.invokeMethod(service, "resolveMemberGroups", member);
+
+        assertThat(result)
+                .extracting(group -> group.getEvent().getId())
+                .containsExactly(1L, 2L, 1L);
+        verify(eventMapper).selectBatchIds(List.of(1L, 2L));
+        verify(eventMapper, never()).selectById(any());
+    }
+
+    @Test
+    void renderDashboardTask_reassignedTask_returnsNull() {
+        when(taskMapper.selectById(10L)).thenReturn(mockTask(10L, 1L, 202L));
+
+        TasksRespVO result =
+                ReflectionTestUtils.invokeMethod(service, "renderDashboardTask", 201L, 10L);
+
         assertThat(result).isNull();
-        verifyNoInteractions(eventMapper);
+        verifyNoInteractions(userMapper);
     }
 
     @Test
-    void toGroupEvent_eventNotFound_returnsNull() {
-        Long eventId = 1L;
-        when(eventMapper.selectById(eventId)).thenReturn(null);
+    void renderDashboardTask_assignedTask_rendersSingleEntry() {
+        UserDO member = mockUser(201L, 100L, null);
+        when(taskMapper.selectById(10L)).thenReturn(mockTask(10L, 1L, 201L));
+        when(userMapper.selectById(201L)).thenReturn(member);
+        when(eventMapper.selectBatchIds(anyList())).thenReturn(List.of(mockEvent(1L, 100L, 301L)));
 
-        TaskDashboardRespVO.GroupVO.EventVO result =
-                ReflectionTestUtils.invokeMethod(service, "toGroupEvent", eventId);
+        TasksRespVO result =
+                ReflectionTestUtils.invokeMethod(service, "renderDashboardTask", 201L, 10L);
+
+        assertThat(result.getId()).isEqualTo(10L);
+        assertThat(result.getEvent().getId()).isEqualTo(1L);
+    }
 
+    @Test
+    void toGroupEvent_nullEvent_returnsNull() {
+        TaskDashboardRespVO.GroupVO.EventVO result =
+                ReflectionTestUtils.invokeMethod(service, "toGroupEvent", new Object[] {null});
         assertThat(result).isNull();
+        verifyNoInteractions(eventMapper);
     }
 }
@@ -16,7 +16,10 @@ import java.lang.reflect.Field;
 import java.time.LocalDateTime;
 import java.util.*;
 import nus.edu.u.system.domain.dataobject.task.TaskDO;
+import nus.edu.u.system.domain.dto.EventCountDTO;
 import nus.edu.u.system.domain.dto.TaskActionDTO;
+import nus.edu.u.system.domain.dto.TaskDetailDTO;
+import nus.edu.u.system.domain.dto.UserGroupNameDTO;
 import nus.edu.u.system.domain.vo.file.FileResultVO;
 import nus.edu.u.system.domain.vo.file.FileUploadReqVO;
 import nus.edu.u.system.enums.task.TaskActionEnum;
@@ -121,7 +124,26 @@ class TaskActionStrategyTest {
         acceptTask.execute(task, dto);
 
         assertThat(task.getStatus()).isEqualTo(TaskStatusEnum.PROGRESS.getStatus());
-        assertThat(taskMapper.updatedTasks).contains(task);
+        assertThat(taskLogService.appended).isEqualTo(1);
+        TaskTransition transition = taskMapper.transitions.get(0);
+        assertThat(transition.id()).isEqualTo(1L);
+        assertThat(transition.statuses()).containsExactly(TaskStatusEnum.PENDING.getStatus());
+        assertThat(transition.change())
+                .isEqualTo(TaskDO.builder().status(TaskStatusEnum.PROGRESS.getStatus()).build());
+    }
+
+    @Test
+    void acceptTask_whenTaskMovedConcurrentlyThrows() {
+        stpLogic.setLoginId(5L);
+        taskMapper.enqueueUpdateResult(0);
+        TaskDO task =
+                baseTask().id(1L).userId(5L).status(TaskStatusEnum.PENDING.getStatus()).build();
+
+        assertThatThrownBy(() -> acceptTask.execute(task, TaskActionDTO.builder().build()))
+                .extracting("code")
+                .isEqualTo(ACCEPT_TASK_FAILED.getCode());
+        assertThat(task.getStatus()).isEqualTo(TaskStatusEnum.PENDING.getStatus());
+        assertThat(taskLogService.records).isEmpty();
     }
 
     @Test
@@ -217,6 +239,45 @@ class TaskActionStrategyTest {
                 .isEqualTo(ASSIGN_TASK_FAILED.getCode());
     }
 
+    @Test
+    void assignTask_racingReassignmentFailsTheSecond() {
+        stpLogic.setPermissions(ASSIGN_TASK);
+        TaskDO.TaskDOBuilder read =
+                baseTask()
+                        .id(7L)
+                        .userId(10L)
+                        .status(TaskStatusEnum.PENDING.getStatus())
+                        .startTime(now())
+                        .endTime(now().plusHours(4));
+        TaskDO first = read.build();
+        TaskDO second = read.build();
+        TaskActionDTO toAlice =
+                TaskActionDTO.builder()
+                        .eventStartTime(now().minusHours(1))
+                        .eventEndTime(now().plusHours(5))
+                        .targetUserId(11L)
+                        .build();
+        TaskActionDTO toBob =
+                TaskActionDTO.builder()
+                        .eventStartTime(now().minusHours(1))
+                        .eventEndTime(now().plusHours(5))
+                        .targetUserId(12L)
+                        .build();
+
+        assignTask.execute(first, toAlice);
+        // Both read the task while it was still assigned to user 10, the first moved it on
+        taskMapper.enqueueUpdateResult(0);
+
+        assertThatThrownBy(() -> assignTask.execute(second, toBob))
+                .extracting("code")
+                .isEqualTo(ASSIGN_TASK_FAILED.getCode());
+        assertThat(taskMapper.transitions)
+                .extracting(TaskTransition::userId)
+                .containsExactly(10L, 10L);
+        assertThat(second.getUserId()).isEqualTo(10L);
+        assertThat(taskLogService.records).hasSize(1);
+    }
+
     @Test
     void blockTask_requiresProgressStatus() {
         TaskDO task =
@@ -269,6 +330,8 @@ class TaskActionStrategyTest {
 
         assertThat(taskMapper.insertedTasks).contains(task);
         assertThat(fileStorageService.requests).hasSize(1);
+        assertThat(fileStorageService.requests.get(0).getTaskLogId()).isEqualTo(900L);
+        assertThat(taskLogService.appended).isZero();
     }
 
     @Test
@@ -382,6 +445,10 @@ class TaskActionStrategyTest {
 
         assertThat(task.getName()).isEqualTo("new");
         assertThat(task.getUserId()).isEqualTo(6L);
+        assertThat(task.getDescription()).isEqualTo("new-desc");
+        assertThat(taskMapper.transitions.get(0).statuses())
+                .hasSize(TaskStatusEnum.values().length - 1)
+                .doesNotContain(TaskStatusEnum.COMPLETED.getStatus());
         assertThat(fileStorageService.requests).hasSize(1);
     }
 
@@ -431,7 +498,9 @@ class TaskActionStrategyTest {
                                         now.plusHours(2)))
                 .extracting("code")
                 .isEqualTo(TASK_TIME_OUTSIDE_EVENT.getCode());
-        assertThat(task.getStatus()).isEqualTo(TaskStatusEnum.DELAYED.getStatus());
+        // Overdue tasks are marked by the sweeper, a rejected action writes nothing
+        assertThat(task.getStatus()).isEqualTo(TaskStatusEnum.PENDING.getStatus());
+        assertThat(taskMapper.transitions).isEmpty();
     }
 
     @Test
@@ -502,7 +571,7 @@ class TaskActionStrategyTest {
 
     private static final class FakeTaskMapper extends BaseMapperAdapter<TaskDO>
             implements TaskMapper {
-        private final List<TaskDO> updatedTasks = new ArrayList<>();
+        private final List<TaskTransition> transitions = new ArrayList<>();
         private final List<TaskDO> insertedTasks = new ArrayList<>();
         private final List<Long> deletedIds = new ArrayList<>();
         private final Deque<Integer> updateResults = new ArrayDeque<>();
@@ -517,8 +586,15 @@ class TaskActionStrategyTest {
         }
 
         @Override
-        public int updateById(TaskDO entity) {
-            updatedTasks.add(entity);
+        public int updateByIdAndStatus(TaskDO change, Long id, Collection<Integer> statuses) {
+            transitions.add(new TaskTransition(change, id, new ArrayList<>(statuses), null));
+            return updateResults.isEmpty() ? 1 : updateResults.removeFirst();
+        }
+
+        @Override
+        public int updateByIdAndStatus(
+                TaskDO change, Long id, Collection<Integer> statuses, Long userId) {
+            transitions.add(new TaskTransition(change, id, new ArrayList<>(statuses), userId));
             return updateResults.isEmpty() ? 1 : updateResults.removeFirst();
         }
 
@@ -533,11 +609,38 @@ class TaskActionStrategyTest {
             deletedIds.add((Long) id);
             return deleteResults.isEmpty() ? 1 : deleteResults.removeFirst();
         }
+
+        @Override
+        public List<TaskDetailDTO> selectDetailsByEventId(Long eventId) {
+            throw unsupported();
+        }
+
+        @Override
+        public List<TaskDetailDTO> selectDetailsByUserId(Long userId) {
+            throw unsupported();
+        }
+
+        @Override
+        public List<UserGroupNameDTO> selectGroupNames(
+                Collection<Long> eventIds, Collection<Long> userIds) {
+            throw unsupported();
+        }
+
+        @Override
+        public List<EventCountDTO> selectStatusCountsByEventIds(Collection<Long> eventIds) {
+            throw unsupported();
+        }
+
+        @Override
+        public List<Long> selectOverdueTenantIds(LocalDateTime now, Collection<Integer> statuses) {
+            throw unsupported();
+        }
     }
 
     private static final class RecordingTaskLogService implements TaskLogService {
         private final List<TaskLogRecord> records = new ArrayList<>();
         private long nextId = 900L;
+        private int appended;
 
         @Override
         public Long insertTaskLog(Long taskId, Long targetUserId, Integer action, String remark) {
@@ -545,6 +648,19 @@ class TaskActionStrategyTest {
             return nextId++;
         }
 
+        @Override
+        public void appendTaskLog(Long taskId, Long targetUserId, Integer action, String remark) {
+            records.add(new TaskLogRecord(taskId, targetUserId, action, remark));
+            appended++;
+        }
+
+        @Override
+        public void insertTaskLogs(Collection<Long> taskIds, Integer action, String remark) {
+            for (Long taskId : taskIds) {
+                records.add(new TaskLogRecord(taskId, null, action, remark));
+            }
+        }
+
         @Override
         public List<nus.edu.u.system.domain.vo.task.TaskLogRespVO> getTaskLog(Long taskId) {
             return List.of();
@@ -569,8 +685,16 @@ class TaskActionStrategyTest {
         public List<FileResultVO> downloadFilesByTaskLogId(Long taskLogId) {
             throw new UnsupportedOperationException();
         }
+
+        @Override
+        public Map<Long, List<FileResultVO>> downloadFilesByTaskLogIds(
+                Collection<Long> taskLogIds) {
+            throw new UnsupportedOperationException();
+        }
     }
 
+    private record TaskTransition(TaskDO change, Long id, List<Integer> statuses, Long userId) {}
+
     private record TaskLogRecord(Long taskId, Long targetUserId, Integer action, String remark) {}
 
     private static final class TestStpLogic extends StpLogic {
@@ -0,0 +1,59 @@
+package nus.edu.u.system.service.task.dashboard;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import nus.edu.u.framework.mybatis.TenantContextHolder;
+import nus.edu.u.system.service.task.TaskService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class MemberDashboardRepairJobTest {
+
+    @Mock private MemberDashboardStore memberDashboardStore;
+    @Mock private TaskService taskService;
+
+    @InjectMocks private MemberDashboardRepairJob job;
+
+    @Test
+    void repair_rebuildsAsOwningTenantAndForgetsMissingDashboards() {
+        MemberDashboardStore.Entry live = new MemberDashboardStore.Entry(7L, 201L);
+        MemberDashboardStore.Entry gone = new MemberDashboardStore.Entry(8L, 202L);
+        when(memberDashboardStore.claimStale(anyInt())).thenReturn(List.of(live, gone));
+        when(memberDashboardStore.exists(201L)).thenReturn(true);
+        when(memberDashboardStore.exists(202L)).thenReturn(false);
+        List<Long> tenants = new ArrayList<>();
+        doAnswer(invocation -> tenants.add(TenantContextHolder.getTenantId()))
+                .when(taskService)
+                .rebuildDashboard(201L);
+
+        job.repair();
+
+        assertThat(tenants).containsExactly(7L);
+        assertThat(TenantContextHolder.getTenantId()).isNull();
+        verify(memberDashboardStore).forget(gone);
+        verify(taskService, never()).rebuildDashboard(202L);
+    }
+
+    @Test
+    void repair_keepsGoingWhenOneRebuildFails() {
+        when(memberDashboardStore.claimStale(anyInt()))
+                .thenReturn(
+                        List.of(
+                                new MemberDashboardStore.Entry(7L, 201L),
+                                new MemberDashboardStore.Entry(7L, 203L)));
+        when(memberDashboardStore.exists(anyLong())).thenReturn(true);
+        doThrow(new IllegalStateException("boom")).when(taskService).rebuildDashboard(201L);
+
+        job.repair();
+
+        verify(taskService).rebuildDashboard(203L);
+    }
+}
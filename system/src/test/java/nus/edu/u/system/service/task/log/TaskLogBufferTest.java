@@ -0,0 +1,203 @@
+package nus.edu.u.system.service.task.log;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import nus.edu.u.common.exception.ServiceException;
+import nus.edu.u.common.utils.json.JsonUtils;
+import nus.edu.u.framework.mybatis.TenantContextHolder;
+import nus.edu.u.framework.task.TaskLogPropertiesConfig;
+import nus.edu.u.system.domain.dataobject.task.TaskLogDO;
+import nus.edu.u.system.mapper.task.TaskLogMapper;
+import nus.edu.u.system.service.scheduling.LeaderLease;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class TaskLogBufferTest {
+
+    private static final String SPOOL_KEY = "chronoflow:task-log:spool";
+
+    @Spy private TaskLogPropertiesConfig props = new TaskLogPropertiesConfig();
+    @Mock private TaskLogMapper taskLogMapper;
+    @Mock private StringRedisTemplate stringRedisTemplate;
+    @Mock private HashOperations<String, Object, Object> hashOperations;
+    @Mock private LeaderLease leaderLease;
+    @Mock private ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    @InjectMocks private TaskLogBuffer buffer;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(stringRedisTemplate.<Object, Object>opsForHash()).thenReturn(hashOperations);
+        when(meterRegistryProvider.getIfAvailable()).thenReturn(registry);
+        buffer.init();
+    }
+
+    private static TaskLogDO taskLog(Long id, Long tenantId, LocalDateTime createTime) {
+        TaskLogDO taskLog = TaskLogDO.builder().id(id).taskId(100L + id).action(3).build();
+        taskLog.setTenantId(tenantId);
+        taskLog.setCreator("7");
+        taskLog.setCreateTime(createTime);
+        taskLog.setUpdateTime(createTime);
+        return taskLog;
+    }
+
+    @Test
+    void append_outsideTransactionSpoolsAndQueues() {
+        buffer.append(taskLog(1L, 7L, LocalDateTime.now()));
+
+        verify(hashOperations).put(eq(SPOOL_KEY), eq("1"), anyString());
+        assertThat(buffer.depth()).isEqualTo(1);
+        assertThat(registry.get("task.log.queue.depth").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void append_outsideTransactionSpoolFailureThrowsAndDoesNotQueue() {
+        doThrow(new IllegalStateException("down"))
+                .when(hashOperations)
+                .put(eq(SPOOL_KEY), eq("1"), anyString());
+
+        assertThatThrownBy(() -> buffer.append(taskLog(1L, 7L, LocalDateTime.now())))
+                .isInstanceOf(ServiceException.class);
+        assertThat(buffer.depth()).isZero();
+    }
+
+    @Test
+    void append_inTransactionSpoolsBeforeCommitAndQueuesAfter() {
+        TransactionSynchronization synchronization = appendInTransaction(taskLog(1L, 7L, null));
+        verify(hashOperations, never()).put(any(), any(), any());
+
+        synchronization.beforeCommit(false);
+        verify(hashOperations).put(eq(SPOOL_KEY), eq("1"), anyString());
+        assertThat(buffer.depth()).isZero();
+
+        synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        assertThat(buffer.depth()).isEqualTo(1);
+    }
+
+    @Test
+    void append_inTransactionRollbackUnspools() {
+        TransactionSynchronization synchronization = appendInTransaction(taskLog(1L, 7L, null));
+
+        synchronization.beforeCommit(false);
+        synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verify(hashOperations).delete(SPOOL_KEY, "1");
+        assertThat(buffer.depth()).isZero();
+    }
+
+    private TransactionSynchronization appendInTransaction(TaskLogDO taskLog) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            buffer.append(taskLog);
+            return TransactionSynchronizationManager.getSynchronizations().get(0);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void flush_writesEachTenantAsItselfAndUnspools() {
+        List<Long> tenants = new ArrayList<>();
+        when(taskLogMapper.insertBatch(anyList()))
+                .thenAnswer(
+                        invocation -> {
+                            tenants.add(TenantContextHolder.getTenantId());
+                            return invocation.<List<?>>getArgument(0).size();
+                        });
+        LocalDateTime now = LocalDateTime.now();
+
+        buffer.flush(List.of(taskLog(1L, 7L, now), taskLog(2L, 8L, now), taskLog(3L, 7L, now)));
+
+        assertThat(tenants).containsExactly(7L, 8L);
+        verify(taskLogMapper, times(2)).insertBatch(anyList());
+        verify(hashOperations).delete(SPOOL_KEY, "1", "2", "3");
+        assertThat(registry.get("task.log.flush").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void flush_duplicateBatchFallsBackToSingleRows() {
+        LocalDateTime now = LocalDateTime.now();
+        TaskLogDO recovered = taskLog(1L, 7L, now);
+        TaskLogDO fresh = taskLog(2L, 7L, now);
+        when(taskLogMapper.insertBatch(anyList())).thenThrow(new DuplicateKeyException("dup"));
+        when(taskLogMapper.insert(recovered)).thenThrow(new DuplicateKeyException("dup"));
+
+        buffer.flush(List.of(recovered, fresh));
+
+        verify(taskLogMapper).insert(fresh);
+        verify(hashOperations).delete(SPOOL_KEY, "1", "2");
+    }
+
+    @Test
+    void flush_failureLeavesLogsSpooled() {
+        when(taskLogMapper.insertBatch(anyList())).thenThrow(new IllegalStateException("down"));
+
+        buffer.flush(List.of(taskLog(1L, 7L, LocalDateTime.now())));
+
+        verify(hashOperations, never()).delete(eq(SPOOL_KEY), any(Object[].class));
+    }
+
+    @Test
+    void recover_writesOnlyLogsOlderThanRecoveryAge() {
+        TaskLogDO stale = taskLog(1L, 7L, LocalDateTime.now().minusMinutes(5));
+        TaskLogDO young = taskLog(2L, 7L, LocalDateTime.now());
+        when(leaderLease.acquire(anyString(), any())).thenReturn(true);
+        Cursor<Map.Entry<Object, Object>> cursor =
+                spoolCursor(
+                        Map.entry("1", JsonUtils.toJsonString(stale)),
+                        Map.entry("2", JsonUtils.toJsonString(young)));
+        when(hashOperations.scan(eq(SPOOL_KEY), any(ScanOptions.class))).thenReturn(cursor);
+
+        buffer.recover();
+
+        verify(taskLogMapper).insertBatch(List.of(stale));
+        verify(hashOperations).delete(SPOOL_KEY, "1");
+        verify(cursor).close();
+        assertThat(registry.get("task.log.recovered").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void recover_withoutLeaseLeavesSpoolAlone() {
+        when(leaderLease.acquire(anyString(), any())).thenReturn(false);
+
+        buffer.recover();
+
+        verifyNoInteractions(hashOperations, taskLogMapper);
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("unchecked")
+    private static Cursor<Map.Entry<Object, Object>> spoolCursor(
+            Map.Entry<Object, Object>... entries) {
+        Iterator<Map.Entry<Object, Object>> iterator = List.of(entries).iterator();
+        Cursor<Map.Entry<Object, Object>> cursor = mock(Cursor.class);
+        when(cursor.hasNext()).thenAnswer(invocation -> iterator.hasNext());
+        when(cursor.next()).thenAnswer(invocation -> iterator.next());
+        return cursor;
+    }
+}
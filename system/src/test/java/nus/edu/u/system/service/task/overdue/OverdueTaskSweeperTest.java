@@ -0,0 +1,126 @@
+package nus.edu.u.system.service.task.overdue;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import nus.edu.u.framework.mybatis.TenantContextHolder;
+import nus.edu.u.system.domain.dataobject.task.TaskDO;
+import nus.edu.u.system.enums.task.TaskStatusEnum;
+import nus.edu.u.system.mapper.task.TaskMapper;
+import nus.edu.u.system.service.scheduling.LeaderLease;
+import nus.edu.u.system.service.task.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+@ExtendWith(MockitoExtension.class)
+class OverdueTaskSweeperTest {
+
+    @Mock private TaskMapper taskMapper;
+    @Mock private TaskService taskService;
+    @Mock private LeaderLease leaderLease;
+    @Mock private ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    @InjectMocks private OverdueTaskSweeper sweeper;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        when(meterRegistryProvider.getIfAvailable()).thenReturn(registry);
+        sweeper.init();
+    }
+
+    private void leading(boolean leader) {
+        when(leaderLease.acquire(eq("task-overdue"), any())).thenReturn(leader);
+    }
+
+    private static TaskDO task(Long id, LocalDateTime endTime) {
+        return TaskDO.builder().id(id).userId(200L + id).endTime(endTime).build();
+    }
+
+    @Test
+    void sweep_leaderMarksEachTenantAsItself() {
+        leading(true);
+        LocalDateTime now = LocalDateTime.now();
+        when(taskMapper.selectOverdueTenantIds(any(), eq(TaskStatusEnum.OPEN_STATUSES)))
+                .thenReturn(List.of(7L, 8L));
+        List<Long> tenants = new ArrayList<>();
+        when(taskService.markOverdueTasks(any(), eq(500)))
+                .thenAnswer(
+                        invocation -> {
+                            Long tenantId = TenantContextHolder.getTenantId();
+                            tenants.add(tenantId);
+                            return tenantId == 7L
+                                    ? List.of(task(1L, now.minusHours(2)))
+                                    : List.of(task(2L, now.minusMinutes(5)));
+                        });
+
+        sweeper.sweep();
+
+        assertThat(tenants).containsExactly(7L, 8L);
+        assertThat(registry.get("task.overdue.marked").counter().count()).isEqualTo(2.0);
+        assertThat(registry.get("task.overdue.lag").gauge().value()).isGreaterThanOrEqualTo(7200.0);
+        assertThat(registry.get("task.overdue.sweep").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void sweep_fullChunkAsksForAnother() {
+        leading(true);
+        LocalDateTime end = LocalDateTime.now().minusHours(1);
+        when(taskMapper.selectOverdueTenantIds(any(), anyCollection())).thenReturn(List.of(7L));
+        when(taskService.markOverdueTasks(any(), eq(500)))
+                .thenReturn(Collections.nCopies(500, task(1L, end)))
+                .thenReturn(List.of(task(2L, end)));
+
+        sweeper.sweep();
+
+        verify(taskService, times(2)).markOverdueTasks(any(), eq(500));
+        assertThat(registry.get("task.overdue.marked").counter().count()).isEqualTo(501.0);
+    }
+
+    @Test
+    void sweep_failingTenantDoesNotStopTheOthers() {
+        leading(true);
+        when(taskMapper.selectOverdueTenantIds(any(), anyCollection())).thenReturn(List.of(7L, 8L));
+        when(taskService.markOverdueTasks(any(), anyInt()))
+                .thenThrow(new IllegalStateException("down"))
+                .thenReturn(List.of(task(2L, LocalDateTime.now().minusMinutes(1))));
+
+        sweeper.sweep();
+
+        verify(taskService, times(2)).markOverdueTasks(any(), anyInt());
+        assertThat(registry.get("task.overdue.marked").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void sweep_nothingOverdueResetsLag() {
+        leading(true);
+        when(taskMapper.selectOverdueTenantIds(any(), anyCollection())).thenReturn(List.of());
+
+        sweeper.sweep();
+
+        verifyNoInteractions(taskService);
+        assertThat(registry.get("task.overdue.lag").gauge().value()).isZero();
+    }
+
+    @Test
+    void sweep_followerDoesNothing() {
+        leading(false);
+
+        sweeper.sweep();
+
+        verifyNoInteractions(taskMapper, taskService);
+    }
+}
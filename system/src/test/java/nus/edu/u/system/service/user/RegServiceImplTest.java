@@ -24,6 +24,7 @@ import nus.edu.u.system.mapper.role.RolePermissionMapper;
 import nus.edu.u.system.mapper.tenant.TenantMapper;
 import nus.edu.u.system.mapper.user.UserMapper;
 import nus.edu.u.system.mapper.user.UserRoleMapper;
+import nus.edu.u.system.service.notification.OrganizerEmailService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -49,6 +50,8 @@ class RegServiceImplTest {
 
     @Mock private PasswordEncoder passwordEncoder;
 
+    @Mock private OrganizerEmailService organizerEmailService;
+
     @InjectMocks private RegServiceImpl regService;
 
     private RegSearchReqVO regSearchReqVO;
@@ -262,6 +265,7 @@ class RegServiceImplTest {
         verify(roleMapper, times(2)).insert(any(RoleDO.class)); // Organizer和Member两个角色
         verify(userRoleMapper).insert(any(UserRoleDO.class));
         verify(rolePermissionMapper).insert(any(RolePermissionDO.class));
+        verify(organizerEmailService).sendWelcomeEmailOrganizer(regOrganizerReqVO);
     }
 
     @Test
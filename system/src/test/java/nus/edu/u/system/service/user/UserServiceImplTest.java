@@ -1,5 +1,6 @@
 package nus.edu.u.system.service.user;
 
+import static nus.edu.u.common.constant.Constants.SESSION_TENANT_ID;
 import static nus.edu.u.system.enums.ErrorCodeConstants.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -10,6 +11,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
+import cn.dev33.satoken.session.SaSession;
 import cn.dev33.satoken.stp.StpUtil;
 import com.baomidou.mybatisplus.core.MybatisConfiguration;
 import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
@@ -23,12 +25,14 @@ import nus.edu.u.system.domain.dto.CreateUserDTO;
 import nus.edu.u.system.domain.dto.RoleDTO;
 import nus.edu.u.system.domain.dto.UpdateUserDTO;
 import nus.edu.u.system.domain.dto.UserRoleDTO;
+import nus.edu.u.system.domain.vo.reg.RegSearchReqVO;
 import nus.edu.u.system.domain.vo.user.BulkUpsertUsersRespVO;
 import nus.edu.u.system.domain.vo.user.UserProfileRespVO;
 import nus.edu.u.system.enums.user.UserStatusEnum;
 import nus.edu.u.system.mapper.role.RoleMapper;
 import nus.edu.u.system.mapper.user.UserMapper;
 import nus.edu.u.system.mapper.user.UserRoleMapper;
+import nus.edu.u.system.service.notification.MemberEmailService;
 import org.apache.ibatis.builder.MapperBuilderAssistant;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -45,6 +49,7 @@ class UserServiceImplTest {
     @Mock private RoleMapper roleMapper;
     @Mock private PasswordEncoder passwordEncoder;
     @Mock private UserService userServiceProxy;
+    @Mock private MemberEmailService memberEmailService;
     @InjectMocks private UserServiceImpl userService;
 
     private MockedStatic<StpUtil> stpUtilMock;
@@ -60,6 +65,9 @@ class UserServiceImplTest {
 
         stpUtilMock = mockStatic(StpUtil.class);
         stpUtilMock.when(StpUtil::getLoginIdAsLong).thenReturn(0L);
+        SaSession session = mock(SaSession.class);
+        when(session.get(SESSION_TENANT_ID)).thenReturn(1L);
+        stpUtilMock.when(StpUtil::getSession).thenReturn(session);
     }
 
     @AfterEach
@@ -114,6 +122,7 @@ class UserServiceImplTest {
         when(userRoleMapper.insert(any())).thenReturn(1);
 
         assertEquals(10L, userService.createUserWithRoleIds(dto));
+        verify(memberEmailService).sendMemberInviteEmail("a@b.com", new RegSearchReqVO(1L, 10L));
     }
 
     @Test